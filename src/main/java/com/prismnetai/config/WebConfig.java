@@ -1,20 +1,12 @@
 package com.prismnetai.config;
 
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
-    @Bean
-    public WebClient webClient() {
-        return WebClient.builder().build();
-    }
-
-
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/v1/**")
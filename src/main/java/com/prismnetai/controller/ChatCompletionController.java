@@ -2,17 +2,24 @@ package com.prismnetai.controller;
 
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.prismnetai.dto.ChatCompletionRequest;
-import com.prismnetai.dto.ChatCompletionResponse;
 import com.prismnetai.entity.AiRequest;
+import com.prismnetai.logging.BodyLogging;
+import com.prismnetai.logging.LogMarkers;
+import com.prismnetai.security.ApiKeyPrincipal;
 import com.prismnetai.service.RoutingService;
-import com.prismnetai.service.provider.ProviderServiceRegistry;
+import com.prismnetai.service.execution.CompletionExecutor;
+import com.prismnetai.service.ratelimit.RateLimitReservation;
+import com.prismnetai.service.ratelimit.RequestRateLimiter;
 import com.prismnetai.validation.ChatCompletionRequestValidator;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -28,59 +35,81 @@ import lombok.extern.slf4j.Slf4j;
 public class ChatCompletionController {
 
     private final RoutingService routingService;
-    private final ProviderServiceRegistry providerServiceRegistry;
+    private final CompletionExecutor completionExecutor;
     private final ChatCompletionRequestValidator validator;
+    private final RequestRateLimiter requestRateLimiter;
 
     @PostMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
     @Operation(summary = "Create chat completion (streaming or non-streaming) with routing",
                 description = "Submit a chat completion request that will be routed based on the specified strategy. Set 'stream' to true for streaming response.")
     public Object createChatCompletion(
             @RequestBody ChatCompletionRequest request,
-            Authentication authentication) {
+            Authentication authentication,
+            @RequestHeader(value = BodyLogging.HEADER, defaultValue = "false") boolean debugBodies) {
+        // Routing runs in memory; the provider call is returned as a Mono/Flux so the servlet
+        // thread is released while the upstream request is in flight.
 
-        log.info("ChatCompletionController.createChatCompletion() - Received chat completion request with routing strategy: {}, stream: {}, messageCount: {}",
+        log.debug("ChatCompletionController.createChatCompletion() - Received chat completion request with routing strategy: {}, stream: {}, messageCount: {}",
                   request.getRoutingStrategy(), request.getStream(), request.getMessages() != null ? request.getMessages().size() : 0);
 
         // Extract user ID from authentication (use anonymous for demo if not authenticated)
         String userId = (authentication != null && authentication.getName() != null) ? authentication.getName() : "anonymous-demo-user";
-        log.info("ChatCompletionController.createChatCompletion() - Processing request for user: {}", userId);
+        log.debug("ChatCompletionController.createChatCompletion() - Processing request for user: {}", userId);
 
         // Validate request
         validator.validate(request);
 
         String prompt = extractPrompt(request);
-        log.info("ChatCompletionController.createChatCompletion() - Extracted prompt length: {} characters", prompt.length());
+        log.debug("ChatCompletionController.createChatCompletion() - Extracted prompt length: {} characters", prompt.length());
+
+        AiRequest.RoutingStrategy strategy = AiRequest.RoutingStrategy.valueOf(request.getRoutingStrategy().toUpperCase());
+        ApiKeyPrincipal apiKey = authentication != null && authentication.getPrincipal() instanceof ApiKeyPrincipal principal
+            ? principal : null;
+        if (apiKey != null && !apiKey.allows(strategy)) {
+            throw new AccessDeniedException("Routing strategy " + strategy + " is not allowed for API key " + apiKey.keyName());
+        }
+
+        // Admit the request against the user's and API key's limits before any routing work
+        RateLimitReservation reservation = requestRateLimiter.acquire(
+            userId, apiKey != null ? apiKey.quota() : null, prompt, request.getMaxTokens());
 
         // Route the request
-        log.info("ChatCompletionController.createChatCompletion() - Routing request for user: {} with strategy: {}",
+        log.debug("ChatCompletionController.createChatCompletion() - Routing request for user: {} with strategy: {}",
                   userId, request.getRoutingStrategy());
 
-        AiRequest aiRequest = routingService.routeRequest(
-            userId,
-            AiRequest.RoutingStrategy.valueOf(request.getRoutingStrategy().toUpperCase()),
-            prompt,
-            request.getMaxTokens(),
-            request.getPreferredModel()
-        );
+        AiRequest aiRequest;
+        try {
+            aiRequest = routingService.routeRequest(
+                userId,
+                strategy,
+                prompt,
+                request.getMaxTokens(),
+                request.getPreferredModel()
+            );
+        } catch (RuntimeException e) {
+            requestRateLimiter.release(reservation);
+            throw e;
+        }
 
-        log.info("ChatCompletionController.createChatCompletion() - Request routed successfully, requestId: {}, selectedModel: {}, selectedProvider: {}",
+        log.info(LogMarkers.SAMPLED, "ChatCompletionController.createChatCompletion() - Request routed successfully, requestId: {}, selectedModel: {}, selectedProvider: {}",
                   aiRequest.getId(), aiRequest.getSelectedModel().getModelId(), aiRequest.getSelectedProvider().getName());
 
-        // Get the appropriate provider service
-        var providerService = providerServiceRegistry.getProviderService(aiRequest.getSelectedProvider().getName());
-
         // Check if streaming is requested
         if (request.getStream() != null && request.getStream()) {
-            log.info("ChatCompletionController.createChatCompletion() - Processing streaming request for user: {}", userId);
-            return providerService.callStreamingCompletion(request, aiRequest);
+            log.debug("ChatCompletionController.createChatCompletion() - Processing streaming request for user: {}", userId);
+            // Providers emit bare payloads; wrapping them as events makes MVC frame each one as
+            // "data: ...\n\n" regardless of the client's Accept header
+            return requestRateLimiter.settleStream(reservation, completionExecutor.callStreamingCompletion(request, aiRequest))
+                .map(payload -> ServerSentEvent.builder(payload).build())
+                .contextWrite(context -> BodyLogging.request(context, debugBodies));
         } else {
-            log.info("ChatCompletionController.createChatCompletion() - Processing non-streaming request for user: {}", userId);
-            ChatCompletionResponse response = providerService.callCompletion(request, aiRequest);
-            return ResponseEntity.ok(response);
+            log.debug("ChatCompletionController.createChatCompletion() - Processing non-streaming request for user: {}", userId);
+            return requestRateLimiter.settle(reservation, completionExecutor.callCompletion(request, aiRequest))
+                .map(ResponseEntity::ok)
+                .contextWrite(context -> BodyLogging.request(context, debugBodies));
         }
     }
 
-
     /**
      * Extracts the user prompt from the chat completion request.
      * This method finds the first user message and returns its content.
@@ -89,18 +118,10 @@ public class ChatCompletionController {
      * @return the extracted prompt, or "No user message found" if none exists
      */
     private String extractPrompt(ChatCompletionRequest request) {
-        log.info("ChatCompletionController.extractPrompt() - Extracting user message from {} messages",
-                  request.getMessages().size());
-
-        String prompt = request.getMessages().stream()
+        return request.getMessages().stream()
             .filter(msg -> "user".equals(msg.getRole()))
             .findFirst()
             .map(ChatCompletionRequest.ChatMessage::getContent)
             .orElse("No user message found");
-
-        log.info("ChatCompletionController.extractPrompt() - Extracted prompt: {}...",
-                  prompt.substring(0, Math.min(50, prompt.length())));
-
-        return prompt;
     }
 }
\ No newline at end of file
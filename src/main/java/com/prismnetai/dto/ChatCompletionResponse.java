@@ -25,6 +25,9 @@ public class ChatCompletionResponse {
         private String provider;
         private BigDecimal costSavings;
         private Long latencyMs;
+        private Boolean hedged;
+        private Boolean cacheHit;
+        private Boolean coalesced;
     }
 
     @Data
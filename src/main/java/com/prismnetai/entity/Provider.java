@@ -8,14 +8,18 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import com.prismnetai.service.catalog.RoutingCatalogInvalidationListener;
+
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
 @Table(name = "provider")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, RoutingCatalogInvalidationListener.class})
 public class Provider {
 
     @Id
@@ -31,6 +35,11 @@ public class Provider {
     @Column(nullable = false, length = 500)
     private String apiKey;
 
+    // Optional pool of additional keys; calls fall back to apiKey when the pool is empty
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "provider_api_key", joinColumns = @JoinColumn(name = "provider_id"))
+    private List<ProviderApiKey> apiKeys = new ArrayList<>();
+
     @Column(nullable = false)
     private Boolean isActive = true;
 
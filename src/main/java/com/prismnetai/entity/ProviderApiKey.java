@@ -0,0 +1,25 @@
+package com.prismnetai.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class ProviderApiKey {
+
+    @ToString.Exclude
+    @Column(name = "api_key", nullable = false, length = 500)
+    private String apiKey;
+
+    @Column(nullable = false)
+    private Integer weight = 1;
+
+    @Column(nullable = false)
+    private Boolean isActive = true;
+}
@@ -34,6 +34,6 @@ public class ProviderMetric {
     private LocalDateTime timestamp;
 
     public enum MetricType {
-        LATENCY, THROUGHPUT, ERROR_RATE, SUCCESS_RATE
+        LATENCY, THROUGHPUT, ERROR_RATE, SUCCESS_RATE, TIME_TO_FIRST_TOKEN
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.prismnetai.entity;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "service_api_key")
+@EntityListeners(AuditingEntityListener.class)
+public class ServiceApiKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    // The user the key acts as; rate limits and routing rules of that user apply
+    @Column(name = "tenant_id", nullable = false, length = 100)
+    private String tenantId;
+
+    // First characters of the key, so operators can tell keys apart without the secret
+    @Column(name = "key_prefix", nullable = false, length = 16)
+    private String keyPrefix;
+
+    // Hex HMAC-SHA256 of the key; the key itself is never stored
+    @ToString.Exclude
+    @Column(name = "key_hash", nullable = false, unique = true, length = 64)
+    private String keyHash;
+
+    // Per-key overrides of prismnet.ratelimit.api-key.*; null or 0 uses the configured default
+    @Column(name = "requests_per_second")
+    private Integer requestsPerSecond;
+
+    @Column(name = "tokens_per_minute")
+    private Integer tokensPerMinute;
+
+    @Column(name = "allowed_strategies", length = 200)
+    private String allowedStrategies; // Comma-separated routing strategies, null or empty for all
+
+    @Column(nullable = false)
+    private Boolean isActive = true;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -4,8 +4,10 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -33,6 +35,34 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(response);
     }
 
+    @ExceptionHandler(ProviderOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleProviderOverloadedException(ProviderOverloadedException e) {
+        log.warn("GlobalExceptionHandler.handleProviderOverloadedException() - All candidate providers are at their concurrency limit: {}", e.getMessage());
+        ErrorResponse response = new ErrorResponse("PROVIDER_OVERLOADED", e.getMessage());
+        log.info("GlobalExceptionHandler.handleProviderOverloadedException() - Returning SERVICE_UNAVAILABLE response for overloaded providers");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceededException(RateLimitExceededException e) {
+        log.warn("GlobalExceptionHandler.handleRateLimitExceededException() - Rate limit exceeded: {}", e.getMessage());
+        ErrorResponse response = new ErrorResponse("RATE_LIMIT_EXCEEDED", e.getMessage());
+        // Retry-After is whole seconds; round up so a client honouring it is admitted
+        long retryAfterSeconds = Math.max(1L, (e.getRetryAfter().toMillis() + 999L) / 1000L);
+        log.info("GlobalExceptionHandler.handleRateLimitExceededException() - Returning TOO_MANY_REQUESTS response, retry after {}s", retryAfterSeconds);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+            .body(response);
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAccessDeniedException(AccessDeniedException e) {
+        log.warn("GlobalExceptionHandler.handleAccessDeniedException() - Access denied: {}", e.getMessage());
+        ErrorResponse response = new ErrorResponse("ACCESS_DENIED", e.getMessage());
+        log.info("GlobalExceptionHandler.handleAccessDeniedException() - Returning FORBIDDEN response for denied access");
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorResponse> handleValidationException(MethodArgumentNotValidException e) {
         log.warn("GlobalExceptionHandler.handleValidationException() - Validation error occurred: {}", e.getMessage());
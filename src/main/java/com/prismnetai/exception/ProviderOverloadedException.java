@@ -0,0 +1,21 @@
+package com.prismnetai.exception;
+
+/**
+ * Exception thrown when a call is rejected locally because its provider is already at its
+ * concurrency limit. No request reached the provider, so the call can safely go elsewhere.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class ProviderOverloadedException extends ProviderException {
+
+    /**
+     * Constructs a new ProviderOverloadedException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ProviderOverloadedException(String message) {
+        super(message);
+    }
+}
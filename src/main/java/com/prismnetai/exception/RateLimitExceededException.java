@@ -0,0 +1,33 @@
+package com.prismnetai.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a request exceeds the rate limit or token quota of its user or API key.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new RateLimitExceededException with the specified detail message.
+     *
+     * @param message the detail message
+     * @param retryAfter how long until the request would be admitted
+     */
+    public RateLimitExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return how long until the request would be admitted
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
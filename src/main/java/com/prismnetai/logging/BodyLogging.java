@@ -0,0 +1,74 @@
+package com.prismnetai.logging;
+
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Logs request and response bodies for requests that ask for it. A client sets the
+ * {@value #HEADER} header on a request, which the controller records in the Reactor context of its
+ * provider call; bodies are then written at DEBUG to the {@value #LOGGER_NAME} logger. That logger
+ * is off by default, so a header alone never puts prompts or completions in production logs.
+ * Bodies are rendered only when both are enabled.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class BodyLogging {
+
+    /**
+     * The request header asking for the request's bodies to be logged.
+     */
+    public static final String HEADER = "X-PrismNet-Debug-Bodies";
+
+    /**
+     * The logger bodies are written to; set {@code logging.level.com.prismnetai.bodies=DEBUG} to allow it.
+     */
+    public static final String LOGGER_NAME = "com.prismnetai.bodies";
+
+    private static final Logger LOG = LoggerFactory.getLogger(LOGGER_NAME);
+    private static final Class<BodyLogging> CONTEXT_KEY = BodyLogging.class;
+
+    private BodyLogging() {
+    }
+
+    /**
+     * Records that a request asked for its bodies to be logged.
+     *
+     * @param context the provider call's context
+     * @param requested whether the request set {@value #HEADER}
+     * @return the context to subscribe with
+     */
+    public static Context request(Context context, boolean requested) {
+        return requested ? context.put(CONTEXT_KEY, Boolean.TRUE) : context;
+    }
+
+    /**
+     * Whether bodies are to be logged for the call running with this context.
+     *
+     * @param context the provider call's context
+     * @return true if the request asked for it and the body logger is enabled
+     */
+    public static boolean isEnabled(ContextView context) {
+        return context.hasKey(CONTEXT_KEY) && LOG.isDebugEnabled();
+    }
+
+    /**
+     * Logs a body, rendering it only if body logging is enabled for the call.
+     *
+     * @param context the provider call's context
+     * @param description what the body is, e.g. "OpenAI request"
+     * @param requestId the request the body belongs to
+     * @param body renders the body
+     */
+    public static void log(ContextView context, String description, Long requestId, Supplier<?> body) {
+        if (isEnabled(context)) {
+            LOG.debug("{} for requestId {}: {}", description, requestId, body.get());
+        }
+    }
+}
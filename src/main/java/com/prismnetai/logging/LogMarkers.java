@@ -0,0 +1,24 @@
+package com.prismnetai.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * Markers that change how a log event is handled.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LogMarkers {
+
+    /**
+     * Marks a per-request event that may be sampled: {@link SamplingTurboFilter} passes one in
+     * every {@code prismnet.logging.sampling.rate} occurrences of each such log statement.
+     * WARN and ERROR events are never sampled.
+     */
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private LogMarkers() {
+    }
+}
@@ -0,0 +1,48 @@
+package com.prismnetai.logging;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Samples log events marked {@link LogMarkers#SAMPLED}, keeping one in every {@code rate}
+ * occurrences of each log statement (identified by its message format). Rejected events are
+ * dropped before their message is formatted or a logging event is created. Unmarked events, and
+ * WARN and ERROR events, are left to the normal level checks.
+ *
+ * <p>Configured in {@code logback-spring.xml}; a rate of 1 or less disables sampling.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final ConcurrentMap<String, AtomicLong> occurrences = new ConcurrentHashMap<>();
+    private int rate = 1;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (rate <= 1 || marker == null || format == null || level.isGreaterOrEqual(Level.WARN)
+                || !marker.contains(LogMarkers.SAMPLED)) {
+            return FilterReply.NEUTRAL;
+        }
+        long occurrence = occurrences.computeIfAbsent(format, f -> new AtomicLong()).getAndIncrement();
+        return occurrence % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+}
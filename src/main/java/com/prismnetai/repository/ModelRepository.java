@@ -26,8 +26,8 @@ public interface ModelRepository extends JpaRepository<Model, Long> {
     @Query("SELECT m FROM Model m WHERE m.isActive = true AND m.provider.id IN :providerIds")
     List<Model> findActiveModelsByProviderIds(@Param("providerIds") List<Long> providerIds);
 
-    @Query("SELECT m FROM Model m WHERE m.isActive = true ORDER BY (m.inputPricing + m.outputPricing) ASC")
-    List<Model> findActiveModelsOrderedByLowestCost();
+    @Query("SELECT m FROM Model m JOIN FETCH m.provider WHERE m.isActive = true ORDER BY m.id ASC")
+    List<Model> findActiveModelsWithProvider();
 
     @Query("SELECT m FROM Model m WHERE m.isActive = true AND m.modelId = :modelId AND m.provider.id IN :providerIds")
     List<Model> findActiveModelsByModelIdAndProviderIds(@Param("modelId") String modelId, @Param("providerIds") List<Long> providerIds);
@@ -29,4 +29,7 @@ public interface ProviderMetricRepository extends JpaRepository<ProviderMetric,
     @Query("SELECT pm FROM ProviderMetric pm WHERE pm.provider.id IN :providerIds AND pm.metricType = :metricType ORDER BY pm.timestamp DESC")
     List<ProviderMetric> findLatestMetricsByProvidersAndType(@Param("providerIds") List<Long> providerIds,
                                                              @Param("metricType") ProviderMetric.MetricType metricType);
+
+    @Query("SELECT pm FROM ProviderMetric pm WHERE pm.timestamp = (SELECT MAX(latest.timestamp) FROM ProviderMetric latest WHERE latest.provider = pm.provider AND latest.metricType = pm.metricType)")
+    List<ProviderMetric> findLatestMetricPerProviderAndType();
 }
\ No newline at end of file
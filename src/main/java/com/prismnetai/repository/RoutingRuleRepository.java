@@ -19,4 +19,7 @@ public interface RoutingRuleRepository extends JpaRepository<RoutingRule, Long>
 
     @Query("SELECT rr FROM RoutingRule rr WHERE rr.userId = :userId AND rr.isActive = true ORDER BY rr.id ASC")
     List<RoutingRule> findActiveRulesByUserIdOrderedById(@Param("userId") String userId);
+
+    @Query("SELECT rr FROM RoutingRule rr WHERE rr.isActive = true ORDER BY rr.id ASC")
+    List<RoutingRule> findAllActiveRulesOrderedById();
 }
\ No newline at end of file
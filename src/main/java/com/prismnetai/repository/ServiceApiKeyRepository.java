@@ -0,0 +1,17 @@
+package com.prismnetai.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.prismnetai.entity.ServiceApiKey;
+
+@Repository
+public interface ServiceApiKeyRepository extends JpaRepository<ServiceApiKey, Long> {
+
+    List<ServiceApiKey> findByIsActiveTrue();
+
+    List<ServiceApiKey> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+}
@@ -0,0 +1,39 @@
+package com.prismnetai.security;
+
+import java.util.Set;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.service.ratelimit.ApiKeyQuota;
+
+/**
+ * The principal of a request authenticated with a service API key. Its name is the tenant the
+ * key acts for, so downstream code sees the same user id as for a JWT of that tenant.
+ *
+ * @param keyId the key's id
+ * @param keyName the key's display name
+ * @param tenantId the user the key acts as
+ * @param quota the key's rate limits
+ * @param allowedStrategies routing strategies the key may use, empty for all
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public record ApiKeyPrincipal(Long keyId, String keyName, String tenantId, ApiKeyQuota quota,
+                              Set<AiRequest.RoutingStrategy> allowedStrategies) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return tenantId;
+    }
+
+    /**
+     * @param strategy the requested routing strategy
+     * @return whether the key may route with it
+     */
+    public boolean allows(AiRequest.RoutingStrategy strategy) {
+        return allowedStrategies.isEmpty() || allowedStrategies.contains(strategy);
+    }
+}
@@ -0,0 +1,198 @@
+package com.prismnetai.security;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.entity.ServiceApiKey;
+import com.prismnetai.repository.ServiceApiKeyRepository;
+import com.prismnetai.service.ratelimit.ApiKeyQuota;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of the active service API keys, keyed by their {@link ApiKeyHasher} hash.
+ * Authenticating a request is one keyed hash of the presented key and one map lookup; the
+ * database is never consulted on the request path.
+ *
+ * <p>The index is loaded in full at startup and every {@code prismnet.api-keys.full-reload-interval}
+ * ms, and kept current in between by applying only the rows modified since the last refresh, so
+ * new, rotated and deactivated keys take effect within {@code prismnet.api-keys.refresh-interval}.
+ * Keys are revoked by deactivating them; a deleted row is only dropped at the next full reload.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ApiKeyStore {
+
+    // Rows committed late may carry an updated_at just before the watermark; re-reading is idempotent
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+    private static final LocalDateTime NO_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ServiceApiKeyRepository serviceApiKeyRepository;
+    private final ApiKeyHasher apiKeyHasher;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Index index = new Index();
+    private LocalDateTime watermark = NO_WATERMARK; // guarded by refreshLock
+
+    @PostConstruct
+    void initialize() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("ApiKeyStore.initialize() - Initial API key load failed, no keys accepted until next refresh: {}",
+                      e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Resolves the principal of a presented API key.
+     *
+     * @param apiKey the key as presented by the client
+     * @return the key's principal, or null if it is unknown or inactive
+     */
+    public ApiKeyPrincipal authenticate(String apiKey) {
+        return index.byHash.get(apiKeyHasher.hash(apiKey));
+    }
+
+    /**
+     * Loads every active key into a new index and swaps it in.
+     *
+     * @return the number of keys loaded
+     */
+    public int reload() {
+        refreshLock.lock();
+        try {
+            List<ServiceApiKey> keys = serviceApiKeyRepository.findByIsActiveTrue();
+            Index fresh = new Index();
+            LocalDateTime latest = NO_WATERMARK;
+            for (ServiceApiKey key : keys) {
+                fresh.put(key);
+                latest = later(latest, key.getUpdatedAt());
+            }
+            index = fresh;
+            watermark = latest;
+            log.info("ApiKeyStore.reload() - Loaded {} active API keys", fresh.byHash.size());
+            return fresh.byHash.size();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Applies the keys modified since the last refresh to the current index.
+     *
+     * @return the number of rows applied
+     */
+    public int refresh() {
+        refreshLock.lock();
+        try {
+            List<ServiceApiKey> changed = serviceApiKeyRepository.findByUpdatedAtGreaterThanEqual(watermark.minus(REFRESH_OVERLAP));
+            Index current = index;
+            for (ServiceApiKey key : changed) {
+                if (Boolean.TRUE.equals(key.getIsActive())) {
+                    current.put(key);
+                } else {
+                    current.remove(key.getId());
+                }
+                watermark = later(watermark, key.getUpdatedAt());
+            }
+            return changed.size();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${prismnet.api-keys.refresh-interval:30000}",
+               initialDelayString = "${prismnet.api-keys.refresh-interval:30000}")
+    void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("ApiKeyStore.scheduledRefresh() - API key refresh failed, keeping current keys: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${prismnet.api-keys.full-reload-interval:600000}",
+               initialDelayString = "${prismnet.api-keys.full-reload-interval:600000}")
+    void scheduledReload() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("ApiKeyStore.scheduledReload() - API key reload failed, keeping current keys: {}", e.getMessage(), e);
+        }
+    }
+
+    private static LocalDateTime later(LocalDateTime watermark, LocalDateTime updatedAt) {
+        return updatedAt != null && updatedAt.isAfter(watermark) ? updatedAt : watermark;
+    }
+
+    /**
+     * Principals by key hash, plus each key's current hash by id so a rotated key's old hash
+     * stops authenticating.
+     */
+    private static final class Index {
+
+        private final Map<ApiKeyHasher.ApiKeyHash, ApiKeyPrincipal> byHash = new ConcurrentHashMap<>();
+        private final Map<Long, ApiKeyHasher.ApiKeyHash> hashById = new ConcurrentHashMap<>();
+
+        void put(ServiceApiKey key) {
+            ApiKeyHasher.ApiKeyHash hash;
+            ApiKeyPrincipal principal;
+            try {
+                hash = ApiKeyHasher.ApiKeyHash.fromHex(key.getKeyHash());
+                principal = new ApiKeyPrincipal(key.getId(), key.getName(), key.getTenantId(),
+                        ApiKeyQuota.of("service-key-" + key.getId(), key.getRequestsPerSecond(), key.getTokensPerMinute()),
+                        parseStrategies(key.getAllowedStrategies()));
+            } catch (IllegalArgumentException e) {
+                log.warn("ApiKeyStore.Index.put() - Skipping API key {} ({}): {}", key.getId(), key.getKeyPrefix(), e.getMessage());
+                remove(key.getId());
+                return;
+            }
+            // The new hash is in place before a rotated key's old hash is removed
+            byHash.put(hash, principal);
+            ApiKeyHasher.ApiKeyHash previous = hashById.put(key.getId(), hash);
+            if (previous != null && !previous.equals(hash)) {
+                byHash.remove(previous);
+            }
+        }
+
+        void remove(Long id) {
+            ApiKeyHasher.ApiKeyHash hash = hashById.remove(id);
+            if (hash != null) {
+                byHash.remove(hash);
+            }
+        }
+
+        private static Set<AiRequest.RoutingStrategy> parseStrategies(String allowedStrategies) {
+            if (allowedStrategies == null || allowedStrategies.isBlank()) {
+                return Set.of();
+            }
+            EnumSet<AiRequest.RoutingStrategy> strategies = EnumSet.noneOf(AiRequest.RoutingStrategy.class);
+            for (String strategy : allowedStrategies.split(",")) {
+                if (!strategy.isBlank()) {
+                    strategies.add(AiRequest.RoutingStrategy.valueOf(strategy.trim().toUpperCase()));
+                }
+            }
+            return Collections.unmodifiableSet(strategies);
+        }
+    }
+}
@@ -1,8 +1,7 @@
 package com.prismnetai.security;
 
 import java.io.IOException;
-
-import javax.crypto.SecretKey;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -14,9 +13,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,73 +25,90 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    @Value("${prismnet.jwt.secret}")
-    private String jwtSecret;
-
     @Value("${spring.profiles.active:local}")
     private String activeProfile;
 
     private final UserDetailsService userDetailsService;
+    private final JwtVerifier jwtVerifier;
+    private final ApiKeyStore apiKeyStore;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
-        log.info("JwtAuthenticationFilter.doFilterInternal() - Processing request: {} {}",
+        log.debug("JwtAuthenticationFilter.doFilterInternal() - Processing request: {} {}",
                   request.getMethod(), request.getRequestURI());
 
         final String token = getTokenFromRequest(request);
 
         if (StringUtils.hasText(token)) {
-            log.info("JwtAuthenticationFilter.doFilterInternal() - Token found in request, attempting authentication");
-
-            try {
-                final String username = getUsernameFromToken(token);
-                log.info("JwtAuthenticationFilter.doFilterInternal() - Extracted username from token: {}", username);
-
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    log.info("JwtAuthenticationFilter.doFilterInternal() - No existing authentication, loading user details for: {}", username);
+            log.debug("JwtAuthenticationFilter.doFilterInternal() - Token found in request, attempting authentication");
 
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                try {
+                    UsernamePasswordAuthenticationToken authenticationToken = authenticate(token);
 
-                    if (validateToken(token, userDetails)) {
-                        log.info("JwtAuthenticationFilter.doFilterInternal() - Token validation successful for user: {}", username);
-
-                        UsernamePasswordAuthenticationToken authenticationToken =
-                            new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                            );
+                    if (authenticationToken != null) {
                         authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         SecurityContextHolder.getContext().setAuthentication(authenticationToken);
 
-                        log.info("JwtAuthenticationFilter.doFilterInternal() - Authentication set in security context for user: {}", username);
+                        log.debug("JwtAuthenticationFilter.doFilterInternal() - Authentication set in security context for user: {}",
+                                  authenticationToken.getName());
                     } else {
-                        log.warn("JwtAuthenticationFilter.doFilterInternal() - Token validation failed for user: {}", username);
+                        log.warn("JwtAuthenticationFilter.doFilterInternal() - Token validation failed");
                     }
-                } else {
-                    log.info("JwtAuthenticationFilter.doFilterInternal() - Authentication already exists or username is null");
+                } catch (Exception e) {
+                    log.error("JwtAuthenticationFilter.doFilterInternal() - Cannot set user authentication for token: {}", e.getMessage(), e);
                 }
-            } catch (Exception e) {
-                log.error("JwtAuthenticationFilter.doFilterInternal() - Cannot set user authentication for token: {}", e.getMessage(), e);
+            } else {
+                log.debug("JwtAuthenticationFilter.doFilterInternal() - Authentication already exists");
             }
         } else {
-            log.info("JwtAuthenticationFilter.doFilterInternal() - No token found in request, proceeding without authentication");
+            log.debug("JwtAuthenticationFilter.doFilterInternal() - No token found in request, proceeding without authentication");
         }
 
-        log.info("JwtAuthenticationFilter.doFilterInternal() - Filter processing completed");
+        log.debug("JwtAuthenticationFilter.doFilterInternal() - Filter processing completed");
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Authenticates a token. A token without dots is looked up as a service API key in the
+     * {@link ApiKeyStore}; in development profiles an unknown one is taken as a plain username.
+     * Anything else is a JWT, verified in one pass by the {@link JwtVerifier}.
+     *
+     * @param token the bearer token or API key
+     * @return the authentication, or null if the token is not valid
+     */
+    private UsernamePasswordAuthenticationToken authenticate(String token) {
+        if (!token.contains(".")) {
+            ApiKeyPrincipal apiKey = apiKeyStore.authenticate(token);
+            if (apiKey != null) {
+                return new UsernamePasswordAuthenticationToken(apiKey, null, List.of());
+            }
+            // For development/testing profiles, allow simple API keys/usernames
+            if (isDevelopmentProfile()) {
+                log.debug("JwtAuthenticationFilter.authenticate() - Treating token as simple API key/username");
+                return authenticated(userDetailsService.loadUserByUsername(token));
+            }
+            return null;
+        }
+        return authenticated(jwtVerifier.verify(token));
+    }
+
+    private static UsernamePasswordAuthenticationToken authenticated(UserDetails userDetails) {
+        return userDetails != null
+            ? new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities())
+            : null;
+    }
+
     private String getTokenFromRequest(HttpServletRequest request) {
         final String bearerToken = request.getHeader("Authorization");
         final String apiKey = request.getHeader("X-API-Key");
 
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
             String token = bearerToken.substring(7);
-            log.info("JwtAuthenticationFilter.getTokenFromRequest() - Bearer token found, length: {}", token.length());
+            log.debug("JwtAuthenticationFilter.getTokenFromRequest() - Bearer token found, length: {}", token.length());
             // Check if it's a JWT token (contains dots) or simple API key
             if (token.contains(".")) {
                 return token; // JWT token
@@ -105,75 +118,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         if (StringUtils.hasText(apiKey)) {
-            log.info("JwtAuthenticationFilter.getTokenFromRequest() - API key found, length: {}", apiKey.length());
+            log.debug("JwtAuthenticationFilter.getTokenFromRequest() - API key found, length: {}", apiKey.length());
             return apiKey;
         }
 
-        log.info("JwtAuthenticationFilter.getTokenFromRequest() - No authentication token found");
+        log.debug("JwtAuthenticationFilter.getTokenFromRequest() - No authentication token found");
         return null;
     }
 
-    private String getUsernameFromToken(String token) {
-        // For development/testing profiles, allow simple API keys/usernames
-        if (isDevelopmentProfile() && !token.contains(".")) {
-            log.info("JwtAuthenticationFilter.getUsernameFromToken() - Treating as simple API key/username: {}", token);
-            return token;
-        }
-
-        try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            String username = claims.getSubject();
-            log.info("JwtAuthenticationFilter.getUsernameFromToken() - Successfully extracted username: {}", username);
-            return username;
-        } catch (Exception e) {
-            log.error("JwtAuthenticationFilter.getUsernameFromToken() - Failed to extract username from token: {}", e.getMessage());
-            return null;
-        }
-    }
-
-    private boolean validateToken(String token, UserDetails userDetails) {
-        // For development/testing profiles, skip JWT validation for simple API keys
-        if (isDevelopmentProfile() && !token.contains(".")) {
-            log.info("JwtAuthenticationFilter.validateToken() - Treating as simple API key/username, validation skipped for development");
-            return true;
-        }
-
-        try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            String username = claims.getSubject();
-            boolean isValidUsername = username.equals(userDetails.getUsername());
-            boolean isNotExpired = !isTokenExpired(claims);
-
-            log.info("JwtAuthenticationFilter.validateToken() - Token validation for user: {}, username match: {}, not expired: {}",
-                      username, isValidUsername, isNotExpired);
-
-            return isValidUsername && isNotExpired;
-        } catch (Exception e) {
-            log.error("JwtAuthenticationFilter.validateToken() - Token validation failed: {}", e.getMessage());
-            return false;
-        }
-    }
-
-    private boolean isTokenExpired(Claims claims) {
-        boolean expired = claims.getExpiration().before(new java.util.Date());
-        if (expired) {
-            log.warn("JwtAuthenticationFilter.isTokenExpired() - Token has expired, expiration: {}", claims.getExpiration());
-        }
-        return expired;
-    }
-
     private boolean isDevelopmentProfile() {
         return "local".equals(activeProfile) || "dev".equals(activeProfile) || "test".equals(activeProfile);
     }
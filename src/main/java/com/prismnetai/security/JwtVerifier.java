@@ -0,0 +1,150 @@
+package com.prismnetai.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Verifies bearer JWTs in a single pass with a signing key and parser built once at startup,
+ * and remembers the principal of each verified token. Repeat tokens are answered from a bounded
+ * cache keyed by the SHA-256 of the token, skipping HMAC verification, claim parsing and the
+ * {@link UserDetailsService} lookup. An entry never outlives its token's {@code exp}, nor
+ * {@code prismnet.jwt.cache.ttl} seconds, so a principal is reloaded at least that often.
+ * Only successful verifications are cached; a token without an expiration is rejected.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class JwtVerifier {
+
+    private final UserDetailsService userDetailsService;
+    private final JwtParser parser;
+    private final Cache<TokenKey, VerifiedToken> verified;
+
+    public JwtVerifier(UserDetailsService userDetailsService,
+                       @Value("${prismnet.jwt.secret}") String jwtSecret,
+                       @Value("${prismnet.jwt.cache.max-size:10000}") long maxSize,
+                       @Value("${prismnet.jwt.cache.ttl:300}") long ttlSeconds) {
+        this.userDetailsService = userDetailsService;
+        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build();
+        this.verified = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new TokenExpiry(TimeUnit.SECONDS.toNanos(ttlSeconds)))
+            .build();
+    }
+
+    /**
+     * Verifies a token and resolves its principal.
+     *
+     * @param token the compact JWT
+     * @return the principal, or null if the token is invalid, expired or names another user
+     */
+    public UserDetails verify(String token) {
+        TokenKey key = TokenKey.of(token);
+        VerifiedToken cached = verified.getIfPresent(key);
+        if (cached != null) {
+            return cached.principal();
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("JwtVerifier.verify() - Token verification failed: {}", e.getMessage());
+            return null;
+        }
+        String username = claims.getSubject();
+        Date expiration = claims.getExpiration();
+        if (username == null || expiration == null) {
+            log.warn("JwtVerifier.verify() - Token rejected, subject or expiration missing");
+            return null;
+        }
+
+        UserDetails principal = userDetailsService.loadUserByUsername(username);
+        if (!username.equals(principal.getUsername())) {
+            log.warn("JwtVerifier.verify() - Token subject {} does not match loaded user {}", username, principal.getUsername());
+            return null;
+        }
+        verified.put(key, new VerifiedToken(principal, expiration.getTime()));
+        log.debug("JwtVerifier.verify() - Verified token for user: {}, expires: {}", username, expiration);
+        return principal;
+    }
+
+    /**
+     * A verified token's principal and the epoch millisecond its {@code exp} falls on.
+     */
+    private record VerifiedToken(UserDetails principal, long expiresAtMillis) {
+    }
+
+    /**
+     * The SHA-256 of a token, so the cache holds no usable credentials.
+     */
+    private record TokenKey(long h0, long h1, long h2, long h3) {
+
+        static TokenKey of(String token) {
+            try {
+                ByteBuffer hash = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8)));
+                return new TokenKey(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+
+    /**
+     * Expires an entry at its token's expiration or after the maximum TTL, whichever is sooner.
+     * Reads do not extend it.
+     */
+    private static final class TokenExpiry implements Expiry<TokenKey, VerifiedToken> {
+
+        private final long maxTtlNanos;
+
+        TokenExpiry(long maxTtlNanos) {
+            this.maxTtlNanos = maxTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(TokenKey key, VerifiedToken value, long currentTime) {
+            long untilExpiration = TimeUnit.MILLISECONDS.toNanos(value.expiresAtMillis() - System.currentTimeMillis());
+            return Math.max(0L, Math.min(maxTtlNanos, untilExpiration));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenKey key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenKey key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,17 +1,22 @@
 package com.prismnetai.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.prismnetai.entity.AiRequest;
 import com.prismnetai.entity.Model;
 import com.prismnetai.entity.Provider;
 import com.prismnetai.repository.AiRequestRepository;
-import com.prismnetai.repository.ProviderRepository;
+import com.prismnetai.service.audit.RequestAuditWriter;
+import com.prismnetai.service.audit.RequestIdGenerator;
+import com.prismnetai.service.catalog.RoutingCatalogService;
+import com.prismnetai.service.health.CircuitBreakerRegistry;
+import com.prismnetai.service.health.ProviderKeyPool;
 import com.prismnetai.service.routing.RoutingStrategy;
 
 import lombok.RequiredArgsConstructor;
@@ -22,32 +27,39 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class RoutingService {
 
-    private final ProviderRepository providerRepository;
+    private final RoutingCatalogService routingCatalogService;
     private final AiRequestRepository aiRequestRepository;
+    private final RequestIdGenerator requestIdGenerator;
+    private final RequestAuditWriter requestAuditWriter;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final ProviderKeyPool providerKeyPool;
     private final Map<String, RoutingStrategy> routingStrategies;
 
     /**
      * Routes an AI request based on the specified routing strategy.
      * This method validates inputs, selects an appropriate model using the routing strategy,
-     * and creates a persistent record of the request.
+     * and queues a persistent record of the request. The request id is allocated in memory and the
+     * row is written behind by the {@link RequestAuditWriter}, so routing never waits on the database.
+     * Providers and models ejected by the {@link CircuitBreakerRegistry} are left out of the selection,
+     * as are providers whose API keys are all quarantined or close to their upstream rate limits
+     * per the {@link ProviderKeyPool}.
      *
      * @param userId the ID of the user making the request
      * @param routingStrategy the routing strategy to use for model selection
      * @param prompt the text prompt for the AI request
      * @param maxTokens the maximum number of tokens to generate (can be null)
      * @param preferredModel the preferred model ID (can be null)
-     * @return the created AiRequest entity with routing information
+     * @return the AiRequest entity with its id and routing information
      * @throws RoutingException if routing fails due to no available providers or models
      * @throws IllegalArgumentException if input parameters are invalid
      */
-    @Transactional
     public AiRequest routeRequest(String userId, AiRequest.RoutingStrategy routingStrategy,
                                     String prompt, Integer maxTokens, String preferredModel) {
 
         // Input validation
         validateRouteRequestInputs(userId, routingStrategy, prompt);
 
-        log.info("RoutingService.routeRequest() - Starting request routing for userId: {}, strategy: {}, promptLength: {}, maxTokens: {}",
+        log.debug("RoutingService.routeRequest() - Starting request routing for userId: {}, strategy: {}, promptLength: {}, maxTokens: {}",
                   userId, routingStrategy, prompt.length(), maxTokens);
 
         // Get available providers
@@ -69,17 +81,65 @@ public class RoutingService {
         }
 
         Model model = selectedModel.get();
-        log.info("RoutingService.routeRequest() - Selected model: {} from provider: {} for user: {}",
+        if (!circuitBreakerRegistry.isAvailable(model)) {
+            Model ejected = model;
+            model = strategy.rankModels(availableProviders, userId, preferredModel)
+                .filter(candidate -> !candidate.getId().equals(ejected.getId()))
+                .filter(circuitBreakerRegistry::isAvailable)
+                .findFirst()
+                .orElse(ejected);
+            log.warn("RoutingService.routeRequest() - Circuit breaker open for model: {} from provider: {}, routing to model: {}",
+                     ejected.getModelId(), ejected.getProvider().getName(), model.getModelId());
+        }
+        log.debug("RoutingService.routeRequest() - Selected model: {} from provider: {} for user: {}",
                   model.getModelId(), model.getProvider().getName(), userId);
 
-        // Create and save request record
+        // Create request record and queue it for persistence
         AiRequest request = createAiRequest(userId, routingStrategy, prompt, maxTokens, model);
-        AiRequest savedRequest = aiRequestRepository.save(request);
+        requestAuditWriter.recordCreated(request);
+
+        log.debug("RoutingService.routeRequest() - Successfully created request with ID: {} for user: {}",
+                  request.getId(), userId);
 
-        log.info("RoutingService.routeRequest() - Successfully created request with ID: {} for user: {}",
-                  savedRequest.getId(), userId);
+        return request;
+    }
 
-        return savedRequest;
+    /**
+     * Ranks the alternatives to a routed request: the models its strategy ranks on providers
+     * other than the primary's, best first. Retrying or hedging on the same provider is
+     * pointless during that provider's brownout. The ranking is lazy, so callers that take
+     * only the first candidate or two pay for no more than that.
+     *
+     * <p>The primary's model is passed to the strategy as the preferred model, so a
+     * PREFERRED_MODEL request fails over to the same model on another provider.</p>
+     *
+     * @param primary the routed primary request
+     * @return the alternative models, best first
+     */
+    public Stream<Model> rankAlternatives(AiRequest primary) {
+        RoutingStrategy strategy = getRoutingStrategy(primary.getRoutingStrategy());
+        Long primaryProviderId = primary.getSelectedProvider().getId();
+        return strategy.rankModels(getAvailableProvidersInternal(), primary.getUserId(),
+                                   primary.getSelectedModel().getModelId())
+            .filter(model -> !model.getProvider().getId().equals(primaryProviderId))
+            .filter(circuitBreakerRegistry::isAvailable);
+    }
+
+    /**
+     * Creates and queues the request record for a call to an alternative model made on behalf
+     * of {@code primary}, either as a hedge or as a failover attempt.
+     *
+     * @param primary the routed primary request
+     * @param model the alternative model
+     * @return the alternate request, with its own id
+     */
+    public AiRequest routeAlternate(AiRequest primary, Model model) {
+        AiRequest alternate = createAiRequest(primary.getUserId(), primary.getRoutingStrategy(), primary.getPrompt(),
+                                              primary.getMaxTokens(), model);
+        requestAuditWriter.recordCreated(alternate);
+        log.debug("RoutingService.routeAlternate() - Created request {} on model: {} from provider: {} for primary request {}",
+                  alternate.getId(), model.getModelId(), model.getProvider().getName(), primary.getId());
+        return alternate;
     }
 
     /**
@@ -98,11 +158,14 @@ public class RoutingService {
     }
 
     /**
-     * Retrieves available active providers.
+     * Retrieves available active providers from the in-memory routing catalog.
      */
     private List<Provider> getAvailableProvidersInternal() {
-        List<Provider> providers = providerRepository.findByIsActiveTrue();
-        log.info("RoutingService.getAvailableProvidersInternal() - Found {} active providers", providers.size());
+        List<Provider> activeProviders = routingCatalogService.current().getActiveProviders();
+        List<Provider> providers = providerKeyPool.availableProviders(
+            circuitBreakerRegistry.availableProviders(activeProviders));
+        log.debug("RoutingService.getAvailableProvidersInternal() - Found {} active providers, {} admitted by their circuit breakers and API keys",
+                  activeProviders.size(), providers.size());
         return providers;
     }
 
@@ -115,7 +178,7 @@ public class RoutingService {
             log.error("RoutingService.getRoutingStrategy() - Unknown routing strategy requested: {}", routingStrategy);
             throw new IllegalArgumentException("Unknown routing strategy: " + routingStrategy);
         }
-        log.info("RoutingService.getRoutingStrategy() - Using routing strategy: {}", strategy.getStrategyName());
+        log.debug("RoutingService.getRoutingStrategy() - Using routing strategy: {}", strategy.getStrategyName());
         return strategy;
     }
 
@@ -125,6 +188,7 @@ public class RoutingService {
     private AiRequest createAiRequest(String userId, AiRequest.RoutingStrategy routingStrategy,
                                     String prompt, Integer maxTokens, Model model) {
         AiRequest request = new AiRequest();
+        request.setId(requestIdGenerator.nextId());
         request.setUserId(userId);
         request.setRoutingStrategy(routingStrategy);
         request.setPrompt(prompt);
@@ -132,6 +196,7 @@ public class RoutingService {
         request.setSelectedProvider(model.getProvider());
         request.setSelectedModel(model);
         request.setStatus(AiRequest.RequestStatus.PENDING);
+        request.setCreatedAt(LocalDateTime.now());
         return request;
     }
 
@@ -142,15 +207,16 @@ public class RoutingService {
      * @return list of active providers (unmodifiable)
      */
     public List<Provider> getAvailableProviders() {
-        log.info("RoutingService.getAvailableProviders() - Retrieving active providers");
-        List<Provider> providers = providerRepository.findByIsActiveTrue();
-        log.info("RoutingService.getAvailableProviders() - Found {} active providers", providers.size());
-        return List.copyOf(providers); // Return immutable copy
+        log.debug("RoutingService.getAvailableProviders() - Retrieving active providers");
+        List<Provider> providers = routingCatalogService.current().getActiveProviders();
+        log.debug("RoutingService.getAvailableProviders() - Found {} active providers", providers.size());
+        return providers; // Catalog lists are already immutable
     }
 
     /**
      * Retrieves all AI requests for a specific user, ordered by creation date (newest first).
-     * This method returns an immutable view of the requests list.
+     * This method returns an immutable view of the requests list. Requests routed within the
+     * last audit flush interval may not be visible yet.
      *
      * @param userId the ID of the user whose requests to retrieve
      * @return list of user's AI requests (unmodifiable), ordered by creation date descending
@@ -161,9 +227,9 @@ public class RoutingService {
             throw new IllegalArgumentException("User ID cannot be null or empty");
         }
 
-        log.info("RoutingService.getUserRequests() - Retrieving requests for userId: {}", userId);
+        log.debug("RoutingService.getUserRequests() - Retrieving requests for userId: {}", userId);
         List<AiRequest> requests = aiRequestRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        log.info("RoutingService.getUserRequests() - Found {} requests for user: {}", requests.size(), userId);
+        log.debug("RoutingService.getUserRequests() - Found {} requests for user: {}", requests.size(), userId);
         return List.copyOf(requests); // Return immutable copy
     }
 }
\ No newline at end of file
@@ -0,0 +1,355 @@
+package com.prismnetai.service.audit;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.entity.Model;
+import com.prismnetai.service.catalog.PriceIndex;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Write-behind persistence for the {@code ai_request} audit trail. Routed requests and their
+ * completions are queued in memory and written by a scheduled flush in JDBC batches, so the
+ * database is off the request path. Within a flush, a completion that arrives before its request
+ * row was written is folded into the insert, and the remaining completions go out as one batch of
+ * updates.
+ *
+ * <p>No audit event is dropped. When the bounded queue is full, a request routed on a thread that
+ * may block inserts its row inline, which pushes back on new requests; events from non-blocking
+ * threads such as Reactor Netty event loops, including every completion, go to an overflow queue
+ * that the flush drains after the main one. While the overflow is non-empty every new event goes
+ * there too, so a completion is never written ahead of its request row. A flush that fails is
+ * retried on the next run. A replayed insert overwrites the completion columns of a row that was
+ * already written, so a partially applied flush can be replayed safely and a completion that
+ * arrives while its row is awaiting retry is not lost.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Service
+public class RequestAuditWriter {
+
+    static final String INSERT_REQUEST_SQL =
+            "INSERT INTO ai_request (id, user_id, routing_strategy, prompt, max_tokens, temperature, selected_provider_id, "
+            + "selected_model_id, status, tokens_used, cost, latency_ms, error_message, created_at, completed_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE status = VALUES(status), tokens_used = VALUES(tokens_used), cost = VALUES(cost), "
+            + "latency_ms = VALUES(latency_ms), error_message = VALUES(error_message), completed_at = VALUES(completed_at)";
+
+    static final String UPDATE_COMPLETION_SQL =
+            "UPDATE ai_request SET status = ?, tokens_used = ?, cost = ?, latency_ms = ?, error_message = ?, completed_at = ? "
+            + "WHERE id = ?";
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<Object> queue;
+    private final int batchSize;
+    private final int maxRetained;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Queue<Object> overflow = new ConcurrentLinkedQueue<>();
+
+    /** Rows from a failed flush, retried first on the next one. Guarded by {@link #flushLock}. */
+    private Map<Long, PendingRequest> retained = new LinkedHashMap<>();
+
+    public RequestAuditWriter(JdbcTemplate jdbcTemplate,
+                              @Value("${prismnet.requests.audit.queue-capacity:10000}") int queueCapacity,
+                              @Value("${prismnet.requests.audit.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxRetained = queueCapacity;
+    }
+
+    /**
+     * Queues the initial row for a routed request. The request must already carry its id.
+     *
+     * @param aiRequest the routed request
+     */
+    public void recordCreated(AiRequest aiRequest) {
+        enqueue(PendingRequest.created(aiRequest));
+    }
+
+    /**
+     * Queues the terminal state of a request.
+     *
+     * @param completion the completion
+     */
+    public void recordCompletion(RequestCompletion completion) {
+        enqueue(completion);
+    }
+
+    /**
+     * Builds the completion of a successful call, pricing the tokens at the selected model's rates.
+     *
+     * @param aiRequest the routed request
+     * @param promptTokens prompt tokens, 0 if unknown
+     * @param completionTokens completion tokens
+     * @param latencyMs total call duration
+     * @return the completion
+     */
+    public static RequestCompletion completed(AiRequest aiRequest, long promptTokens, long completionTokens, long latencyMs) {
+        return new RequestCompletion(aiRequest.getId(), AiRequest.RequestStatus.COMPLETED,
+                                     (int) Math.min(Integer.MAX_VALUE, promptTokens + completionTokens),
+                                     cost(aiRequest.getSelectedModel(), promptTokens, completionTokens),
+                                     latencyMs, null, LocalDateTime.now());
+    }
+
+    /**
+     * Builds the completion of a failed call.
+     *
+     * @param aiRequest the routed request
+     * @param error the failure
+     * @param latencyMs total call duration
+     * @return the completion
+     */
+    public static RequestCompletion failed(AiRequest aiRequest, Throwable error, long latencyMs) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        return new RequestCompletion(aiRequest.getId(), AiRequest.RequestStatus.FAILED, null, null,
+                                     latencyMs, truncate(message), LocalDateTime.now());
+    }
+
+    /**
+     * Builds the completion of a stream that ended early, either on an upstream error or because
+     * the client went away. Tokens streamed before that point are still billed by the provider,
+     * so they are recorded and priced.
+     *
+     * @param aiRequest the routed request
+     * @param reason why the stream ended
+     * @param promptTokens prompt tokens, 0 if unknown
+     * @param completionTokens completion tokens streamed so far
+     * @param latencyMs total stream duration
+     * @return the completion
+     */
+    public static RequestCompletion interrupted(AiRequest aiRequest, String reason, long promptTokens,
+                                                long completionTokens, long latencyMs) {
+        return new RequestCompletion(aiRequest.getId(), AiRequest.RequestStatus.FAILED,
+                                     (int) Math.min(Integer.MAX_VALUE, promptTokens + completionTokens),
+                                     cost(aiRequest.getSelectedModel(), promptTokens, completionTokens),
+                                     latencyMs, truncate(reason), LocalDateTime.now());
+    }
+
+    /**
+     * Drains the queue and writes it in batches: inserts for new requests (with their completion
+     * folded in when both are pending) followed by updates for requests already written.
+     */
+    @Scheduled(fixedDelayString = "${prismnet.requests.audit.flush-interval:250}",
+               initialDelayString = "${prismnet.requests.audit.flush-interval:250}")
+    @PreDestroy
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Object> drained = new ArrayList<>(batchSize);
+            do {
+                drained.clear();
+                queue.drainTo(drained, batchSize);
+                // Overflow events are newer than everything in the queue, so they go out only once it is empty
+                Object overflowed;
+                while (drained.size() < batchSize && queue.isEmpty() && (overflowed = overflow.poll()) != null) {
+                    drained.add(overflowed);
+                }
+                Map<Long, PendingRequest> pending = retained;
+                retained = new LinkedHashMap<>();
+                drained.forEach(event -> coalesce(pending, event));
+                if (!pending.isEmpty()) {
+                    write(pending);
+                }
+            } while (drained.size() == batchSize);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    int queuedCount() {
+        return queue.size();
+    }
+
+    int overflowCount() {
+        return overflow.size();
+    }
+
+    private void enqueue(Object event) {
+        if (overflow.isEmpty() && queue.offer(event)) {
+            return;
+        }
+        if (event instanceof PendingRequest created && !Schedulers.isInNonBlockingThread() && insertNow(created)) {
+            return;
+        }
+        overflow.add(event);
+    }
+
+    /**
+     * Inserts a request row on the calling thread because the queue is full.
+     *
+     * @return false if the insert failed and the row must still be queued
+     */
+    private boolean insertNow(PendingRequest created) {
+        log.warn("RequestAuditWriter.insertNow() - Audit queue is full, inserting request {} on the calling thread",
+                 created.id);
+        try {
+            jdbcTemplate.update(INSERT_REQUEST_SQL, created.insertRow());
+            return true;
+        } catch (DataAccessException e) {
+            log.error("RequestAuditWriter.insertNow() - Failed to insert request {}, queueing it for retry: {}",
+                      created.id, e.getMessage());
+            return false;
+        }
+    }
+
+    private static void coalesce(Map<Long, PendingRequest> pending, Object event) {
+        if (event instanceof PendingRequest created) {
+            PendingRequest existing = pending.get(created.id);
+            if (existing != null) {
+                created.apply(existing.completion);
+            }
+            pending.put(created.id, created);
+        } else if (event instanceof RequestCompletion completion) {
+            pending.computeIfAbsent(completion.requestId(), PendingRequest::completionOnly).apply(completion);
+        }
+    }
+
+    private void write(Map<Long, PendingRequest> pending) {
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (PendingRequest request : pending.values()) {
+            if (request.userId != null) {
+                inserts.add(request.insertRow());
+            } else {
+                updates.add(request.updateRow());
+            }
+        }
+        try {
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_REQUEST_SQL, inserts);
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_COMPLETION_SQL, updates);
+            }
+            log.debug("RequestAuditWriter.write() - Persisted {} request rows and {} completion updates",
+                      inserts.size(), updates.size());
+        } catch (DataAccessException e) {
+            log.error("RequestAuditWriter.write() - Failed to persist {} request rows and {} completion updates, will retry: {}",
+                      inserts.size(), updates.size(), e.getMessage(), e);
+            pending.forEach(retained::putIfAbsent);
+            trimRetained();
+        }
+    }
+
+    /**
+     * Bounds the rows kept for retry while the database is unavailable, discarding the oldest.
+     */
+    private void trimRetained() {
+        int excess = retained.size() - maxRetained;
+        if (excess <= 0) {
+            return;
+        }
+        var iterator = retained.values().iterator();
+        for (int i = 0; i < excess; i++) {
+            iterator.next();
+            iterator.remove();
+        }
+        log.error("RequestAuditWriter.trimRetained() - Discarded {} unwritten request rows, retry backlog exceeds {}",
+                  excess, maxRetained);
+    }
+
+    private static BigDecimal cost(Model model, long promptTokens, long completionTokens) {
+        if (model == null || model.getInputPricing() == null || model.getOutputPricing() == null) {
+            return null;
+        }
+        return PriceIndex.fromMicros(PriceIndex.costMicros(model, promptTokens, completionTokens));
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_MESSAGE_LENGTH ? message.substring(0, MAX_ERROR_MESSAGE_LENGTH) : message;
+    }
+
+    private static Timestamp timestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+
+    /**
+     * A request row waiting to be written: the full row if it has not been inserted yet
+     * ({@code userId} set), otherwise only its completion columns.
+     */
+    private static final class PendingRequest {
+        private final Long id;
+        private String userId;
+        private String routingStrategy;
+        private String prompt;
+        private Integer maxTokens;
+        private BigDecimal temperature;
+        private Long providerId;
+        private Long modelId;
+        private LocalDateTime createdAt;
+        private RequestCompletion completion;
+
+        private PendingRequest(Long id) {
+            this.id = id;
+        }
+
+        static PendingRequest created(AiRequest aiRequest) {
+            PendingRequest request = new PendingRequest(aiRequest.getId());
+            request.userId = aiRequest.getUserId();
+            request.routingStrategy = aiRequest.getRoutingStrategy().name();
+            request.prompt = aiRequest.getPrompt();
+            request.maxTokens = aiRequest.getMaxTokens();
+            request.temperature = aiRequest.getTemperature();
+            request.providerId = aiRequest.getSelectedProvider() != null ? aiRequest.getSelectedProvider().getId() : null;
+            request.modelId = aiRequest.getSelectedModel() != null ? aiRequest.getSelectedModel().getId() : null;
+            request.createdAt = aiRequest.getCreatedAt() != null ? aiRequest.getCreatedAt() : LocalDateTime.now();
+            return request;
+        }
+
+        static PendingRequest completionOnly(Long id) {
+            return new PendingRequest(id);
+        }
+
+        void apply(RequestCompletion completion) {
+            if (completion != null) {
+                this.completion = completion;
+            }
+        }
+
+        Object[] insertRow() {
+            String status = completion != null ? completion.status().name() : AiRequest.RequestStatus.PENDING.name();
+            return new Object[] {
+                id, userId, routingStrategy, prompt, maxTokens, temperature, providerId, modelId, status,
+                completion != null ? completion.tokensUsed() : null,
+                completion != null ? completion.cost() : null,
+                completion != null ? completion.latencyMs() : null,
+                completion != null ? completion.errorMessage() : null,
+                timestamp(createdAt),
+                completion != null ? timestamp(completion.completedAt()) : null
+            };
+        }
+
+        Object[] updateRow() {
+            return new Object[] {
+                completion.status().name(), completion.tokensUsed(), completion.cost(), completion.latencyMs(),
+                completion.errorMessage(), timestamp(completion.completedAt()), id
+            };
+        }
+    }
+}
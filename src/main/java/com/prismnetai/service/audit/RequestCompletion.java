@@ -0,0 +1,31 @@
+package com.prismnetai.service.audit;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.prismnetai.entity.AiRequest;
+
+/**
+ * Terminal state of a routed request, written to its {@code ai_request} row by the
+ * {@link RequestAuditWriter}.
+ *
+ * @param requestId the request id
+ * @param status {@link AiRequest.RequestStatus#COMPLETED} or {@link AiRequest.RequestStatus#FAILED}
+ * @param tokensUsed total tokens consumed, null if unknown
+ * @param cost provider cost of the call, null if unknown
+ * @param latencyMs total call duration
+ * @param errorMessage failure reason, null on success
+ * @param completedAt when the call finished
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public record RequestCompletion(Long requestId,
+                                AiRequest.RequestStatus status,
+                                Integer tokensUsed,
+                                BigDecimal cost,
+                                Long latencyMs,
+                                String errorMessage,
+                                LocalDateTime completedAt) {
+}
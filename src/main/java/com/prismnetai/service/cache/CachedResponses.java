@@ -0,0 +1,130 @@
+package com.prismnetai.service.cache;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.prismnetai.dto.ChatCompletionResponse;
+import com.prismnetai.entity.AiRequest;
+
+/**
+ * Copies between provider responses and the snapshots the response caches hold. A snapshot
+ * shares nothing mutable with the response it was taken from, and every hit gets its own copy,
+ * so callers may stamp routing info on either without affecting other requests.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+final class CachedResponses {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private CachedResponses() {
+    }
+
+    /**
+     * @return whether the response has content worth caching
+     */
+    static boolean isCacheable(ChatCompletionResponse response) {
+        return response != null && response.getChoices() != null && !response.getChoices().isEmpty();
+    }
+
+    /**
+     * Takes the snapshot of a provider response to cache. Choices are copied into an immutable
+     * list, since hits share them.
+     */
+    static ChatCompletionResponse snapshot(ChatCompletionResponse response) {
+        return ChatCompletionResponse.builder()
+            .object(response.getObject())
+            .model(response.getModel())
+            .choices(List.copyOf(response.getChoices()))
+            .routingInfo(response.getRoutingInfo() == null ? null : ChatCompletionResponse.RoutingInfo.builder()
+                .strategy(response.getRoutingInfo().getStrategy())
+                .provider(response.getRoutingInfo().getProvider())
+                .build())
+            .usage(response.getUsage() == null ? null : ChatCompletionResponse.Usage.builder()
+                .promptTokens(response.getUsage().getPromptTokens())
+                .completionTokens(response.getUsage().getCompletionTokens())
+                .totalTokens(response.getUsage().getTotalTokens())
+                .cost(response.getUsage().getCost())
+                .build())
+            .build();
+    }
+
+    /**
+     * Copies a snapshot as the answer to a new request: its own id, marked as a cache hit and
+     * costing nothing.
+     */
+    static ChatCompletionResponse copyForHit(ChatCompletionResponse cached, AiRequest aiRequest) {
+        ChatCompletionResponse.RoutingInfo routingInfo = cached.getRoutingInfo();
+        ChatCompletionResponse.Usage usage = cached.getUsage();
+        return ChatCompletionResponse.builder()
+            .id("chatcmpl-" + aiRequest.getId())
+            .object(cached.getObject())
+            .created((int) (System.currentTimeMillis() / 1000))
+            .model(cached.getModel())
+            .choices(cached.getChoices())
+            .routingInfo(ChatCompletionResponse.RoutingInfo.builder()
+                .strategy(routingInfo != null ? routingInfo.getStrategy() : null)
+                .provider(routingInfo != null ? routingInfo.getProvider() : null)
+                .latencyMs(0L)
+                .cacheHit(true)
+                .build())
+            .usage(usage == null ? null : ChatCompletionResponse.Usage.builder()
+                .promptTokens(usage.getPromptTokens())
+                .completionTokens(usage.getCompletionTokens())
+                .totalTokens(usage.getTotalTokens())
+                .cost(BigDecimal.ZERO)
+                .build())
+            .build();
+    }
+
+    /**
+     * Copies the response of a shared in-flight call for a request that joined it: its own id,
+     * marked as coalesced and costing nothing, since the provider billed the leading request.
+     */
+    static ChatCompletionResponse copyForFollower(ChatCompletionResponse response, AiRequest aiRequest, long latencyMs) {
+        ChatCompletionResponse.RoutingInfo routingInfo = response.getRoutingInfo();
+        ChatCompletionResponse.Usage usage = response.getUsage();
+        return ChatCompletionResponse.builder()
+            .id("chatcmpl-" + aiRequest.getId())
+            .object(response.getObject())
+            .created(response.getCreated())
+            .model(response.getModel())
+            .choices(response.getChoices() == null ? null : List.copyOf(response.getChoices()))
+            .routingInfo(ChatCompletionResponse.RoutingInfo.builder()
+                .strategy(routingInfo != null ? routingInfo.getStrategy() : null)
+                .provider(routingInfo != null ? routingInfo.getProvider() : null)
+                .latencyMs(latencyMs)
+                .hedged(routingInfo != null ? routingInfo.getHedged() : null)
+                .coalesced(true)
+                .build())
+            .usage(usage == null ? null : ChatCompletionResponse.Usage.builder()
+                .promptTokens(usage.getPromptTokens())
+                .completionTokens(usage.getCompletionTokens())
+                .totalTokens(usage.getTotalTokens())
+                .cost(BigDecimal.ZERO)
+                .build())
+            .build();
+    }
+
+    /**
+     * @return the cost the provider charged for the cached response, zero if unknown
+     */
+    static BigDecimal originalCost(ChatCompletionResponse cached) {
+        return cached.getUsage() != null && cached.getUsage().getCost() != null ? cached.getUsage().getCost() : BigDecimal.ZERO;
+    }
+
+    /**
+     * @return the approximate heap footprint of a snapshot in bytes
+     */
+    static int weigh(ChatCompletionResponse response) {
+        long chars = 0;
+        for (ChatCompletionResponse.ChatChoice choice : response.getChoices()) {
+            if (choice.getMessage() != null && choice.getMessage().getContent() != null) {
+                chars += choice.getMessage().getContent().length();
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD_BYTES + 2 * chars);
+    }
+}
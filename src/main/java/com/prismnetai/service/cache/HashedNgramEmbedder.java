@@ -0,0 +1,89 @@
+package com.prismnetai.service.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Embeds text by feature hashing: every word and every character trigram of the lower-cased,
+ * whitespace-collapsed text is hashed to one of {@code dimensions} buckets with a hashed sign,
+ * and the counts are L2-normalized. Prompts that share most of their words and spelling, such as
+ * filled-in templates, land close together; it knows nothing of meaning, so paraphrases do not.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class HashedNgramEmbedder implements PromptEmbedder {
+
+    private static final int NGRAM = 3;
+
+    private final int dimensions;
+
+    public HashedNgramEmbedder(@Value("${prismnet.routing.semantic-cache.dimensions:256}") int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        if (text == null || text.isBlank()) {
+            return vector;
+        }
+        String normalized = text.toLowerCase().trim().replaceAll("\\s+", " ");
+        int wordStart = 0;
+        for (int i = 0; i <= normalized.length(); i++) {
+            if (i == normalized.length() || normalized.charAt(i) == ' ') {
+                if (i > wordStart) {
+                    add(vector, hash(normalized, wordStart, i, 0x9E3779B9));
+                }
+                wordStart = i + 1;
+            }
+            if (i + NGRAM <= normalized.length()) {
+                add(vector, hash(normalized, i, i + NGRAM, 0x85EBCA6B));
+            }
+        }
+        normalize(vector);
+        return vector;
+    }
+
+    private void add(float[] vector, int hash) {
+        int bucket = Math.floorMod(hash, dimensions);
+        vector[bucket] += (hash & 0x8000_0000) == 0 ? 1f : -1f;
+    }
+
+    /**
+     * FNV-1a over a substring, seeded per feature kind so a word and a trigram with the same
+     * characters hash apart, finished with a murmur-style mix.
+     */
+    private static int hash(String text, int start, int end, int seed) {
+        int h = 0x811C9DC5 ^ seed;
+        for (int i = start; i < end; i++) {
+            h ^= text.charAt(i);
+            h *= 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    private static void normalize(float[] vector) {
+        double sumOfSquares = 0;
+        for (float component : vector) {
+            sumOfSquares += component * component;
+        }
+        if (sumOfSquares == 0) {
+            return;
+        }
+        float scale = (float) (1.0 / Math.sqrt(sumOfSquares));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+    }
+}
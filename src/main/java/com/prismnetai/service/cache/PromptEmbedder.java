@@ -0,0 +1,26 @@
+package com.prismnetai.service.cache;
+
+/**
+ * Maps a prompt to a unit-length vector whose dot product with another prompt's vector measures
+ * how similar the two are. The default {@link HashedNgramEmbedder} needs no model; a CPU embedding
+ * model can replace it by being declared as a {@code @Primary} bean.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public interface PromptEmbedder {
+
+    /**
+     * @return the length of every vector this embedder produces
+     */
+    int dimensions();
+
+    /**
+     * Embeds a text.
+     *
+     * @param text the text to embed
+     * @return an L2-normalized vector of {@link #dimensions()} components, all zero for blank text
+     */
+    float[] embed(String text);
+}
@@ -0,0 +1,202 @@
+package com.prismnetai.service.cache;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.prismnetai.dto.ChatCompletionRequest;
+import com.prismnetai.dto.ChatCompletionResponse;
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.service.metrics.ProviderCallMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Single-flight coalescing of concurrent identical requests, keyed by the same canonical request
+ * hash as the {@link ResponseCache}. The first request for a key leads: its provider call runs
+ * as usual. Requests with the same key that arrive while it is in flight join it instead of
+ * calling the provider themselves. Followers of a non-streaming call receive a copy of its
+ * response stamped with their own id, marked as coalesced and costing nothing. Followers of a
+ * stream receive every chunk the leader received, replayed from the start for late joiners,
+ * followed by the live remainder; the chunks are shared verbatim and keep the leader's id.
+ *
+ * <p>The shared call is reference counted: it keeps running while any joined request is still
+ * subscribed, even if the leading client has gone, and is cancelled when the last one leaves.
+ * A flight is removed from the index as soon as its call terminates, before its result is
+ * delivered, so later requests start a new call. Followers share the leader's failure too; the
+ * leader has already been through failover. Only deterministic (temperature 0) requests are
+ * coalesced unless {@code prismnet.routing.coalescing.sampled} is set, since identical sampled
+ * requests may be sent deliberately to get different completions. Joins are counted in
+ * {@code prismnet.coalescing.joined}, tagged by mode.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Service
+public class RequestCoalescer {
+
+    private final ProviderCallMetrics providerCallMetrics;
+    private final boolean enabled;
+    private final boolean coalesceSampled;
+    private final ConcurrentMap<ResponseCache.Key, Flight<ChatCompletionResponse>> completions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ResponseCache.Key, Flight<String>> streams = new ConcurrentHashMap<>();
+    private final Counter joinedCompletions;
+    private final Counter joinedStreams;
+
+    public RequestCoalescer(ProviderCallMetrics providerCallMetrics,
+                            MeterRegistry meterRegistry,
+                            @Value("${prismnet.routing.coalescing.enabled:true}") boolean enabled,
+                            @Value("${prismnet.routing.coalescing.sampled:false}") boolean coalesceSampled) {
+        this.providerCallMetrics = providerCallMetrics;
+        this.enabled = enabled;
+        this.coalesceSampled = coalesceSampled;
+        this.joinedCompletions = Counter.builder("prismnet.coalescing.joined")
+            .description("Requests answered by joining an identical in-flight call")
+            .tag("mode", "completion")
+            .register(meterRegistry);
+        this.joinedStreams = Counter.builder("prismnet.coalescing.joined")
+            .description("Requests answered by joining an identical in-flight call")
+            .tag("mode", "stream")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Runs a non-streaming call, or joins an identical one already in flight.
+     *
+     * @param request the chat completion request
+     * @param aiRequest the routed request
+     * @param call supplies the provider call, only invoked if this request leads
+     * @return the response of the leading call, copied for followers
+     */
+    public Mono<ChatCompletionResponse> coalesce(ChatCompletionRequest request, AiRequest aiRequest,
+                                                 Supplier<Mono<ChatCompletionResponse>> call) {
+        if (!shouldCoalesce(request)) {
+            return call.get();
+        }
+        ResponseCache.Key key = ResponseCache.digest(request, aiRequest);
+        return Mono.defer(() -> joinCompletion(key, aiRequest, call));
+    }
+
+    /**
+     * Runs a streaming call, or joins an identical one already in flight.
+     *
+     * @param request the chat completion request
+     * @param aiRequest the routed request
+     * @param call supplies the provider stream, only invoked if this request leads
+     * @return the chunks of the leading stream, replayed from the start for followers
+     */
+    public Flux<String> coalesceStream(ChatCompletionRequest request, AiRequest aiRequest, Supplier<Flux<String>> call) {
+        if (!shouldCoalesce(request)) {
+            return call.get();
+        }
+        ResponseCache.Key key = ResponseCache.digest(request, aiRequest);
+        return Flux.defer(() -> joinStream(key, aiRequest, call));
+    }
+
+    private Mono<ChatCompletionResponse> joinCompletion(ResponseCache.Key key, AiRequest aiRequest,
+                                                        Supplier<Mono<ChatCompletionResponse>> call) {
+        Flight<ChatCompletionResponse> flight = new Flight<>(completions, key, aiRequest, call);
+        Flight<ChatCompletionResponse> leading = completions.putIfAbsent(key, flight);
+        if (leading == null) {
+            return flight.shared.singleOrEmpty();
+        }
+        long startNanos = System.nanoTime();
+        return leading.shared.singleOrEmpty()
+            .doOnSubscribe(subscription -> onJoin(joinedCompletions, aiRequest, leading))
+            .map(response -> CachedResponses.copyForFollower(response, aiRequest, elapsedMillis(startNanos)))
+            .doOnSuccess(response -> providerCallMetrics.recordCoalesced(aiRequest, startNanos))
+            .doOnError(error -> onFollowerError(aiRequest, startNanos, error))
+            .doOnCancel(() -> providerCallMetrics.recordCancellation(aiRequest, startNanos))
+            .onErrorResume(FlightClosedException.class, closed -> joinCompletion(key, aiRequest, call));
+    }
+
+    private Flux<String> joinStream(ResponseCache.Key key, AiRequest aiRequest, Supplier<Flux<String>> call) {
+        Flight<String> flight = new Flight<>(streams, key, aiRequest, call);
+        Flight<String> leading = streams.putIfAbsent(key, flight);
+        if (leading == null) {
+            return flight.shared;
+        }
+        long startNanos = System.nanoTime();
+        return leading.shared
+            .doOnSubscribe(subscription -> onJoin(joinedStreams, aiRequest, leading))
+            .doOnComplete(() -> providerCallMetrics.recordCoalesced(aiRequest, startNanos))
+            .doOnError(error -> onFollowerError(aiRequest, startNanos, error))
+            .doOnCancel(() -> providerCallMetrics.recordCancellation(aiRequest, startNanos))
+            .onErrorResume(FlightClosedException.class, closed -> joinStream(key, aiRequest, call));
+    }
+
+    private void onJoin(Counter joined, AiRequest aiRequest, Flight<?> leading) {
+        joined.increment();
+        log.info("RequestCoalescer.join() - Request {} joined in-flight request {} for model: {}",
+                  aiRequest.getId(), leading.leaderId, aiRequest.getSelectedModel().getModelId());
+    }
+
+    /**
+     * Audits a follower whose shared call failed. A flight that closed between being found and
+     * being joined is not a failure; the follower retries with a call of its own.
+     */
+    private void onFollowerError(AiRequest aiRequest, long startNanos, Throwable error) {
+        if (!(error instanceof FlightClosedException)) {
+            providerCallMetrics.recordCoalescedFailure(aiRequest, startNanos, error);
+        }
+    }
+
+    private boolean shouldCoalesce(ChatCompletionRequest request) {
+        if (!enabled) {
+            return false;
+        }
+        BigDecimal temperature = request.getTemperature();
+        return coalesceSampled || (temperature != null && temperature.signum() == 0);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    /**
+     * One shared provider call. The call is connected by its first subscriber and replayed to
+     * later ones; once it has terminated or been cancelled it cannot be connected again, and a
+     * subscriber that still reaches it gets a {@link FlightClosedException}.
+     */
+    private static final class Flight<T> {
+
+        private final Long leaderId;
+        private final AtomicBoolean connected = new AtomicBoolean();
+        private final Flux<T> shared;
+
+        Flight(ConcurrentMap<ResponseCache.Key, Flight<T>> flights, ResponseCache.Key key, AiRequest leader,
+               Supplier<? extends Publisher<T>> call) {
+            this.leaderId = leader.getId();
+            this.shared = Flux.defer(() -> connected.compareAndSet(false, true)
+                    ? Flux.from(call.get())
+                    : Flux.<T>error(new FlightClosedException()))
+                // Removed before the result is delivered, so no request joins a finished call
+                .doOnTerminate(() -> flights.remove(key, this))
+                .doOnCancel(() -> flights.remove(key, this))
+                .replay()
+                .refCount();
+        }
+    }
+
+    /**
+     * Signals that a flight was joined after its call had ended.
+     */
+    private static final class FlightClosedException extends RuntimeException {
+
+        FlightClosedException() {
+            super("Coalesced call already ended", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.prismnetai.service.cache;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.prismnetai.dto.ChatCompletionRequest;
+import com.prismnetai.dto.ChatCompletionResponse;
+import com.prismnetai.entity.AiRequest;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exact-match cache of non-streaming completions, keyed by a SHA-256 digest of the normalized
+ * request: user, selected model, max tokens, temperature and every message's role and content.
+ * Only deterministic requests (temperature 0) are cached; sampling at any other temperature is
+ * expected to vary. Keys are scoped per user, so one tenant never sees another's responses.
+ *
+ * <p>Entries live in a Caffeine cache, whose W-TinyLFU policy admits a new entry only if it is
+ * likely to be requested more often than the one it would evict, bounded by an approximate byte
+ * weight and expiring {@code prismnet.routing.cache.ttl} seconds after they are written. Users can
+ * be opted in (when any are listed, only they are cached) or out by configuration.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Service
+public class ResponseCache {
+
+    private final boolean enabled;
+    private final Set<String> optInUsers;
+    private final Set<String> optOutUsers;
+    private final Cache<Key, ChatCompletionResponse> cache;
+
+    public ResponseCache(@Value("${prismnet.routing.cache.enabled:true}") boolean enabled,
+                         @Value("${prismnet.routing.cache.ttl:300}") long ttlSeconds,
+                         @Value("${prismnet.routing.cache.max-weight:67108864}") long maxWeight,
+                         @Value("${prismnet.routing.cache.opt-in-users:}") List<String> optInUsers,
+                         @Value("${prismnet.routing.cache.opt-out-users:}") List<String> optOutUsers) {
+        this.enabled = enabled;
+        this.optInUsers = Set.copyOf(optInUsers);
+        this.optOutUsers = Set.copyOf(optOutUsers);
+        this.cache = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .maximumWeight(maxWeight)
+            .weigher((Key key, ChatCompletionResponse response) -> CachedResponses.weigh(response))
+            .build();
+    }
+
+    /**
+     * Builds the cache key of a request, if it may be cached at all.
+     *
+     * @param request the chat completion request
+     * @param aiRequest the routed request
+     * @return the key, or null if the request is not deterministic or its user is not cached
+     */
+    public Key keyFor(ChatCompletionRequest request, AiRequest aiRequest) {
+        if (!enabled || !isDeterministic(request) || !isCachedUser(aiRequest.getUserId())) {
+            return null;
+        }
+        return digest(request, aiRequest);
+    }
+
+    /**
+     * Computes the canonical hash of a request, whether or not it may be cached. Temperatures are
+     * compared by value, so 0 and 0.0 hash alike.
+     *
+     * @param request the chat completion request
+     * @param aiRequest the routed request
+     * @return the digest of the normalized request
+     */
+    static Key digest(ChatCompletionRequest request, AiRequest aiRequest) {
+        MessageDigest digest = sha256();
+        update(digest, aiRequest.getUserId());
+        update(digest, aiRequest.getSelectedModel().getModelId());
+        update(digest, String.valueOf(aiRequest.getSelectedModel().getId()));
+        update(digest, String.valueOf(request.getMaxTokens()));
+        BigDecimal temperature = request.getTemperature();
+        update(digest, temperature != null ? temperature.stripTrailingZeros().toPlainString() : null);
+        if (request.getMessages() != null) {
+            for (ChatCompletionRequest.ChatMessage message : request.getMessages()) {
+                update(digest, message.getRole());
+                update(digest, message.getContent());
+            }
+        }
+        ByteBuffer hash = ByteBuffer.wrap(digest.digest());
+        return new Key(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    /**
+     * Looks up a cached response and returns a copy of it stamped for the new request.
+     *
+     * @param key the key from {@link #keyFor}
+     * @param aiRequest the routed request being answered
+     * @return the copy marked as a cache hit, or null on a miss
+     */
+    public ChatCompletionResponse get(Key key, AiRequest aiRequest) {
+        ChatCompletionResponse cached = cache.getIfPresent(key);
+        if (cached == null) {
+            return null;
+        }
+        log.info("ResponseCache.get() - Cache hit for request {} of user: {}", aiRequest.getId(), aiRequest.getUserId());
+        return CachedResponses.copyForHit(cached, aiRequest);
+    }
+
+    /**
+     * Caches a snapshot of a response.
+     *
+     * @param key the key from {@link #keyFor}
+     * @param response the provider's response
+     */
+    public void put(Key key, ChatCompletionResponse response) {
+        if (CachedResponses.isCacheable(response)) {
+            cache.put(key, CachedResponses.snapshot(response));
+        }
+    }
+
+    private boolean isCachedUser(String userId) {
+        if (optOutUsers.contains(userId)) {
+            return false;
+        }
+        return optInUsers.isEmpty() || optInUsers.contains(userId);
+    }
+
+    private static boolean isDeterministic(ChatCompletionRequest request) {
+        BigDecimal temperature = request.getTemperature();
+        return temperature != null && temperature.signum() == 0 && !Boolean.TRUE.equals(request.getStream());
+    }
+
+    /**
+     * Length-prefixes each field, so adjacent fields cannot run into each other.
+     */
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update((byte) 0xFF);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The 256-bit digest of a normalized request.
+     */
+    public record Key(long h0, long h1, long h2, long h3) {
+    }
+}
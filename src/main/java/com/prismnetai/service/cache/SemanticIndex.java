@@ -0,0 +1,121 @@
+package com.prismnetai.service.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.prismnetai.dto.ChatCompletionResponse;
+
+/**
+ * Bounded vector index for one tenant and model. Vectors are packed into one contiguous
+ * {@code float[]} and searched exhaustively: a scope holds at most a few hundred entries, which
+ * a linear scan over contiguous memory answers exactly in microseconds, with none of the build
+ * cost or recall loss of an approximate (HNSW or IVF) index. The arrays start small and double as
+ * entries are added, so a scope costs memory for the entries it holds; once at capacity, the
+ * oldest entry is overwritten.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+final class SemanticIndex {
+
+    static final int INITIAL_CAPACITY = 8;
+
+    private final int dimensions;
+    private final int capacity;
+    private float[] vectors;
+    private ChatCompletionResponse[] responses;
+    private long[] expiresAtNanos;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+    private int next;
+
+    SemanticIndex(int dimensions, int capacity) {
+        this.dimensions = dimensions;
+        this.capacity = capacity;
+        int initial = Math.min(capacity, INITIAL_CAPACITY);
+        this.vectors = new float[dimensions * initial];
+        this.responses = new ChatCompletionResponse[initial];
+        this.expiresAtNanos = new long[initial];
+    }
+
+    /**
+     * Finds the most similar unexpired entry at or above the threshold.
+     *
+     * @param vector the normalized query vector
+     * @param threshold the minimum cosine similarity
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the match, or null if none is similar enough
+     */
+    Match search(float[] vector, double threshold, long nowNanos) {
+        lock.readLock().lock();
+        try {
+            int best = -1;
+            double bestSimilarity = threshold;
+            for (int slot = 0; slot < size; slot++) {
+                if (expiresAtNanos[slot] - nowNanos <= 0) {
+                    continue;
+                }
+                double similarity = dot(vector, slot * dimensions);
+                if (similarity >= bestSimilarity) {
+                    best = slot;
+                    bestSimilarity = similarity;
+                }
+            }
+            return best < 0 ? null : new Match(responses[best], bestSimilarity);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds an entry, overwriting the oldest when the index is full.
+     */
+    void add(float[] vector, ChatCompletionResponse response, long expiresAtNanos) {
+        lock.writeLock().lock();
+        try {
+            int slot = next;
+            if (slot == responses.length) {
+                grow();
+            }
+            System.arraycopy(vector, 0, vectors, slot * dimensions, dimensions);
+            responses[slot] = response;
+            this.expiresAtNanos[slot] = expiresAtNanos;
+            next = (slot + 1) % capacity;
+            size = Math.max(size, slot + 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Doubles the arrays, up to the capacity. Only called while appending, so entries stay in order.
+     */
+    private void grow() {
+        int allocated = Math.min(capacity, responses.length * 2);
+        vectors = Arrays.copyOf(vectors, dimensions * allocated);
+        responses = Arrays.copyOf(responses, allocated);
+        expiresAtNanos = Arrays.copyOf(expiresAtNanos, allocated);
+    }
+
+    int allocatedEntries() {
+        lock.readLock().lock();
+        try {
+            return responses.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double dot(float[] vector, int offset) {
+        float sum = 0f;
+        for (int i = 0; i < dimensions; i++) {
+            sum += vector[i] * vectors[offset + i];
+        }
+        return sum;
+    }
+
+    record Match(ChatCompletionResponse response, double similarity) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.prismnetai.service.cache;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.prismnetai.dto.ChatCompletionRequest;
+import com.prismnetai.dto.ChatCompletionResponse;
+import com.prismnetai.entity.AiRequest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Near-duplicate cache of non-streaming completions. The prompt is embedded locally by the
+ * {@link PromptEmbedder} and compared with the prompts already answered for the same user, model,
+ * max tokens and temperature, so a sampled completion is never served to a deterministic request
+ * or the other way round; a response is served when the cosine similarity reaches
+ * {@code prismnet.routing.semantic-cache.similarity-threshold}. It sits behind the exact-match
+ * {@link ResponseCache} and is off by default, since a near match is by definition not the
+ * question that was asked.
+ *
+ * <p>Memory is bounded twice: each scope is a {@link SemanticIndex} of at most
+ * {@code entries-per-scope} entries, which allocates for the entries it holds rather than the
+ * maximum, and at most {@code max-scopes} scopes are kept, the least recently used evicted first. Lookups are counted in {@code prismnet.cache.semantic.lookups},
+ * tagged hit or miss, and the provider cost of the responses served in
+ * {@code prismnet.cache.semantic.saved_cost}.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Service
+public class SemanticResponseCache {
+
+    private final PromptEmbedder promptEmbedder;
+    private final boolean enabled;
+    private final double similarityThreshold;
+    private final long ttlNanos;
+    private final int entriesPerScope;
+    private final Set<String> optOutUsers;
+    private final Cache<Scope, SemanticIndex> indexes;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter savedCost;
+
+    public SemanticResponseCache(PromptEmbedder promptEmbedder,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${prismnet.routing.semantic-cache.enabled:false}") boolean enabled,
+                                 @Value("${prismnet.routing.semantic-cache.similarity-threshold:0.95}") double similarityThreshold,
+                                 @Value("${prismnet.routing.semantic-cache.ttl:3600}") long ttlSeconds,
+                                 @Value("${prismnet.routing.semantic-cache.max-scopes:1000}") long maxScopes,
+                                 @Value("${prismnet.routing.semantic-cache.entries-per-scope:256}") int entriesPerScope,
+                                 @Value("${prismnet.routing.semantic-cache.opt-out-users:}") List<String> optOutUsers) {
+        this.promptEmbedder = promptEmbedder;
+        this.enabled = enabled;
+        this.similarityThreshold = similarityThreshold;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.entriesPerScope = entriesPerScope;
+        this.optOutUsers = Set.copyOf(optOutUsers);
+        this.indexes = Caffeine.newBuilder()
+            .maximumSize(maxScopes)
+            .expireAfterAccess(Duration.ofSeconds(ttlSeconds))
+            .build();
+        this.hits = Counter.builder("prismnet.cache.semantic.lookups")
+            .description("Semantic cache lookups")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.misses = Counter.builder("prismnet.cache.semantic.lookups")
+            .description("Semantic cache lookups")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        this.savedCost = Counter.builder("prismnet.cache.semantic.saved_cost")
+            .description("Provider cost of the responses served from the semantic cache")
+            .register(meterRegistry);
+        Gauge.builder("prismnet.cache.semantic.scopes", indexes, Cache::estimatedSize)
+            .description("Tenant and model scopes held by the semantic cache")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Embeds a request's prompt, if it may be cached at all.
+     *
+     * @param request the chat completion request
+     * @param aiRequest the routed request
+     * @return the probe to look up and store with, or null if the request is streamed, has no
+     *         prompt or its user is not cached
+     */
+    public Probe probe(ChatCompletionRequest request, AiRequest aiRequest) {
+        if (!enabled || Boolean.TRUE.equals(request.getStream()) || optOutUsers.contains(aiRequest.getUserId())
+                || request.getMessages() == null || request.getMessages().isEmpty()) {
+            return null;
+        }
+        StringBuilder prompt = new StringBuilder();
+        for (ChatCompletionRequest.ChatMessage message : request.getMessages()) {
+            prompt.append(message.getRole()).append(": ").append(message.getContent()).append('\n');
+        }
+        Scope scope = new Scope(aiRequest.getUserId(), aiRequest.getSelectedModel().getId(), request.getMaxTokens(),
+                                normalize(request.getTemperature()));
+        return new Probe(scope, promptEmbedder.embed(prompt.toString()));
+    }
+
+    /**
+     * Looks up the most similar cached response and returns a copy of it stamped for the new
+     * request.
+     *
+     * @param probe the probe from {@link #probe}
+     * @param aiRequest the routed request being answered
+     * @return the copy marked as a cache hit, or null if nothing is similar enough
+     */
+    public ChatCompletionResponse get(Probe probe, AiRequest aiRequest) {
+        SemanticIndex index = indexes.getIfPresent(probe.scope());
+        SemanticIndex.Match match = index == null ? null : index.search(probe.vector(), similarityThreshold, System.nanoTime());
+        if (match == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        savedCost.increment(CachedResponses.originalCost(match.response()).doubleValue());
+        log.info("SemanticResponseCache.get() - Semantic cache hit for request {} of user: {}, similarity: {}",
+                  aiRequest.getId(), aiRequest.getUserId(), String.format("%.3f", match.similarity()));
+        return CachedResponses.copyForHit(match.response(), aiRequest);
+    }
+
+    /**
+     * Caches a snapshot of a response under the probe's prompt.
+     *
+     * @param probe the probe from {@link #probe}
+     * @param response the provider's response
+     */
+    public void put(Probe probe, ChatCompletionResponse response) {
+        if (CachedResponses.isCacheable(response)) {
+            indexes.get(probe.scope(), scope -> new SemanticIndex(promptEmbedder.dimensions(), entriesPerScope))
+                .add(probe.vector(), CachedResponses.snapshot(response), System.nanoTime() + ttlNanos);
+        }
+    }
+
+    /**
+     * Strips trailing zeros so that equal temperatures such as 0.7 and 0.70 share a scope.
+     */
+    private static BigDecimal normalize(BigDecimal temperature) {
+        return temperature != null ? temperature.stripTrailingZeros() : null;
+    }
+
+    /**
+     * The partition a prompt is compared within.
+     */
+    record Scope(String userId, Long modelId, Integer maxTokens, BigDecimal temperature) {
+    }
+
+    /**
+     * A request's scope and prompt embedding.
+     */
+    public record Probe(Scope scope, float[] vector) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.prismnetai.service.catalog;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.prismnetai.entity.Model;
+
+/**
+ * Cost-sorted, primitive index over the catalog's active models. Combined input and output
+ * pricing is converted once to long micro-units, and each entry carries the dense slot of
+ * its provider, so PRICE selection is a single forward scan with an O(1) {@link BitSet}
+ * membership check per candidate and no {@link BigDecimal} arithmetic on the hot path.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class PriceIndex {
+
+    /** Number of decimal places kept by the micro-unit representation (matches DECIMAL(10,6) pricing columns). */
+    public static final int MICRO_SCALE = 6;
+
+    private static final PriceIndex EMPTY = new PriceIndex(new Model[0], new long[0], new int[0]);
+
+    private final Model[] models;
+    private final long[] costMicros;
+    private final int[] providerSlots;
+
+    private PriceIndex(Model[] models, long[] costMicros, int[] providerSlots) {
+        this.models = models;
+        this.costMicros = costMicros;
+        this.providerSlots = providerSlots;
+    }
+
+    static PriceIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the index. Models are sorted by combined cost ascending; ties keep catalog order.
+     *
+     * @param models the catalog's routable models
+     * @param providerSlotById the dense provider slot assigned by the catalog
+     * @return the new index
+     */
+    static PriceIndex build(List<Model> models, Map<Long, Integer> providerSlotById) {
+        long[] unsortedCosts = new long[models.size()];
+        for (int i = 0; i < unsortedCosts.length; i++) {
+            Model model = models.get(i);
+            unsortedCosts[i] = toMicros(model.getInputPricing()) + toMicros(model.getOutputPricing());
+        }
+
+        int[] order = IntStream.range(0, models.size())
+                .boxed()
+                .sorted(Comparator.comparingLong(i -> unsortedCosts[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        Model[] sortedModels = new Model[order.length];
+        long[] sortedCosts = new long[order.length];
+        int[] slots = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            Model model = models.get(order[i]);
+            sortedModels[i] = model;
+            sortedCosts[i] = unsortedCosts[order[i]];
+            slots[i] = providerSlotById.get(model.getProvider().getId());
+        }
+        return new PriceIndex(sortedModels, sortedCosts, slots);
+    }
+
+    /**
+     * Returns the cheapest model whose provider slot is set in the given mask.
+     *
+     * @param providerMask provider slots that are eligible for this request
+     * @return the cheapest eligible model, empty if none
+     */
+    public Optional<Model> cheapest(BitSet providerMask) {
+        for (int i = 0; i < models.length; i++) {
+            if (providerMask.get(providerSlots[i])) {
+                return Optional.of(models[i]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the eligible models in cost order, scanned lazily as the stream is consumed.
+     *
+     * @param providerMask provider slots that are eligible for this request
+     * @return eligible models, cheapest first
+     */
+    public Stream<Model> inCostOrder(BitSet providerMask) {
+        return IntStream.range(0, models.length)
+                .filter(i -> providerMask.get(providerSlots[i]))
+                .mapToObj(i -> models[i]);
+    }
+
+    /**
+     * @return the number of indexed models
+     */
+    public int size() {
+        return models.length;
+    }
+
+    /**
+     * @param position the position in cost order
+     * @return the model at that position
+     */
+    public Model modelAt(int position) {
+        return models[position];
+    }
+
+    /**
+     * @param position the position in cost order
+     * @return the combined input and output cost of the model at that position, in micro-units
+     */
+    public long costMicrosAt(int position) {
+        return costMicros[position];
+    }
+
+    /**
+     * Computes the cost of a call in micro-units with long arithmetic. Pricing columns carry
+     * {@link #MICRO_SCALE} decimals, so the result is exact.
+     *
+     * @param model the model that served the call
+     * @param promptTokens prompt tokens
+     * @param completionTokens completion tokens
+     * @return the cost in micro-units, 0 if the model has no pricing
+     * @throws ArithmeticException if the cost overflows a long
+     */
+    public static long costMicros(Model model, long promptTokens, long completionTokens) {
+        if (model == null) {
+            return 0L;
+        }
+        return Math.addExact(Math.multiplyExact(promptTokens, toMicros(model.getInputPricing())),
+                             Math.multiplyExact(completionTokens, toMicros(model.getOutputPricing())));
+    }
+
+    /**
+     * Converts a price to long micro-units, rounding half-up beyond {@link #MICRO_SCALE} decimals.
+     *
+     * @param price the price; null is treated as zero
+     * @return the price in micro-units
+     */
+    public static long toMicros(BigDecimal price) {
+        if (price == null) {
+            return 0L;
+        }
+        return price.setScale(MICRO_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts micro-units back to a {@link BigDecimal} with {@link #MICRO_SCALE} decimals.
+     *
+     * @param micros the amount in micro-units
+     * @return the amount as a decimal
+     */
+    public static BigDecimal fromMicros(long micros) {
+        return BigDecimal.valueOf(micros, MICRO_SCALE);
+    }
+}
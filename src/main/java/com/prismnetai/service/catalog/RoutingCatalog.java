@@ -0,0 +1,235 @@
+package com.prismnetai.service.catalog;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.prismnetai.entity.Model;
+import com.prismnetai.entity.Provider;
+import com.prismnetai.entity.RoutingRule;
+
+/**
+ * Immutable, versioned snapshot of everything the routing strategies need to select a model:
+ * active providers, active models and active custom-order rules, pre-indexed by id and name.
+ * Instances are built once by {@link RoutingCatalogLoader} and published by
+ * {@link RoutingCatalogService} through a copy-on-write swap, so readers never take a lock
+ * and never touch the database.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class RoutingCatalog {
+
+    private static final RoutingCatalog EMPTY = new RoutingCatalog(0L, Instant.EPOCH, List.of(), List.of(), Map.of());
+
+    private final long version;
+    private final Instant loadedAt;
+    private final List<Provider> activeProviders;
+    private final List<Model> activeModels;
+    private final PriceIndex priceIndex;
+    private final Map<Long, Provider> providersById;
+    private final Map<Long, Integer> providerSlotsById;
+    private final Map<String, Provider> providersByName;
+    private final Map<Long, Model> modelsById;
+    private final Map<Long, List<Model>> modelsByProviderId;
+    private final Map<String, List<Model>> modelsByModelId;
+    private final Map<String, List<CustomOrderRule>> rulesByUserId;
+
+    private RoutingCatalog(long version, Instant loadedAt, List<Provider> providers, List<Model> models,
+                           Map<String, List<CustomOrderRule>> rulesByUserId) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.activeProviders = List.copyOf(providers);
+
+        Map<Long, Provider> byId = new HashMap<>();
+        Map<String, Provider> byName = new HashMap<>();
+        Map<Long, Integer> slotsById = new HashMap<>();
+        for (Provider provider : activeProviders) {
+            byId.put(provider.getId(), provider);
+            byName.put(provider.getName(), provider);
+            slotsById.putIfAbsent(provider.getId(), slotsById.size());
+        }
+        this.providersById = Collections.unmodifiableMap(byId);
+        this.providerSlotsById = Collections.unmodifiableMap(slotsById);
+        this.providersByName = Collections.unmodifiableMap(byName);
+
+        // Only keep models whose provider is part of this snapshot
+        List<Model> routableModels = new ArrayList<>();
+        Map<Long, Model> modelById = new HashMap<>();
+        Map<Long, List<Model>> byProvider = new LinkedHashMap<>();
+        Map<String, List<Model>> byModelId = new HashMap<>();
+        for (Model model : models) {
+            Long providerId = model.getProvider().getId();
+            if (!byId.containsKey(providerId)) {
+                continue;
+            }
+            routableModels.add(model);
+            modelById.put(model.getId(), model);
+            byProvider.computeIfAbsent(providerId, id -> new ArrayList<>()).add(model);
+            byModelId.computeIfAbsent(model.getModelId(), id -> new ArrayList<>()).add(model);
+        }
+        this.activeModels = List.copyOf(routableModels);
+        this.priceIndex = routableModels.isEmpty() ? PriceIndex.empty() : PriceIndex.build(routableModels, slotsById);
+        this.modelsById = Collections.unmodifiableMap(modelById);
+        this.modelsByProviderId = freeze(byProvider);
+        this.modelsByModelId = freeze(byModelId);
+        this.rulesByUserId = freeze(rulesByUserId);
+    }
+
+    /**
+     * Returns the empty catalog used before the first successful load.
+     *
+     * @return an empty catalog with version 0
+     */
+    public static RoutingCatalog empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a catalog snapshot from already-loaded entities.
+     *
+     * @param version the monotonically increasing snapshot version
+     * @param providers the active providers
+     * @param models the active models; each must have its provider initialized
+     * @param rules the parsed active custom-order rules
+     * @return the new immutable catalog
+     */
+    public static RoutingCatalog of(long version, List<Provider> providers, List<Model> models, List<CustomOrderRule> rules) {
+        Map<String, List<CustomOrderRule>> rulesByUserId = new HashMap<>();
+        for (CustomOrderRule rule : rules) {
+            rulesByUserId.computeIfAbsent(rule.rule().getUserId(), id -> new ArrayList<>()).add(rule);
+        }
+        return new RoutingCatalog(version, Instant.now(), providers, models, rulesByUserId);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * @return all active providers (unmodifiable)
+     */
+    public List<Provider> getActiveProviders() {
+        return activeProviders;
+    }
+
+    /**
+     * @return all active models belonging to active providers (unmodifiable)
+     */
+    public List<Model> getActiveModels() {
+        return activeModels;
+    }
+
+    /**
+     * @return the cost-ordered primitive index over all active models
+     */
+    public PriceIndex getPriceIndex() {
+        return priceIndex;
+    }
+
+    /**
+     * Builds a membership mask over the catalog's dense provider slots. Providers that are
+     * not part of this snapshot are ignored.
+     *
+     * @param providers the providers to include
+     * @return a mask with the slot of each included provider set
+     */
+    public BitSet providerMask(List<Provider> providers) {
+        BitSet mask = new BitSet(providerSlotsById.size());
+        for (Provider provider : providers) {
+            Integer slot = providerSlotsById.get(provider.getId());
+            if (slot != null) {
+                mask.set(slot);
+            }
+        }
+        return mask;
+    }
+
+    public Optional<Provider> findProvider(Long providerId) {
+        return Optional.ofNullable(providersById.get(providerId));
+    }
+
+    public Optional<Provider> findProviderByName(String providerName) {
+        return Optional.ofNullable(providersByName.get(providerName));
+    }
+
+    public Optional<Model> findModel(Long modelId) {
+        return Optional.ofNullable(modelsById.get(modelId));
+    }
+
+    /**
+     * Returns the active models of a single provider.
+     *
+     * @param providerId the provider ID
+     * @return the provider's active models, empty if none (unmodifiable)
+     */
+    public List<Model> getModelsForProvider(Long providerId) {
+        return modelsByProviderId.getOrDefault(providerId, List.of());
+    }
+
+    /**
+     * Returns the active models of the given providers, grouped in the order the providers are given.
+     *
+     * @param providers the providers to collect models for
+     * @return the active models of those providers
+     */
+    public List<Model> getModelsForProviders(List<Provider> providers) {
+        List<Model> models = new ArrayList<>();
+        for (Provider provider : providers) {
+            models.addAll(getModelsForProvider(provider.getId()));
+        }
+        return models;
+    }
+
+    /**
+     * Returns every active instance of a model identifier (e.g. "gpt-4") across providers.
+     *
+     * @param modelId the provider-facing model identifier
+     * @return the matching models, empty if none (unmodifiable)
+     */
+    public List<Model> getModelsByModelId(String modelId) {
+        return modelsByModelId.getOrDefault(modelId, List.of());
+    }
+
+    /**
+     * Returns the active custom-order rules of a user, ordered by rule ID.
+     *
+     * @param userId the user ID
+     * @return the user's rules, empty if none (unmodifiable)
+     */
+    public List<CustomOrderRule> getRoutingRules(String userId) {
+        return rulesByUserId.getOrDefault(userId, List.of());
+    }
+
+    private static <K, V> Map<K, List<V>> freeze(Map<K, List<V>> source) {
+        Map<K, List<V>> frozen = new LinkedHashMap<>();
+        source.forEach((key, values) -> frozen.put(key, List.copyOf(values)));
+        return Collections.unmodifiableMap(frozen);
+    }
+
+    /**
+     * A routing rule together with its provider order, parsed once at load time.
+     *
+     * @param rule the routing rule entity
+     * @param providerOrder provider names in priority order
+     */
+    public record CustomOrderRule(RoutingRule rule, List<String> providerOrder) {
+        public CustomOrderRule {
+            if (rule == null) {
+                throw new IllegalArgumentException("Routing rule cannot be null");
+            }
+            providerOrder = List.copyOf(providerOrder);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.prismnetai.service.catalog;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JPA entity listener that republishes the routing catalog after any write to a
+ * catalog-backed entity (provider, model, routing rule). Instances are created by
+ * Hibernate through Spring's bean container; the catalog service is resolved lazily
+ * to avoid a cycle with the entity manager factory.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class RoutingCatalogInvalidationListener {
+
+    private final ObjectProvider<RoutingCatalogService> routingCatalogService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onCatalogEntityChanged(Object entity) {
+        routingCatalogService.ifAvailable(RoutingCatalogService::refreshAfterCommit);
+    }
+}
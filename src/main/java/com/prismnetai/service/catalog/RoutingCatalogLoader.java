@@ -0,0 +1,70 @@
+package com.prismnetai.service.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prismnetai.entity.Model;
+import com.prismnetai.entity.Provider;
+import com.prismnetai.entity.RoutingRule;
+import com.prismnetai.repository.ModelRepository;
+import com.prismnetai.repository.ProviderRepository;
+import com.prismnetai.repository.RoutingRuleRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads a {@link RoutingCatalog} from the database. All reads happen in one read-only
+ * transaction so providers referenced by models are the same instances as the ones in the
+ * provider list, and model providers are fetched eagerly so the detached snapshot can be
+ * used outside of any persistence context.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoutingCatalogLoader {
+
+    private final ProviderRepository providerRepository;
+    private final ModelRepository modelRepository;
+    private final RoutingRuleRepository routingRuleRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Reads active providers, models and routing rules and builds a new catalog snapshot.
+     *
+     * @param version the version to assign to the new snapshot
+     * @return the loaded catalog
+     */
+    @Transactional(readOnly = true)
+    public RoutingCatalog load(long version) {
+        List<Provider> providers = providerRepository.findByIsActiveTrue();
+        List<Model> models = modelRepository.findActiveModelsWithProvider();
+        List<RoutingRule> rules = routingRuleRepository.findAllActiveRulesOrderedById();
+
+        List<RoutingCatalog.CustomOrderRule> parsedRules = new ArrayList<>(rules.size());
+        for (RoutingRule rule : rules) {
+            try {
+                List<String> providerOrder = objectMapper.readValue(rule.getProviderOrder(),
+                        objectMapper.getTypeFactory().constructCollectionType(List.class, String.class));
+                parsedRules.add(new RoutingCatalog.CustomOrderRule(rule, providerOrder));
+            } catch (JsonProcessingException e) {
+                log.error("RoutingCatalogLoader.load() - Failed to parse provider order JSON for rule: {}, skipping", rule.getName(), e);
+            }
+        }
+
+        log.info("RoutingCatalogLoader.load() - Loaded catalog version {} with {} providers, {} models, {} routing rules",
+                  version, providers.size(), models.size(), parsedRules.size());
+
+        return RoutingCatalog.of(version, providers, models, parsedRules);
+    }
+}
@@ -0,0 +1,103 @@
+package com.prismnetai.service.catalog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the current {@link RoutingCatalog} snapshot. Reads are a single volatile load;
+ * refreshes build a complete new snapshot and swap it in, so routing never observes a
+ * partially updated catalog and never waits on the database.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoutingCatalogService {
+
+    private final RoutingCatalogLoader routingCatalogLoader;
+
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile RoutingCatalog currentCatalog = RoutingCatalog.empty();
+
+    @PostConstruct
+    void initialize() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("RoutingCatalogService.initialize() - Initial catalog load failed, serving empty catalog until next refresh: {}",
+                      e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the current catalog snapshot. Never blocks and never hits the database.
+     *
+     * @return the current catalog, empty if no load has succeeded yet
+     */
+    public RoutingCatalog current() {
+        return currentCatalog;
+    }
+
+    /**
+     * Loads a fresh snapshot from the database and publishes it. Concurrent refreshes are
+     * serialized; readers keep using the previous snapshot until the swap.
+     *
+     * @return the newly published catalog
+     */
+    public RoutingCatalog refresh() {
+        refreshLock.lock();
+        try {
+            RoutingCatalog catalog = routingCatalogLoader.load(versionSequence.incrementAndGet());
+            currentCatalog = catalog;
+            return catalog;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Refreshes the catalog once the current transaction commits, or immediately if no
+     * transaction is active. Used by admin write paths so changes become routable right away.
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshQuietly();
+                }
+            });
+        } else {
+            refreshQuietly();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${prismnet.routing.catalog.refresh-interval:30000}",
+               initialDelayString = "${prismnet.routing.catalog.refresh-interval:30000}")
+    void scheduledRefresh() {
+        refreshQuietly();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("RoutingCatalogService.refreshQuietly() - Catalog refresh failed, keeping version {}: {}",
+                      currentCatalog.getVersion(), e.getMessage(), e);
+        }
+    }
+}
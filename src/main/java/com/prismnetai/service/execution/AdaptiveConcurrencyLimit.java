@@ -0,0 +1,94 @@
+package com.prismnetai.service.execution;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * AIMD concurrency limit for one provider. Every successful call that ran while the limit was
+ * at least half used grows the limit by {@code 1/limit}, roughly one slot per limit's worth of
+ * successes; every overload signal (429, 503, timeout, connection failure) multiplies it by the
+ * backoff ratio. The limit is a double kept as raw bits in an {@link AtomicLong} and the in-flight
+ * count an {@link AtomicInteger}, both updated with CAS loops.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private final double minLimit;
+    private final double maxLimit;
+    private final double backoffRatio;
+    private final AtomicLong limitBits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.limitBits = new AtomicLong(Double.doubleToRawLongBits(Math.max(minLimit, Math.min(maxLimit, initialLimit))));
+    }
+
+    /**
+     * Takes a slot if one is free.
+     *
+     * @return the number of calls in flight including this one, or -1 if the limit is reached
+     */
+    int tryAcquire() {
+        int limit = limit();
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return -1;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return current + 1;
+    }
+
+    /**
+     * Frees a slot after a successful call and grows the limit if it was in real use.
+     *
+     * @param inFlightAtStart the value {@link #tryAcquire()} returned for the call
+     */
+    void onSuccess(int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        if (inFlightAtStart * 2 < limit()) {
+            return;
+        }
+        update(current -> Math.min(maxLimit, current + 1.0 / current));
+    }
+
+    /**
+     * Frees a slot after an overload signal and backs the limit off.
+     */
+    void onDropped() {
+        inFlight.decrementAndGet();
+        update(current -> Math.max(minLimit, current * backoffRatio));
+    }
+
+    /**
+     * Frees a slot after a call that says nothing about the provider's capacity.
+     */
+    void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void update(DoubleUnaryOperator next) {
+        long currentBits;
+        long nextBits;
+        do {
+            currentBits = limitBits.get();
+            nextBits = Double.doubleToRawLongBits(next.applyAsDouble(Double.longBitsToDouble(currentBits)));
+        } while (currentBits != nextBits && !limitBits.compareAndSet(currentBits, nextBits));
+    }
+}
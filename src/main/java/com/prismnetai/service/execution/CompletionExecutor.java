@@ -0,0 +1,192 @@
+package com.prismnetai.service.execution;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.springframework.stereotype.Service;
+
+import com.prismnetai.dto.ChatCompletionRequest;
+import com.prismnetai.dto.ChatCompletionResponse;
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.service.RoutingService;
+import com.prismnetai.service.cache.RequestCoalescer;
+import com.prismnetai.service.cache.ResponseCache;
+import com.prismnetai.service.cache.SemanticResponseCache;
+import com.prismnetai.service.metrics.ProviderCallMetrics;
+import com.prismnetai.service.provider.ProviderServiceRegistry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Executes a routed request against its provider, failing over to other providers through the
+ * {@link FailoverExecutor} when the call fails. When the {@link HedgingPolicy} plans a
+ * hedge, the same request is also sent to the hedge model once the primary has gone the hedge
+ * delay without a first response (the whole response for non-streaming calls, the first chunk
+ * for streams). Whichever call produces a value first wins and the other is cancelled; the
+ * hedge gets its own request record, so both calls are metered and audited. A primary that
+ * fails with an error no other provider would avoid cancels the hedge as well. Deterministic
+ * non-streaming requests are answered from the {@link ResponseCache} when it holds a response,
+ * and, failing that, non-streaming requests from the {@link SemanticResponseCache} when it holds
+ * the response to a near-identical prompt. Otherwise the {@link RequestCoalescer} lets a request
+ * join an identical call already in flight instead of starting its own.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CompletionExecutor {
+
+    private final ProviderServiceRegistry providerServiceRegistry;
+    private final RoutingService routingService;
+    private final HedgingPolicy hedgingPolicy;
+    private final FailoverExecutor failoverExecutor;
+    private final ProviderConcurrencyLimiter providerConcurrencyLimiter;
+    private final ResponseCache responseCache;
+    private final SemanticResponseCache semanticResponseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final ProviderCallMetrics providerCallMetrics;
+
+    /**
+     * Executes a non-streaming completion, or answers it from the response caches.
+     *
+     * @param request the chat completion request
+     * @param primary the routed request
+     * @return the cached response or the response of the first call to complete
+     */
+    public Mono<ChatCompletionResponse> callCompletion(ChatCompletionRequest request, AiRequest primary) {
+        ResponseCache.Key cacheKey = responseCache.keyFor(request, primary);
+        SemanticResponseCache.Probe probe = semanticResponseCache.probe(request, primary);
+        if (cacheKey == null && probe == null) {
+            return requestCoalescer.coalesce(request, primary, () -> execute(request, primary));
+        }
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            ChatCompletionResponse cached = cacheKey != null ? responseCache.get(cacheKey, primary) : null;
+            if (cached == null && probe != null) {
+                cached = semanticResponseCache.get(probe, primary);
+            }
+            if (cached != null) {
+                providerCallMetrics.recordCacheHit(primary, startNanos);
+                return Mono.just(cached);
+            }
+            return requestCoalescer.coalesce(request, primary, () -> execute(request, primary).doOnNext(response -> {
+                if (cacheKey != null) {
+                    responseCache.put(cacheKey, response);
+                }
+                if (probe != null) {
+                    semanticResponseCache.put(probe, response);
+                }
+            }));
+        });
+    }
+
+    /**
+     * Runs the primary call through failover, hedged if the policy plans a hedge.
+     */
+    private Mono<ChatCompletionResponse> execute(ChatCompletionRequest request, AiRequest primary) {
+        Mono<ChatCompletionResponse> primaryCall = failoverExecutor.callCompletion(request, primary);
+
+        return hedgingPolicy.plan(primary)
+            .map(plan -> {
+                Sinks.Empty<Void> primaryGaveUp = Sinks.empty();
+                Mono<ChatCompletionResponse> hedgeCall = Mono.delay(plan.delay())
+                    .flatMap(tick -> fireHedge(primary, plan))
+                    .flatMap(hedge -> providerConcurrencyLimiter.limit(hedge, providerServiceRegistry
+                        .getProviderService(hedge.getSelectedProvider().getName())
+                        .callCompletion(request, hedge))
+                        .doOnNext(response -> {
+                            log.info("CompletionExecutor.callCompletion() - Hedge request {} answered before primary request {}",
+                                      hedge.getId(), primary.getId());
+                            if (response.getRoutingInfo() != null) {
+                                response.getRoutingInfo().setHedged(true);
+                            }
+                        }))
+                    .takeUntilOther(primaryGaveUp.asMono());
+                return Mono.firstWithValue(primaryCall.doOnError(error -> giveUpHedge(error, primaryGaveUp)), hedgeCall)
+                    .onErrorMap(CompletionExecutor::primaryFailure);
+            })
+            .orElse(primaryCall);
+    }
+
+    /**
+     * Executes a streaming completion, or joins an identical stream already in flight.
+     *
+     * @param request the chat completion request
+     * @param primary the routed request
+     * @return the chunks of the first stream to produce one
+     */
+    public Flux<String> callStreamingCompletion(ChatCompletionRequest request, AiRequest primary) {
+        return requestCoalescer.coalesceStream(request, primary, () -> executeStream(request, primary));
+    }
+
+    /**
+     * Runs the primary stream through failover, hedged if the policy plans a hedge.
+     */
+    private Flux<String> executeStream(ChatCompletionRequest request, AiRequest primary) {
+        Flux<String> primaryStream = failoverExecutor.callStreamingCompletion(request, primary);
+
+        return hedgingPolicy.plan(primary)
+            .map(plan -> {
+                Sinks.Empty<Void> primaryGaveUp = Sinks.empty();
+                Flux<String> hedgeStream = Mono.delay(plan.delay())
+                    .flatMap(tick -> fireHedge(primary, plan))
+                    .flatMapMany(hedge -> providerConcurrencyLimiter.limitStream(hedge, providerServiceRegistry
+                        .getProviderService(hedge.getSelectedProvider().getName())
+                        .callStreamingCompletion(request, hedge))
+                        .doOnSubscribe(subscription -> log.info(
+                            "CompletionExecutor.callStreamingCompletion() - Streaming hedge request {} for primary request {}",
+                            hedge.getId(), primary.getId())))
+                    .takeUntilOther(primaryGaveUp.asMono());
+                return Flux.firstWithValue(primaryStream.doOnError(error -> giveUpHedge(error, primaryGaveUp)), hedgeStream)
+                    .onErrorMap(CompletionExecutor::primaryFailure);
+            })
+            .orElse(primaryStream);
+    }
+
+    /**
+     * Fires the hedge if the tenant's budget allows; completes empty otherwise.
+     */
+    private Mono<AiRequest> fireHedge(AiRequest primary, HedgingPolicy.HedgePlan plan) {
+        if (!hedgingPolicy.tryAcquire(primary.getUserId())) {
+            log.info("CompletionExecutor.fireHedge() - Hedge budget exhausted for user: {}, not hedging request {}",
+                      primary.getUserId(), primary.getId());
+            return Mono.empty();
+        }
+        log.info("CompletionExecutor.fireHedge() - Primary request {} has no response after {}ms, hedging to model: {}",
+                  primary.getId(), plan.delay().toMillis(), plan.model().getModelId());
+        return Mono.fromSupplier(() -> routingService.routeAlternate(primary, plan.model()));
+    }
+
+    /**
+     * Ends the hedge when the primary failed with an error that is not worth another provider,
+     * such as a 400; the hedge would fail the same way.
+     */
+    private static void giveUpHedge(Throwable error, Sinks.Empty<Void> primaryGaveUp) {
+        if (!FailoverExecutor.isRetryable(error)) {
+            primaryGaveUp.tryEmitEmpty();
+        }
+    }
+
+    /**
+     * When neither call produced a value, reports the primary's failure rather than Reactor's
+     * aggregate, so clients see the same error as for an unhedged call. Reactor attaches the
+     * source errors as a composite cause, in source order, so the primary's comes first.
+     */
+    private static Throwable primaryFailure(Throwable error) {
+        if (error instanceof NoSuchElementException && error.getCause() != null) {
+            List<Throwable> failures = Exceptions.unwrapMultiple(error.getCause());
+            if (!failures.isEmpty() && !(failures.get(0) instanceof NoSuchElementException)) {
+                return failures.get(0);
+            }
+        }
+        return error;
+    }
+}
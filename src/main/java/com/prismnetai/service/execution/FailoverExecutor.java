@@ -0,0 +1,253 @@
+package com.prismnetai.service.execution;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.prismnetai.dto.ChatCompletionRequest;
+import com.prismnetai.dto.ChatCompletionResponse;
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.entity.Model;
+import com.prismnetai.exception.ProviderException;
+import com.prismnetai.exception.ProviderOverloadedException;
+import com.prismnetai.service.RoutingService;
+import com.prismnetai.service.metrics.ProviderCallMetrics;
+import com.prismnetai.service.provider.AiProviderService;
+import com.prismnetai.service.provider.ProviderServiceRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Calls a routed request's provider and, when the call fails with a retryable error (connection
+ * failure, timeout, 429 or 5xx), fails over to the next model its strategy ranks on another
+ * provider. All attempts share one request budget: each attempt gets what is left of it, minus
+ * the minimum attempt time reserved for every attempt still to come, so a hanging provider can
+ * never use up the time the next candidate needs. Timers fire a little late, so an attempt that
+ * ran to its deadline leaves slightly less than that reservation; failover therefore needs only
+ * {@value #DEADLINE_SLACK_PERCENT}% less than the minimum attempt time. Each attempt runs within
+ * its provider's {@link ProviderConcurrencyLimiter} slot, and a provider at its limit is skipped
+ * straight away rather than waited for. Candidates are ranked lazily on the first failover, so
+ * requests that succeed first time pay nothing for it.
+ *
+ * <p>Streams only fail over until their first chunk; once content has reached the client a
+ * failure is passed on as is. Each attempt gets its own request record through
+ * {@link RoutingService#routeAlternate}, so failed attempts stay visible in the audit trail, and a
+ * missed deadline is recorded as a provider failure so it counts towards circuit breaking.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class FailoverExecutor {
+
+    static final long DEADLINE_SLACK_PERCENT = 10;
+
+    private final ProviderServiceRegistry providerServiceRegistry;
+    private final RoutingService routingService;
+    private final ProviderCallMetrics providerCallMetrics;
+    private final ProviderConcurrencyLimiter providerConcurrencyLimiter;
+    private final long requestBudgetNanos;
+    private final int maxAttempts;
+    private final long minAttemptNanos;
+    private final long minFailoverNanos;
+
+    public FailoverExecutor(ProviderServiceRegistry providerServiceRegistry,
+                            RoutingService routingService,
+                            ProviderCallMetrics providerCallMetrics,
+                            ProviderConcurrencyLimiter providerConcurrencyLimiter,
+                            @Value("${prismnet.routing.failover.request-budget:55000}") long requestBudgetMs,
+                            @Value("${prismnet.routing.failover.max-attempts:3}") int maxAttempts,
+                            @Value("${prismnet.routing.failover.min-attempt-time:5000}") long minAttemptTimeMs) {
+        this.providerServiceRegistry = providerServiceRegistry;
+        this.routingService = routingService;
+        this.providerCallMetrics = providerCallMetrics;
+        this.providerConcurrencyLimiter = providerConcurrencyLimiter;
+        this.requestBudgetNanos = Duration.ofMillis(requestBudgetMs).toNanos();
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.minAttemptNanos = Duration.ofMillis(minAttemptTimeMs).toNanos();
+        this.minFailoverNanos = minAttemptNanos - minAttemptNanos * DEADLINE_SLACK_PERCENT / 100;
+    }
+
+    /**
+     * Executes a non-streaming completion with failover.
+     *
+     * @param request the chat completion request
+     * @param primary the routed request
+     * @return the response of the first attempt to succeed
+     */
+    public Mono<ChatCompletionResponse> callCompletion(ChatCompletionRequest request, AiRequest primary) {
+        return Mono.defer(() -> attemptCompletion(request, primary, new Attempts(primary)));
+    }
+
+    /**
+     * Executes a streaming completion with failover before the first chunk.
+     *
+     * @param request the chat completion request
+     * @param primary the routed request
+     * @return the chunks of the first attempt to produce one
+     */
+    public Flux<String> callStreamingCompletion(ChatCompletionRequest request, AiRequest primary) {
+        return Flux.defer(() -> attemptStream(request, primary, new Attempts(primary)));
+    }
+
+    private Mono<ChatCompletionResponse> attemptCompletion(ChatCompletionRequest request, AiRequest current, Attempts attempts) {
+        Duration deadline = attempts.nextDeadline();
+        Mono<ChatCompletionResponse> call = providerFor(current).callCompletion(request, current)
+            .timeout(deadline)
+            .doOnError(TimeoutException.class, timeout -> providerCallMetrics.recordTimeout(current, false, deadline.toMillis()));
+        return providerConcurrencyLimiter.limit(current, call)
+            .onErrorResume(error -> attempts.failover(current, error)
+                .map(next -> attemptCompletion(request, next, attempts))
+                .orElseGet(() -> Mono.error(finalFailure(current, error, deadline))));
+    }
+
+    private Flux<String> attemptStream(ChatCompletionRequest request, AiRequest current, Attempts attempts) {
+        Duration deadline = attempts.nextDeadline();
+        AtomicBoolean emitted = new AtomicBoolean();
+        Flux<String> stream = providerFor(current).callStreamingCompletion(request, current)
+            .timeout(Mono.delay(deadline), chunk -> Mono.never())
+            .doOnError(TimeoutException.class, timeout -> providerCallMetrics.recordTimeout(current, true, deadline.toMillis()));
+        return providerConcurrencyLimiter.limitStream(current, stream)
+            .doOnNext(chunk -> emitted.set(true))
+            .onErrorResume(error -> {
+                if (emitted.get()) {
+                    return Flux.error(error);
+                }
+                return attempts.failover(current, error)
+                    .map(next -> attemptStream(request, next, attempts))
+                    .orElseGet(() -> Flux.error(finalFailure(current, error, deadline)));
+            });
+    }
+
+    private AiProviderService providerFor(AiRequest aiRequest) {
+        return providerServiceRegistry.getProviderService(aiRequest.getSelectedProvider().getName());
+    }
+
+    /**
+     * Reports a timeout as a provider error so clients get the same 502 as for any other upstream
+     * failure; every other error is passed on unchanged.
+     */
+    private static Throwable finalFailure(AiRequest failed, Throwable error, Duration deadline) {
+        if (error instanceof TimeoutException) {
+            return new ProviderException("Provider " + failed.getSelectedProvider().getName()
+                + " did not respond within " + deadline.toMillis() + "ms", error);
+        }
+        return error;
+    }
+
+    /**
+     * Whether an error is worth another provider: connection failures, timeouts, 429s and 5xx
+     * responses, and local rejections by the {@link ProviderConcurrencyLimiter}. The cause chain
+     * is searched because provider services wrap WebClient errors in a {@link ProviderException}.
+     * Client errors such as 400 would fail the same way anywhere.
+     *
+     * @param error the failure of an attempt
+     * @return true if the request may be retried on another provider
+     */
+    public static boolean isRetryable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WebClientResponseException response) {
+                int status = response.getStatusCode().value();
+                return status == 429 || status >= 500;
+            }
+            if (cause instanceof ProviderOverloadedException || cause instanceof WebClientRequestException
+                    || cause instanceof IOException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Failover state of one subscription. Reactor runs the attempts of a subscription one after
+     * another, so the fields need no synchronization.
+     */
+    private final class Attempts {
+
+        private final AiRequest primary;
+        private final long startNanos = System.nanoTime();
+        private final Set<Long> triedProviderIds = new HashSet<>();
+        private Iterator<Model> candidates;
+        private int started;
+
+        private Attempts(AiRequest primary) {
+            this.primary = primary;
+            triedProviderIds.add(primary.getSelectedProvider().getId());
+        }
+
+        /**
+         * The deadline of the attempt about to start: what is left of the request budget, less
+         * the minimum time reserved for each attempt that may still follow it, but never past the
+         * end of the budget.
+         */
+        Duration nextDeadline() {
+            started++;
+            long remaining = remainingNanos();
+            long reserved = (maxAttempts - started) * minAttemptNanos;
+            return Duration.ofNanos(Math.max(1L, Math.min(remaining, Math.max(minAttemptNanos, remaining - reserved))));
+        }
+
+        private long remainingNanos() {
+            return requestBudgetNanos - (System.nanoTime() - startNanos);
+        }
+
+        /**
+         * Routes the next attempt after {@code failed} failed with {@code error}.
+         *
+         * @return the next attempt's request, empty if the error is final
+         */
+        Optional<AiRequest> failover(AiRequest failed, Throwable error) {
+            if (!isRetryable(error)) {
+                return Optional.empty();
+            }
+            if (started >= maxAttempts) {
+                log.warn("FailoverExecutor.failover() - Request {} failed on provider {} after {} attempts, giving up: {}",
+                         primary.getId(), failed.getSelectedProvider().getName(), started, error.getMessage());
+                return Optional.empty();
+            }
+            if (remainingNanos() < minFailoverNanos) {
+                log.warn("FailoverExecutor.failover() - Request {} budget exhausted after {} attempts, giving up: {}",
+                         primary.getId(), started, error.getMessage());
+                return Optional.empty();
+            }
+            Optional<Model> next = nextCandidate();
+            if (next.isEmpty()) {
+                log.warn("FailoverExecutor.failover() - No alternative provider for request {}, giving up: {}",
+                         primary.getId(), error.getMessage());
+                return Optional.empty();
+            }
+            Model model = next.get();
+            log.info("FailoverExecutor.failover() - Provider {} failed request {} ({}), failing over to model: {} from provider: {}",
+                      failed.getSelectedProvider().getName(), failed.getId(), error.getMessage(),
+                      model.getModelId(), model.getProvider().getName());
+            return Optional.of(routingService.routeAlternate(primary, model));
+        }
+
+        private Optional<Model> nextCandidate() {
+            if (candidates == null) {
+                candidates = routingService.rankAlternatives(primary).iterator();
+            }
+            while (candidates.hasNext()) {
+                Model model = candidates.next();
+                if (triedProviderIds.add(model.getProvider().getId())) {
+                    return Optional.of(model);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+}
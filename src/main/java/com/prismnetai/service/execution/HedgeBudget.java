@@ -0,0 +1,64 @@
+package com.prismnetai.service.execution;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-tenant allowance of hedged calls. Every eligible request earns a fraction of a hedge and
+ * every fired hedge spends a whole one, so over time a tenant can add at most that fraction of
+ * extra upstream load, with short bursts allowed up to the capacity. The balance is kept in
+ * thousandths of a hedge in an {@link AtomicLong} and updated with CAS loops.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+final class HedgeBudget {
+
+    static final long UNIT = 1000L;
+
+    private final long earnPerRequest;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    /**
+     * @param ratio hedges earned per eligible request, e.g. 0.05 for at most 5% extra calls
+     * @param burst the most hedges that can be saved up; the budget starts full
+     */
+    HedgeBudget(double ratio, int burst) {
+        this.earnPerRequest = Math.round(ratio * UNIT);
+        this.capacity = burst * UNIT;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    /**
+     * Credits the budget for one eligible request.
+     */
+    void earn() {
+        long current;
+        long next;
+        do {
+            current = balance.get();
+            next = Math.min(capacity, current + earnPerRequest);
+        } while (current != next && !balance.compareAndSet(current, next));
+    }
+
+    /**
+     * Spends one hedge if the balance allows it.
+     *
+     * @return true if the hedge may fire
+     */
+    boolean trySpend() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < UNIT) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - UNIT));
+        return true;
+    }
+
+    long balance() {
+        return balance.get();
+    }
+}
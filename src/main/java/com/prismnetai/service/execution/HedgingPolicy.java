@@ -0,0 +1,152 @@
+package com.prismnetai.service.execution;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.entity.Model;
+import com.prismnetai.service.RoutingService;
+import com.prismnetai.service.catalog.PriceIndex;
+import com.prismnetai.service.health.HealthSnapshot;
+import com.prismnetai.service.health.ProviderHealthAggregator;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides whether and when a request is hedged. Hedging is opt-in and applies to
+ * {@code LATENCY} routing only. A request is planned for a hedge when its strategy ranks a
+ * model on another provider whose price is within the cost cap; the hedge fires after a delay
+ * derived from the primary model's observed p95 latency, and only if the tenant's
+ * {@link HedgeBudget} still has a hedge to spend at that point.
+ *
+ * <p>Budgets are held for at most {@code max-tenants} tenants and dropped after
+ * {@code budget-idle-timeout} ms without use, so arbitrary user ids cannot grow them without
+ * bound. A dropped budget starts full again, which grants at most one extra burst.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class HedgingPolicy {
+
+    private final RoutingService routingService;
+    private final ProviderHealthAggregator providerHealthAggregator;
+    private final boolean enabled;
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    private final Duration defaultDelay;
+    private final double maxCostMultiplier;
+    private final double budgetRatio;
+    private final int budgetBurst;
+    private final Cache<String, HedgeBudget> budgetsByTenant;
+
+    public HedgingPolicy(RoutingService routingService,
+                         ProviderHealthAggregator providerHealthAggregator,
+                         @Value("${prismnet.routing.hedging.enabled:false}") boolean enabled,
+                         @Value("${prismnet.routing.hedging.min-delay:50}") long minDelayMs,
+                         @Value("${prismnet.routing.hedging.max-delay:2000}") long maxDelayMs,
+                         @Value("${prismnet.routing.hedging.default-delay:1000}") long defaultDelayMs,
+                         @Value("${prismnet.routing.hedging.max-cost-multiplier:2.0}") double maxCostMultiplier,
+                         @Value("${prismnet.routing.hedging.budget-ratio:0.05}") double budgetRatio,
+                         @Value("${prismnet.routing.hedging.budget-burst:10}") int budgetBurst,
+                         @Value("${prismnet.routing.hedging.max-tenants:10000}") long maxTenants,
+                         @Value("${prismnet.routing.hedging.budget-idle-timeout:600000}") long budgetIdleTimeoutMs) {
+        this.routingService = routingService;
+        this.providerHealthAggregator = providerHealthAggregator;
+        this.enabled = enabled;
+        this.minDelay = Duration.ofMillis(minDelayMs);
+        this.maxDelay = Duration.ofMillis(maxDelayMs);
+        this.defaultDelay = Duration.ofMillis(defaultDelayMs);
+        this.maxCostMultiplier = maxCostMultiplier;
+        this.budgetRatio = budgetRatio;
+        this.budgetBurst = budgetBurst;
+        this.budgetsByTenant = Caffeine.newBuilder()
+            .maximumSize(maxTenants)
+            .expireAfterAccess(Duration.ofMillis(budgetIdleTimeoutMs))
+            .build();
+    }
+
+    /**
+     * Plans a hedge for a routed request. Every eligible request credits its tenant's budget,
+     * whether or not a hedge is planned.
+     *
+     * @param primary the routed primary request
+     * @return the hedge target and delay, empty if the request is not hedged
+     */
+    public Optional<HedgePlan> plan(AiRequest primary) {
+        if (!enabled || primary.getRoutingStrategy() != AiRequest.RoutingStrategy.LATENCY) {
+            return Optional.empty();
+        }
+        budget(primary.getUserId()).earn();
+
+        Optional<Model> candidate = routingService.rankAlternatives(primary).findFirst();
+        if (candidate.isEmpty()) {
+            log.info("HedgingPolicy.plan() - No hedge candidate on another provider for request {}", primary.getId());
+            return Optional.empty();
+        }
+        Model hedgeModel = candidate.get();
+        if (!withinCostCap(primary.getSelectedModel(), hedgeModel)) {
+            log.info("HedgingPolicy.plan() - Hedge candidate {} exceeds {}x the price of {}, not hedging request {}",
+                      hedgeModel.getModelId(), maxCostMultiplier, primary.getSelectedModel().getModelId(), primary.getId());
+            return Optional.empty();
+        }
+        return Optional.of(new HedgePlan(hedgeModel, hedgeDelay(primary.getSelectedModel())));
+    }
+
+    /**
+     * Spends one hedge from the tenant's budget.
+     *
+     * @param tenantId the tenant (user) id
+     * @return true if the hedge may fire
+     */
+    public boolean tryAcquire(String tenantId) {
+        return budget(tenantId).trySpend();
+    }
+
+    /**
+     * The hedge delay: the primary model's p95 latency clamped to the configured bounds, or the
+     * default delay while no latency has been observed.
+     */
+    Duration hedgeDelay(Model primaryModel) {
+        HealthSnapshot health = providerHealthAggregator.healthFor(primaryModel);
+        if (Double.isNaN(health.p95LatencyMs())) {
+            return defaultDelay;
+        }
+        long p95Ms = Math.round(health.p95LatencyMs());
+        return Duration.ofMillis(Math.max(minDelay.toMillis(), Math.min(maxDelay.toMillis(), p95Ms)));
+    }
+
+    /**
+     * Compares combined per-token prices in micro-units.
+     */
+    private boolean withinCostCap(Model primaryModel, Model hedgeModel) {
+        long primaryMicros = PriceIndex.toMicros(primaryModel.getInputPricing()) + PriceIndex.toMicros(primaryModel.getOutputPricing());
+        long hedgeMicros = PriceIndex.toMicros(hedgeModel.getInputPricing()) + PriceIndex.toMicros(hedgeModel.getOutputPricing());
+        return hedgeMicros <= primaryMicros * maxCostMultiplier;
+    }
+
+    private HedgeBudget budget(String tenantId) {
+        return budgetsByTenant.get(tenantId, id -> new HedgeBudget(budgetRatio, budgetBurst));
+    }
+
+    long trackedTenants() {
+        budgetsByTenant.cleanUp();
+        return budgetsByTenant.estimatedSize();
+    }
+
+    /**
+     * A planned hedge.
+     *
+     * @param model the model the hedge is sent to
+     * @param delay how long the primary may go without a first response before the hedge fires
+     */
+    public record HedgePlan(Model model, Duration delay) {
+    }
+}
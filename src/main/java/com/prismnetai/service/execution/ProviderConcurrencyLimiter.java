@@ -0,0 +1,215 @@
+package com.prismnetai.service.execution;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.entity.Provider;
+import com.prismnetai.exception.ProviderOverloadedException;
+import com.prismnetai.service.metrics.ProviderCallMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bounds the calls in flight to each provider with an {@link AdaptiveConcurrencyLimit}. A call
+ * over the limit is rejected at once with a {@link ProviderOverloadedException}, which the
+ * {@link FailoverExecutor} treats as retryable, so the request spills over to the next-ranked
+ * provider instead of queueing behind the saturated one. A slot is held until the call or stream
+ * terminates or is cancelled.
+ *
+ * <p>The limit adapts with AIMD on overload signals rather than on latency: completion latency is
+ * dominated by how many tokens a request generates, so it says little about upstream congestion.
+ * Per provider, the current limit and calls in flight are published as the
+ * {@code prismnet.provider.concurrency.limit} and {@code prismnet.provider.concurrency.in_flight}
+ * gauges, and rejections as the {@code prismnet.provider.concurrency.rejected} counter.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class ProviderConcurrencyLimiter {
+
+    private final ProviderCallMetrics providerCallMetrics;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final ConcurrentMap<Long, ProviderLimit> limitsByProviderId = new ConcurrentHashMap<>();
+
+    public ProviderConcurrencyLimiter(ProviderCallMetrics providerCallMetrics,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${prismnet.routing.concurrency.enabled:true}") boolean enabled,
+                                      @Value("${prismnet.routing.concurrency.initial-limit:20}") int initialLimit,
+                                      @Value("${prismnet.routing.concurrency.min-limit:1}") int minLimit,
+                                      @Value("${prismnet.routing.concurrency.max-limit:200}") int maxLimit,
+                                      @Value("${prismnet.routing.concurrency.backoff-ratio:0.9}") double backoffRatio) {
+        this.providerCallMetrics = providerCallMetrics;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * Runs a non-streaming call within its provider's limit.
+     *
+     * @param aiRequest the routed request the call is made for
+     * @param call the provider call, not yet subscribed
+     * @return the call, or an immediate {@link ProviderOverloadedException} if the limit is reached
+     */
+    public <T> Mono<T> limit(AiRequest aiRequest, Mono<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            ProviderLimit providerLimit = limitFor(aiRequest.getSelectedProvider());
+            int inFlightAtStart = providerLimit.limit().tryAcquire();
+            if (inFlightAtStart < 0) {
+                return Mono.error(reject(aiRequest, providerLimit));
+            }
+            Slot slot = new Slot(providerLimit.limit(), inFlightAtStart);
+            return call
+                .doOnSuccess(value -> slot.succeeded())
+                .doOnError(slot::failed)
+                .doFinally(signal -> slot.ignored());
+        });
+    }
+
+    /**
+     * Runs a streaming call within its provider's limit; the slot is held for the whole stream.
+     *
+     * @param aiRequest the routed request the call is made for
+     * @param stream the provider stream, not yet subscribed
+     * @return the stream, or an immediate {@link ProviderOverloadedException} if the limit is reached
+     */
+    public <T> Flux<T> limitStream(AiRequest aiRequest, Flux<T> stream) {
+        if (!enabled) {
+            return stream;
+        }
+        return Flux.defer(() -> {
+            ProviderLimit providerLimit = limitFor(aiRequest.getSelectedProvider());
+            int inFlightAtStart = providerLimit.limit().tryAcquire();
+            if (inFlightAtStart < 0) {
+                return Flux.error(reject(aiRequest, providerLimit));
+            }
+            Slot slot = new Slot(providerLimit.limit(), inFlightAtStart);
+            return stream
+                .doOnComplete(slot::succeeded)
+                .doOnError(slot::failed)
+                .doFinally(signal -> slot.ignored());
+        });
+    }
+
+    /**
+     * Whether an error signals that the provider is over capacity: a 429 or 503, a timeout or a
+     * failure to connect. Other errors free the slot without moving the limit.
+     *
+     * @param error the failure of a call
+     * @return true if the limit should back off
+     */
+    static boolean isOverloadSignal(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WebClientResponseException response) {
+                int status = response.getStatusCode().value();
+                return status == 429 || status == 503;
+            }
+            if (cause instanceof WebClientRequestException || cause instanceof IOException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ProviderOverloadedException reject(AiRequest aiRequest, ProviderLimit providerLimit) {
+        providerLimit.rejected().increment();
+        String providerName = aiRequest.getSelectedProvider().getName();
+        log.warn("ProviderConcurrencyLimiter.reject() - Provider {} is at its concurrency limit of {}, rejecting request {}",
+                 providerName, providerLimit.limit().limit(), aiRequest.getId());
+        ProviderOverloadedException error = new ProviderOverloadedException(
+            "Provider " + providerName + " is at its concurrency limit of " + providerLimit.limit().limit());
+        providerCallMetrics.recordRejection(aiRequest, error);
+        return error;
+    }
+
+    private ProviderLimit limitFor(Provider provider) {
+        return limitsByProviderId.computeIfAbsent(provider.getId(), id -> register(provider.getName()));
+    }
+
+    private ProviderLimit register(String providerName) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, backoffRatio);
+        Gauge.builder("prismnet.provider.concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+            .description("Adaptive concurrency limit of the provider")
+            .tag("provider", providerName)
+            .register(meterRegistry);
+        Gauge.builder("prismnet.provider.concurrency.in_flight", limit, AdaptiveConcurrencyLimit::inFlight)
+            .description("Calls in flight to the provider")
+            .tag("provider", providerName)
+            .register(meterRegistry);
+        Counter rejected = Counter.builder("prismnet.provider.concurrency.rejected")
+            .description("Calls rejected because the provider was at its concurrency limit")
+            .tag("provider", providerName)
+            .register(meterRegistry);
+        return new ProviderLimit(limit, rejected);
+    }
+
+    private record ProviderLimit(AdaptiveConcurrencyLimit limit, Counter rejected) {
+    }
+
+    /**
+     * One acquired slot. Success, error and cancellation can race at the end of a call, so the
+     * slot is released exactly once, by whichever signal arrives first.
+     */
+    private static final class Slot {
+
+        private final AdaptiveConcurrencyLimit limit;
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Slot(AdaptiveConcurrencyLimit limit, int inFlightAtStart) {
+            this.limit = limit;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        void succeeded() {
+            if (released.compareAndSet(false, true)) {
+                limit.onSuccess(inFlightAtStart);
+            }
+        }
+
+        void failed(Throwable error) {
+            if (released.compareAndSet(false, true)) {
+                if (isOverloadSignal(error)) {
+                    limit.onDropped();
+                } else {
+                    limit.onIgnored();
+                }
+            }
+        }
+
+        void ignored() {
+            if (released.compareAndSet(false, true)) {
+                limit.onIgnored();
+            }
+        }
+    }
+}
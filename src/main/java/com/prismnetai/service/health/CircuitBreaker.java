@@ -0,0 +1,126 @@
+package com.prismnetai.service.health;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free circuit breaker for one provider or (provider, model) pair. The whole breaker state
+ * is an immutable {@link Window} swapped with a CAS loop, so recording outcomes and admitting
+ * calls never block each other.
+ *
+ * <p>While closed, outcomes are counted over a tumbling window of calls. The breaker opens when
+ * the window's failure rate reaches the threshold (once it holds enough calls to judge) or after
+ * a run of consecutive failures, whichever comes first. After the open duration it goes half-open
+ * and admits one probe per probe interval; enough successful probes close it again, and a failed
+ * probe re-opens it. Probes are paced by time rather than counted in flight, so a probe that is
+ * admitted but never sent cannot wedge the breaker half-open.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * @param state the breaker state
+     * @param calls calls in the current window (closed only)
+     * @param failures failed calls in the current window (closed only)
+     * @param consecutiveFailures failures since the last success (closed only)
+     * @param probeSuccesses successful probes so far (half-open only)
+     * @param nextPermitNanos when the breaker next admits a call (open and half-open)
+     */
+    private record Window(State state, int calls, int failures, int consecutiveFailures,
+                          int probeSuccesses, long nextPermitNanos) {
+
+        static final Window CLOSED_EMPTY = new Window(State.CLOSED, 0, 0, 0, 0, 0L);
+    }
+
+    private final CircuitBreakerSettings settings;
+    private final AtomicReference<Window> window = new AtomicReference<>(Window.CLOSED_EMPTY);
+
+    CircuitBreaker(CircuitBreakerSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Whether a call may be routed here now. A half-open breaker admits the call only if it can
+     * claim the current probe slot.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return true if the call may go ahead
+     */
+    boolean tryAcquirePermission(long nowNanos) {
+        while (true) {
+            Window current = window.get();
+            if (current.state() == State.CLOSED) {
+                return true;
+            }
+            if (nowNanos - current.nextPermitNanos() < 0) {
+                return false;
+            }
+            Window next = new Window(State.HALF_OPEN, 0, 0, 0, current.state() == State.HALF_OPEN ? current.probeSuccesses() : 0,
+                                     nowNanos + settings.probeIntervalNanos());
+            if (window.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Folds one call outcome into the breaker.
+     *
+     * @param failure whether the call failed or was a latency outlier
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the state after the outcome
+     */
+    State record(boolean failure, long nowNanos) {
+        while (true) {
+            Window current = window.get();
+            Window next = switch (current.state()) {
+                case CLOSED -> recordClosed(current, failure, nowNanos);
+                case HALF_OPEN -> recordHalfOpen(current, failure, nowNanos);
+                // Late outcomes of calls admitted before the breaker opened change nothing
+                case OPEN -> current;
+            };
+            if (next == current || window.compareAndSet(current, next)) {
+                return next.state();
+            }
+        }
+    }
+
+    State state() {
+        return window.get().state();
+    }
+
+    private Window recordClosed(Window current, boolean failure, long nowNanos) {
+        int calls = current.calls() + 1;
+        int failures = current.failures() + (failure ? 1 : 0);
+        int consecutiveFailures = failure ? current.consecutiveFailures() + 1 : 0;
+
+        boolean failureRateTripped = calls >= settings.minimumCalls()
+                && failures >= settings.failureRateThreshold() * calls;
+        if (failureRateTripped || consecutiveFailures >= settings.consecutiveFailureThreshold()) {
+            return open(nowNanos);
+        }
+        if (calls >= settings.windowSize()) {
+            return new Window(State.CLOSED, 0, 0, consecutiveFailures, 0, 0L);
+        }
+        return new Window(State.CLOSED, calls, failures, consecutiveFailures, 0, 0L);
+    }
+
+    private Window recordHalfOpen(Window current, boolean failure, long nowNanos) {
+        if (failure) {
+            return open(nowNanos);
+        }
+        int probeSuccesses = current.probeSuccesses() + 1;
+        if (probeSuccesses >= settings.halfOpenSuccesses()) {
+            return Window.CLOSED_EMPTY;
+        }
+        return new Window(State.HALF_OPEN, 0, 0, 0, probeSuccesses, current.nextPermitNanos());
+    }
+
+    private Window open(long nowNanos) {
+        return new Window(State.OPEN, 0, 0, 0, 0, nowNanos + settings.openDurationNanos());
+    }
+}
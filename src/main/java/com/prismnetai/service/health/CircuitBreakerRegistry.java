@@ -0,0 +1,135 @@
+package com.prismnetai.service.health;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.prismnetai.entity.Model;
+import com.prismnetai.entity.Provider;
+import com.prismnetai.service.metrics.CallOutcome;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breakers per provider and per model, driven by live call outcomes. Routing asks the
+ * registry which providers may receive traffic before a strategy sees them, and whether the
+ * model a strategy picked may; ejected candidates come back through half-open probes once their
+ * open duration has passed.
+ *
+ * <p>Failures are upstream failures only: errors without a response, 429s and 5xx responses, plus
+ * calls slower than the slow-call threshold, which count as latency outliers. A 4xx caused by the
+ * request itself says nothing about the provider. If every active provider is ejected at once the
+ * registry fails open and hands back all of them, since refusing every request is worse than
+ * trying a degraded provider.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Service
+public class CircuitBreakerRegistry {
+
+    private final boolean enabled;
+    private final long slowCallThresholdMs;
+    private final CircuitBreakerSettings settings;
+    private final ConcurrentMap<Long, CircuitBreaker> breakersByProviderId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, CircuitBreaker> breakersByModelId = new ConcurrentHashMap<>();
+
+    public CircuitBreakerRegistry(@Value("${prismnet.routing.circuit-breaker.enabled:true}") boolean enabled,
+                                  @Value("${prismnet.routing.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+                                  @Value("${prismnet.routing.circuit-breaker.minimum-calls:20}") int minimumCalls,
+                                  @Value("${prismnet.routing.circuit-breaker.window-size:100}") int windowSize,
+                                  @Value("${prismnet.routing.circuit-breaker.consecutive-failures:5}") int consecutiveFailures,
+                                  @Value("${prismnet.routing.circuit-breaker.slow-call-threshold:30000}") long slowCallThresholdMs,
+                                  @Value("${prismnet.routing.circuit-breaker.open-duration:30000}") long openDurationMs,
+                                  @Value("${prismnet.routing.circuit-breaker.probe-interval:5000}") long probeIntervalMs,
+                                  @Value("${prismnet.routing.circuit-breaker.half-open-successes:3}") int halfOpenSuccesses) {
+        this.enabled = enabled;
+        this.slowCallThresholdMs = slowCallThresholdMs;
+        this.settings = new CircuitBreakerSettings(failureRateThreshold, minimumCalls, windowSize, consecutiveFailures,
+                                                   Duration.ofMillis(openDurationMs).toNanos(),
+                                                   Duration.ofMillis(probeIntervalMs).toNanos(),
+                                                   halfOpenSuccesses);
+    }
+
+    /**
+     * Records a call outcome against the provider's and the model's breaker.
+     *
+     * @param outcome the call outcome
+     */
+    public void record(CallOutcome outcome) {
+        if (!enabled) {
+            return;
+        }
+        boolean failure = isFailure(outcome);
+        long nowNanos = System.nanoTime();
+        record(breakersByProviderId, outcome.providerId(), "provider", failure, nowNanos);
+        record(breakersByModelId, outcome.modelId(), "model", failure, nowNanos);
+    }
+
+    /**
+     * Filters providers down to those whose breaker admits traffic. Half-open providers are kept
+     * only when they can claim a probe.
+     *
+     * @param providers the active providers
+     * @return the providers that may receive traffic, or all of them if every one is ejected
+     */
+    public List<Provider> availableProviders(List<Provider> providers) {
+        if (!enabled || providers.isEmpty()) {
+            return providers;
+        }
+        long nowNanos = System.nanoTime();
+        List<Provider> available = providers.stream()
+                .filter(provider -> permits(breakersByProviderId, provider.getId(), nowNanos))
+                .toList();
+        if (available.isEmpty()) {
+            log.warn("CircuitBreakerRegistry.availableProviders() - All {} active providers are ejected, routing over all of them",
+                     providers.size());
+            return providers;
+        }
+        return available;
+    }
+
+    /**
+     * Whether the model's own breaker admits a call.
+     *
+     * @param model the candidate model
+     * @return true if the model may receive the call
+     */
+    public boolean isAvailable(Model model) {
+        return !enabled || permits(breakersByModelId, model.getId(), System.nanoTime());
+    }
+
+    private boolean isFailure(CallOutcome outcome) {
+        if (outcome.routingLatencyMs() > slowCallThresholdMs) {
+            return true;
+        }
+        if (outcome.success()) {
+            return false;
+        }
+        int status = outcome.httpStatus();
+        return status == 0 || status == 429 || status >= 500;
+    }
+
+    private static boolean permits(ConcurrentMap<Long, CircuitBreaker> breakers, Long id, long nowNanos) {
+        CircuitBreaker breaker = breakers.get(id);
+        return breaker == null || breaker.tryAcquirePermission(nowNanos);
+    }
+
+    private void record(ConcurrentMap<Long, CircuitBreaker> breakers, Long id, String kind, boolean failure, long nowNanos) {
+        if (id == null) {
+            return;
+        }
+        CircuitBreaker breaker = breakers.computeIfAbsent(id, key -> new CircuitBreaker(settings));
+        CircuitBreaker.State before = breaker.state();
+        CircuitBreaker.State after = breaker.record(failure, nowNanos);
+        if (before != after) {
+            log.warn("CircuitBreakerRegistry.record() - Circuit breaker for {} {} moved from {} to {}", kind, id, before, after);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.prismnetai.service.health;
+
+/**
+ * Thresholds shared by every {@link CircuitBreaker}.
+ *
+ * @param failureRateThreshold failure ratio of a window that opens the breaker
+ * @param minimumCalls calls a window must hold before its failure rate is judged
+ * @param windowSize calls per tumbling window
+ * @param consecutiveFailureThreshold consecutive failures that open the breaker regardless of rate
+ * @param openDurationNanos how long an open breaker rejects calls before probing
+ * @param probeIntervalNanos minimum spacing of half-open probes
+ * @param halfOpenSuccesses successful probes that close the breaker
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+record CircuitBreakerSettings(double failureRateThreshold,
+                              int minimumCalls,
+                              int windowSize,
+                              int consecutiveFailureThreshold,
+                              long openDurationNanos,
+                              long probeIntervalNanos,
+                              int halfOpenSuccesses) {
+}
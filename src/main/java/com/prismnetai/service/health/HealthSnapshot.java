@@ -0,0 +1,48 @@
+package com.prismnetai.service.health;
+
+/**
+ * Point-in-time view of a provider's or model's health, as read by the routing strategies.
+ * Unknown values are {@link Double#NaN}.
+ *
+ * @param ewmaLatencyMs exponentially weighted moving average of successful call latency
+ * @param p50LatencyMs median latency from the recency-weighted histogram
+ * @param p95LatencyMs 95th percentile latency
+ * @param p99LatencyMs 99th percentile latency
+ * @param throughput exponentially weighted output tokens per second
+ * @param successRate exponentially weighted success ratio in [0, 1]
+ * @param sampleCount number of live call outcomes recorded (seeded values do not count)
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public record HealthSnapshot(double ewmaLatencyMs,
+                             double p50LatencyMs,
+                             double p95LatencyMs,
+                             double p99LatencyMs,
+                             double throughput,
+                             double successRate,
+                             long sampleCount) {
+
+    public static final HealthSnapshot EMPTY =
+            new HealthSnapshot(Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, 0L);
+
+    public boolean hasLatency() {
+        return !Double.isNaN(ewmaLatencyMs);
+    }
+
+    public boolean hasThroughput() {
+        return !Double.isNaN(throughput);
+    }
+
+    public boolean hasSuccessRate() {
+        return !Double.isNaN(successRate);
+    }
+
+    /**
+     * @return true if no latency, throughput or success data is known
+     */
+    public boolean isEmpty() {
+        return !hasLatency() && !hasThroughput() && !hasSuccessRate();
+    }
+}
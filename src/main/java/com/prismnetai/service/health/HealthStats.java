@@ -0,0 +1,85 @@
+package com.prismnetai.service.health;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free running health statistics for one provider or model. EWMAs are stored as the raw
+ * bits of a double in an {@link AtomicLong} and updated with a CAS loop, so concurrent
+ * recorders never block each other or the routing threads reading a snapshot.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+final class HealthStats {
+
+    private static final long UNKNOWN = Double.doubleToRawLongBits(Double.NaN);
+
+    private final double alpha;
+    private final AtomicLong latencyEwma = new AtomicLong(UNKNOWN);
+    private final AtomicLong throughputEwma = new AtomicLong(UNKNOWN);
+    private final AtomicLong successEwma = new AtomicLong(UNKNOWN);
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private final LongAdder sampleCount = new LongAdder();
+
+    HealthStats(double alpha) {
+        this.alpha = alpha;
+    }
+
+    /**
+     * Records one call outcome. Latency and throughput only count for successful calls;
+     * failures move the success rate.
+     */
+    void record(long latencyMs, double tokensPerSecond, boolean success) {
+        sampleCount.increment();
+        updateEwma(successEwma, success ? 1.0 : 0.0);
+        if (!success) {
+            return;
+        }
+
+        latencyHistogram.record(latencyMs);
+        updateEwma(latencyEwma, latencyMs);
+        if (!Double.isNaN(tokensPerSecond)) {
+            updateEwma(throughputEwma, tokensPerSecond);
+        }
+    }
+
+    void seedLatency(double latencyMs) {
+        latencyEwma.compareAndSet(UNKNOWN, Double.doubleToRawLongBits(latencyMs));
+    }
+
+    void seedThroughput(double throughput) {
+        throughputEwma.compareAndSet(UNKNOWN, Double.doubleToRawLongBits(throughput));
+    }
+
+    void seedSuccessRate(double successRate) {
+        successEwma.compareAndSet(UNKNOWN, Double.doubleToRawLongBits(successRate));
+    }
+
+    void decay() {
+        latencyHistogram.decay();
+    }
+
+    HealthSnapshot snapshot() {
+        return new HealthSnapshot(
+                Double.longBitsToDouble(latencyEwma.get()),
+                latencyHistogram.percentile(0.50),
+                latencyHistogram.percentile(0.95),
+                latencyHistogram.percentile(0.99),
+                Double.longBitsToDouble(throughputEwma.get()),
+                Double.longBitsToDouble(successEwma.get()),
+                sampleCount.sum());
+    }
+
+    private void updateEwma(AtomicLong ewma, double sample) {
+        long currentBits;
+        long nextBits;
+        do {
+            currentBits = ewma.get();
+            double current = Double.longBitsToDouble(currentBits);
+            double next = Double.isNaN(current) ? sample : current + alpha * (sample - current);
+            nextBits = Double.doubleToRawLongBits(next);
+        } while (!ewma.compareAndSet(currentBits, nextBits));
+    }
+}
@@ -0,0 +1,83 @@
+package com.prismnetai.service.health;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free log-linear latency histogram. Values below 8ms get exact buckets;
+ * above that every power of two is split into 8 sub-buckets, giving roughly 12.5% relative
+ * precision up to ~70 minutes in 160 buckets. Recording is a single atomic increment and
+ * percentile queries walk the fixed bucket array, so both are independent of sample count.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 21;
+    private static final long MAX_TRACKABLE_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    void record(long valueMs) {
+        counts.incrementAndGet(bucketIndex(valueMs));
+    }
+
+    /**
+     * Returns the value at the given quantile, reported as the upper bound of its bucket.
+     *
+     * @param quantile the quantile in [0, 1]
+     * @return the latency in milliseconds, or NaN if nothing has been recorded
+     */
+    double percentile(double quantile) {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return Double.NaN;
+        }
+
+        long rank = Math.max(1L, (long) Math.ceil(quantile * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= rank) {
+                return bucketUpperBound(i);
+            }
+        }
+        return bucketUpperBound(BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Halves every bucket so older samples fade out and percentiles follow recent behaviour.
+     */
+    void decay() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.getAndUpdate(i, count -> count >> 1);
+        }
+    }
+
+    static int bucketIndex(long valueMs) {
+        long value = Math.min(Math.max(valueMs, 0L), MAX_TRACKABLE_VALUE);
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) ((value >> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((SUB_BUCKETS + subBucket) * width) + width - 1;
+    }
+}
@@ -0,0 +1,133 @@
+package com.prismnetai.service.health;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.prismnetai.entity.Model;
+import com.prismnetai.entity.ProviderMetric;
+import com.prismnetai.repository.ProviderMetricRepository;
+import com.prismnetai.service.metrics.CallOutcome;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process, streaming aggregator of provider and model health. Call outcomes are folded into
+ * per-provider and per-model {@link HealthStats} (EWMA latency, latency histogram, throughput and
+ * success rate) as they happen, and routing strategies read a {@link HealthSnapshot} in constant
+ * time, independent of how many rows the {@code provider_metric} table holds.
+ *
+ * <p>On startup the provider-level values are seeded once from the latest persisted metric of
+ * each type, so routing has data before the first live call completes.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProviderHealthAggregator {
+
+    private final ProviderMetricRepository providerMetricRepository;
+
+    private final ConcurrentMap<Long, HealthStats> statsByProviderId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, HealthStats> statsByModelId = new ConcurrentHashMap<>();
+
+    @Value("${prismnet.routing.health.ewma-alpha:0.2}")
+    private double ewmaAlpha = 0.2;
+
+    @PostConstruct
+    void seedFromLatestMetrics() {
+        try {
+            List<ProviderMetric> latestMetrics = providerMetricRepository.findLatestMetricPerProviderAndType();
+            latestMetrics.forEach(this::seed);
+            log.info("ProviderHealthAggregator.seedFromLatestMetrics() - Seeded health from {} persisted metrics",
+                      latestMetrics.size());
+        } catch (Exception e) {
+            log.error("ProviderHealthAggregator.seedFromLatestMetrics() - Failed to seed health from persisted metrics: {}",
+                      e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Records the outcome of a provider call against both the provider and the model. Streaming
+     * calls contribute their time to first token as latency.
+     *
+     * @param outcome the call outcome
+     */
+    public void record(CallOutcome outcome) {
+        long latencyMs = outcome.routingLatencyMs();
+        double tokensPerSecond = outcome.tokensPerSecond();
+        providerStats(outcome.providerId()).record(latencyMs, tokensPerSecond, outcome.success());
+        modelStats(outcome.modelId()).record(latencyMs, tokensPerSecond, outcome.success());
+    }
+
+    /**
+     * Returns the health to route on for a model: its own statistics once it has live samples,
+     * otherwise those of its provider.
+     *
+     * @param model the candidate model
+     * @return the model's or provider's health, {@link HealthSnapshot#EMPTY} if nothing is known
+     */
+    public HealthSnapshot healthFor(Model model) {
+        HealthSnapshot modelHealth = getModelHealth(model.getId());
+        if (modelHealth.sampleCount() > 0) {
+            return modelHealth;
+        }
+        return getProviderHealth(model.getProvider().getId());
+    }
+
+    public HealthSnapshot getProviderHealth(Long providerId) {
+        HealthStats stats = statsByProviderId.get(providerId);
+        return stats != null ? stats.snapshot() : HealthSnapshot.EMPTY;
+    }
+
+    public HealthSnapshot getModelHealth(Long modelId) {
+        HealthStats stats = statsByModelId.get(modelId);
+        return stats != null ? stats.snapshot() : HealthSnapshot.EMPTY;
+    }
+
+    /**
+     * Periodically halves the latency histograms so percentiles track recent behaviour.
+     */
+    @Scheduled(fixedDelayString = "${prismnet.routing.health.decay-interval:60000}",
+               initialDelayString = "${prismnet.routing.health.decay-interval:60000}")
+    void decay() {
+        statsByProviderId.values().forEach(HealthStats::decay);
+        statsByModelId.values().forEach(HealthStats::decay);
+    }
+
+    private void seed(ProviderMetric metric) {
+        HealthStats stats = providerStats(metric.getProvider().getId());
+        double value = metric.getValue().doubleValue();
+        switch (metric.getMetricType()) {
+            case LATENCY -> stats.seedLatency(value);
+            case THROUGHPUT -> stats.seedThroughput(value);
+            case SUCCESS_RATE -> stats.seedSuccessRate(asRatio(value));
+            case ERROR_RATE -> stats.seedSuccessRate(1.0 - asRatio(value));
+            case TIME_TO_FIRST_TOKEN -> { } // Streaming calls seed latency from live outcomes only
+        }
+    }
+
+    /**
+     * Persisted rates are stored either as a ratio or as a percentage.
+     */
+    private static double asRatio(double rate) {
+        return rate > 1.0 ? rate / 100.0 : rate;
+    }
+
+    private HealthStats providerStats(Long providerId) {
+        return statsByProviderId.computeIfAbsent(providerId, id -> new HealthStats(ewmaAlpha));
+    }
+
+    private HealthStats modelStats(Long modelId) {
+        return statsByModelId.computeIfAbsent(modelId, id -> new HealthStats(ewmaAlpha));
+    }
+}
@@ -0,0 +1,262 @@
+package com.prismnetai.service.health;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.prismnetai.entity.Provider;
+import com.prismnetai.entity.ProviderApiKey;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spreads each provider's traffic over its pool of API keys, so throughput is bounded by the
+ * sum of the keys' upstream rate limits rather than by one. A call leases the least-loaded
+ * usable key, measured as calls in flight per unit of weight; ties rotate round-robin. A key is
+ * usable while it is not quarantined and the {@link ProviderQuotaTracker} reports headroom for
+ * it. A 401 or 403 quarantines a key for the unauthorized period, a 429 for its
+ * {@code retry-after} or the throttled period.
+ *
+ * <p>Providers without pooled keys use their single {@code apiKey}. Routing asks the pool which
+ * providers have a usable key before a strategy sees them; if none has, it fails open and hands
+ * back all of them, like the {@link CircuitBreakerRegistry}.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Service
+public class ProviderKeyPool {
+
+    private final ProviderQuotaTracker providerQuotaTracker;
+    private final long unauthorizedQuarantineNanos;
+    private final long throttledQuarantineNanos;
+    private final ConcurrentMap<String, KeyState> statesByApiKey = new ConcurrentHashMap<>();
+    private final AtomicInteger rotation = new AtomicInteger();
+
+    public ProviderKeyPool(ProviderQuotaTracker providerQuotaTracker,
+                           @Value("${prismnet.provider.keys.unauthorized-quarantine:600000}") long unauthorizedQuarantineMs,
+                           @Value("${prismnet.provider.keys.throttled-quarantine:10000}") long throttledQuarantineMs) {
+        this.providerQuotaTracker = providerQuotaTracker;
+        this.unauthorizedQuarantineNanos = Duration.ofMillis(unauthorizedQuarantineMs).toNanos();
+        this.throttledQuarantineNanos = Duration.ofMillis(throttledQuarantineMs).toNanos();
+    }
+
+    /**
+     * Runs a call with a leased key, returning the key when the call ends.
+     *
+     * @param provider the provider to call
+     * @param call the call to make with the leased key
+     * @return the call
+     */
+    public <T> Mono<T> withKey(Provider provider, Function<String, Mono<T>> call) {
+        return Mono.defer(() -> {
+            Lease lease = acquire(provider);
+            return call.apply(lease.apiKey())
+                .doOnError(lease::failed)
+                .doFinally(signal -> lease.release());
+        });
+    }
+
+    /**
+     * Runs a streaming call with a leased key, held until the stream ends.
+     *
+     * @param provider the provider to call
+     * @param stream the streaming call to make with the leased key
+     * @return the stream
+     */
+    public <T> Flux<T> withKeyStream(Provider provider, Function<String, Flux<T>> stream) {
+        return Flux.defer(() -> {
+            Lease lease = acquire(provider);
+            return stream.apply(lease.apiKey())
+                .doOnError(lease::failed)
+                .doFinally(signal -> lease.release());
+        });
+    }
+
+    /**
+     * Filters providers down to those with at least one usable key.
+     *
+     * @param providers the candidate providers
+     * @return the providers with a usable key, or all of them if none has one
+     */
+    public List<Provider> availableProviders(List<Provider> providers) {
+        if (providers.isEmpty()) {
+            return providers;
+        }
+        long nowNanos = System.nanoTime();
+        List<Provider> available = providers.stream()
+                .filter(provider -> hasUsableKey(provider, nowNanos))
+                .toList();
+        if (available.size() == providers.size()) {
+            return providers;
+        }
+        if (available.isEmpty()) {
+            log.warn("ProviderKeyPool.availableProviders() - No provider among {} has a usable API key, routing over all of them",
+                     providers.size());
+            return providers;
+        }
+        log.info("ProviderKeyPool.availableProviders() - Deprioritised {} providers whose API keys are quarantined or close to their upstream rate limits",
+                 providers.size() - available.size());
+        return available;
+    }
+
+    /**
+     * Leases the least-loaded usable key of a provider, or the least-loaded key of all if none
+     * is usable. The lease must be released exactly once.
+     *
+     * @param provider the provider to call
+     * @return the lease
+     */
+    Lease acquire(Provider provider) {
+        List<ProviderApiKey> keys = keysOf(provider);
+        long nowNanos = System.nanoTime();
+        ProviderApiKey chosen = leastLoaded(keys, nowNanos, true);
+        if (chosen == null) {
+            chosen = leastLoaded(keys, nowNanos, false);
+            log.warn("ProviderKeyPool.acquire() - No usable API key for provider {}, using a quarantined or throttled one",
+                     provider.getName());
+        }
+        KeyState state = state(chosen.getApiKey());
+        state.inFlight().incrementAndGet();
+        return new Lease(provider.getName(), chosen.getApiKey(), state);
+    }
+
+    private ProviderApiKey leastLoaded(List<ProviderApiKey> keys, long nowNanos, boolean usableOnly) {
+        int size = keys.size();
+        int start = size > 1 ? Math.floorMod(rotation.getAndIncrement(), size) : 0;
+        ProviderApiKey best = null;
+        double bestLoad = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            ProviderApiKey key = keys.get((start + i) % size);
+            if (usableOnly && !isUsable(key.getApiKey(), nowNanos)) {
+                continue;
+            }
+            KeyState state = statesByApiKey.get(key.getApiKey());
+            int inFlight = state != null ? state.inFlight().get() : 0;
+            double load = (inFlight + 1.0) / Math.max(1, key.getWeight() != null ? key.getWeight() : 1);
+            if (load < bestLoad) {
+                best = key;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    private boolean hasUsableKey(Provider provider, long nowNanos) {
+        for (ProviderApiKey key : keysOf(provider)) {
+            if (isUsable(key.getApiKey(), nowNanos)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isUsable(String apiKey, long nowNanos) {
+        KeyState state = statesByApiKey.get(apiKey);
+        if (state != null && state.quarantinedUntilNanos().get() - nowNanos > 0) {
+            return false;
+        }
+        return providerQuotaTracker.hasHeadroom(apiKey);
+    }
+
+    private static List<ProviderApiKey> keysOf(Provider provider) {
+        List<ProviderApiKey> pooled = provider.getApiKeys();
+        if (pooled != null && !pooled.isEmpty()) {
+            List<ProviderApiKey> active = new ArrayList<>(pooled.size());
+            for (ProviderApiKey key : pooled) {
+                if (!Boolean.FALSE.equals(key.getIsActive())) {
+                    active.add(key);
+                }
+            }
+            if (!active.isEmpty()) {
+                return active;
+            }
+        }
+        return List.of(new ProviderApiKey(provider.getApiKey(), 1, true));
+    }
+
+    private KeyState state(String apiKey) {
+        KeyState state = statesByApiKey.get(apiKey);
+        return state != null ? state : statesByApiKey.computeIfAbsent(apiKey, key -> new KeyState(new AtomicInteger(), new AtomicLong(System.nanoTime())));
+    }
+
+    private long quarantineNanos(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WebClientResponseException response) {
+                int status = response.getStatusCode().value();
+                if (status == 401 || status == 403) {
+                    return unauthorizedQuarantineNanos;
+                }
+                if (status == 429) {
+                    String retryAfter = response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+                    try {
+                        return retryAfter != null ? Duration.ofSeconds(Long.parseLong(retryAfter.trim())).toNanos() : throttledQuarantineNanos;
+                    } catch (NumberFormatException e) {
+                        return throttledQuarantineNanos;
+                    }
+                }
+                return 0L;
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Live state of one key; {@code quarantinedUntilNanos} starts at creation time, i.e. already expired.
+     */
+    private record KeyState(AtomicInteger inFlight, AtomicLong quarantinedUntilNanos) {
+    }
+
+    /**
+     * One key leased for one call.
+     */
+    final class Lease {
+
+        private final String providerName;
+        private final String apiKey;
+        private final KeyState state;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(String providerName, String apiKey, KeyState state) {
+            this.providerName = providerName;
+            this.apiKey = apiKey;
+            this.state = state;
+        }
+
+        String apiKey() {
+            return apiKey;
+        }
+
+        void failed(Throwable error) {
+            long quarantineNanos = quarantineNanos(error);
+            if (quarantineNanos <= 0) {
+                return;
+            }
+            long until = System.nanoTime() + quarantineNanos;
+            state.quarantinedUntilNanos().accumulateAndGet(until, (current, next) -> next - current > 0 ? next : current);
+            log.warn("ProviderKeyPool.Lease.failed() - Quarantined an API key of provider {} for {}ms: {}",
+                     providerName, Duration.ofNanos(quarantineNanos).toMillis(), error.getMessage());
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                state.inFlight().decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.prismnetai.service.health;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+
+/**
+ * Remaining upstream capacity per provider API key, read from the rate-limit headers providers
+ * return on every response: OpenAI's {@code x-ratelimit-*} and Anthropic's
+ * {@code anthropic-ratelimit-*}, plus {@code retry-after} on a 429. The {@link ProviderKeyPool}
+ * asks the tracker which keys still have headroom, so traffic moves off a key that is about to
+ * be throttled instead of discovering it through a 429.
+ *
+ * <p>Each key keeps the last reported snapshot, replaced wholesale on every response. A window
+ * whose reset time has passed is treated as replenished.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class ProviderQuotaTracker {
+
+    private static final QuotaWindow UNKNOWN = new QuotaWindow(0L, 0L, 0L);
+
+    private final boolean enabled;
+    private final double minHeadroom;
+    private final ConcurrentMap<String, QuotaSnapshot> snapshotsByApiKey = new ConcurrentHashMap<>();
+
+    public ProviderQuotaTracker(@Value("${prismnet.routing.quota.enabled:true}") boolean enabled,
+                                @Value("${prismnet.routing.quota.min-headroom:0.05}") double minHeadroom) {
+        this.enabled = enabled;
+        this.minHeadroom = minHeadroom;
+    }
+
+    /**
+     * Records the rate-limit headers of a provider response, successful or not.
+     *
+     * @param apiKey the API key the call was made with
+     * @param headers the response headers
+     */
+    public void record(String apiKey, HttpHeaders headers) {
+        if (!enabled || apiKey == null || headers == null) {
+            return;
+        }
+        long nowNanos = System.nanoTime();
+        QuotaWindow requests = openAiWindow(headers, "requests", nowNanos);
+        QuotaWindow tokens = openAiWindow(headers, "tokens", nowNanos);
+        if (requests == UNKNOWN) {
+            requests = anthropicWindow(headers, "requests", nowNanos);
+        }
+        if (tokens == UNKNOWN) {
+            tokens = anthropicWindow(headers, "tokens", nowNanos);
+        }
+        if (tokens == UNKNOWN) {
+            tokens = anthropicWindow(headers, "input-tokens", nowNanos);
+        }
+        long retryAfterNanos = parseRetryAfterNanos(headers.getFirst(HttpHeaders.RETRY_AFTER));
+        if (retryAfterNanos > 0) {
+            // Throttled: whatever the windows say, nothing is left until retry-after passes
+            requests = new QuotaWindow(Math.max(1L, requests.limit()), 0L, nowNanos + retryAfterNanos);
+        }
+        if (requests == UNKNOWN && tokens == UNKNOWN) {
+            return;
+        }
+        snapshotsByApiKey.put(apiKey, new QuotaSnapshot(requests, tokens));
+    }
+
+    /**
+     * Whether the key's tightest upstream window has at least the configured minimum headroom.
+     *
+     * @param apiKey the provider API key
+     * @return true if the key may take more traffic
+     */
+    public boolean hasHeadroom(String apiKey) {
+        return !enabled || headroom(apiKey, System.nanoTime()) >= minHeadroom;
+    }
+
+    /**
+     * The fraction of the key's tightest upstream window still available.
+     *
+     * @param apiKey the provider API key
+     * @return between 0 and 1; 1 if nothing is known or every window has reset
+     */
+    public double headroom(String apiKey) {
+        return headroom(apiKey, System.nanoTime());
+    }
+
+    private double headroom(String apiKey, long nowNanos) {
+        QuotaSnapshot snapshot = apiKey != null ? snapshotsByApiKey.get(apiKey) : null;
+        if (snapshot == null) {
+            return 1.0;
+        }
+        return Math.min(snapshot.requests().headroom(nowNanos), snapshot.tokens().headroom(nowNanos));
+    }
+
+    private static QuotaWindow openAiWindow(HttpHeaders headers, String kind, long nowNanos) {
+        return window(headers.getFirst("x-ratelimit-limit-" + kind),
+                      headers.getFirst("x-ratelimit-remaining-" + kind),
+                      parseDurationNanos(headers.getFirst("x-ratelimit-reset-" + kind)),
+                      nowNanos);
+    }
+
+    private static QuotaWindow anthropicWindow(HttpHeaders headers, String kind, long nowNanos) {
+        return window(headers.getFirst("anthropic-ratelimit-" + kind + "-limit"),
+                      headers.getFirst("anthropic-ratelimit-" + kind + "-remaining"),
+                      parseResetInstantNanos(headers.getFirst("anthropic-ratelimit-" + kind + "-reset")),
+                      nowNanos);
+    }
+
+    private static QuotaWindow window(String limit, String remaining, long resetInNanos, long nowNanos) {
+        long parsedLimit = parseLong(limit);
+        long parsedRemaining = parseLong(remaining);
+        if (parsedLimit <= 0 || parsedRemaining < 0) {
+            return UNKNOWN;
+        }
+        return new QuotaWindow(parsedLimit, parsedRemaining, nowNanos + Math.max(0L, resetInNanos));
+    }
+
+    /**
+     * Parses OpenAI's Go-style reset durations such as {@code 20ms}, {@code 1s} or {@code 6m0s}.
+     *
+     * @return the duration in nanoseconds, 0 if absent or malformed
+     */
+    static long parseDurationNanos(String value) {
+        if (value == null || value.isEmpty()) {
+            return 0L;
+        }
+        double nanos = 0;
+        int i = 0;
+        int length = value.length();
+        while (i < length) {
+            int start = i;
+            while (i < length && (Character.isDigit(value.charAt(i)) || value.charAt(i) == '.')) {
+                i++;
+            }
+            int unitStart = i;
+            while (i < length && Character.isLetter(value.charAt(i))) {
+                i++;
+            }
+            if (start == unitStart || unitStart == i) {
+                return 0L;
+            }
+            double amount;
+            try {
+                amount = Double.parseDouble(value.substring(start, unitStart));
+            } catch (NumberFormatException e) {
+                return 0L;
+            }
+            switch (value.substring(unitStart, i)) {
+                case "h" -> nanos += amount * 3_600_000_000_000L;
+                case "m" -> nanos += amount * 60_000_000_000L;
+                case "s" -> nanos += amount * 1_000_000_000L;
+                case "ms" -> nanos += amount * 1_000_000L;
+                case "us", "\u00b5s" -> nanos += amount * 1_000L;
+                case "ns" -> nanos += amount;
+                default -> {
+                    return 0L;
+                }
+            }
+        }
+        return (long) nanos;
+    }
+
+    /**
+     * Parses Anthropic's RFC 3339 reset timestamps into time from now.
+     *
+     * @return nanoseconds until the reset, 0 if absent, malformed or past
+     */
+    private static long parseResetInstantNanos(String value) {
+        if (value == null || value.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Math.max(0L, Duration.between(Instant.now(), Instant.parse(value)).toNanos());
+        } catch (DateTimeParseException | ArithmeticException e) {
+            return 0L;
+        }
+    }
+
+    private static long parseRetryAfterNanos(String value) {
+        long seconds = parseLong(value);
+        return seconds > 0 ? Duration.ofSeconds(seconds).toNanos() : 0L;
+    }
+
+    private static long parseLong(String value) {
+        if (value == null || value.isEmpty()) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * One upstream window: requests or tokens.
+     */
+    private record QuotaWindow(long limit, long remaining, long resetAtNanos) {
+
+        double headroom(long nowNanos) {
+            if (limit <= 0 || nowNanos - resetAtNanos >= 0) {
+                return 1.0;
+            }
+            return (double) remaining / limit;
+        }
+    }
+
+    private record QuotaSnapshot(QuotaWindow requests, QuotaWindow tokens) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.prismnetai.service.metrics;
+
+/**
+ * Outcome of a single provider call, captured by {@link ProviderCallMetrics} for both non-streaming
+ * and streaming completions.
+ *
+ * @param providerId the provider that served the call
+ * @param modelId the model that served the call
+ * @param streaming whether the call was a streaming completion
+ * @param timeToFirstTokenMs time until the first streamed chunk, -1 for non-streaming calls or if none arrived
+ * @param totalTimeMs total call duration
+ * @param completionTokens generated tokens (streamed chunks for streaming calls), 0 if unknown
+ * @param success whether the call completed successfully
+ * @param httpStatus upstream HTTP status, 0 if no response was received
+ * @param timestampMillis epoch millis at which the call finished
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public record CallOutcome(Long providerId,
+                          Long modelId,
+                          boolean streaming,
+                          long timeToFirstTokenMs,
+                          long totalTimeMs,
+                          long completionTokens,
+                          boolean success,
+                          int httpStatus,
+                          long timestampMillis) {
+
+    public boolean hasTimeToFirstToken() {
+        return timeToFirstTokenMs >= 0;
+    }
+
+    /**
+     * Latency as seen by routing: time to first token for streaming calls, total time otherwise.
+     *
+     * @return the routing latency in milliseconds
+     */
+    public long routingLatencyMs() {
+        return streaming && hasTimeToFirstToken() ? timeToFirstTokenMs : totalTimeMs;
+    }
+
+    /**
+     * Generation throughput. For streaming calls the time to first token is excluded.
+     *
+     * @return tokens per second, NaN if unknown
+     */
+    public double tokensPerSecond() {
+        long generationMs = streaming && hasTimeToFirstToken() ? totalTimeMs - timeToFirstTokenMs : totalTimeMs;
+        if (completionTokens <= 0 || generationMs <= 0) {
+            return Double.NaN;
+        }
+        return completionTokens * 1000.0 / generationMs;
+    }
+}
@@ -0,0 +1,98 @@
+package com.prismnetai.service.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, lock-free multi-producer / single-consumer ring buffer. Producers claim a slot with
+ * a CAS on the producer index and never block: when the buffer is full the item is dropped and
+ * counted. The single consumer drains published slots in order.
+ *
+ * @param <T> the element type
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+final class MetricRingBuffer<T> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param requestedCapacity minimum capacity; rounded up to the next power of two
+     */
+    MetricRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be positive");
+        }
+        int size = 1;
+        while (size < requestedCapacity) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Publishes an item without blocking.
+     *
+     * @param item the item to publish
+     * @return false if the buffer was full and the item was dropped
+     */
+    boolean offer(T item) {
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex.get() >= capacity) {
+                dropped.increment();
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+
+        slots.set((int) (index & mask), item);
+        return true;
+    }
+
+    /**
+     * Drains published items in order. Must only be called by one thread at a time.
+     *
+     * @param consumer receives each drained item
+     * @return the number of drained items
+     */
+    int drain(Consumer<T> consumer) {
+        long index = consumerIndex.get();
+        int drained = 0;
+        while (true) {
+            int offset = (int) (index & mask);
+            T item = slots.get(offset);
+            if (item == null) {
+                // Empty, or the producer that claimed this slot has not published yet
+                return drained;
+            }
+            slots.set(offset, null);
+            index++;
+            consumerIndex.set(index);
+            consumer.accept(item);
+            drained++;
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of items dropped since the last call, resetting the counter
+     */
+    long takeDroppedCount() {
+        return dropped.sumThenReset();
+    }
+}
@@ -0,0 +1,350 @@
+package com.prismnetai.service.metrics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.prismnetai.dto.ChatCompletionResponse;
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.entity.ProviderMetric;
+import com.prismnetai.service.audit.RequestAuditWriter;
+import com.prismnetai.service.health.CircuitBreakerRegistry;
+import com.prismnetai.service.health.ProviderHealthAggregator;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Captures the outcome of every provider call without adding work to the request path beyond
+ * an in-memory update: each outcome is folded into the {@link ProviderHealthAggregator} and the
+ * {@link CircuitBreakerRegistry} for routing and published to a lock-free {@link MetricRingBuffer}. A scheduled flush drains the
+ * buffer, aggregates per provider and writes the window as one JDBC batch of
+ * {@link ProviderMetric} rows. The terminal state of the request itself is handed to the
+ * {@link RequestAuditWriter}.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Service
+public class ProviderCallMetrics {
+
+    static final String INSERT_METRIC_SQL =
+            "INSERT INTO provider_metric (provider_id, metric_type, value, timestamp) VALUES (?, ?, ?, ?)";
+
+    static final String STREAM_CANCELLED = "Stream cancelled by client";
+    static final String CALL_CANCELLED = "Cancelled before the provider responded";
+
+    private static final BigDecimal MAX_METRIC_VALUE = new BigDecimal("999999.9999");
+
+    private final ProviderHealthAggregator providerHealthAggregator;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final RequestAuditWriter requestAuditWriter;
+    private final MetricRingBuffer<CallOutcome> buffer;
+    private final boolean persistenceEnabled;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public ProviderCallMetrics(ProviderHealthAggregator providerHealthAggregator,
+                               CircuitBreakerRegistry circuitBreakerRegistry,
+                               JdbcTemplate jdbcTemplate,
+                               RequestAuditWriter requestAuditWriter,
+                               @Value("${prismnet.metrics.buffer-capacity:8192}") int bufferCapacity,
+                               @Value("${prismnet.metrics.enabled:true}") boolean persistenceEnabled) {
+        this.providerHealthAggregator = providerHealthAggregator;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.requestAuditWriter = requestAuditWriter;
+        this.buffer = new MetricRingBuffer<>(bufferCapacity);
+        this.persistenceEnabled = persistenceEnabled;
+    }
+
+    /**
+     * Records a call outcome. Never blocks; if the persistence buffer is full the outcome still
+     * reaches the health aggregator and only the persisted row is dropped.
+     *
+     * @param outcome the call outcome
+     */
+    public void record(CallOutcome outcome) {
+        providerHealthAggregator.record(outcome);
+        circuitBreakerRegistry.record(outcome);
+        if (persistenceEnabled) {
+            buffer.offer(outcome);
+        }
+    }
+
+    /**
+     * Records a successful non-streaming completion and stamps the measured latency on its routing info.
+     *
+     * @param aiRequest the routed request
+     * @param startNanos {@link System#nanoTime()} when the call started
+     * @param response the parsed response
+     */
+    public void recordCompletion(AiRequest aiRequest, long startNanos, ChatCompletionResponse response) {
+        long totalTimeMs = elapsedMillis(startNanos);
+        if (response.getRoutingInfo() != null) {
+            response.getRoutingInfo().setLatencyMs(totalTimeMs);
+        }
+        ChatCompletionResponse.Usage usage = response.getUsage();
+        long promptTokens = usage != null && usage.getPromptTokens() != null ? usage.getPromptTokens() : 0L;
+        long completionTokens = usage != null && usage.getCompletionTokens() != null ? usage.getCompletionTokens() : 0L;
+        record(outcome(aiRequest, false, -1L, totalTimeMs, completionTokens, true, 200));
+        requestAuditWriter.recordCompletion(RequestAuditWriter.completed(aiRequest, promptTokens, completionTokens, totalTimeMs));
+    }
+
+    /**
+     * Records a failed non-streaming completion.
+     *
+     * @param aiRequest the routed request
+     * @param startNanos {@link System#nanoTime()} when the call started
+     * @param error the failure
+     */
+    public void recordFailure(AiRequest aiRequest, long startNanos, Throwable error) {
+        long totalTimeMs = elapsedMillis(startNanos);
+        record(outcome(aiRequest, false, -1L, totalTimeMs, 0L, false, httpStatusOf(error)));
+        requestAuditWriter.recordCompletion(RequestAuditWriter.failed(aiRequest, error, totalTimeMs));
+    }
+
+    /**
+     * Records a non-streaming call that was cancelled before it completed, because the client
+     * went away or a hedged call answered first. Cancellations do not count against provider
+     * health; only the request's terminal state is audited.
+     *
+     * @param aiRequest the routed request
+     * @param startNanos {@link System#nanoTime()} when the call started
+     */
+    public void recordCancellation(AiRequest aiRequest, long startNanos) {
+        requestAuditWriter.recordCompletion(RequestAuditWriter.interrupted(aiRequest, CALL_CANCELLED, 0L, 0L,
+                                                                           elapsedMillis(startNanos)));
+    }
+
+    /**
+     * Records a call rejected before it was sent, because its provider was at its concurrency
+     * limit. Nothing reached the provider, so only the request's terminal state is audited.
+     *
+     * @param aiRequest the routed request
+     * @param error the rejection
+     */
+    public void recordRejection(AiRequest aiRequest, Throwable error) {
+        requestAuditWriter.recordCompletion(RequestAuditWriter.failed(aiRequest, error, 0L));
+    }
+
+    /**
+     * Records a request answered from the response cache. No provider was called, so only the
+     * request's terminal state is audited, with its tokens unpriced.
+     *
+     * @param aiRequest the routed request
+     * @param startNanos {@link System#nanoTime()} when the lookup started
+     */
+    public void recordCacheHit(AiRequest aiRequest, long startNanos) {
+        requestAuditWriter.recordCompletion(RequestAuditWriter.completed(aiRequest, 0L, 0L, elapsedMillis(startNanos)));
+    }
+
+    /**
+     * Records a request answered by joining another request's in-flight call. The provider call
+     * and its tokens are recorded on the leading request, so only this request's terminal state
+     * is audited, with its tokens unpriced.
+     *
+     * @param aiRequest the routed request that joined the call
+     * @param startNanos {@link System#nanoTime()} when the request joined
+     */
+    public void recordCoalesced(AiRequest aiRequest, long startNanos) {
+        requestAuditWriter.recordCompletion(RequestAuditWriter.completed(aiRequest, 0L, 0L, elapsedMillis(startNanos)));
+    }
+
+    /**
+     * Records a request that joined another request's in-flight call when that call failed. The
+     * failure already counted against the provider on the leading request, so only this
+     * request's terminal state is audited.
+     *
+     * @param aiRequest the routed request that joined the call
+     * @param startNanos {@link System#nanoTime()} when the request joined
+     * @param error the failure of the shared call
+     */
+    public void recordCoalescedFailure(AiRequest aiRequest, long startNanos, Throwable error) {
+        requestAuditWriter.recordCompletion(RequestAuditWriter.failed(aiRequest, error, elapsedMillis(startNanos)));
+    }
+
+    /**
+     * Records a call abandoned because the provider did not respond within its deadline. Unlike a
+     * cancellation this is the provider's fault, so it counts as a failure for health and
+     * circuit breaking; the request itself is audited by the cancellation of the call.
+     *
+     * @param aiRequest the routed request
+     * @param streaming whether the call was a streaming completion
+     * @param timeoutMs the deadline the provider missed
+     */
+    public void recordTimeout(AiRequest aiRequest, boolean streaming, long timeoutMs) {
+        record(outcome(aiRequest, streaming, -1L, timeoutMs, 0L, false, 0));
+    }
+
+    /**
+     * Instruments a streaming completion with a tap that meters tokens as chunks pass through,
+     * without buffering the body. Exactly one terminal event is emitted per subscription: on
+     * completion the call is recorded for health and the request is audited with its token
+     * count and cost; on error or client cancellation the tokens streamed so far are still
+     * audited and priced, since the provider bills them. Cancellations do not count against
+     * provider health.
+     *
+     * @param aiRequest the routed request
+     * @param stream the upstream OpenAI-format chunk stream
+     * @return the same stream, instrumented per subscription
+     */
+    public Flux<String> instrumentStream(AiRequest aiRequest, Flux<String> stream) {
+        return Flux.defer(() -> {
+            StreamUsageMeter meter = new StreamUsageMeter(aiRequest.getPrompt(), System.nanoTime());
+            return stream
+                .doOnNext(meter::observe)
+                .doOnComplete(() -> {
+                    long totalTimeMs = meter.elapsedMs();
+                    record(outcome(aiRequest, true, meter.timeToFirstChunkMs(), totalTimeMs, meter.completionTokens(), true, 200));
+                    requestAuditWriter.recordCompletion(RequestAuditWriter.completed(
+                            aiRequest, meter.promptTokens(), meter.completionTokens(), totalTimeMs));
+                })
+                .doOnError(error -> {
+                    long totalTimeMs = meter.elapsedMs();
+                    record(outcome(aiRequest, true, meter.timeToFirstChunkMs(), totalTimeMs, meter.completionTokens(), false,
+                            httpStatusOf(error)));
+                    String reason = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+                    requestAuditWriter.recordCompletion(RequestAuditWriter.interrupted(
+                            aiRequest, reason, meter.promptTokens(), meter.completionTokens(), totalTimeMs));
+                })
+                .doFinally(signal -> {
+                    // doFinally fires once, so a late cancel cannot overwrite a completed request
+                    if (signal == SignalType.CANCEL) {
+                        requestAuditWriter.recordCompletion(RequestAuditWriter.interrupted(
+                                aiRequest, STREAM_CANCELLED, meter.promptTokens(), meter.completionTokens(), meter.elapsedMs()));
+                    }
+                });
+        });
+    }
+
+    /**
+     * Drains buffered outcomes and persists one aggregated row per provider and metric type.
+     */
+    @Scheduled(fixedDelayString = "${prismnet.metrics.collection.interval:60000}",
+               initialDelayString = "${prismnet.metrics.collection.interval:60000}")
+    @PreDestroy
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            Map<Long, ProviderWindow> windows = new HashMap<>();
+            int drained = buffer.drain(outcome ->
+                    windows.computeIfAbsent(outcome.providerId(), id -> new ProviderWindow()).add(outcome));
+            long dropped = buffer.takeDroppedCount();
+            if (dropped > 0) {
+                log.warn("ProviderCallMetrics.flush() - Dropped {} call outcomes, metric buffer (capacity {}) was full",
+                         dropped, buffer.capacity());
+            }
+            if (drained == 0) {
+                return;
+            }
+
+            List<Object[]> rows = toRows(windows, Timestamp.valueOf(LocalDateTime.now()));
+            jdbcTemplate.batchUpdate(INSERT_METRIC_SQL, rows);
+            log.info("ProviderCallMetrics.flush() - Persisted {} metric rows from {} call outcomes across {} providers",
+                      rows.size(), drained, windows.size());
+        } catch (Exception e) {
+            log.error("ProviderCallMetrics.flush() - Failed to persist provider metrics: {}", e.getMessage(), e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private static List<Object[]> toRows(Map<Long, ProviderWindow> windows, Timestamp timestamp) {
+        List<Object[]> rows = new ArrayList<>();
+        windows.forEach((providerId, window) -> {
+            if (window.latencyCount > 0) {
+                rows.add(row(providerId, ProviderMetric.MetricType.LATENCY, (double) window.latencySumMs / window.latencyCount, timestamp));
+            }
+            if (window.timeToFirstTokenCount > 0) {
+                rows.add(row(providerId, ProviderMetric.MetricType.TIME_TO_FIRST_TOKEN,
+                             (double) window.timeToFirstTokenSumMs / window.timeToFirstTokenCount, timestamp));
+            }
+            if (window.throughputCount > 0) {
+                rows.add(row(providerId, ProviderMetric.MetricType.THROUGHPUT, window.throughputSum / window.throughputCount, timestamp));
+            }
+            double successRate = (double) (window.calls - window.failures) / window.calls;
+            rows.add(row(providerId, ProviderMetric.MetricType.SUCCESS_RATE, successRate, timestamp));
+            rows.add(row(providerId, ProviderMetric.MetricType.ERROR_RATE, 1.0 - successRate, timestamp));
+        });
+        return rows;
+    }
+
+    private static Object[] row(Long providerId, ProviderMetric.MetricType type, double value, Timestamp timestamp) {
+        BigDecimal scaled = BigDecimal.valueOf(value).setScale(4, RoundingMode.HALF_UP).min(MAX_METRIC_VALUE);
+        return new Object[] {providerId, type.name(), scaled, timestamp};
+    }
+
+    private static CallOutcome outcome(AiRequest aiRequest, boolean streaming, long timeToFirstTokenMs, long totalTimeMs,
+                                       long completionTokens, boolean success, int httpStatus) {
+        return new CallOutcome(aiRequest.getSelectedProvider().getId(), aiRequest.getSelectedModel().getId(), streaming,
+                               timeToFirstTokenMs, totalTimeMs, completionTokens, success, httpStatus, System.currentTimeMillis());
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    private static int httpStatusOf(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WebClientResponseException responseException) {
+                return responseException.getStatusCode().value();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Per-provider accumulator for one flush window. Only touched by the flushing thread.
+     */
+    private static final class ProviderWindow {
+        private long calls;
+        private long failures;
+        private long latencySumMs;
+        private long latencyCount;
+        private long timeToFirstTokenSumMs;
+        private long timeToFirstTokenCount;
+        private double throughputSum;
+        private long throughputCount;
+
+        void add(CallOutcome outcome) {
+            calls++;
+            if (!outcome.success()) {
+                failures++;
+                return;
+            }
+            if (outcome.streaming()) {
+                if (outcome.hasTimeToFirstToken()) {
+                    timeToFirstTokenSumMs += outcome.timeToFirstTokenMs();
+                    timeToFirstTokenCount++;
+                }
+            } else {
+                latencySumMs += outcome.totalTimeMs();
+                latencyCount++;
+            }
+            double tokensPerSecond = outcome.tokensPerSecond();
+            if (!Double.isNaN(tokensPerSecond)) {
+                throughputSum += tokensPerSecond;
+                throughputCount++;
+            }
+        }
+    }
+}
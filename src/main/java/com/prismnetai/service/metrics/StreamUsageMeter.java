@@ -0,0 +1,145 @@
+package com.prismnetai.service.metrics;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Running token count for one streamed completion. Each OpenAI-format chunk is scanned once with
+ * a streaming {@link JsonParser}: the length of {@code choices[0].delta.content} feeds a local
+ * estimate, and a {@code usage} object (OpenAI's final usage chunk, or the one the Anthropic
+ * translator emits) replaces the estimate with the provider's own counts. Nothing is buffered;
+ * the meter holds a handful of primitives.
+ *
+ * <p>Reactor delivers the signals of one subscription serially, so the fields need no
+ * synchronization. Create one meter per subscription.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+final class StreamUsageMeter {
+
+    /** Rough characters-per-token ratio for English text, used when the provider reports no usage. */
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final String DONE = "[DONE]";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final long startNanos;
+    private final long estimatedPromptTokens;
+    private long firstChunkNanos = -1L;
+    private long chunks;
+    private long contentChunks;
+    private long contentChars;
+    private long reportedPromptTokens = -1L;
+    private long reportedCompletionTokens = -1L;
+
+    StreamUsageMeter(String prompt, long startNanos) {
+        this.startNanos = startNanos;
+        this.estimatedPromptTokens = estimateTokens(prompt != null ? prompt.length() : 0);
+    }
+
+    /**
+     * Accounts for one chunk payload. Malformed chunks are counted but otherwise ignored; the
+     * stream itself is never failed by metering.
+     *
+     * @param chunk an OpenAI {@code chat.completion.chunk} payload or {@code [DONE]}
+     */
+    void observe(String chunk) {
+        if (chunks++ == 0) {
+            firstChunkNanos = System.nanoTime();
+        }
+        if (chunk == null || DONE.equals(chunk)) {
+            return;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(chunk)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("choices".equals(name) && value == JsonToken.START_ARRAY) {
+                    readChoices(parser);
+                } else if ("usage".equals(name) && value == JsonToken.START_OBJECT) {
+                    readUsage(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            // Not a chunk we understand; it only counts towards time to first chunk
+        }
+    }
+
+    long promptTokens() {
+        return reportedPromptTokens >= 0 ? reportedPromptTokens : estimatedPromptTokens;
+    }
+
+    /**
+     * The provider-reported completion tokens when available; otherwise an estimate from the
+     * streamed text, never lower than one token per content-bearing chunk seen.
+     */
+    long completionTokens() {
+        return reportedCompletionTokens >= 0 ? reportedCompletionTokens : Math.max(contentChunks, estimateTokens(contentChars));
+    }
+
+    long chunks() {
+        return chunks;
+    }
+
+    long timeToFirstChunkMs() {
+        return firstChunkNanos < 0 ? -1L : (firstChunkNanos - startNanos) / 1_000_000L;
+    }
+
+    long elapsedMs() {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    static long estimateTokens(long chars) {
+        return (chars + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    private void readChoices(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("delta".equals(name) && value == JsonToken.START_OBJECT) {
+                    readDelta(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private void readDelta(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("content".equals(name) && value == JsonToken.VALUE_STRING && parser.getTextLength() > 0) {
+                contentChunks++;
+                contentChars += parser.getTextLength();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readUsage(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value != JsonToken.VALUE_NUMBER_INT) {
+                parser.skipChildren();
+            } else if ("prompt_tokens".equals(name)) {
+                reportedPromptTokens = parser.getLongValue();
+            } else if ("completion_tokens".equals(name)) {
+                reportedCompletionTokens = parser.getLongValue();
+            }
+        }
+    }
+}
@@ -4,6 +4,9 @@ import com.prismnetai.dto.ChatCompletionRequest;
 import com.prismnetai.dto.ChatCompletionResponse;
 import com.prismnetai.entity.AiRequest;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 /**
  * Interface for AI provider services that handle communication with different AI providers.
  * This interface follows the Interface Segregation Principle by defining only the methods
@@ -25,15 +28,16 @@ public interface AiProviderService {
     boolean canHandle(String providerName);
 
     /**
-     * Calls the AI provider's API to process a chat completion request.
+     * Calls the AI provider's API to process a chat completion request. The call is made when the
+     * returned Mono is subscribed and no thread is held while waiting for the provider.
      *
      * @param request the chat completion request containing messages and parameters
      * @param aiRequest the AI request entity containing routing information
-     * @return the chat completion response from the provider
-     * @throws ProviderException if the provider API call fails
+     * @return a Mono emitting the chat completion response from the provider, or failing with a
+     *         ProviderException if the provider API call fails
      * @throws IllegalArgumentException if request or aiRequest is null
      */
-    ChatCompletionResponse callCompletion(ChatCompletionRequest request, AiRequest aiRequest);
+    Mono<ChatCompletionResponse> callCompletion(ChatCompletionRequest request, AiRequest aiRequest);
 
     /**
      * Calls the AI provider's API to process a streaming chat completion request.
@@ -44,7 +48,7 @@ public interface AiProviderService {
      * @throws ProviderException if the provider API call fails
      * @throws IllegalArgumentException if request or aiRequest is null
      */
-    reactor.core.publisher.Flux<String> callStreamingCompletion(ChatCompletionRequest request, AiRequest aiRequest);
+    Flux<String> callStreamingCompletion(ChatCompletionRequest request, AiRequest aiRequest);
 
     /**
      * Returns the name of the provider this service handles.
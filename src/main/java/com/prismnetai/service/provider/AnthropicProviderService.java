@@ -1,25 +1,32 @@
 package com.prismnetai.service.provider;
 
 import java.math.BigDecimal;
-import java.time.Duration;
-import java.time.Instant;
-import java.util.List;
-import java.util.Map;
 
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClientException;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.prismnetai.dto.ChatCompletionRequest;
 import com.prismnetai.dto.ChatCompletionResponse;
 import com.prismnetai.entity.AiRequest;
 import com.prismnetai.exception.ProviderException;
+import com.prismnetai.logging.BodyLogging;
+import com.prismnetai.logging.LogMarkers;
+import com.prismnetai.service.catalog.PriceIndex;
+import com.prismnetai.service.health.ProviderKeyPool;
+import com.prismnetai.service.metrics.ProviderCallMetrics;
 import com.prismnetai.service.provider.client.AnthropicApiClient;
+import com.prismnetai.service.provider.payload.AnthropicMessagesRequest;
+import com.prismnetai.service.provider.payload.ProviderCompletion;
+import com.prismnetai.service.provider.payload.ProviderPayloadWriter;
+import com.prismnetai.service.provider.stream.AnthropicStreamTranslator;
+import com.prismnetai.service.provider.stream.SseEvent;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 /**
  * Service implementation for handling Anthropic API interactions.
@@ -38,7 +45,8 @@ public class AnthropicProviderService implements AiProviderService {
     private static final String PROVIDER_NAME = "Anthropic";
 
     private final AnthropicApiClient anthropicApiClient;
-    private final ObjectMapper objectMapper;
+    private final ProviderCallMetrics providerCallMetrics;
+    private final ProviderKeyPool providerKeyPool;
 
     @Override
     public boolean canHandle(String providerName) {
@@ -49,7 +57,7 @@ public class AnthropicProviderService implements AiProviderService {
     }
 
     @Override
-    public ChatCompletionResponse callCompletion(ChatCompletionRequest request, AiRequest aiRequest) {
+    public Mono<ChatCompletionResponse> callCompletion(ChatCompletionRequest request, AiRequest aiRequest) {
         if (request == null) {
             throw new IllegalArgumentException("ChatCompletionRequest cannot be null");
         }
@@ -57,32 +65,50 @@ public class AnthropicProviderService implements AiProviderService {
             throw new IllegalArgumentException("AiRequest cannot be null");
         }
 
-        log.info("AnthropicProviderService.callCompletion() - Calling Anthropic API for requestId: {}", aiRequest.getId());
-
-        Instant startTime = Instant.now();
-
-        try {
-            Map<String, Object> anthropicRequest = buildAnthropicRequest(request, aiRequest);
-            log.info("Anthropic request JSON: {}", objectMapper.writeValueAsString(anthropicRequest));
-            String responseBody = anthropicApiClient.messages(anthropicRequest, aiRequest.getSelectedProvider().getBaseUrl(), aiRequest.getSelectedProvider().getApiKey());
-            log.info("Anthropic response JSON: {}", responseBody);
-            ChatCompletionResponse response = parseAnthropicResponse(responseBody, aiRequest, request);
-
-            long latencyMs = Duration.between(startTime, Instant.now()).toMillis();
-            log.info("AnthropicProviderService.callCompletion() - Successfully processed Anthropic request in {}ms", latencyMs);
-
-            return response;
+        log.debug("AnthropicProviderService.callCompletion() - Calling Anthropic API for requestId: {}", aiRequest.getId());
+
+        return Mono.deferContextual(context -> {
+            long startNanos = System.nanoTime();
+
+            return Mono.fromCallable(() -> buildAnthropicRequest(request, aiRequest))
+                .doOnNext(anthropicRequest -> BodyLogging.log(context, "Anthropic request", aiRequest.getId(),
+                    () -> ProviderPayloadWriter.toJson(anthropicRequest)))
+                .flatMap(anthropicRequest -> providerKeyPool.withKey(aiRequest.getSelectedProvider(),
+                    apiKey -> anthropicApiClient.messages(anthropicRequest, aiRequest.getSelectedProvider().getBaseUrl(), apiKey)))
+                .doOnNext(completion -> BodyLogging.log(context, "Anthropic completion", aiRequest.getId(), () -> completion))
+                .map(completion -> toAnthropicResponse(completion, aiRequest, request))
+                .doOnNext(response -> {
+                    providerCallMetrics.recordCompletion(aiRequest, startNanos, response);
+                    log.info(LogMarkers.SAMPLED, "AnthropicProviderService.callCompletion() - Successfully processed Anthropic request in {}ms",
+                              response.getRoutingInfo().getLatencyMs());
+                })
+                .doOnError(e -> providerCallMetrics.recordFailure(aiRequest, startNanos, e))
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        providerCallMetrics.recordCancellation(aiRequest, startNanos);
+                    }
+                })
+                .onErrorMap(this::toProviderException);
+        });
+    }
 
-        } catch (WebClientException e) {
+    /**
+     * Translates a failed call into the {@link ProviderException} reported to the client.
+     *
+     * @param e the failure
+     * @return the provider exception wrapping it
+     */
+    private ProviderException toProviderException(Throwable e) {
+        if (e instanceof WebClientException) {
             log.error("AnthropicProviderService.callCompletion() - WebClient error calling Anthropic API: {}", e.getMessage(), e);
-            throw new ProviderException("Failed to communicate with Anthropic API", e);
-        } catch (JsonProcessingException e) {
+            return new ProviderException("Failed to communicate with Anthropic API", e);
+        }
+        if (e instanceof JsonProcessingException) {
             log.error("AnthropicProviderService.callCompletion() - JSON processing error: {}", e.getMessage(), e);
-            throw new ProviderException("Failed to parse Anthropic response", e);
-        } catch (Exception e) {
-            log.error("AnthropicProviderService.callCompletion() - Unexpected error calling Anthropic API: {}", e.getMessage(), e);
-            throw new ProviderException("Unexpected error occurred while calling Anthropic API", e);
+            return new ProviderException("Failed to parse Anthropic response", e);
         }
+        log.error("AnthropicProviderService.callCompletion() - Unexpected error calling Anthropic API: {}", e.getMessage(), e);
+        return new ProviderException("Unexpected error occurred while calling Anthropic API", e);
     }
 
     @Override
@@ -95,29 +121,17 @@ public class AnthropicProviderService implements AiProviderService {
      *
      * @param request the chat completion request
      * @param aiRequest the AI request entity
-     * @return the Anthropic request payload as a map
+     * @return the Anthropic request payload
      */
-    private Map<String, Object> buildAnthropicRequest(ChatCompletionRequest request, AiRequest aiRequest) {
-        log.info("AnthropicProviderService.buildAnthropicRequest() - Building Anthropic request for model: {}", aiRequest.getSelectedModel().getModelId());
+    private AnthropicMessagesRequest buildAnthropicRequest(ChatCompletionRequest request, AiRequest aiRequest) {
+        log.debug("AnthropicProviderService.buildAnthropicRequest() - Building Anthropic request for model: {}", aiRequest.getSelectedModel().getModelId());
 
-        List<Map<String, String>> messages = request.getMessages().stream()
-            .map(msg -> Map.of(
-                "role", msg.getRole(),
-                "content", msg.getContent()
-            ))
-            .toList();
-
-        return Map.of(
-            "model", aiRequest.getSelectedModel().getModelId(),
-            "max_tokens", request.getMaxTokens() != null ? request.getMaxTokens() : 1024,
-            "messages", messages,
-            "temperature", request.getTemperature() != null ? request.getTemperature() : BigDecimal.valueOf(1.0)
-        );
+        return AnthropicMessagesRequest.of(request, aiRequest.getSelectedModel().getModelId(), false);
     }
 
 
     @Override
-    public reactor.core.publisher.Flux<String> callStreamingCompletion(ChatCompletionRequest request, AiRequest aiRequest) {
+    public Flux<String> callStreamingCompletion(ChatCompletionRequest request, AiRequest aiRequest) {
         if (request == null) {
             throw new IllegalArgumentException("ChatCompletionRequest cannot be null");
         }
@@ -125,12 +139,21 @@ public class AnthropicProviderService implements AiProviderService {
             throw new IllegalArgumentException("AiRequest cannot be null");
         }
 
-        log.info("AnthropicProviderService.callStreamingCompletion() - Calling Anthropic streaming API for requestId: {}", aiRequest.getId());
+        log.debug("AnthropicProviderService.callStreamingCompletion() - Calling Anthropic streaming API for requestId: {}", aiRequest.getId());
 
         try {
-            Map<String, Object> anthropicRequest = buildAnthropicStreamingRequest(request, aiRequest);
-            log.info("Anthropic streaming request JSON: {}", objectMapper.writeValueAsString(anthropicRequest));
-            return anthropicApiClient.messagesStream(anthropicRequest, aiRequest.getSelectedProvider().getBaseUrl(), aiRequest.getSelectedProvider().getApiKey());
+            AnthropicMessagesRequest anthropicRequest = buildAnthropicStreamingRequest(request, aiRequest);
+            Flux<SseEvent> events = providerKeyPool.withKeyStream(aiRequest.getSelectedProvider(),
+                    apiKey -> anthropicApiClient.messagesStream(anthropicRequest, aiRequest.getSelectedProvider().getBaseUrl(), apiKey));
+            Flux<String> chunks = AnthropicStreamTranslator.translate(
+                    events, "chatcmpl-" + aiRequest.getId(), aiRequest.getSelectedModel().getModelId());
+            return providerCallMetrics.instrumentStream(aiRequest, Flux.deferContextual(context -> {
+                if (!BodyLogging.isEnabled(context)) {
+                    return chunks;
+                }
+                BodyLogging.log(context, "Anthropic streaming request", aiRequest.getId(), () -> ProviderPayloadWriter.toJson(anthropicRequest));
+                return chunks.doOnNext(chunk -> BodyLogging.log(context, "Anthropic stream chunk", aiRequest.getId(), () -> chunk));
+            }));
         } catch (Exception e) {
             log.error("AnthropicProviderService.callStreamingCompletion() - Error calling Anthropic streaming API: {}", e.getMessage(), e);
             throw new ProviderException("Failed to communicate with Anthropic streaming API", e);
@@ -142,44 +165,25 @@ public class AnthropicProviderService implements AiProviderService {
      *
      * @param request the chat completion request
      * @param aiRequest the AI request entity
-     * @return the Anthropic streaming request payload as a map
+     * @return the Anthropic streaming request payload
      */
-    private Map<String, Object> buildAnthropicStreamingRequest(ChatCompletionRequest request, AiRequest aiRequest) {
-        log.info("AnthropicProviderService.buildAnthropicStreamingRequest() - Building Anthropic streaming request for model: {}", aiRequest.getSelectedModel().getModelId());
+    private AnthropicMessagesRequest buildAnthropicStreamingRequest(ChatCompletionRequest request, AiRequest aiRequest) {
+        log.debug("AnthropicProviderService.buildAnthropicStreamingRequest() - Building Anthropic streaming request for model: {}", aiRequest.getSelectedModel().getModelId());
 
-        List<Map<String, String>> messages = request.getMessages().stream()
-            .map(msg -> Map.of(
-                "role", msg.getRole(),
-                "content", msg.getContent()
-            ))
-            .toList();
-
-        return Map.of(
-            "model", aiRequest.getSelectedModel().getModelId(),
-            "max_tokens", request.getMaxTokens() != null ? request.getMaxTokens() : 1024,
-            "messages", messages,
-            "temperature", request.getTemperature() != null ? request.getTemperature() : BigDecimal.valueOf(1.0),
-            "stream", true
-        );
+        return AnthropicMessagesRequest.of(request, aiRequest.getSelectedModel().getModelId(), true);
     }
 
     /**
-     * Parses the Anthropic API response into a ChatCompletionResponse.
+     * Builds the ChatCompletionResponse from the completion decoded off the Anthropic response body.
      *
-     * @param responseBody the raw response body
+     * @param completion the decoded completion
      * @param aiRequest the AI request entity
      * @param originalRequest the original chat completion request
-     * @return the parsed chat completion response
-     * @throws JsonProcessingException if JSON parsing fails
+     * @return the chat completion response
      */
-    private ChatCompletionResponse parseAnthropicResponse(String responseBody, AiRequest aiRequest, ChatCompletionRequest originalRequest)
-            throws JsonProcessingException {
-
-        JsonNode jsonNode = objectMapper.readTree(responseBody);
-
-        String content = jsonNode.path("content").get(0).path("text").asText();
-        int inputTokens = jsonNode.path("usage").path("input_tokens").asInt();
-        int outputTokens = jsonNode.path("usage").path("output_tokens").asInt();
+    private ChatCompletionResponse toAnthropicResponse(ProviderCompletion completion, AiRequest aiRequest, ChatCompletionRequest originalRequest) {
+        int promptTokens = completion.promptTokens();
+        int completionTokens = completion.completionTokens();
 
         return ChatCompletionResponse.builder()
             .id("chatcmpl-" + aiRequest.getId())
@@ -190,23 +194,23 @@ public class AnthropicProviderService implements AiProviderService {
                 .strategy(originalRequest.getRoutingStrategy())
                 .provider(PROVIDER_NAME)
                 .costSavings(BigDecimal.ZERO) // Would be calculated based on routing
-                .latencyMs(0L) // Would be measured
+                .latencyMs(0L) // Stamped by ProviderCallMetrics once the call completes
                 .build())
             .choices(java.util.List.of(
                 ChatCompletionResponse.ChatChoice.builder()
                     .index(0)
                     .message(ChatCompletionResponse.ChatMessage.builder()
                         .role("assistant")
-                        .content(content)
+                        .content(completion.content())
                         .build())
-                    .finishReason("stop")
+                    .finishReason(completion.finishReason())
                     .build()
             ))
             .usage(ChatCompletionResponse.Usage.builder()
-                .promptTokens(inputTokens)
-                .completionTokens(outputTokens)
-                .totalTokens(inputTokens + outputTokens)
-                .cost(BigDecimal.valueOf(0.001)) // Would calculate based on pricing
+                .promptTokens(promptTokens)
+                .completionTokens(completionTokens)
+                .totalTokens(promptTokens + completionTokens)
+                .cost(PriceIndex.fromMicros(PriceIndex.costMicros(aiRequest.getSelectedModel(), promptTokens, completionTokens)))
                 .build())
             .build();
     }
@@ -7,8 +7,13 @@ import org.springframework.stereotype.Service;
 import com.prismnetai.dto.ChatCompletionRequest;
 import com.prismnetai.dto.ChatCompletionResponse;
 import com.prismnetai.entity.AiRequest;
+import com.prismnetai.service.catalog.PriceIndex;
+import com.prismnetai.service.provider.stream.ChatCompletionChunks;
+import com.prismnetai.service.provider.stream.SseEvent;
 
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Default provider service that handles providers without specific implementations.
@@ -34,7 +39,7 @@ public class DefaultProviderService implements AiProviderService {
     }
 
     @Override
-    public ChatCompletionResponse callCompletion(ChatCompletionRequest request, AiRequest aiRequest) {
+    public Mono<ChatCompletionResponse> callCompletion(ChatCompletionRequest request, AiRequest aiRequest) {
         if (request == null) {
             throw new IllegalArgumentException("ChatCompletionRequest cannot be null");
         }
@@ -42,14 +47,14 @@ public class DefaultProviderService implements AiProviderService {
             throw new IllegalArgumentException("AiRequest cannot be null");
         }
 
-        log.info("DefaultProviderService.callCompletion() - Using default provider service for provider: {}, requestId: {}",
+        log.debug("DefaultProviderService.callCompletion() - Using default provider service for provider: {}, requestId: {}",
                 aiRequest.getSelectedProvider().getName(), aiRequest.getId());
 
-        return createPlaceholderResponse(aiRequest, request);
+        return Mono.fromSupplier(() -> createPlaceholderResponse(aiRequest, request));
     }
 
     @Override
-    public reactor.core.publisher.Flux<String> callStreamingCompletion(ChatCompletionRequest request, AiRequest aiRequest) {
+    public Flux<String> callStreamingCompletion(ChatCompletionRequest request, AiRequest aiRequest) {
         if (request == null) {
             throw new IllegalArgumentException("ChatCompletionRequest cannot be null");
         }
@@ -57,15 +62,19 @@ public class DefaultProviderService implements AiProviderService {
             throw new IllegalArgumentException("AiRequest cannot be null");
         }
 
-        log.info("DefaultProviderService.callStreamingCompletion() - Using default streaming provider service for provider: {}, requestId: {}",
+        log.debug("DefaultProviderService.callStreamingCompletion() - Using default streaming provider service for provider: {}, requestId: {}",
                 aiRequest.getSelectedProvider().getName(), aiRequest.getId());
 
-        return reactor.core.publisher.Flux.just(
-            "data: {\"id\":\"chatcmpl-" + aiRequest.getId() + "\",\"object\":\"chat.completion.chunk\",\"created\":" + (System.currentTimeMillis() / 1000) + ",\"model\":\"" + aiRequest.getSelectedModel().getModelId() + "\",\"choices\":[{\"index\":0,\"delta\":{\"role\":\"assistant\",\"content\":\"\"},\"finish_reason\":null}]}\n\n",
-            "data: {\"id\":\"chatcmpl-" + aiRequest.getId() + "\",\"object\":\"chat.completion.chunk\",\"created\":" + (System.currentTimeMillis() / 1000) + ",\"model\":\"" + aiRequest.getSelectedModel().getModelId() + "\",\"choices\":[{\"index\":0,\"delta\":{\"content\":\"This is a placeholder streaming response.\"},\"finish_reason\":null}]}\n\n",
-            "data: {\"id\":\"chatcmpl-" + aiRequest.getId() + "\",\"object\":\"chat.completion.chunk\",\"created\":" + (System.currentTimeMillis() / 1000) + ",\"model\":\"" + aiRequest.getSelectedModel().getModelId() + "\",\"choices\":[{\"index\":0,\"delta\":{\"content\":\" Provider routing to \"},\"finish_reason\":null}]}\n\n",
-            "data: {\"id\":\"chatcmpl-" + aiRequest.getId() + "\",\"object\":\"chat.completion.chunk\",\"created\":" + (System.currentTimeMillis() / 1000) + ",\"model\":\"" + aiRequest.getSelectedModel().getModelId() + "\",\"choices\":[{\"index\":0,\"delta\":{\"content\":\"" + aiRequest.getSelectedProvider().getName() + " successful.\"},\"finish_reason\":\"stop\"}]}\n\n",
-            "data: [DONE]\n\n"
+        String id = "chatcmpl-" + aiRequest.getId();
+        long created = System.currentTimeMillis() / 1000;
+        String model = aiRequest.getSelectedModel().getModelId();
+        return Flux.just(
+            ChatCompletionChunks.role(id, created, model),
+            ChatCompletionChunks.content(id, created, model, "This is a placeholder streaming response."),
+            ChatCompletionChunks.content(id, created, model, " Provider routing to "),
+            ChatCompletionChunks.content(id, created, model, aiRequest.getSelectedProvider().getName() + " successful."),
+            ChatCompletionChunks.finish(id, created, model, "stop"),
+            SseEvent.DONE
         );
     }
 
@@ -108,7 +117,7 @@ public class DefaultProviderService implements AiProviderService {
                 .promptTokens(10)
                 .completionTokens(20)
                 .totalTokens(30)
-                .cost(BigDecimal.valueOf(0.001))
+                .cost(PriceIndex.fromMicros(PriceIndex.costMicros(aiRequest.getSelectedModel(), 10, 20)))
                 .build())
             .build();
     }
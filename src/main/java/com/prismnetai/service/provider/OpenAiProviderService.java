@@ -1,24 +1,31 @@
 package com.prismnetai.service.provider;
 
 import java.math.BigDecimal;
-import java.time.Duration;
-import java.time.Instant;
-import java.util.Map;
 
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClientException;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.prismnetai.dto.ChatCompletionRequest;
 import com.prismnetai.dto.ChatCompletionResponse;
 import com.prismnetai.entity.AiRequest;
 import com.prismnetai.exception.ProviderException;
+import com.prismnetai.logging.BodyLogging;
+import com.prismnetai.logging.LogMarkers;
+import com.prismnetai.service.catalog.PriceIndex;
+import com.prismnetai.service.health.ProviderKeyPool;
+import com.prismnetai.service.metrics.ProviderCallMetrics;
 import com.prismnetai.service.provider.client.OpenAiApiClient;
+import com.prismnetai.service.provider.payload.OpenAiChatRequest;
+import com.prismnetai.service.provider.payload.ProviderCompletion;
+import com.prismnetai.service.provider.payload.ProviderPayloadWriter;
+import com.prismnetai.service.provider.stream.SseEvent;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 /**
  * Service implementation for handling OpenAI API interactions.
@@ -37,7 +44,8 @@ public class OpenAiProviderService implements AiProviderService {
     private static final String PROVIDER_NAME = "OpenAI";
 
     private final OpenAiApiClient openAiApiClient;
-    private final ObjectMapper objectMapper;
+    private final ProviderCallMetrics providerCallMetrics;
+    private final ProviderKeyPool providerKeyPool;
 
     @Override
     public boolean canHandle(String providerName) {
@@ -48,7 +56,7 @@ public class OpenAiProviderService implements AiProviderService {
     }
 
     @Override
-    public ChatCompletionResponse callCompletion(ChatCompletionRequest request, AiRequest aiRequest) {
+    public Mono<ChatCompletionResponse> callCompletion(ChatCompletionRequest request, AiRequest aiRequest) {
         if (request == null) {
             throw new IllegalArgumentException("ChatCompletionRequest cannot be null");
         }
@@ -56,32 +64,50 @@ public class OpenAiProviderService implements AiProviderService {
             throw new IllegalArgumentException("AiRequest cannot be null");
         }
 
-        log.info("OpenAiProviderService.callCompletion() - Calling OpenAI API for requestId: {}", aiRequest.getId());
-
-        Instant startTime = Instant.now();
-
-        try {
-            Map<String, Object> openAiRequest = buildOpenAiRequest(request, aiRequest);
-            log.info("OpenAI request JSON: {}", objectMapper.writeValueAsString(openAiRequest));
-            String responseBody = openAiApiClient.chatCompletions(openAiRequest, aiRequest.getSelectedProvider().getBaseUrl(), aiRequest.getSelectedProvider().getApiKey());
-            log.info("OpenAI response JSON: {}", responseBody);
-            ChatCompletionResponse response = parseOpenAiResponse(responseBody, aiRequest, request);
-
-            long latencyMs = Duration.between(startTime, Instant.now()).toMillis();
-            log.info("OpenAiProviderService.callCompletion() - Successfully processed OpenAI request in {}ms", latencyMs);
-
-            return response;
+        log.debug("OpenAiProviderService.callCompletion() - Calling OpenAI API for requestId: {}", aiRequest.getId());
+
+        return Mono.deferContextual(context -> {
+            long startNanos = System.nanoTime();
+
+            return Mono.fromCallable(() -> buildOpenAiRequest(request, aiRequest))
+                .doOnNext(openAiRequest -> BodyLogging.log(context, "OpenAI request", aiRequest.getId(),
+                    () -> ProviderPayloadWriter.toJson(openAiRequest)))
+                .flatMap(openAiRequest -> providerKeyPool.withKey(aiRequest.getSelectedProvider(),
+                    apiKey -> openAiApiClient.chatCompletions(openAiRequest, aiRequest.getSelectedProvider().getBaseUrl(), apiKey)))
+                .doOnNext(completion -> BodyLogging.log(context, "OpenAI completion", aiRequest.getId(), () -> completion))
+                .map(completion -> toOpenAiResponse(completion, aiRequest, request))
+                .doOnNext(response -> {
+                    providerCallMetrics.recordCompletion(aiRequest, startNanos, response);
+                    log.info(LogMarkers.SAMPLED, "OpenAiProviderService.callCompletion() - Successfully processed OpenAI request in {}ms",
+                              response.getRoutingInfo().getLatencyMs());
+                })
+                .doOnError(e -> providerCallMetrics.recordFailure(aiRequest, startNanos, e))
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        providerCallMetrics.recordCancellation(aiRequest, startNanos);
+                    }
+                })
+                .onErrorMap(this::toProviderException);
+        });
+    }
 
-        } catch (WebClientException e) {
+    /**
+     * Translates a failed call into the {@link ProviderException} reported to the client.
+     *
+     * @param e the failure
+     * @return the provider exception wrapping it
+     */
+    private ProviderException toProviderException(Throwable e) {
+        if (e instanceof WebClientException) {
             log.error("OpenAiProviderService.callCompletion() - WebClient error calling OpenAI API: {}", e.getMessage(), e);
-            throw new ProviderException("Failed to communicate with OpenAI API", e);
-        } catch (JsonProcessingException e) {
+            return new ProviderException("Failed to communicate with OpenAI API", e);
+        }
+        if (e instanceof JsonProcessingException) {
             log.error("OpenAiProviderService.callCompletion() - JSON processing error: {}", e.getMessage(), e);
-            throw new ProviderException("Failed to parse OpenAI response", e);
-        } catch (Exception e) {
-            log.error("OpenAiProviderService.callCompletion() - Unexpected error calling OpenAI API: {}", e.getMessage(), e);
-            throw new ProviderException("Unexpected error occurred while calling OpenAI API", e);
+            return new ProviderException("Failed to parse OpenAI response", e);
         }
+        log.error("OpenAiProviderService.callCompletion() - Unexpected error calling OpenAI API: {}", e.getMessage(), e);
+        return new ProviderException("Unexpected error occurred while calling OpenAI API", e);
     }
 
     @Override
@@ -94,37 +120,26 @@ public class OpenAiProviderService implements AiProviderService {
      *
      * @param request the chat completion request
      * @param aiRequest the AI request entity
-     * @return the OpenAI request payload as a map
+     * @return the OpenAI request payload
      */
-    private Map<String, Object> buildOpenAiRequest(ChatCompletionRequest request, AiRequest aiRequest) {
-        log.info("OpenAiProviderService.buildOpenAiRequest() - Building OpenAI request for model: {}", aiRequest.getSelectedModel().getModelId());
-
-        return Map.of(
-            "model", aiRequest.getSelectedModel().getModelId(),
-            "messages", request.getMessages(),
-            "max_tokens", request.getMaxTokens() != null ? request.getMaxTokens() : 100,
-            "temperature", request.getTemperature() != null ? request.getTemperature() : BigDecimal.valueOf(1.0)
-        );
+    private OpenAiChatRequest buildOpenAiRequest(ChatCompletionRequest request, AiRequest aiRequest) {
+        log.debug("OpenAiProviderService.buildOpenAiRequest() - Building OpenAI request for model: {}", aiRequest.getSelectedModel().getModelId());
+
+        return OpenAiChatRequest.of(request, aiRequest.getSelectedModel().getModelId(), false);
     }
 
 
     /**
-     * Parses the OpenAI API response into a ChatCompletionResponse.
+     * Builds the ChatCompletionResponse from the completion decoded off the OpenAI response body.
      *
-     * @param responseBody the raw response body
+     * @param completion the decoded completion
      * @param aiRequest the AI request entity
      * @param originalRequest the original chat completion request
-     * @return the parsed chat completion response
-     * @throws JsonProcessingException if JSON parsing fails
+     * @return the chat completion response
      */
-    private ChatCompletionResponse parseOpenAiResponse(String responseBody, AiRequest aiRequest, ChatCompletionRequest originalRequest)
-            throws JsonProcessingException {
-
-        JsonNode jsonNode = objectMapper.readTree(responseBody);
-
-        String content = jsonNode.path("choices").get(0).path("message").path("content").asText();
-        int promptTokens = jsonNode.path("usage").path("prompt_tokens").asInt();
-        int completionTokens = jsonNode.path("usage").path("completion_tokens").asInt();
+    private ChatCompletionResponse toOpenAiResponse(ProviderCompletion completion, AiRequest aiRequest, ChatCompletionRequest originalRequest) {
+        int promptTokens = completion.promptTokens();
+        int completionTokens = completion.completionTokens();
 
         return ChatCompletionResponse.builder()
             .id("chatcmpl-" + aiRequest.getId())
@@ -135,29 +150,29 @@ public class OpenAiProviderService implements AiProviderService {
                 .strategy(originalRequest.getRoutingStrategy())
                 .provider(PROVIDER_NAME)
                 .costSavings(BigDecimal.ZERO) // Would be calculated based on routing
-                .latencyMs(0L) // Would be measured
+                .latencyMs(0L) // Stamped by ProviderCallMetrics once the call completes
                 .build())
             .choices(java.util.List.of(
                 ChatCompletionResponse.ChatChoice.builder()
                     .index(0)
                     .message(ChatCompletionResponse.ChatMessage.builder()
                         .role("assistant")
-                        .content(content)
+                        .content(completion.content())
                         .build())
-                    .finishReason("stop")
+                    .finishReason(completion.finishReason())
                     .build()
             ))
             .usage(ChatCompletionResponse.Usage.builder()
                 .promptTokens(promptTokens)
                 .completionTokens(completionTokens)
                 .totalTokens(promptTokens + completionTokens)
-                .cost(BigDecimal.valueOf(0.001)) // Would calculate based on pricing
+                .cost(PriceIndex.fromMicros(PriceIndex.costMicros(aiRequest.getSelectedModel(), promptTokens, completionTokens)))
                 .build())
             .build();
     }
 
     @Override
-    public reactor.core.publisher.Flux<String> callStreamingCompletion(ChatCompletionRequest request, AiRequest aiRequest) {
+    public Flux<String> callStreamingCompletion(ChatCompletionRequest request, AiRequest aiRequest) {
         if (request == null) {
             throw new IllegalArgumentException("ChatCompletionRequest cannot be null");
         }
@@ -165,12 +180,21 @@ public class OpenAiProviderService implements AiProviderService {
             throw new IllegalArgumentException("AiRequest cannot be null");
         }
 
-        log.info("OpenAiProviderService.callStreamingCompletion() - Calling OpenAI streaming API for requestId: {}", aiRequest.getId());
+        log.debug("OpenAiProviderService.callStreamingCompletion() - Calling OpenAI streaming API for requestId: {}", aiRequest.getId());
 
         try {
-            Map<String, Object> openAiRequest = buildOpenAiStreamingRequest(request, aiRequest);
-            log.info("OpenAI streaming request JSON: {}", objectMapper.writeValueAsString(openAiRequest));
-            return openAiApiClient.chatCompletionsStream(openAiRequest, aiRequest.getSelectedProvider().getBaseUrl(), aiRequest.getSelectedProvider().getApiKey());
+            OpenAiChatRequest openAiRequest = buildOpenAiStreamingRequest(request, aiRequest);
+            // OpenAI already streams chunk payloads; forward each event's data as is
+            Flux<String> chunks = providerKeyPool.withKeyStream(aiRequest.getSelectedProvider(),
+                    apiKey -> openAiApiClient.chatCompletionsStream(openAiRequest, aiRequest.getSelectedProvider().getBaseUrl(), apiKey))
+                    .map(SseEvent::data);
+            return providerCallMetrics.instrumentStream(aiRequest, Flux.deferContextual(context -> {
+                if (!BodyLogging.isEnabled(context)) {
+                    return chunks;
+                }
+                BodyLogging.log(context, "OpenAI streaming request", aiRequest.getId(), () -> ProviderPayloadWriter.toJson(openAiRequest));
+                return chunks.doOnNext(chunk -> BodyLogging.log(context, "OpenAI stream chunk", aiRequest.getId(), () -> chunk));
+            }));
         } catch (Exception e) {
             log.error("OpenAiProviderService.callStreamingCompletion() - Error calling OpenAI streaming API: {}", e.getMessage(), e);
             throw new ProviderException("Failed to communicate with OpenAI streaming API", e);
@@ -182,18 +206,12 @@ public class OpenAiProviderService implements AiProviderService {
      *
      * @param request the chat completion request
      * @param aiRequest the AI request entity
-     * @return the OpenAI streaming request payload as a map
+     * @return the OpenAI streaming request payload, asking for a final usage chunk
      */
-    private Map<String, Object> buildOpenAiStreamingRequest(ChatCompletionRequest request, AiRequest aiRequest) {
-        log.info("OpenAiProviderService.buildOpenAiStreamingRequest() - Building OpenAI streaming request for model: {}", aiRequest.getSelectedModel().getModelId());
-
-        return Map.of(
-            "model", aiRequest.getSelectedModel().getModelId(),
-            "messages", request.getMessages(),
-            "max_tokens", request.getMaxTokens() != null ? request.getMaxTokens() : 100,
-            "temperature", request.getTemperature() != null ? request.getTemperature() : BigDecimal.valueOf(1.0),
-            "stream", true
-        );
+    private OpenAiChatRequest buildOpenAiStreamingRequest(ChatCompletionRequest request, AiRequest aiRequest) {
+        log.debug("OpenAiProviderService.buildOpenAiStreamingRequest() - Building OpenAI streaming request for model: {}", aiRequest.getSelectedModel().getModelId());
+
+        return OpenAiChatRequest.of(request, aiRequest.getSelectedModel().getModelId(), true);
     }
 
     /**
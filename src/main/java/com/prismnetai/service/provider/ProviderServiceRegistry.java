@@ -6,7 +6,6 @@ import org.springframework.stereotype.Component;
 
 import com.prismnetai.exception.ProviderException;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -19,13 +18,14 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ProviderServiceRegistry {
 
+    // Immutable after construction, so lookups need no locking (and never pin a virtual thread)
     private final List<AiProviderService> providerServices;
 
-    // Thread-safe access to provider services list
-    private volatile List<AiProviderService> cachedServices = null;
+    public ProviderServiceRegistry(List<AiProviderService> providerServices) {
+        this.providerServices = List.copyOf(providerServices);
+    }
 
     /**
      * Finds the appropriate provider service for the given provider name.
@@ -40,7 +40,7 @@ public class ProviderServiceRegistry {
             throw new IllegalArgumentException("Provider name cannot be null or empty");
         }
 
-        log.info("ProviderServiceRegistry.getProviderService() - Looking for service for provider: {}", providerName);
+        log.debug("ProviderServiceRegistry.getProviderService() - Looking for service for provider: {}", providerName);
 
         return providerServices.stream()
             .filter(service -> {
@@ -61,21 +61,10 @@ public class ProviderServiceRegistry {
 
     /**
      * Returns all registered provider services.
-     * This method provides thread-safe access to the provider services list.
      *
      * @return immutable list of all provider services
      */
     public List<AiProviderService> getAllProviderServices() {
-        // Double-checked locking for thread-safe lazy initialization
-        List<AiProviderService> services = cachedServices;
-        if (services == null) {
-            synchronized (this) {
-                services = cachedServices;
-                if (services == null) {
-                    cachedServices = services = List.copyOf(providerServices);
-                }
-            }
-        }
-        return services;
+        return providerServices;
     }
 }
\ No newline at end of file
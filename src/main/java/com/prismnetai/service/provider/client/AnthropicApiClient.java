@@ -1,18 +1,30 @@
 package com.prismnetai.service.provider.client;
 
-import java.time.Duration;
-import java.util.Map;
-
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.prismnetai.service.health.ProviderQuotaTracker;
+import com.prismnetai.service.provider.payload.CompletionBodyDecoder;
+import com.prismnetai.service.provider.payload.AnthropicMessagesRequest;
+import com.prismnetai.service.provider.payload.ProviderCompletion;
+import com.prismnetai.service.provider.payload.ProviderPayloadWriter;
+import com.prismnetai.service.provider.stream.SseEvent;
+import com.prismnetai.service.provider.stream.SseEventDecoder;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Client service for handling Anthropic API HTTP calls.
  * This class encapsulates the HTTP communication logic specific to Anthropic API.
+ * Calls go through the provider's own connection pool (see {@link ProviderWebClientFactory}),
+ * whose response timeout also bounds the wait for, and between chunks of, the response.
+ * The rate-limit headers of every response, including error responses, are handed to the
+ * {@link ProviderQuotaTracker}.
  *
  * @author PrismNet AI Team
  * @version 1.0
@@ -20,14 +32,19 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AnthropicApiClient {
 
     private static final String MESSAGES_ENDPOINT = "/v1/messages";
     private static final String ANTHROPIC_VERSION = "2023-06-01";
-    private static final Duration API_TIMEOUT = Duration.ofSeconds(30);
+    private static final String PROVIDER_NAME = "Anthropic";
 
     private final WebClient webClient;
+    private final ProviderQuotaTracker providerQuotaTracker;
+
+    public AnthropicApiClient(ProviderWebClientFactory providerWebClientFactory, ProviderQuotaTracker providerQuotaTracker) {
+        this.webClient = providerWebClientFactory.forProvider(PROVIDER_NAME);
+        this.providerQuotaTracker = providerQuotaTracker;
+    }
 
     /**
      * Makes an HTTP call to the Anthropic messages API.
@@ -35,31 +52,31 @@ public class AnthropicApiClient {
      * @param requestPayload the request payload
      * @param baseUrl the base URL of the provider
      * @param apiKey the API key for authentication
-     * @return the response body as a string
-     * @throws Exception if the HTTP call fails
+     * @return a Mono emitting the completion decoded incrementally from the raw body, failing with a
+     *         {@link org.springframework.web.reactive.function.client.WebClientException} if the call fails
+     *         or a {@link com.fasterxml.jackson.core.JsonProcessingException} if the body is malformed
      */
-    public String messages(Map<String, Object> requestPayload, String baseUrl, String apiKey) {
-        try {
-            String fullUrl = baseUrl + MESSAGES_ENDPOINT;
+    public Mono<ProviderCompletion> messages(AnthropicMessagesRequest requestPayload, String baseUrl, String apiKey) {
+        String fullUrl = baseUrl + MESSAGES_ENDPOINT;
 
-            log.info("AnthropicApiClient.callApi() - Headers: Content-Type={}, x-api-key=[REDACTED], anthropic-version={}",
-                MediaType.APPLICATION_JSON_VALUE,
-                ANTHROPIC_VERSION);
+        log.debug("AnthropicApiClient.messages() - Headers: Content-Type={}, x-api-key=[REDACTED], anthropic-version={}",
+            MediaType.APPLICATION_JSON_VALUE,
+            ANTHROPIC_VERSION);
 
-            return webClient.post()
-                .uri(fullUrl)
-                .contentType(MediaType.APPLICATION_JSON)
-                .header("x-api-key", apiKey)
-                .header("anthropic-version", ANTHROPIC_VERSION)
-                .bodyValue(requestPayload)
-                .retrieve()
-                .bodyToMono(String.class)
-                .timeout(API_TIMEOUT)
-                .block();
-        } catch (Exception e) {
-            log.error("AnthropicApiClient.callApi() - Failed to make API call to Anthropic: {}", e.getMessage());
-            throw e; // Re-throw to be handled by caller
-        }
+        return webClient.post()
+            .uri(fullUrl)
+            .contentType(MediaType.APPLICATION_JSON)
+            .header("x-api-key", apiKey)
+            .header("anthropic-version", ANTHROPIC_VERSION)
+            .body(ProviderPayloadWriter.body(requestPayload))
+            .retrieve()
+            .toEntityFlux(DataBuffer.class)
+            .doOnError(WebClientResponseException.class, e -> providerQuotaTracker.record(apiKey, e.getHeaders()))
+            .flatMap(entity -> {
+                providerQuotaTracker.record(apiKey, entity.getHeaders());
+                return CompletionBodyDecoder.decode(entity.getBody(), CompletionBodyDecoder.Format.ANTHROPIC);
+            })
+            .doOnError(e -> log.error("AnthropicApiClient.messages() - Failed to make API call to Anthropic: {}", e.getMessage()));
     }
 
     /**
@@ -68,26 +85,32 @@ public class AnthropicApiClient {
      * @param requestPayload the request payload
      * @param baseUrl the base URL of the provider
      * @param apiKey the API key for authentication
-     * @return a Flux of response chunks as strings
+     * @return a Flux of the server-sent events of the response, framed incrementally from the raw body
      * @throws Exception if the HTTP call fails
      */
-    public reactor.core.publisher.Flux<String> messagesStream(Map<String, Object> requestPayload, String baseUrl, String apiKey) {
+    public Flux<SseEvent> messagesStream(AnthropicMessagesRequest requestPayload, String baseUrl, String apiKey) {
         try {
             String fullUrl = baseUrl + MESSAGES_ENDPOINT;
 
-            log.info("AnthropicApiClient.messagesStream() - Headers: Content-Type={}, x-api-key=[REDACTED], anthropic-version={}",
+            log.debug("AnthropicApiClient.messagesStream() - Headers: Content-Type={}, x-api-key=[REDACTED], anthropic-version={}",
                 MediaType.APPLICATION_JSON_VALUE,
                 ANTHROPIC_VERSION);
 
-            return webClient.post()
+            Flux<DataBuffer> body = webClient.post()
                 .uri(fullUrl)
                 .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
                 .header("x-api-key", apiKey)
                 .header("anthropic-version", ANTHROPIC_VERSION)
-                .bodyValue(requestPayload)
+                .body(ProviderPayloadWriter.body(requestPayload))
                 .retrieve()
-                .bodyToFlux(String.class)
-                .timeout(API_TIMEOUT);
+                .toEntityFlux(DataBuffer.class)
+                .doOnError(WebClientResponseException.class, e -> providerQuotaTracker.record(apiKey, e.getHeaders()))
+                .flatMapMany(entity -> {
+                    providerQuotaTracker.record(apiKey, entity.getHeaders());
+                    return entity.getBody();
+                });
+            return SseEventDecoder.decode(body);
         } catch (Exception e) {
             log.error("AnthropicApiClient.messagesStream() - Failed to make streaming API call to Anthropic: {}", e.getMessage());
             throw e; // Re-throw to be handled by caller
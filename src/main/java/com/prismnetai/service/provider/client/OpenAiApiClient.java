@@ -1,18 +1,30 @@
 package com.prismnetai.service.provider.client;
 
-import java.time.Duration;
-import java.util.Map;
-
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.prismnetai.service.health.ProviderQuotaTracker;
+import com.prismnetai.service.provider.payload.CompletionBodyDecoder;
+import com.prismnetai.service.provider.payload.OpenAiChatRequest;
+import com.prismnetai.service.provider.payload.ProviderCompletion;
+import com.prismnetai.service.provider.payload.ProviderPayloadWriter;
+import com.prismnetai.service.provider.stream.SseEvent;
+import com.prismnetai.service.provider.stream.SseEventDecoder;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Client service for handling OpenAI API HTTP calls.
  * This class encapsulates the HTTP communication logic specific to OpenAI API.
+ * Calls go through the provider's own connection pool (see {@link ProviderWebClientFactory}),
+ * whose response timeout also bounds the wait for, and between chunks of, the response.
+ * The rate-limit headers of every response, including error responses, are handed to the
+ * {@link ProviderQuotaTracker}.
  *
  * @author PrismNet AI Team
  * @version 1.0
@@ -20,13 +32,18 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class OpenAiApiClient {
 
     private static final String COMPLETIONS_ENDPOINT = "/chat/completions";
-    private static final Duration API_TIMEOUT = Duration.ofSeconds(30);
+    private static final String PROVIDER_NAME = "OpenAI";
 
     private final WebClient webClient;
+    private final ProviderQuotaTracker providerQuotaTracker;
+
+    public OpenAiApiClient(ProviderWebClientFactory providerWebClientFactory, ProviderQuotaTracker providerQuotaTracker) {
+        this.webClient = providerWebClientFactory.forProvider(PROVIDER_NAME);
+        this.providerQuotaTracker = providerQuotaTracker;
+    }
 
     /**
      * Makes an HTTP call to the OpenAI chat completions API.
@@ -34,28 +51,28 @@ public class OpenAiApiClient {
      * @param requestPayload the request payload
      * @param baseUrl the base URL of the provider
      * @param apiKey the API key for authentication
-     * @return the response body as a string
-     * @throws Exception if the HTTP call fails
+     * @return a Mono emitting the completion decoded incrementally from the raw body, failing with a
+     *         {@link org.springframework.web.reactive.function.client.WebClientException} if the call fails
+     *         or a {@link com.fasterxml.jackson.core.JsonProcessingException} if the body is malformed
      */
-    public String chatCompletions(Map<String, Object> requestPayload, String baseUrl, String apiKey) {
-        try {
-            String fullUrl = baseUrl + COMPLETIONS_ENDPOINT;
+    public Mono<ProviderCompletion> chatCompletions(OpenAiChatRequest requestPayload, String baseUrl, String apiKey) {
+        String fullUrl = baseUrl + COMPLETIONS_ENDPOINT;
 
-            log.info("OpenAiApiClient.callApi() - Headers: Content-Type={}, Authorization=Bearer [REDACTED]", MediaType.APPLICATION_JSON_VALUE);
+        log.debug("OpenAiApiClient.chatCompletions() - Headers: Content-Type={}, Authorization=Bearer [REDACTED]", MediaType.APPLICATION_JSON_VALUE);
 
-            return webClient.post()
-                .uri(fullUrl)
-                .contentType(MediaType.APPLICATION_JSON)
-                .header("Authorization", "Bearer " + apiKey)
-                .bodyValue(requestPayload)
-                .retrieve()
-                .bodyToMono(String.class)
-                .timeout(API_TIMEOUT)
-                .block();
-        } catch (Exception e) {
-            log.error("OpenAiApiClient.callApi() - Failed to make API call to OpenAI: {}", e.getMessage());
-            throw e; // Re-throw to be handled by caller
-        }
+        return webClient.post()
+            .uri(fullUrl)
+            .contentType(MediaType.APPLICATION_JSON)
+            .header("Authorization", "Bearer " + apiKey)
+            .body(ProviderPayloadWriter.body(requestPayload))
+            .retrieve()
+            .toEntityFlux(DataBuffer.class)
+            .doOnError(WebClientResponseException.class, e -> providerQuotaTracker.record(apiKey, e.getHeaders()))
+            .flatMap(entity -> {
+                providerQuotaTracker.record(apiKey, entity.getHeaders());
+                return CompletionBodyDecoder.decode(entity.getBody(), CompletionBodyDecoder.Format.OPENAI);
+            })
+            .doOnError(e -> log.error("OpenAiApiClient.chatCompletions() - Failed to make API call to OpenAI: {}", e.getMessage()));
     }
 
     /**
@@ -64,23 +81,29 @@ public class OpenAiApiClient {
      * @param requestPayload the request payload
      * @param baseUrl the base URL of the provider
      * @param apiKey the API key for authentication
-     * @return a Flux of response chunks as strings
+     * @return a Flux of the server-sent events of the response, framed incrementally from the raw body
      * @throws Exception if the HTTP call fails
      */
-    public reactor.core.publisher.Flux<String> chatCompletionsStream(Map<String, Object> requestPayload, String baseUrl, String apiKey) {
+    public Flux<SseEvent> chatCompletionsStream(OpenAiChatRequest requestPayload, String baseUrl, String apiKey) {
         try {
             String fullUrl = baseUrl + COMPLETIONS_ENDPOINT;
 
-            log.info("OpenAiApiClient.chatCompletionsStream() - Headers: Content-Type={}, Authorization=Bearer [REDACTED]", MediaType.APPLICATION_JSON_VALUE);
+            log.debug("OpenAiApiClient.chatCompletionsStream() - Headers: Content-Type={}, Authorization=Bearer [REDACTED]", MediaType.APPLICATION_JSON_VALUE);
 
-            return webClient.post()
+            Flux<DataBuffer> body = webClient.post()
                 .uri(fullUrl)
                 .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
                 .header("Authorization", "Bearer " + apiKey)
-                .bodyValue(requestPayload)
+                .body(ProviderPayloadWriter.body(requestPayload))
                 .retrieve()
-                .bodyToFlux(String.class)
-                .timeout(API_TIMEOUT);
+                .toEntityFlux(DataBuffer.class)
+                .doOnError(WebClientResponseException.class, e -> providerQuotaTracker.record(apiKey, e.getHeaders()))
+                .flatMapMany(entity -> {
+                    providerQuotaTracker.record(apiKey, entity.getHeaders());
+                    return entity.getBody();
+                });
+            return SseEventDecoder.decode(body);
         } catch (Exception e) {
             log.error("OpenAiApiClient.chatCompletionsStream() - Failed to make streaming API call to OpenAI: {}", e.getMessage());
             throw e; // Re-throw to be handled by caller
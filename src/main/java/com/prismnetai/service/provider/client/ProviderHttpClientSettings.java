@@ -0,0 +1,86 @@
+package com.prismnetai.service.provider.client;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import org.springframework.core.env.PropertyResolver;
+
+/**
+ * Connection pool and transport settings for one provider's HTTP client. Each value is read from
+ * {@code prismnet.providers.<provider>.<setting>}, falling back to
+ * {@code prismnet.providers.default.<setting>} and then to the built-in default; durations are in
+ * milliseconds.
+ *
+ * @param maxConnections maximum open connections (HTTP/1.1) or HTTP/2 connections to the provider
+ * @param pendingAcquireMaxCount maximum requests queued for a connection before failing fast
+ * @param pendingAcquireTimeout how long a request may wait for a connection
+ * @param maxIdleTime idle time after which a pooled connection is closed
+ * @param maxLifeTime age after which a pooled connection is retired, so DNS and load-balancer changes are picked up
+ * @param evictionInterval how often idle and expired connections are evicted in the background
+ * @param connectTimeout TCP connect timeout
+ * @param responseTimeout maximum wait for the response, and between reads of a streamed response
+ * @param http2 whether to negotiate HTTP/2 (via ALPN on TLS connections, falling back to HTTP/1.1)
+ * @param compression whether to request gzip-compressed responses
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public record ProviderHttpClientSettings(int maxConnections,
+                                         int pendingAcquireMaxCount,
+                                         Duration pendingAcquireTimeout,
+                                         Duration maxIdleTime,
+                                         Duration maxLifeTime,
+                                         Duration evictionInterval,
+                                         Duration connectTimeout,
+                                         Duration responseTimeout,
+                                         boolean http2,
+                                         boolean compression) {
+
+    private static final String PREFIX = "prismnet.providers.";
+    private static final String DEFAULT_KEY = "default";
+
+    /**
+     * Resolves the settings for a provider.
+     *
+     * @param properties the property source
+     * @param providerName the provider name, e.g. {@code OpenAI}
+     * @return the resolved settings
+     */
+    public static ProviderHttpClientSettings resolve(PropertyResolver properties, String providerName) {
+        String key = propertyKey(providerName);
+        return new ProviderHttpClientSettings(
+            intSetting(properties, key, "max-connections", 500),
+            intSetting(properties, key, "pending-acquire-max-count", 1000),
+            millisSetting(properties, key, "pending-acquire-timeout", 5_000L),
+            millisSetting(properties, key, "max-idle-time", 30_000L),
+            millisSetting(properties, key, "max-life-time", 300_000L),
+            millisSetting(properties, key, "eviction-interval", 10_000L),
+            millisSetting(properties, key, "connect-timeout", 2_000L),
+            millisSetting(properties, key, "timeout", 30_000L),
+            booleanSetting(properties, key, "http2", true),
+            booleanSetting(properties, key, "compression", true));
+    }
+
+    /**
+     * Property key for a provider: its name lower-cased with non-alphanumerics removed.
+     */
+    static String propertyKey(String providerName) {
+        return providerName.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+
+    private static int intSetting(PropertyResolver properties, String key, String setting, int defaultValue) {
+        return properties.getProperty(PREFIX + key + "." + setting, Integer.class,
+                properties.getProperty(PREFIX + DEFAULT_KEY + "." + setting, Integer.class, defaultValue));
+    }
+
+    private static Duration millisSetting(PropertyResolver properties, String key, String setting, long defaultMillis) {
+        return Duration.ofMillis(properties.getProperty(PREFIX + key + "." + setting, Long.class,
+                properties.getProperty(PREFIX + DEFAULT_KEY + "." + setting, Long.class, defaultMillis)));
+    }
+
+    private static boolean booleanSetting(PropertyResolver properties, String key, String setting, boolean defaultValue) {
+        return properties.getProperty(PREFIX + key + "." + setting, Boolean.class,
+                properties.getProperty(PREFIX + DEFAULT_KEY + "." + setting, Boolean.class, defaultValue));
+    }
+}
@@ -0,0 +1,66 @@
+package com.prismnetai.service.provider.payload;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.prismnetai.dto.ChatCompletionRequest;
+
+/**
+ * The body of an Anthropic {@code /v1/messages} call. Messages are written straight from the
+ * chat completion request, as only their {@code role} and {@code content} are sent.
+ *
+ * @param model the upstream model id
+ * @param messages the conversation, written as given
+ * @param maxTokens the completion token limit
+ * @param temperature the sampling temperature
+ * @param stream whether the response is streamed
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public record AnthropicMessagesRequest(String model,
+                                       List<ChatCompletionRequest.ChatMessage> messages,
+                                       int maxTokens,
+                                       BigDecimal temperature,
+                                       boolean stream) implements ProviderPayload {
+
+    private static final int DEFAULT_MAX_TOKENS = 1024;
+    private static final BigDecimal DEFAULT_TEMPERATURE = BigDecimal.valueOf(1.0);
+
+    /**
+     * Builds the Anthropic request for a chat completion request, applying Anthropic's defaults.
+     *
+     * @param request the chat completion request
+     * @param model the upstream model id
+     * @param stream whether the response is streamed
+     * @return the Anthropic request
+     */
+    public static AnthropicMessagesRequest of(ChatCompletionRequest request, String model, boolean stream) {
+        return new AnthropicMessagesRequest(
+            model,
+            request.getMessages(),
+            request.getMaxTokens() != null ? request.getMaxTokens() : DEFAULT_MAX_TOKENS,
+            request.getTemperature() != null ? request.getTemperature() : DEFAULT_TEMPERATURE,
+            stream);
+    }
+
+    @Override
+    public void writeTo(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("model", model);
+        generator.writeNumberField("max_tokens", maxTokens);
+        ProviderPayloadWriter.writeMessages(generator, messages);
+        generator.writeNumberField("temperature", temperature);
+        if (stream) {
+            generator.writeBooleanField("stream", true);
+        }
+        generator.writeEndObject();
+    }
+
+    @Override
+    public int sizeHint() {
+        return ProviderPayloadWriter.sizeHint(model, messages);
+    }
+}
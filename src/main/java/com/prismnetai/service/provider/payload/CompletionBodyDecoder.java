@@ -0,0 +1,220 @@
+package com.prismnetai.service.provider.payload;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.UnaryOperator;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.prismnetai.service.provider.stream.AnthropicStreamTranslator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Incremental decoder for non-streaming completion bodies. Network buffers are fed, through their
+ * readable {@link ByteBuffer} views, to Jackson's non-blocking parser as they arrive and released as
+ * soon as they are consumed, so the body is never joined, copied into a {@code String} or built into
+ * a tree. Only the generated text, finish reason and token usage are kept, in a single pass.
+ *
+ * <p>Instances are stateful and not thread-safe; use {@link #decode(Flux, Format)}, which creates
+ * one per subscription.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CompletionBodyDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int ANY_INDEX = -1;
+
+    /**
+     * Where a provider puts the extracted fields, as paths from the document root. A
+     * {@link String} step names an object field, an {@link Integer} step an array index.
+     */
+    public enum Format {
+
+        OPENAI(new Object[] {"choices", 0, "message", "content"},
+               new Object[] {"choices", 0, "finish_reason"},
+               new Object[] {"usage", "prompt_tokens"},
+               new Object[] {"usage", "completion_tokens"},
+               UnaryOperator.identity()),
+
+        // Text blocks are concatenated; tool_use blocks carry no text field
+        ANTHROPIC(new Object[] {"content", ANY_INDEX, "text"},
+                  new Object[] {"stop_reason"},
+                  new Object[] {"usage", "input_tokens"},
+                  new Object[] {"usage", "output_tokens"},
+                  AnthropicStreamTranslator::finishReason);
+
+        private final Object[] contentPath;
+        private final Object[] finishReasonPath;
+        private final Object[] promptTokensPath;
+        private final Object[] completionTokensPath;
+        private final UnaryOperator<String> finishReasonMapping;
+
+        Format(Object[] contentPath, Object[] finishReasonPath, Object[] promptTokensPath,
+               Object[] completionTokensPath, UnaryOperator<String> finishReasonMapping) {
+            this.contentPath = contentPath;
+            this.finishReasonPath = finishReasonPath;
+            this.promptTokensPath = promptTokensPath;
+            this.completionTokensPath = completionTokensPath;
+            this.finishReasonMapping = finishReasonMapping;
+        }
+    }
+
+    private final Format format;
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+    private boolean sawDocument;
+    private String content;
+    private StringBuilder joinedContent;
+    private String finishReason;
+    private int promptTokens;
+    private int completionTokens;
+
+    CompletionBodyDecoder(Format format) throws IOException {
+        this.format = format;
+        this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Decodes a response body.
+     *
+     * @param buffers the response body
+     * @param format the provider's response format
+     * @return the extracted completion, failing with a {@link com.fasterxml.jackson.core.JsonProcessingException}
+     *         if the body is not a complete JSON object
+     */
+    public static Mono<ProviderCompletion> decode(Flux<DataBuffer> buffers, Format format) {
+        return Mono.defer(() -> {
+            CompletionBodyDecoder decoder;
+            try {
+                decoder = new CompletionBodyDecoder(format);
+            } catch (IOException e) {
+                return Mono.error(e);
+            }
+            return buffers
+                .<Void>handle((buffer, sink) -> {
+                    try {
+                        decoder.decode(buffer);
+                    } catch (IOException e) {
+                        sink.error(e);
+                    }
+                })
+                .then(Mono.fromCallable(decoder::finish))
+                .doFinally(signal -> decoder.close());
+        }).doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Consumes one buffer, releasing it.
+     */
+    void decode(DataBuffer buffer) throws IOException {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                feeder.feedInput(iterator.next());
+                drain();
+            }
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    /**
+     * Signals the end of the body and returns what was extracted.
+     */
+    ProviderCompletion finish() throws IOException {
+        feeder.endOfInput();
+        drain();
+        if (!sawDocument) {
+            throw new JsonParseException(parser, "Empty completion response body");
+        }
+        String text = joinedContent != null ? joinedContent.toString() : content;
+        return new ProviderCompletion(
+            text != null ? text : "",
+            finishReason != null ? format.finishReasonMapping.apply(finishReason) : "stop",
+            promptTokens,
+            completionTokens);
+    }
+
+    void close() {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            // Nothing is held open
+        }
+    }
+
+    /**
+     * Reads every token available from the input fed so far.
+     */
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (!sawDocument) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new JsonParseException(parser, "Completion response is not a JSON object");
+                }
+                sawDocument = true;
+            } else if (token == JsonToken.VALUE_STRING) {
+                onString(parser.getParsingContext(), parser.getText());
+            } else if (token == JsonToken.VALUE_NUMBER_INT) {
+                onInt(parser.getParsingContext(), parser.getIntValue());
+            }
+        }
+    }
+
+    private void onString(JsonStreamContext context, String value) {
+        if (at(context, format.contentPath)) {
+            if (content == null) {
+                content = value;
+            } else {
+                if (joinedContent == null) {
+                    joinedContent = new StringBuilder(content);
+                }
+                joinedContent.append(value);
+            }
+        } else if (at(context, format.finishReasonPath)) {
+            finishReason = value;
+        }
+    }
+
+    private void onInt(JsonStreamContext context, int value) {
+        if (at(context, format.promptTokensPath)) {
+            promptTokens = value;
+        } else if (at(context, format.completionTokensPath)) {
+            completionTokens = value;
+        }
+    }
+
+    /**
+     * Whether the current value sits exactly at {@code path}, walking the parsing contexts from
+     * the value outwards.
+     */
+    static boolean at(JsonStreamContext context, Object[] path) {
+        for (int i = path.length - 1; i >= 0; i--) {
+            if (path[i] instanceof String name) {
+                if (!context.inObject() || !name.equals(context.getCurrentName())) {
+                    return false;
+                }
+            } else {
+                int index = (Integer) path[i];
+                if (!context.inArray() || (index != ANY_INDEX && context.getCurrentIndex() != index)) {
+                    return false;
+                }
+            }
+            context = context.getParent();
+        }
+        return context.inRoot();
+    }
+}
@@ -0,0 +1,70 @@
+package com.prismnetai.service.provider.payload;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.prismnetai.dto.ChatCompletionRequest;
+
+/**
+ * The body of an OpenAI {@code /chat/completions} call. Streaming calls also ask for a final
+ * usage chunk ({@code stream_options.include_usage}) so they are billed on the provider's own
+ * token counts.
+ *
+ * @param model the upstream model id
+ * @param messages the conversation, written as given
+ * @param maxTokens the completion token limit
+ * @param temperature the sampling temperature
+ * @param stream whether the response is streamed
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public record OpenAiChatRequest(String model,
+                                List<ChatCompletionRequest.ChatMessage> messages,
+                                int maxTokens,
+                                BigDecimal temperature,
+                                boolean stream) implements ProviderPayload {
+
+    private static final int DEFAULT_MAX_TOKENS = 100;
+    private static final BigDecimal DEFAULT_TEMPERATURE = BigDecimal.valueOf(1.0);
+
+    /**
+     * Builds the OpenAI request for a chat completion request, applying OpenAI's defaults.
+     *
+     * @param request the chat completion request
+     * @param model the upstream model id
+     * @param stream whether the response is streamed
+     * @return the OpenAI request
+     */
+    public static OpenAiChatRequest of(ChatCompletionRequest request, String model, boolean stream) {
+        return new OpenAiChatRequest(
+            model,
+            request.getMessages(),
+            request.getMaxTokens() != null ? request.getMaxTokens() : DEFAULT_MAX_TOKENS,
+            request.getTemperature() != null ? request.getTemperature() : DEFAULT_TEMPERATURE,
+            stream);
+    }
+
+    @Override
+    public void writeTo(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("model", model);
+        ProviderPayloadWriter.writeMessages(generator, messages);
+        generator.writeNumberField("max_tokens", maxTokens);
+        generator.writeNumberField("temperature", temperature);
+        if (stream) {
+            generator.writeBooleanField("stream", true);
+            generator.writeObjectFieldStart("stream_options");
+            generator.writeBooleanField("include_usage", true);
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    @Override
+    public int sizeHint() {
+        return ProviderPayloadWriter.sizeHint(model, messages);
+    }
+}
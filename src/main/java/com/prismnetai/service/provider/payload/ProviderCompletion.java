@@ -0,0 +1,16 @@
+package com.prismnetai.service.provider.payload;
+
+/**
+ * The fields of a provider's non-streaming completion that the gateway uses, as extracted by
+ * {@link CompletionBodyDecoder}.
+ *
+ * @param content the generated text
+ * @param finishReason the OpenAI-style finish reason
+ * @param promptTokens the prompt tokens the provider billed
+ * @param completionTokens the completion tokens the provider billed
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public record ProviderCompletion(String content, String finishReason, int promptTokens, int completionTokens) {
+}
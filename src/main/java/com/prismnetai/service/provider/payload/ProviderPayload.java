@@ -0,0 +1,31 @@
+package com.prismnetai.service.provider.payload;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * A typed request body for an upstream provider that writes itself field by field, so it can be
+ * serialized by {@link ProviderPayloadWriter} without reflection or an intermediate map.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public interface ProviderPayload {
+
+    /**
+     * Writes this payload as a single JSON object.
+     *
+     * @param generator the generator to write to
+     * @throws IOException if the generator fails
+     */
+    void writeTo(JsonGenerator generator) throws IOException;
+
+    /**
+     * An estimate of the encoded size in bytes, used to size the buffer so it rarely grows.
+     *
+     * @return the estimated size
+     */
+    int sizeHint();
+}
@@ -0,0 +1,121 @@
+package com.prismnetai.service.provider.payload;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.web.reactive.function.BodyInserter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.prismnetai.dto.ChatCompletionRequest;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Serializes {@link ProviderPayload}s with a streaming {@link JsonGenerator} straight into a buffer
+ * of the outgoing request's own {@link DataBufferFactory}. With the Reactor Netty client that is a
+ * pooled {@code ByteBuf}, so a request body is encoded once, without an object tree, a reflective
+ * serializer or an intermediate {@code String} or {@code byte[]} copy.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ProviderPayloadWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int BASE_SIZE_HINT = 128;
+    private static final int MESSAGE_SIZE_HINT = 40;
+
+    private ProviderPayloadWriter() {
+    }
+
+    /**
+     * A body inserter writing the payload as {@code application/json}, with its exact
+     * {@code Content-Length}.
+     *
+     * @param payload the payload to send
+     * @return the body inserter
+     */
+    public static BodyInserter<ProviderPayload, ReactiveHttpOutputMessage> body(ProviderPayload payload) {
+        return (message, context) -> Mono.fromCallable(() -> write(payload, message.bufferFactory()))
+            .flatMap(buffer -> {
+                message.getHeaders().setContentLength(buffer.readableByteCount());
+                return message.writeWith(Mono.just(buffer).doOnDiscard(DataBuffer.class, DataBufferUtils::release));
+            });
+    }
+
+    /**
+     * Writes the payload into a new buffer. The caller owns the buffer and must release it.
+     *
+     * @param payload the payload to write
+     * @param bufferFactory the factory to allocate the buffer from
+     * @return the buffer holding the encoded payload
+     */
+    public static DataBuffer write(ProviderPayload payload, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(payload.sizeHint());
+        try {
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(buffer.asOutputStream())) {
+                payload.writeTo(generator);
+            }
+            return buffer;
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new UncheckedIOException("Failed to write provider request", e);
+        } catch (RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw e;
+        }
+    }
+
+    /**
+     * Renders the payload as a JSON string, for body logging only.
+     *
+     * @param payload the payload to render
+     * @return the payload's JSON
+     */
+    public static String toJson(ProviderPayload payload) {
+        StringWriter writer = new StringWriter(payload.sizeHint());
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            payload.writeTo(generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write provider request", e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the {@code messages} array, sending only each message's role and content.
+     */
+    static void writeMessages(JsonGenerator generator, List<ChatCompletionRequest.ChatMessage> messages) throws IOException {
+        generator.writeArrayFieldStart("messages");
+        if (messages != null) {
+            for (ChatCompletionRequest.ChatMessage message : messages) {
+                generator.writeStartObject();
+                generator.writeStringField("role", message.getRole());
+                generator.writeStringField("content", message.getContent());
+                generator.writeEndObject();
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Sizes a chat payload from its model and message contents, assuming mostly ASCII text.
+     */
+    static int sizeHint(String model, List<ChatCompletionRequest.ChatMessage> messages) {
+        int size = BASE_SIZE_HINT + (model != null ? model.length() : 0);
+        if (messages != null) {
+            for (ChatCompletionRequest.ChatMessage message : messages) {
+                size += MESSAGE_SIZE_HINT + (message.getContent() != null ? message.getContent().length() : 0);
+            }
+        }
+        return size;
+    }
+}
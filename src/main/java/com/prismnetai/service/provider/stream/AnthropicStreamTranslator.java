@@ -0,0 +1,171 @@
+package com.prismnetai.service.provider.stream;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.prismnetai.exception.ProviderException;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Translates Anthropic Messages streaming events into OpenAI {@code chat.completion.chunk}
+ * payloads. The event type comes from the SSE {@code event:} field, and the few values needed
+ * (delta text, stop reason, token usage, error message) are pulled out with a streaming {@link JsonParser}
+ * that skips everything else, so no JSON tree is built per event.
+ *
+ * <table>
+ *   <caption>Event mapping</caption>
+ *   <tr><th>Anthropic event</th><th>OpenAI payload</th></tr>
+ *   <tr><td>{@code message_start}</td><td>role chunk</td></tr>
+ *   <tr><td>{@code content_block_delta} ({@code text_delta})</td><td>content chunk</td></tr>
+ *   <tr><td>{@code message_delta} with {@code stop_reason}</td><td>finish chunk</td></tr>
+ *   <tr><td>{@code message_stop}</td><td>usage chunk, then {@code [DONE]}</td></tr>
+ *   <tr><td>{@code error}</td><td>stream error ({@link ProviderException})</td></tr>
+ * </table>
+ *
+ * Other events ({@code ping}, {@code content_block_start}, {@code content_block_stop}) are dropped.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class AnthropicStreamTranslator {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private AnthropicStreamTranslator() {
+    }
+
+    /**
+     * Translates an Anthropic event stream.
+     *
+     * @param events the decoded Anthropic events
+     * @param id the completion id to stamp on every chunk
+     * @param model the model name to stamp on every chunk
+     * @return OpenAI chunk payloads, ending with a usage chunk (when usage was reported) and {@code [DONE]}
+     */
+    public static Flux<String> translate(Flux<SseEvent> events, String id, String model) {
+        return Flux.defer(() -> {
+            Translation translation = new Translation(id, System.currentTimeMillis() / 1000, model);
+            return events.concatMapIterable(translation::translate);
+        });
+    }
+
+    /**
+     * Maps an Anthropic stop reason to the OpenAI finish reason.
+     */
+    public static String finishReason(String stopReason) {
+        return switch (stopReason) {
+            case "max_tokens" -> "length";
+            case "tool_use" -> "tool_calls";
+            default -> "stop"; // end_turn, stop_sequence
+        };
+    }
+
+    /**
+     * Returns the string value at {@code path} in a JSON document, skipping every other subtree
+     * without materializing it.
+     */
+    static String nestedString(String json, String... path) {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return seek(parser, path) && parser.currentToken() == JsonToken.VALUE_STRING ? parser.getText() : null;
+        } catch (IOException e) {
+            throw new ProviderException("Failed to parse Anthropic stream event", e);
+        }
+    }
+
+    /**
+     * Returns the integer value at {@code path} in a JSON document, or -1 if it is absent.
+     */
+    static long nestedLong(String json, String... path) {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return seek(parser, path) && parser.currentToken() == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : -1L;
+        } catch (IOException e) {
+            throw new ProviderException("Failed to parse Anthropic stream event", e);
+        }
+    }
+
+    /**
+     * Advances the parser to the value at {@code path}, descending only into the objects on the path.
+     */
+    private static boolean seek(JsonParser parser, String[] path) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        int depth = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (!path[depth].equals(name)) {
+                parser.skipChildren();
+            } else if (depth == path.length - 1) {
+                return true;
+            } else if (value == JsonToken.START_OBJECT) {
+                depth++;
+            } else {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Per-subscription translation state: the usage Anthropic reports on {@code message_start}
+     * (input tokens) and {@code message_delta} (cumulative output tokens).
+     */
+    private static final class Translation {
+
+        private final String id;
+        private final long created;
+        private final String model;
+        private long inputTokens = -1L;
+        private long outputTokens = -1L;
+
+        Translation(String id, long created, String model) {
+            this.id = id;
+            this.created = created;
+            this.model = model;
+        }
+
+        List<String> translate(SseEvent event) {
+            String type = event.event() != null ? event.event() : "";
+            switch (type) {
+                case "message_start" -> {
+                    inputTokens = nestedLong(event.data(), "message", "usage", "input_tokens");
+                    return List.of(ChatCompletionChunks.role(id, created, model));
+                }
+                case "content_block_delta" -> {
+                    String text = nestedString(event.data(), "delta", "text");
+                    return text != null ? List.of(ChatCompletionChunks.content(id, created, model, text)) : List.of();
+                }
+                case "message_delta" -> {
+                    long reportedOutputTokens = nestedLong(event.data(), "usage", "output_tokens");
+                    if (reportedOutputTokens >= 0) {
+                        outputTokens = reportedOutputTokens;
+                    }
+                    String stopReason = nestedString(event.data(), "delta", "stop_reason");
+                    return stopReason != null
+                            ? List.of(ChatCompletionChunks.finish(id, created, model, finishReason(stopReason)))
+                            : List.of();
+                }
+                case "message_stop" -> {
+                    if (outputTokens < 0) {
+                        return List.of(SseEvent.DONE);
+                    }
+                    return List.of(ChatCompletionChunks.usage(id, created, model, Math.max(inputTokens, 0L), outputTokens),
+                                   SseEvent.DONE);
+                }
+                case "error" -> {
+                    String message = nestedString(event.data(), "error", "message");
+                    throw new ProviderException("Anthropic stream error: " + (message != null ? message : event.data()));
+                }
+                default -> {
+                    return List.of(); // ping, content_block_start, content_block_stop
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.prismnetai.service.provider.stream;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Writes OpenAI {@code chat.completion.chunk} payloads directly with a {@link JsonGenerator}, so
+ * streamed frames are produced without building an object tree or concatenating strings, and
+ * reads the token usage back out of them with a streaming {@link JsonParser}.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ChatCompletionChunks {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int INITIAL_CHUNK_CAPACITY = 192;
+
+    private ChatCompletionChunks() {
+    }
+
+    /**
+     * The opening chunk announcing the assistant role.
+     */
+    public static String role(String id, long created, String model) {
+        return chunk(id, created, model, "assistant", null, null);
+    }
+
+    /**
+     * A chunk carrying generated text.
+     */
+    public static String content(String id, long created, String model, String content) {
+        return chunk(id, created, model, null, content, null);
+    }
+
+    /**
+     * The closing chunk carrying the finish reason.
+     */
+    public static String finish(String id, long created, String model, String finishReason) {
+        return chunk(id, created, model, null, null, finishReason);
+    }
+
+    /**
+     * The trailing usage chunk, shaped like OpenAI's {@code stream_options.include_usage} chunk:
+     * empty {@code choices} and a {@code usage} object.
+     */
+    public static String usage(String id, long created, String model, long promptTokens, long completionTokens) {
+        StringWriter writer = new StringWriter(INITIAL_CHUNK_CAPACITY);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            writeHeader(generator, id, created, model);
+            generator.writeArrayFieldStart("choices");
+            generator.writeEndArray();
+            generator.writeObjectFieldStart("usage");
+            generator.writeNumberField("prompt_tokens", promptTokens);
+            generator.writeNumberField("completion_tokens", completionTokens);
+            generator.writeNumberField("total_tokens", promptTokens + completionTokens);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write chat completion usage chunk", e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Reads {@code usage.total_tokens} from a chunk payload. Chunks without a {@code usage} object
+     * are rejected by a substring check before any parsing, so content chunks cost a scan only.
+     *
+     * @param chunk an OpenAI {@code chat.completion.chunk} payload or {@code [DONE]}
+     * @return the total tokens reported by the chunk, -1 if it reports none
+     */
+    public static long totalTokens(String chunk) {
+        if (chunk == null || !chunk.contains("\"usage\"")) {
+            return -1L;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(chunk)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return -1L;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("usage".equals(name) && value == JsonToken.START_OBJECT) {
+                    return readTotalTokens(parser);
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            // Not a chunk we understand
+        }
+        return -1L;
+    }
+
+    private static long readTotalTokens(JsonParser parser) throws IOException {
+        long promptTokens = -1L;
+        long completionTokens = -1L;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            if (parser.nextToken() != JsonToken.VALUE_NUMBER_INT) {
+                parser.skipChildren();
+            } else if ("total_tokens".equals(name)) {
+                return parser.getLongValue();
+            } else if ("prompt_tokens".equals(name)) {
+                promptTokens = parser.getLongValue();
+            } else if ("completion_tokens".equals(name)) {
+                completionTokens = parser.getLongValue();
+            }
+        }
+        return promptTokens >= 0 && completionTokens >= 0 ? promptTokens + completionTokens : -1L;
+    }
+
+    private static String chunk(String id, long created, String model, String role, String content, String finishReason) {
+        StringWriter writer = new StringWriter(INITIAL_CHUNK_CAPACITY + (content != null ? content.length() : 0));
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            writeHeader(generator, id, created, model);
+            generator.writeArrayFieldStart("choices");
+            generator.writeStartObject();
+            generator.writeNumberField("index", 0);
+            generator.writeObjectFieldStart("delta");
+            if (role != null) {
+                generator.writeStringField("role", role);
+            }
+            if (content != null) {
+                generator.writeStringField("content", content);
+            }
+            generator.writeEndObject();
+            if (finishReason != null) {
+                generator.writeStringField("finish_reason", finishReason);
+            } else {
+                generator.writeNullField("finish_reason");
+            }
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write chat completion chunk", e);
+        }
+        return writer.toString();
+    }
+
+    private static void writeHeader(JsonGenerator generator, String id, long created, String model) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", id);
+        generator.writeStringField("object", "chat.completion.chunk");
+        generator.writeNumberField("created", created);
+        generator.writeStringField("model", model);
+    }
+}
@@ -0,0 +1,21 @@
+package com.prismnetai.service.provider.stream;
+
+/**
+ * One server-sent event as framed by {@link SseEventDecoder}.
+ *
+ * @param event the event type ({@code event:} field), null if the event did not name one
+ * @param data the event payload, multiple {@code data:} lines joined with {@code \n}
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public record SseEvent(String event, String data) {
+
+    /** Payload that terminates an OpenAI-style completion stream. */
+    public static final String DONE = "[DONE]";
+
+    public boolean isDone() {
+        return DONE.equals(data);
+    }
+}
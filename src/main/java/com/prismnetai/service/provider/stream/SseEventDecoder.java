@@ -0,0 +1,148 @@
+package com.prismnetai.service.provider.stream;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Incremental {@code text/event-stream} decoder. Network buffers are scanned in place through
+ * their readable {@link ByteBuffer} views and released as soon as they are consumed; only the bytes
+ * of the line currently being framed are copied, into a reused array, so events split at arbitrary
+ * buffer boundaries (including inside a multi-byte UTF-8 character) are reassembled correctly.
+ *
+ * <p>Supports {@code \n}, {@code \r\n} and {@code \r} line endings, multi-line {@code data:}
+ * fields and {@code :} comments. {@code id:} and {@code retry:} fields are ignored, and a trailing
+ * event without its terminating blank line is discarded, as the SSE specification requires.</p>
+ *
+ * <p>Instances are stateful and not thread-safe; use {@link #decode(Flux)}, which creates one per
+ * subscription.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class SseEventDecoder {
+
+    private static final byte[] DATA_FIELD = "data".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EVENT_FIELD = "event".getBytes(StandardCharsets.US_ASCII);
+    private static final int INITIAL_LINE_CAPACITY = 512;
+
+    private byte[] line = new byte[INITIAL_LINE_CAPACITY];
+    private int lineLength;
+    private boolean lastWasCarriageReturn;
+    private String eventName;
+    private String data;
+
+    SseEventDecoder() {
+    }
+
+    /**
+     * Frames a stream of raw response buffers into events.
+     *
+     * @param buffers the response body
+     * @return the decoded events
+     */
+    public static Flux<SseEvent> decode(Flux<DataBuffer> buffers) {
+        return Flux.defer(() -> {
+            SseEventDecoder decoder = new SseEventDecoder();
+            return buffers.concatMapIterable(decoder::decode);
+        }).doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Consumes one buffer, releasing it, and returns the events it completed.
+     */
+    List<SseEvent> decode(DataBuffer buffer) {
+        List<SseEvent> events = null;
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                ByteBuffer bytes = iterator.next();
+                for (int i = bytes.position(), limit = bytes.limit(); i < limit; i++) {
+                    byte b = bytes.get(i);
+                    if (b == '\n' && lastWasCarriageReturn) {
+                        lastWasCarriageReturn = false;
+                        continue;
+                    }
+                    lastWasCarriageReturn = b == '\r';
+                    if (b != '\n' && b != '\r') {
+                        append(b);
+                        continue;
+                    }
+                    SseEvent event = endOfLine();
+                    if (event != null) {
+                        if (events == null) {
+                            events = new ArrayList<>(2);
+                        }
+                        events.add(event);
+                    }
+                }
+            }
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+        return events != null ? events : List.of();
+    }
+
+    private void append(byte b) {
+        if (lineLength == line.length) {
+            line = Arrays.copyOf(line, line.length * 2);
+        }
+        line[lineLength++] = b;
+    }
+
+    /**
+     * Processes the buffered line; a blank line dispatches the pending event.
+     */
+    private SseEvent endOfLine() {
+        int length = lineLength;
+        lineLength = 0;
+        if (length == 0) {
+            return dispatch();
+        }
+        if (line[0] == ':') {
+            return null; // Comment, e.g. keep-alive
+        }
+
+        int colon = indexOf(line, length, (byte) ':');
+        int fieldLength = colon < 0 ? length : colon;
+        int valueStart = colon < 0 ? length : colon + 1;
+        if (valueStart < length && line[valueStart] == ' ') {
+            valueStart++;
+        }
+
+        if (fieldEquals(DATA_FIELD, fieldLength)) {
+            String value = new String(line, valueStart, length - valueStart, StandardCharsets.UTF_8);
+            data = data == null ? value : data + "\n" + value;
+        } else if (fieldEquals(EVENT_FIELD, fieldLength)) {
+            eventName = new String(line, valueStart, length - valueStart, StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+
+    private SseEvent dispatch() {
+        SseEvent event = data != null ? new SseEvent(eventName, data) : null;
+        eventName = null;
+        data = null;
+        return event;
+    }
+
+    private boolean fieldEquals(byte[] field, int fieldLength) {
+        return fieldLength == field.length && Arrays.equals(line, 0, fieldLength, field, 0, fieldLength);
+    }
+
+    private static int indexOf(byte[] bytes, int length, byte target) {
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,37 @@
+package com.prismnetai.service.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * The rate limits of one API key, resolved when the key is loaded so admitting a request
+ * allocates nothing. A null limit means the key uses the configured
+ * {@code prismnet.ratelimit.api-key.*} default.
+ *
+ * @param keyId stable id of the key, used as its bucket name so buckets never hold the secret
+ * @param requests the key's requests per second, or null for the default
+ * @param tokens the key's tokens per minute, or null for the default
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public record ApiKeyQuota(String keyId, RateLimit requests, RateLimit tokens) {
+
+    /**
+     * Builds the quota of a key from its configured overrides.
+     *
+     * @param keyId stable id of the key
+     * @param requestsPerSecond requests per second, null or 0 for the default
+     * @param tokensPerMinute tokens per minute, null or 0 for the default
+     * @return the quota
+     */
+    public static ApiKeyQuota of(String keyId, Integer requestsPerSecond, Integer tokensPerMinute) {
+        return new ApiKeyQuota(keyId,
+                               override("requests per second", requestsPerSecond, Duration.ofSeconds(1)),
+                               override("tokens per minute", tokensPerMinute, Duration.ofMinutes(1)));
+    }
+
+    private static RateLimit override(String name, Integer units, Duration period) {
+        return units != null && units > 0 ? RateLimit.of(name, units, period) : null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.prismnetai.service.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One token bucket, kept as a single theoretical arrival time (TAT) in an {@link AtomicLong} as
+ * in the GCRA: the bucket is full when the TAT is at or before now, and taking {@code n} units
+ * pushes it {@code n} emission intervals later. A request is admitted while the TAT stays within
+ * the tolerance of now. Consuming and refunding are one CAS each, with no lock and no refill task.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+final class GcraBucket {
+
+    private final AtomicLong theoreticalArrivalNanos;
+
+    GcraBucket(long nowNanos) {
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 if the units were taken, otherwise nanoseconds until they would be
+     */
+    long tryConsume(long nowNanos, long units, RateLimit limit) {
+        long increment = units * limit.emissionIntervalNanos();
+        while (true) {
+            long current = theoreticalArrivalNanos.get();
+            long next = Math.max(current, nowNanos) + increment;
+            long waitNanos = next - limit.toleranceNanos() - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * @return true if the bucket is full, so dropping it loses nothing
+     */
+    boolean isFull(long nowNanos) {
+        return theoreticalArrivalNanos.get() - nowNanos <= 0;
+    }
+
+    void refund(long nowNanos, long units, RateLimit limit) {
+        long decrement = units * limit.emissionIntervalNanos();
+        while (true) {
+            long current = theoreticalArrivalNanos.get();
+            // A bucket at or past "full" (TAT <= now) stays full; it cannot bank refunds
+            long next = decrement >= 0
+                ? Math.max(nowNanos, current - decrement)
+                : Math.max(current, nowNanos) - decrement;
+            if (next == current || theoreticalArrivalNanos.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+}
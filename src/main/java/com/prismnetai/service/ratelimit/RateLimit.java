@@ -0,0 +1,38 @@
+package com.prismnetai.service.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * A token-bucket rate in the form the GCRA (generic cell rate algorithm) works with: the time
+ * one unit takes to refill and how far ahead of schedule a caller may run, which is the bucket
+ * capacity expressed as time.
+ *
+ * @param name short label used in rejection messages, e.g. {@code "requests per second"}
+ * @param emissionIntervalNanos time for one unit to refill
+ * @param capacity bucket size in units, the largest burst admitted at once
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public record RateLimit(String name, long emissionIntervalNanos, long capacity) {
+
+    /**
+     * A bucket of {@code units} that refills completely over {@code period}.
+     *
+     * @param name short label used in rejection messages
+     * @param units units per period, also the bucket capacity
+     * @param period the refill period
+     * @return the rate limit
+     */
+    public static RateLimit of(String name, long units, Duration period) {
+        return new RateLimit(name, Math.max(1L, period.toNanos() / units), units);
+    }
+
+    /**
+     * @return the capacity expressed as time ahead of the refill schedule
+     */
+    public long toleranceNanos() {
+        return emissionIntervalNanos * capacity;
+    }
+}
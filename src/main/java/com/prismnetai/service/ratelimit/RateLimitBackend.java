@@ -0,0 +1,36 @@
+package com.prismnetai.service.ratelimit;
+
+/**
+ * Storage for rate-limit buckets. The in-process {@link LocalRateLimitBackend} serves single-node
+ * deployments and tests; a multi-node deployment provides a shared implementation (for example a
+ * Redis script running the same GCRA update) as a {@code @Primary} bean. Bucket keys name the
+ * dimension and the tenant, e.g. {@code "user-rps:alice"}. API-key buckets are named by the key's
+ * id, e.g. {@code "key-rps:service-key-42"}, never by the secret, so keys may be stored as they are.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Takes {@code units} from a bucket if they are available.
+     *
+     * @param bucketKey the bucket
+     * @param limit the bucket's rate and capacity
+     * @param units units to take, at most the capacity
+     * @return 0 if the units were taken, otherwise nanoseconds until they would be
+     */
+    long tryConsume(String bucketKey, RateLimit limit, long units);
+
+    /**
+     * Returns units to a bucket, or takes more when {@code units} is negative. Never fails:
+     * reconciling a request with its actual usage must not reject it after the fact. A bucket is
+     * never refilled beyond its capacity.
+     *
+     * @param bucketKey the bucket
+     * @param limit the bucket's rate and capacity
+     * @param units units to give back; negative to charge extra
+     */
+    void refund(String bucketKey, RateLimit limit, long units);
+}
@@ -0,0 +1,46 @@
+package com.prismnetai.service.ratelimit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tokens held against a request's token-per-minute buckets until its actual usage is known.
+ * A reservation is settled exactly once, by whichever of completion, failure or a routing error
+ * reaches it first.
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class RateLimitReservation {
+
+    static final RateLimitReservation NONE = new RateLimitReservation(List.of());
+
+    private final List<Charge> tokenCharges;
+    private final AtomicBoolean settled = new AtomicBoolean();
+
+    RateLimitReservation(List<Charge> tokenCharges) {
+        this.tokenCharges = tokenCharges;
+    }
+
+    List<Charge> tokenCharges() {
+        return tokenCharges;
+    }
+
+    boolean isEmpty() {
+        return tokenCharges.isEmpty();
+    }
+
+    /**
+     * @return true for the first caller only
+     */
+    boolean markSettled() {
+        return settled.compareAndSet(false, true);
+    }
+
+    /**
+     * Units taken from one bucket.
+     */
+    record Charge(String bucketKey, RateLimit limit, long units) {
+    }
+}
@@ -0,0 +1,211 @@
+package com.prismnetai.service.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.prismnetai.dto.ChatCompletionResponse;
+import com.prismnetai.exception.RateLimitExceededException;
+import com.prismnetai.service.provider.stream.ChatCompletionChunks;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Enforces per-user and per-API-key limits on requests per second and tokens per minute before a
+ * request is routed. API keys use their own {@link ApiKeyQuota} where one is set, and the
+ * configured API key limits otherwise. The token cost of a request is not known up front, so its prompt estimate
+ * plus {@code maxTokens} (or a configured default) is reserved and reconciled with the usage the
+ * provider reports once the call ends: unused tokens are returned, overruns are charged, and a
+ * failed call gives the whole reservation back.
+ *
+ * <p>A check is a handful of hash lookups and one CAS per bucket on the {@link RateLimitBackend};
+ * a dimension configured with a limit of 0 is not checked at all.</p>
+ *
+ * @author PrismNet AI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Service
+public class RequestRateLimiter {
+
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final RateLimitBackend backend;
+    private final boolean enabled;
+    private final RateLimit userRequests;
+    private final RateLimit userTokens;
+    private final RateLimit apiKeyRequests;
+    private final RateLimit apiKeyTokens;
+    private final long defaultTokenReservation;
+
+    public RequestRateLimiter(RateLimitBackend backend,
+                              @Value("${prismnet.ratelimit.enabled:true}") boolean enabled,
+                              @Value("${prismnet.ratelimit.user.requests-per-second:10}") long userRequestsPerSecond,
+                              @Value("${prismnet.ratelimit.user.tokens-per-minute:100000}") long userTokensPerMinute,
+                              @Value("${prismnet.ratelimit.api-key.requests-per-second:10}") long apiKeyRequestsPerSecond,
+                              @Value("${prismnet.ratelimit.api-key.tokens-per-minute:100000}") long apiKeyTokensPerMinute,
+                              @Value("${prismnet.ratelimit.default-token-reservation:1024}") long defaultTokenReservation) {
+        this.backend = backend;
+        this.enabled = enabled;
+        this.userRequests = rate("requests per second", userRequestsPerSecond, Duration.ofSeconds(1));
+        this.userTokens = rate("tokens per minute", userTokensPerMinute, Duration.ofMinutes(1));
+        this.apiKeyRequests = rate("requests per second", apiKeyRequestsPerSecond, Duration.ofSeconds(1));
+        this.apiKeyTokens = rate("tokens per minute", apiKeyTokensPerMinute, Duration.ofMinutes(1));
+        this.defaultTokenReservation = defaultTokenReservation;
+    }
+
+    /**
+     * Admits a request against its user's and API key's buckets, reserving its estimated tokens.
+     * Either every bucket is charged or, if one rejects the request, none is.
+     *
+     * @param userId the authenticated user
+     * @param apiKey the quota of the API key the request was made with, or null
+     * @param prompt the prompt, used to estimate input tokens
+     * @param maxTokens the completion token cap requested, or null
+     * @return the reservation to settle once the call ends
+     * @throws RateLimitExceededException if any bucket lacks capacity
+     */
+    public RateLimitReservation acquire(String userId, ApiKeyQuota apiKey, String prompt, Integer maxTokens) {
+        if (!enabled) {
+            return RateLimitReservation.NONE;
+        }
+        long tokens = estimateTokens(prompt, maxTokens);
+        List<RateLimitReservation.Charge> requestCharges = new ArrayList<>(2);
+        List<RateLimitReservation.Charge> tokenCharges = new ArrayList<>(2);
+        try {
+            consume(requestCharges, "user-rps:", userId, userRequests, 1L, "user " + userId);
+            consume(tokenCharges, "user-tpm:", userId, userTokens, tokens, "user " + userId);
+            if (apiKey != null) {
+                consume(requestCharges, "key-rps:", apiKey.keyId(),
+                        apiKey.requests() != null ? apiKey.requests() : apiKeyRequests, 1L, "API key");
+                consume(tokenCharges, "key-tpm:", apiKey.keyId(),
+                        apiKey.tokens() != null ? apiKey.tokens() : apiKeyTokens, tokens, "API key");
+            }
+        } catch (RateLimitExceededException e) {
+            requestCharges.forEach(this::refund);
+            tokenCharges.forEach(this::refund);
+            throw e;
+        }
+        return tokenCharges.isEmpty() ? RateLimitReservation.NONE : new RateLimitReservation(tokenCharges);
+    }
+
+    /**
+     * Gives back every reserved token, for a request that never reached a provider.
+     *
+     * @param reservation the reservation returned by {@link #acquire}
+     */
+    public void release(RateLimitReservation reservation) {
+        reconcile(reservation, 0L);
+    }
+
+    /**
+     * Reconciles the reservation with the usage reported in the response. A failed call or a
+     * response served from the cache or from another request's call releases the reservation; a
+     * response without usage keeps it.
+     *
+     * @param reservation the reservation returned by {@link #acquire}
+     * @param call the completion call, not yet subscribed
+     * @return the call, settling the reservation when it ends
+     */
+    public Mono<ChatCompletionResponse> settle(RateLimitReservation reservation, Mono<ChatCompletionResponse> call) {
+        if (reservation.isEmpty()) {
+            return call;
+        }
+        return call
+            .doOnSuccess(response -> reconcile(reservation, isServedWithoutCall(response) ? 0L : totalTokens(response)))
+            .doOnError(error -> release(reservation));
+    }
+
+    /**
+     * Reconciles the reservation with the usage reported by the stream's usage chunk. A stream
+     * that fails before emitting anything releases the reservation; one that fails midway or
+     * reports no usage keeps it.
+     *
+     * @param reservation the reservation returned by {@link #acquire}
+     * @param stream the streamed chunk payloads, not yet subscribed
+     * @return the stream, settling the reservation when it ends
+     */
+    public Flux<String> settleStream(RateLimitReservation reservation, Flux<String> stream) {
+        if (reservation.isEmpty()) {
+            return stream;
+        }
+        return Flux.defer(() -> {
+            AtomicLong reportedTokens = new AtomicLong(-1L);
+            AtomicLong emitted = new AtomicLong();
+            return stream
+                .doOnNext(chunk -> {
+                    emitted.incrementAndGet();
+                    long tokens = ChatCompletionChunks.totalTokens(chunk);
+                    if (tokens >= 0) {
+                        reportedTokens.set(tokens);
+                    }
+                })
+                .doOnComplete(() -> reconcile(reservation, reportedTokens.get()))
+                .doOnError(error -> reconcile(reservation, emitted.get() == 0 ? 0L : -1L));
+        });
+    }
+
+    private void consume(List<RateLimitReservation.Charge> charges, String prefix, String tenant,
+                         RateLimit limit, long units, String subject) {
+        if (limit == null) {
+            return;
+        }
+        String bucketKey = prefix + tenant;
+        long charged = Math.min(units, limit.capacity());
+        long waitNanos = backend.tryConsume(bucketKey, limit, charged);
+        if (waitNanos > 0) {
+            Duration retryAfter = Duration.ofNanos(waitNanos);
+            log.warn("RequestRateLimiter.consume() - Rate limit of {} {} exceeded for {}, retry after {}ms",
+                     limit.capacity(), limit.name(), subject, retryAfter.toMillis());
+            throw new RateLimitExceededException(
+                "Rate limit of " + limit.capacity() + " " + limit.name() + " exceeded for " + subject, retryAfter);
+        }
+        charges.add(new RateLimitReservation.Charge(bucketKey, limit, charged));
+    }
+
+    /**
+     * @param actualTokens tokens the request used; negative to keep the reservation as charged
+     */
+    private void reconcile(RateLimitReservation reservation, long actualTokens) {
+        if (!reservation.markSettled() || actualTokens < 0) {
+            return;
+        }
+        for (RateLimitReservation.Charge charge : reservation.tokenCharges()) {
+            backend.refund(charge.bucketKey(), charge.limit(), charge.units() - actualTokens);
+        }
+    }
+
+    private void refund(RateLimitReservation.Charge charge) {
+        backend.refund(charge.bucketKey(), charge.limit(), charge.units());
+    }
+
+    private long estimateTokens(String prompt, Integer maxTokens) {
+        long promptTokens = prompt != null ? (prompt.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN : 0L;
+        long completionTokens = maxTokens != null && maxTokens > 0 ? maxTokens : defaultTokenReservation;
+        return promptTokens + completionTokens;
+    }
+
+    private static long totalTokens(ChatCompletionResponse response) {
+        if (response == null || response.getUsage() == null || response.getUsage().getTotalTokens() == null) {
+            return -1L;
+        }
+        return response.getUsage().getTotalTokens();
+    }
+
+    private static boolean isServedWithoutCall(ChatCompletionResponse response) {
+        return response != null && response.getRoutingInfo() != null
+            && (Boolean.TRUE.equals(response.getRoutingInfo().getCacheHit())
+                || Boolean.TRUE.equals(response.getRoutingInfo().getCoalesced()));
+    }
+
+    private static RateLimit rate(String name, long units, Duration period) {
+        return units > 0 ? RateLimit.of(name, units, period) : null;
+    }
+}
@@ -1,21 +1,18 @@
 package com.prismnetai.service.routing;
 
 import java.math.BigDecimal;
-import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Component;
 
 import com.prismnetai.entity.Model;
 import com.prismnetai.entity.Provider;
-import com.prismnetai.entity.ProviderMetric;
-import com.prismnetai.repository.ModelRepository;
-import com.prismnetai.repository.ProviderMetricRepository;
+import com.prismnetai.service.catalog.RoutingCatalogService;
+import com.prismnetai.service.health.HealthSnapshot;
+import com.prismnetai.service.health.ProviderHealthAggregator;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,9 +22,8 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class AutoRoutingStrategy implements RoutingStrategy {
 
-    private final ModelRepository modelRepository;
-    private final ProviderMetricRepository providerMetricRepository;
-    private final Duration metricsLookbackDuration;
+    private final RoutingCatalogService routingCatalogService;
+    private final ProviderHealthAggregator providerHealthAggregator;
 
     // Weights for the scoring algorithm (configurable)
     private static final double PRICE_WEIGHT = 0.3;
@@ -45,7 +41,7 @@ public class AutoRoutingStrategy implements RoutingStrategy {
      */
     @Override
     public Optional<Model> selectModel(List<Provider> availableProviders, String userId, String preferredModel) {
-        log.info("AutoRoutingStrategy.selectModel() - Starting auto intelligent model selection");
+        log.debug("AutoRoutingStrategy.selectModel() - Starting auto intelligent model selection");
 
         // Input validation
         if (availableProviders == null || availableProviders.isEmpty()) {
@@ -53,62 +49,55 @@ public class AutoRoutingStrategy implements RoutingStrategy {
             return Optional.empty();
         }
 
-        log.info("AutoRoutingStrategy.selectModel() - Evaluating {} available providers: {}",
-                  availableProviders.size(),
-                  availableProviders.stream().map(Provider::getName).toList());
-
-        // Extract provider IDs for efficient querying
-        List<Long> providerIds = availableProviders.stream()
-                .map(Provider::getId)
-                .toList();
+        log.atDebug()
+            .setMessage("AutoRoutingStrategy.selectModel() - Evaluating {} available providers: {}")
+            .addArgument(availableProviders::size)
+            .addArgument(() -> availableProviders.stream().map(Provider::getName).toList())
+            .log();
 
         // Get active models for available providers
-        List<Model> activeModels = modelRepository.findActiveModelsByProviderIds(providerIds);
+        List<Model> activeModels = routingCatalogService.current().getModelsForProviders(availableProviders);
         if (activeModels.isEmpty()) {
             log.warn("AutoRoutingStrategy.selectModel() - No active models found for available providers");
             return Optional.empty();
         }
 
-        // Get recent metrics for scoring
-        Map<Long, Map<ProviderMetric.MetricType, ProviderMetric>> metricsByProvider =
-            getMetricsByProvider(providerIds);
-
-        // Calculate and rank models by score
+        // Calculate and rank models by score using the streaming health aggregates
         Optional<ModelScore> bestModelScore = activeModels.stream()
-                .map(model -> calculateModelScore(model, metricsByProvider.get(model.getProvider().getId())))
+                .map(model -> calculateModelScore(model, providerHealthAggregator.healthFor(model)))
                 .filter(modelScore -> modelScore.score() > 0.0) // Only consider models with positive scores
                 .max(Comparator.comparingDouble(ModelScore::score)); // Get highest score
 
         if (bestModelScore.isPresent()) {
             Model selectedModel = bestModelScore.get().model();
-            log.info("AutoRoutingStrategy.selectModel() - Selected model: {} from provider {} with auto score: {:.3f}",
-                     selectedModel.getModelId(), selectedModel.getProvider().getName(),
-                     bestModelScore.get().score());
+            double score = bestModelScore.get().score();
+            log.atDebug()
+                .setMessage("AutoRoutingStrategy.selectModel() - Selected model: {} from provider {} with auto score: {}")
+                .addArgument(selectedModel::getModelId)
+                .addArgument(() -> selectedModel.getProvider().getName())
+                .addArgument(() -> formatScore(score))
+                .log();
         } else {
             log.warn("AutoRoutingStrategy.selectModel() - No suitable model found with positive scores");
         }
 
-        log.info("AutoRoutingStrategy.selectModel() - Completed auto intelligent model selection");
+        log.debug("AutoRoutingStrategy.selectModel() - Completed auto intelligent model selection");
         return bestModelScore.map(ModelScore::model);
     }
 
     /**
-     * Retrieves and organizes metrics by provider for efficient scoring.
+     * Ranks every model with a positive score, highest score first.
      */
-    private Map<Long, Map<ProviderMetric.MetricType, ProviderMetric>> getMetricsByProvider(List<Long> providerIds) {
-        LocalDateTime since = LocalDateTime.now().minus(metricsLookbackDuration);
-        List<ProviderMetric> recentMetrics = providerMetricRepository
-                .findRecentMetricsByProvidersAndType(providerIds, null, since);
-
-        return recentMetrics.stream()
-                .collect(Collectors.groupingBy(
-                    pm -> pm.getProvider().getId(),
-                    Collectors.toMap(
-                        ProviderMetric::getMetricType,
-                        pm -> pm,
-                        (a, b) -> a.getTimestamp().isAfter(b.getTimestamp()) ? a : b // Keep latest
-                    )
-                ));
+    @Override
+    public Stream<Model> rankModels(List<Provider> availableProviders, String userId, String preferredModel) {
+        if (availableProviders == null || availableProviders.isEmpty()) {
+            return Stream.empty();
+        }
+        return routingCatalogService.current().getModelsForProviders(availableProviders).stream()
+                .map(model -> calculateModelScore(model, providerHealthAggregator.healthFor(model)))
+                .filter(modelScore -> modelScore.score() > 0.0)
+                .sorted(Comparator.comparingDouble(ModelScore::score).reversed())
+                .map(ModelScore::model);
     }
 
     /**
@@ -116,10 +105,10 @@ public class AutoRoutingStrategy implements RoutingStrategy {
      * The score is a weighted combination of price, throughput, latency, and success rate.
      *
      * @param model the model to score
-     * @param metrics the provider metrics for scoring
+     * @param health the model's or provider's current health
      * @return ModelScore containing the model and its calculated score
      */
-    private ModelScore calculateModelScore(Model model, Map<ProviderMetric.MetricType, ProviderMetric> metrics) {
+    private ModelScore calculateModelScore(Model model, HealthSnapshot health) {
         double score = 0.0;
 
         // Price score (lower price = higher score, normalized to 0-1 range)
@@ -127,20 +116,23 @@ public class AutoRoutingStrategy implements RoutingStrategy {
         score += PRICE_WEIGHT * priceScore;
 
         // Performance metrics scores
-        if (metrics != null) {
-            double throughputScore = calculateThroughputScore(metrics);
-            double latencyScore = calculateLatencyScore(metrics);
-            double successRateScore = calculateSuccessRateScore(metrics);
+        if (!health.isEmpty()) {
+            double throughputScore = calculateThroughputScore(health);
+            double latencyScore = calculateLatencyScore(health);
+            double successRateScore = calculateSuccessRateScore(health);
 
             score += THROUGHPUT_WEIGHT * throughputScore;
             score += LATENCY_WEIGHT * latencyScore;
             score += SUCCESS_RATE_WEIGHT * successRateScore;
 
-            log.info("AutoRoutingStrategy.calculateModelScore() - Model {} score breakdown: price={:.3f}, throughput={:.3f}, latency={:.3f}, success={:.3f}, total={:.3f}",
-                      model.getModelId(), priceScore, throughputScore, latencyScore, successRateScore, score);
-        } else {
-            log.info("AutoRoutingStrategy.calculateModelScore() - Model {} has no metrics, price score only: {:.3f}",
-                      model.getModelId(), priceScore);
+            if (log.isTraceEnabled()) {
+                log.trace("AutoRoutingStrategy.calculateModelScore() - Model {} score breakdown: price={}, throughput={}, latency={}, success={}, total={}",
+                          model.getModelId(), formatScore(priceScore), formatScore(throughputScore), formatScore(latencyScore),
+                          formatScore(successRateScore), formatScore(score));
+            }
+        } else if (log.isTraceEnabled()) {
+            log.trace("AutoRoutingStrategy.calculateModelScore() - Model {} has no metrics, price score only: {}",
+                      model.getModelId(), formatScore(priceScore));
         }
 
         return new ModelScore(model, score);
@@ -158,37 +150,41 @@ public class AutoRoutingStrategy implements RoutingStrategy {
     /**
      * Calculates throughput score where higher throughput results in higher score.
      */
-    private double calculateThroughputScore(Map<ProviderMetric.MetricType, ProviderMetric> metrics) {
-        if (!metrics.containsKey(ProviderMetric.MetricType.THROUGHPUT)) {
+    private double calculateThroughputScore(HealthSnapshot health) {
+        if (!health.hasThroughput()) {
             return 0.0;
         }
-        double throughput = metrics.get(ProviderMetric.MetricType.THROUGHPUT).getValue().doubleValue();
-        // Normalize assuming max reasonable throughput of 1000 requests/minute
-        return Math.min(1.0, throughput / 1000.0);
+        // Normalize assuming max reasonable throughput of 1000 tokens/second
+        return Math.min(1.0, health.throughput() / 1000.0);
     }
 
     /**
      * Calculates latency score where lower latency results in higher score.
      */
-    private double calculateLatencyScore(Map<ProviderMetric.MetricType, ProviderMetric> metrics) {
-        if (!metrics.containsKey(ProviderMetric.MetricType.LATENCY)) {
+    private double calculateLatencyScore(HealthSnapshot health) {
+        if (!health.hasLatency()) {
             return 0.0;
         }
-        double latency = metrics.get(ProviderMetric.MetricType.LATENCY).getValue().doubleValue();
         // Normalize assuming max acceptable latency of 5000ms
-        return Math.max(0.0, Math.min(1.0, 1.0 - latency / 5000.0));
+        return Math.max(0.0, Math.min(1.0, 1.0 - health.ewmaLatencyMs() / 5000.0));
     }
 
     /**
      * Calculates success rate score where higher success rate results in higher score.
      */
-    private double calculateSuccessRateScore(Map<ProviderMetric.MetricType, ProviderMetric> metrics) {
-        if (!metrics.containsKey(ProviderMetric.MetricType.SUCCESS_RATE)) {
+    private double calculateSuccessRateScore(HealthSnapshot health) {
+        if (!health.hasSuccessRate()) {
             return 0.0;
         }
-        double successRate = metrics.get(ProviderMetric.MetricType.SUCCESS_RATE).getValue().doubleValue();
         // Success rate is already 0-1, ensure it's within bounds
-        return Math.max(0.0, Math.min(1.0, successRate));
+        return Math.max(0.0, Math.min(1.0, health.successRate()));
+    }
+
+    /**
+     * Formats a score to three decimals for logging.
+     */
+    private static String formatScore(double score) {
+        return String.format("%.3f", score);
     }
 
     @Override
@@ -2,19 +2,19 @@ package com.prismnetai.service.routing;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.prismnetai.entity.Model;
 import com.prismnetai.entity.Provider;
 import com.prismnetai.entity.RoutingRule;
-import com.prismnetai.repository.ModelRepository;
-import com.prismnetai.repository.RoutingRuleRepository;
+import com.prismnetai.service.catalog.RoutingCatalog;
+import com.prismnetai.service.catalog.RoutingCatalogService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,17 +24,14 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class CustomOrderRoutingStrategy implements RoutingStrategy {
 
-    private final ModelRepository modelRepository;
-    private final RoutingRuleRepository routingRuleRepository;
+    private final RoutingCatalogService routingCatalogService;
 
     @Value("${prismnet.routing.default-user-id:default}")
     private String defaultUserId;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
     @Override
     public Optional<Model> selectModel(List<Provider> availableProviders, String userId, String preferredModel) {
-        log.info("CustomOrderRoutingStrategy.selectModel() - Starting custom order-based model selection");
+        log.debug("CustomOrderRoutingStrategy.selectModel() - Starting custom order-based model selection");
 
         if (availableProviders == null) {
             log.warn("CustomOrderRoutingStrategy.selectModel() - No providers available for routing");
@@ -46,17 +43,20 @@ public class CustomOrderRoutingStrategy implements RoutingStrategy {
             return Optional.empty();
         }
 
-        log.info("CustomOrderRoutingStrategy.selectModel() - Evaluating {} available providers: {}",
-                  availableProviders.size(),
-                  availableProviders.stream().map(Provider::getName).toList());
+        log.atDebug()
+            .setMessage("CustomOrderRoutingStrategy.selectModel() - Evaluating {} available providers: {}")
+            .addArgument(availableProviders::size)
+            .addArgument(() -> availableProviders.stream().map(Provider::getName).toList())
+            .log();
 
         // Determine the effective user ID: use provided userId if not null, otherwise use default
         String effectiveUserId = userId != null ? userId : defaultUserId;
-        log.info("CustomOrderRoutingStrategy.selectModel() - Using userId: {} (provided: {}, default: {})",
+        log.debug("CustomOrderRoutingStrategy.selectModel() - Using userId: {} (provided: {}, default: {})",
                   effectiveUserId, userId, defaultUserId);
 
-        // Get active routing rules for the effective user
-        List<RoutingRule> activeRules = routingRuleRepository.findActiveRulesByUserIdOrderedById(effectiveUserId);
+        // Get active routing rules for the effective user (parsed once when the catalog was loaded)
+        RoutingCatalog catalog = routingCatalogService.current();
+        List<RoutingCatalog.CustomOrderRule> activeRules = catalog.getRoutingRules(effectiveUserId);
 
         if (activeRules.isEmpty()) {
             log.warn("CustomOrderRoutingStrategy.selectModel() - No active routing rules found for user: {}", effectiveUserId);
@@ -72,21 +72,14 @@ public class CustomOrderRoutingStrategy implements RoutingStrategy {
                 .toList();
 
         // Get active models (shared across rules)
-        List<Model> activeModels = modelRepository.findActiveModelsByProviderIds(providerIds);
+        List<Model> activeModels = catalog.getModelsForProviders(availableProviders);
 
         // Iterate over active rules to find a suitable model
-        for (RoutingRule rule : activeRules) {
-            log.info("CustomOrderRoutingStrategy.selectModel() - Evaluating routing rule: {} with provider order: {}",
-                      rule.getName(), rule.getProviderOrder());
-
-            // Parse provider order from the rule
-            List<String> providerOrder;
-            try {
-                providerOrder = objectMapper.readValue(rule.getProviderOrder(), objectMapper.getTypeFactory().constructCollectionType(List.class, String.class));
-            } catch (JsonProcessingException e) {
-                log.error("CustomOrderRoutingStrategy.selectModel() - Failed to parse provider order JSON for rule: {}", rule.getName(), e);
-                continue;
-            }
+        for (RoutingCatalog.CustomOrderRule customOrderRule : activeRules) {
+            RoutingRule rule = customOrderRule.rule();
+            List<String> providerOrder = customOrderRule.providerOrder();
+            log.debug("CustomOrderRoutingStrategy.selectModel() - Evaluating routing rule: {} with provider order: {}",
+                      rule.getName(), providerOrder);
 
             // Create a map of provider ID to priority order (lower number = higher priority)
             Map<Long, Integer> providerPriority = providerOrder.stream()
@@ -100,8 +93,10 @@ public class CustomOrderRoutingStrategy implements RoutingStrategy {
                     .filter(model -> {
                         boolean isAvailable = providerIds.contains(model.getProvider().getId());
                         boolean hasPriority = providerPriority.containsKey(model.getProvider().getId());
-                        log.info("CustomOrderRoutingStrategy.selectModel() - Model {} from provider {} is available: {}, has priority: {}",
-                                  model.getModelId(), model.getProvider().getName(), isAvailable, hasPriority);
+                        if (log.isTraceEnabled()) {
+                            log.trace("CustomOrderRoutingStrategy.selectModel() - Model {} from provider {} is available: {}, has priority: {}",
+                                      model.getModelId(), model.getProvider().getName(), isAvailable, hasPriority);
+                        }
                         return isAvailable && hasPriority;
                     })
                     .sorted((a, b) -> {
@@ -114,7 +109,7 @@ public class CustomOrderRoutingStrategy implements RoutingStrategy {
 
             if (selectedModel.isPresent()) {
                 Model model = selectedModel.get();
-                log.info("CustomOrderRoutingStrategy.selectModel() - Selected model: {} from provider {} based on custom order rule: {}",
+                log.debug("CustomOrderRoutingStrategy.selectModel() - Selected model: {} from provider {} based on custom order rule: {}",
                          model.getModelId(), model.getProvider().getName(), rule.getName());
                 return selectedModel;
             }
@@ -124,6 +119,30 @@ public class CustomOrderRoutingStrategy implements RoutingStrategy {
         return Optional.empty();
     }
 
+    /**
+     * Ranks models rule by rule, each rule's models in its provider order. Later rules are only
+     * evaluated once the earlier ones' candidates have been consumed.
+     */
+    @Override
+    public Stream<Model> rankModels(List<Provider> availableProviders, String userId, String preferredModel) {
+        if (availableProviders == null || availableProviders.isEmpty()) {
+            return Stream.empty();
+        }
+        RoutingCatalog catalog = routingCatalogService.current();
+        List<RoutingCatalog.CustomOrderRule> activeRules = catalog.getRoutingRules(userId != null ? userId : defaultUserId);
+        Map<String, Long> providerIdByName = availableProviders.stream()
+                .collect(Collectors.toMap(Provider::getName, Provider::getId));
+        List<Model> activeModels = catalog.getModelsForProviders(availableProviders);
+
+        return activeRules.stream()
+                .flatMap(customOrderRule -> customOrderRule.providerOrder().stream()
+                        .map(providerIdByName::get)
+                        .filter(Objects::nonNull)
+                        .flatMap(providerId -> activeModels.stream()
+                                .filter(model -> model.getProvider().getId().equals(providerId))))
+                .distinct();
+    }
+
     @Override
     public String getStrategyName() {
         return "CUSTOM_ORDER";
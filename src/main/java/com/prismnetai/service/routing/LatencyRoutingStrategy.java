@@ -1,19 +1,17 @@
 package com.prismnetai.service.routing;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Component;
 
 import com.prismnetai.entity.Model;
 import com.prismnetai.entity.Provider;
-import com.prismnetai.entity.ProviderMetric;
-import com.prismnetai.repository.ModelRepository;
-import com.prismnetai.repository.ProviderMetricRepository;
+import com.prismnetai.service.catalog.RoutingCatalogService;
+import com.prismnetai.service.health.HealthSnapshot;
+import com.prismnetai.service.health.ProviderHealthAggregator;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,13 +21,12 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class LatencyRoutingStrategy implements RoutingStrategy {
 
-    private final ModelRepository modelRepository;
-    private final ProviderMetricRepository providerMetricRepository;
-    private final Duration metricsLookbackDuration;
+    private final RoutingCatalogService routingCatalogService;
+    private final ProviderHealthAggregator providerHealthAggregator;
 
     @Override
     public Optional<Model> selectModel(List<Provider> availableProviders, String userId, String preferredModel) {
-        log.info("LatencyRoutingStrategy.selectModel() - Starting latency-based model selection");
+        log.debug("LatencyRoutingStrategy.selectModel() - Starting latency-based model selection");
 
         if (availableProviders == null) {
             log.warn("LatencyRoutingStrategy.selectModel() - No providers available for routing");
@@ -41,66 +38,61 @@ public class LatencyRoutingStrategy implements RoutingStrategy {
             return Optional.empty();
         }
 
-        log.info("LatencyRoutingStrategy.selectModel() - Evaluating {} available providers: {}",
-                  availableProviders.size(),
-                  availableProviders.stream().map(Provider::getName).toList());
-
-        List<Long> providerIds = availableProviders.stream()
-                .map(Provider::getId)
-                .toList();
-
-        // Get latest latency metrics for available providers
-        LocalDateTime since = LocalDateTime.now().minus(metricsLookbackDuration);
-        List<ProviderMetric> latencyMetrics = providerMetricRepository
-                .findRecentMetricsByProvidersAndType(providerIds, ProviderMetric.MetricType.LATENCY, since);
-
-        log.info("LatencyRoutingStrategy.selectModel() - Found {} latency metrics",
-                  latencyMetrics.size());
-
-        // Group metrics by provider and get the latest value for each
-        Map<Long, ProviderMetric> latestLatencyByProvider = latencyMetrics.stream()
-                .collect(Collectors.groupingBy(
-                    pm -> pm.getProvider().getId(),
-                    Collectors.collectingAndThen(
-                        Collectors.maxBy((a, b) -> a.getTimestamp().compareTo(b.getTimestamp())),
-                        opt -> opt.orElse(null)
-                    )
-                ));
-
-        // Get active models and sort by latency (lowest first)
-        List<Model> activeModels = modelRepository.findActiveModelsByProviderIds(providerIds);
-
-        Optional<Model> selectedModel = activeModels.stream()
-                .filter(model -> {
-                    boolean isAvailable = providerIds.contains(model.getProvider().getId());
-                    ProviderMetric latencyMetric = latestLatencyByProvider.get(model.getProvider().getId());
-                    boolean hasLatencyData = latencyMetric != null;
-                    log.info("LatencyRoutingStrategy.selectModel() - Model {} from provider {} is available: {}, has latency data: {}",
-                              model.getModelId(), model.getProvider().getName(), isAvailable, hasLatencyData);
-                    return isAvailable && hasLatencyData;
-                })
-                .sorted((a, b) -> {
-                    ProviderMetric latencyA = latestLatencyByProvider.get(a.getProvider().getId());
-                    ProviderMetric latencyB = latestLatencyByProvider.get(b.getProvider().getId());
-                    // Sort by latency ascending (lower latency first)
-                    return latencyA.getValue().compareTo(latencyB.getValue());
-                })
-                .findFirst();
+        log.atDebug()
+            .setMessage("LatencyRoutingStrategy.selectModel() - Evaluating {} available providers: {}")
+            .addArgument(availableProviders::size)
+            .addArgument(() -> availableProviders.stream().map(Provider::getName).toList())
+            .log();
+
+        // Rank candidates by streaming EWMA latency (lowest first); O(1) per model
+        List<Model> activeModels = routingCatalogService.current().getModelsForProviders(availableProviders);
+
+        Model selected = null;
+        HealthSnapshot selectedHealth = null;
+        for (Model model : activeModels) {
+            HealthSnapshot health = providerHealthAggregator.healthFor(model);
+            if (log.isTraceEnabled()) {
+                log.trace("LatencyRoutingStrategy.selectModel() - Model {} from provider {} has latency data: {}",
+                          model.getModelId(), model.getProvider().getName(), health.hasLatency());
+            }
+            if (health.hasLatency() && (selectedHealth == null || health.ewmaLatencyMs() < selectedHealth.ewmaLatencyMs())) {
+                selected = model;
+                selectedHealth = health;
+            }
+        }
+        Optional<Model> selectedModel = Optional.ofNullable(selected);
 
         if (selectedModel.isPresent()) {
             Model model = selectedModel.get();
-            ProviderMetric latencyMetric = latestLatencyByProvider.get(model.getProvider().getId());
-            log.info("LatencyRoutingStrategy.selectModel() - Selected model: {} from provider {} with latency: {}ms",
+            log.debug("LatencyRoutingStrategy.selectModel() - Selected model: {} from provider {} with latency: {}ms (p95: {}ms)",
                      model.getModelId(), model.getProvider().getName(),
-                     latencyMetric != null ? latencyMetric.getValue() : "N/A");
+                     Math.round(selectedHealth.ewmaLatencyMs()), selectedHealth.p95LatencyMs());
         } else {
             log.warn("LatencyRoutingStrategy.selectModel() - No suitable model found among available providers with latency data");
         }
 
-        log.info("LatencyRoutingStrategy.selectModel() - Completed latency-based model selection");
+        log.debug("LatencyRoutingStrategy.selectModel() - Completed latency-based model selection");
         return selectedModel;
     }
 
+    /**
+     * Ranks every model with latency data by EWMA latency, fastest first. Models without
+     * observations are left out rather than guessed at.
+     */
+    @Override
+    public Stream<Model> rankModels(List<Provider> availableProviders, String userId, String preferredModel) {
+        if (availableProviders == null || availableProviders.isEmpty()) {
+            return Stream.empty();
+        }
+        // Read each model's health once, then sort on the captured latency
+        record Candidate(Model model, double latencyMs) { }
+        return routingCatalogService.current().getModelsForProviders(availableProviders).stream()
+            .map(model -> new Candidate(model, providerHealthAggregator.healthFor(model).ewmaLatencyMs()))
+            .filter(candidate -> !Double.isNaN(candidate.latencyMs()))
+            .sorted(Comparator.comparingDouble(Candidate::latencyMs))
+            .map(Candidate::model);
+    }
+
     @Override
     public String getStrategyName() {
         return "LATENCY";
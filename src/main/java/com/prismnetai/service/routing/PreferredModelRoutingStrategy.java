@@ -2,12 +2,13 @@ package com.prismnetai.service.routing;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Component;
 
 import com.prismnetai.entity.Model;
 import com.prismnetai.entity.Provider;
-import com.prismnetai.repository.ModelRepository;
+import com.prismnetai.service.catalog.RoutingCatalogService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,7 +18,7 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PreferredModelRoutingStrategy implements RoutingStrategy {
 
-    private final ModelRepository modelRepository;
+    private final RoutingCatalogService routingCatalogService;
 
     /**
      * Selects the first active instance of the user's preferred model from available providers.
@@ -32,7 +33,7 @@ public class PreferredModelRoutingStrategy implements RoutingStrategy {
      */
     @Override
     public Optional<Model> selectModel(List<Provider> availableProviders, String userId, String preferredModel) {
-        log.info("PreferredModelRoutingStrategy.selectModel() - Starting preferred model selection for model: {}", preferredModel);
+        log.debug("PreferredModelRoutingStrategy.selectModel() - Starting preferred model selection for model: {}", preferredModel);
 
         // Input validation
         if (availableProviders == null || availableProviders.isEmpty()) {
@@ -45,17 +46,16 @@ public class PreferredModelRoutingStrategy implements RoutingStrategy {
             return Optional.empty();
         }
 
-        log.info("PreferredModelRoutingStrategy.selectModel() - Evaluating {} available providers for preferred model: {}",
+        log.debug("PreferredModelRoutingStrategy.selectModel() - Evaluating {} available providers for preferred model: {}",
                  availableProviders.size(), preferredModel);
 
-        // Extract provider IDs for efficient querying
-        List<Long> providerIds = availableProviders.stream()
-                .map(Provider::getId)
+        // Find active models for the preferred model across available providers, in provider order
+        List<Model> instances = routingCatalogService.current().getModelsByModelId(preferredModel);
+        List<Model> matchingModels = availableProviders.stream()
+                .flatMap(provider -> instances.stream()
+                        .filter(model -> model.getProvider().getId().equals(provider.getId())))
                 .toList();
 
-        // Find active models for the preferred model across available providers
-        List<Model> matchingModels = modelRepository.findActiveModelsByModelIdAndProviderIds(preferredModel, providerIds);
-
         if (matchingModels.isEmpty()) {
             log.warn("PreferredModelRoutingStrategy.selectModel() - Preferred model '{}' not found among active models for available providers",
                      preferredModel);
@@ -64,13 +64,27 @@ public class PreferredModelRoutingStrategy implements RoutingStrategy {
 
         // Select the first matching model (providers are checked in order they appear in availableProviders)
         Model selectedModel = matchingModels.get(0);
-        log.info("PreferredModelRoutingStrategy.selectModel() - Selected preferred model: {} from provider: {}",
+        log.debug("PreferredModelRoutingStrategy.selectModel() - Selected preferred model: {} from provider: {}",
                  selectedModel.getModelId(), selectedModel.getProvider().getName());
 
-        log.info("PreferredModelRoutingStrategy.selectModel() - Completed preferred model selection");
+        log.debug("PreferredModelRoutingStrategy.selectModel() - Completed preferred model selection");
         return Optional.of(selectedModel);
     }
 
+    /**
+     * Ranks every active instance of the preferred model, in provider order.
+     */
+    @Override
+    public Stream<Model> rankModels(List<Provider> availableProviders, String userId, String preferredModel) {
+        if (availableProviders == null || availableProviders.isEmpty() || preferredModel == null || preferredModel.trim().isEmpty()) {
+            return Stream.empty();
+        }
+        List<Model> instances = routingCatalogService.current().getModelsByModelId(preferredModel);
+        return availableProviders.stream()
+                .flatMap(provider -> instances.stream()
+                        .filter(model -> model.getProvider().getId().equals(provider.getId())));
+    }
+
     @Override
     public String getStrategyName() {
         return "PREFERRED_MODEL";
@@ -1,13 +1,17 @@
 package com.prismnetai.service.routing;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Component;
 
 import com.prismnetai.entity.Model;
 import com.prismnetai.entity.Provider;
-import com.prismnetai.repository.ModelRepository;
+import com.prismnetai.service.catalog.PriceIndex;
+import com.prismnetai.service.catalog.RoutingCatalog;
+import com.prismnetai.service.catalog.RoutingCatalogService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,11 +21,11 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PriceRoutingStrategy implements RoutingStrategy {
 
-    private final ModelRepository modelRepository;
+    private final RoutingCatalogService routingCatalogService;
 
     @Override
     public Optional<Model> selectModel(List<Provider> availableProviders, String userId, String preferredModel) {
-        log.info("PriceRoutingStrategy.selectModel() - Starting price-based model selection");
+        log.debug("PriceRoutingStrategy.selectModel() - Starting price-based model selection");
 
         if (availableProviders == null) {
             log.warn("PriceRoutingStrategy.selectModel() - No providers available for routing");
@@ -33,42 +37,49 @@ public class PriceRoutingStrategy implements RoutingStrategy {
             return Optional.empty();
         }
 
-        log.info("PriceRoutingStrategy.selectModel() - Evaluating {} available providers: {}",
-                  availableProviders.size(),
-                  availableProviders.stream().map(Provider::getName).toList());
-
-        List<Model> activeModels = modelRepository.findActiveModelsOrderedByLowestCost();
-        log.info("PriceRoutingStrategy.selectModel() - Found {} active models ordered by cost",
-                  activeModels.size());
-
-        // Filter models by available providers
-        List<Long> providerIds = availableProviders.stream()
-                .map(Provider::getId)
-                .toList();
-
-        Optional<Model> selectedModel = activeModels.stream()
-                .filter(model -> {
-                    boolean isAvailable = providerIds.contains(model.getProvider().getId());
-                    log.info("PriceRoutingStrategy.selectModel() - Model {} from provider {} is {}",
-                              model.getModelId(), model.getProvider().getName(),
-                              isAvailable ? "available" : "not available");
-                    return isAvailable;
-                })
-                .findFirst();
+        log.atDebug()
+            .setMessage("PriceRoutingStrategy.selectModel() - Evaluating {} available providers: {}")
+            .addArgument(availableProviders::size)
+            .addArgument(() -> availableProviders.stream().map(Provider::getName).toList())
+            .log();
+
+        RoutingCatalog catalog = routingCatalogService.current();
+        PriceIndex priceIndex = catalog.getPriceIndex();
+        log.debug("PriceRoutingStrategy.selectModel() - Scanning {} active models in cost order (catalog version {})",
+                  priceIndex.size(), catalog.getVersion());
+
+        // Single scan over the pre-sorted index with O(1) provider membership checks
+        BitSet providerMask = catalog.providerMask(availableProviders);
+        Optional<Model> selectedModel = priceIndex.cheapest(providerMask);
 
         if (selectedModel.isPresent()) {
             Model model = selectedModel.get();
-            log.info("PriceRoutingStrategy.selectModel() - Selected cheapest model: {} from provider {} with total cost per token: {}",
-                     model.getModelId(), model.getProvider().getName(),
-                     model.getInputPricing().add(model.getOutputPricing()));
+            log.atDebug()
+                .setMessage("PriceRoutingStrategy.selectModel() - Selected cheapest model: {} from provider {} with total cost per token: {}")
+                .addArgument(model::getModelId)
+                .addArgument(() -> model.getProvider().getName())
+                .addArgument(() -> model.getInputPricing().add(model.getOutputPricing()))
+                .log();
         } else {
             log.warn("PriceRoutingStrategy.selectModel() - No suitable model found among available providers");
         }
 
-        log.info("PriceRoutingStrategy.selectModel() - Completed price-based model selection");
+        log.debug("PriceRoutingStrategy.selectModel() - Completed price-based model selection");
         return selectedModel;
     }
 
+    /**
+     * Walks the pre-sorted price index lazily, cheapest first.
+     */
+    @Override
+    public Stream<Model> rankModels(List<Provider> availableProviders, String userId, String preferredModel) {
+        if (availableProviders == null || availableProviders.isEmpty()) {
+            return Stream.empty();
+        }
+        RoutingCatalog catalog = routingCatalogService.current();
+        return catalog.getPriceIndex().inCostOrder(catalog.providerMask(availableProviders));
+    }
+
     @Override
     public String getStrategyName() {
         return "PRICE";
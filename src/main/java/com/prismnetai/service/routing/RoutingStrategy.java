@@ -2,6 +2,7 @@ package com.prismnetai.service.routing;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.prismnetai.entity.Model;
 import com.prismnetai.entity.Provider;
@@ -17,6 +18,20 @@ public interface RoutingStrategy {
      */
     Optional<Model> selectModel(List<Provider> availableProviders, String userId, String preferredModel);
 
+    /**
+     * Ranks candidate models best first, for failover and hedging. The ranking is lazy: nothing
+     * is computed until the stream is consumed, and consumers that only need the next candidate
+     * stop after it. {@link #selectModel} stays the single-pass path for the first choice.
+     * @param availableProviders List of providers that are currently available
+     * @param userId The user ID for which to rank models (can be null)
+     * @param preferredModel The preferred model ID (can be null for strategies that don't use it)
+     * @return Models in order of preference, empty if no suitable model found
+     */
+    default Stream<Model> rankModels(List<Provider> availableProviders, String userId, String preferredModel) {
+        return Stream.of(availableProviders)
+            .flatMap(providers -> selectModel(providers, userId, preferredModel).stream());
+    }
+
     /**
      * Returns the name of this routing strategy
      * @return Strategy name (e.g., "PRICE", "LATENCY", etc.)
@@ -1,19 +1,17 @@
 package com.prismnetai.service.routing;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Component;
 
 import com.prismnetai.entity.Model;
 import com.prismnetai.entity.Provider;
-import com.prismnetai.entity.ProviderMetric;
-import com.prismnetai.repository.ModelRepository;
-import com.prismnetai.repository.ProviderMetricRepository;
+import com.prismnetai.service.catalog.RoutingCatalogService;
+import com.prismnetai.service.health.HealthSnapshot;
+import com.prismnetai.service.health.ProviderHealthAggregator;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,13 +21,12 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ThroughputRoutingStrategy implements RoutingStrategy {
 
-    private final ModelRepository modelRepository;
-    private final ProviderMetricRepository providerMetricRepository;
-    private final Duration metricsLookbackDuration;
+    private final RoutingCatalogService routingCatalogService;
+    private final ProviderHealthAggregator providerHealthAggregator;
 
     @Override
     public Optional<Model> selectModel(List<Provider> availableProviders, String userId, String preferredModel) {
-        log.info("ThroughputRoutingStrategy.selectModel() - Starting throughput-based model selection");
+        log.debug("ThroughputRoutingStrategy.selectModel() - Starting throughput-based model selection");
 
         if (availableProviders == null) {
             log.warn("ThroughputRoutingStrategy.selectModel() - No providers available for routing");
@@ -41,65 +38,58 @@ public class ThroughputRoutingStrategy implements RoutingStrategy {
             return Optional.empty();
         }
 
-        log.info("ThroughputRoutingStrategy.selectModel() - Evaluating {} available providers: {}",
-                  availableProviders.size(),
-                  availableProviders.stream().map(Provider::getName).toList());
-
-        List<Long> providerIds = availableProviders.stream()
-                .map(Provider::getId)
-                .toList();
-        // Get latest throughput metrics for available providers
-        LocalDateTime since = LocalDateTime.now().minus(metricsLookbackDuration);
-        List<ProviderMetric> throughputMetrics = providerMetricRepository
-                .findRecentMetricsByProvidersAndType(providerIds, ProviderMetric.MetricType.THROUGHPUT, since);
-
-        log.info("ThroughputRoutingStrategy.selectModel() - Found {} throughput metrics",
-                  throughputMetrics.size());
-
-        // Group metrics by provider and get the latest value for each
-        Map<Long, ProviderMetric> latestThroughputByProvider = throughputMetrics.stream()
-                .collect(Collectors.groupingBy(
-                    pm -> pm.getProvider().getId(),
-                    Collectors.collectingAndThen(
-                        Collectors.maxBy((a, b) -> a.getTimestamp().compareTo(b.getTimestamp())),
-                        opt -> opt.orElse(null)
-                    )
-                ));
-
-        // Get active models and sort by throughput (highest first)
-        List<Model> activeModels = modelRepository.findActiveModelsByProviderIds(providerIds);
-
-        Optional<Model> selectedModel = activeModels.stream()
-                .filter(model -> {
-                    boolean isAvailable = providerIds.contains(model.getProvider().getId());
-                    ProviderMetric throughputMetric = latestThroughputByProvider.get(model.getProvider().getId());
-                    boolean hasThroughputData = throughputMetric != null;
-                    log.info("ThroughputRoutingStrategy.selectModel() - Model {} from provider {} is available: {}, has throughput data: {}",
-                              model.getModelId(), model.getProvider().getName(), isAvailable, hasThroughputData);
-                    return isAvailable && hasThroughputData;
-                })
-                .sorted((a, b) -> {
-                    ProviderMetric throughputA = latestThroughputByProvider.get(a.getProvider().getId());
-                    ProviderMetric throughputB = latestThroughputByProvider.get(b.getProvider().getId());
-                    // Sort by throughput descending (higher throughput first)
-                    return throughputB.getValue().compareTo(throughputA.getValue());
-                })
-                .findFirst();
+        log.atDebug()
+            .setMessage("ThroughputRoutingStrategy.selectModel() - Evaluating {} available providers: {}")
+            .addArgument(availableProviders::size)
+            .addArgument(() -> availableProviders.stream().map(Provider::getName).toList())
+            .log();
+
+        // Rank candidates by streaming EWMA throughput (highest first); O(1) per model
+        List<Model> activeModels = routingCatalogService.current().getModelsForProviders(availableProviders);
+
+        Model selected = null;
+        HealthSnapshot selectedHealth = null;
+        for (Model model : activeModels) {
+            HealthSnapshot health = providerHealthAggregator.healthFor(model);
+            if (log.isTraceEnabled()) {
+                log.trace("ThroughputRoutingStrategy.selectModel() - Model {} from provider {} has throughput data: {}",
+                          model.getModelId(), model.getProvider().getName(), health.hasThroughput());
+            }
+            if (health.hasThroughput() && (selectedHealth == null || health.throughput() > selectedHealth.throughput())) {
+                selected = model;
+                selectedHealth = health;
+            }
+        }
+        Optional<Model> selectedModel = Optional.ofNullable(selected);
 
         if (selectedModel.isPresent()) {
             Model model = selectedModel.get();
-            ProviderMetric throughputMetric = latestThroughputByProvider.get(model.getProvider().getId());
-            log.info("ThroughputRoutingStrategy.selectModel() - Selected model: {} from provider {} with throughput: {}",
-                     model.getModelId(), model.getProvider().getName(),
-                     throughputMetric != null ? throughputMetric.getValue() : "N/A");
+            log.debug("ThroughputRoutingStrategy.selectModel() - Selected model: {} from provider {} with throughput: {} tokens/s",
+                     model.getModelId(), model.getProvider().getName(), selectedHealth.throughput());
         } else {
             log.warn("ThroughputRoutingStrategy.selectModel() - No suitable model found among available providers with throughput data");
         }
 
-        log.info("ThroughputRoutingStrategy.selectModel() - Completed throughput-based model selection");
+        log.debug("ThroughputRoutingStrategy.selectModel() - Completed throughput-based model selection");
         return selectedModel;
     }
 
+    /**
+     * Ranks every model with throughput data by EWMA throughput, highest first.
+     */
+    @Override
+    public Stream<Model> rankModels(List<Provider> availableProviders, String userId, String preferredModel) {
+        if (availableProviders == null || availableProviders.isEmpty()) {
+            return Stream.empty();
+        }
+        record Candidate(Model model, double throughput) { }
+        return routingCatalogService.current().getModelsForProviders(availableProviders).stream()
+            .map(model -> new Candidate(model, providerHealthAggregator.healthFor(model).throughput()))
+            .filter(candidate -> !Double.isNaN(candidate.throughput()))
+            .sorted(Comparator.comparingDouble(Candidate::throughput).reversed())
+            .map(Candidate::model);
+    }
+
     @Override
     public String getStrategyName() {
         return "THROUGHPUT";
@@ -30,7 +30,7 @@ public class ChatCompletionRequestValidator {
      * @throws ValidationException if validation fails with detailed field-level error information
      */
     public void validate(ChatCompletionRequest request) {
-        log.info("ChatCompletionRequestValidator.validate() - Validating chat completion request");
+        log.debug("ChatCompletionRequestValidator.validate() - Validating chat completion request");
 
         Map<String, String> errors = new HashMap<>();
 
@@ -45,7 +45,7 @@ public class ChatCompletionRequestValidator {
             throw new ValidationException(errorMessage, errors);
         }
 
-        log.info("ChatCompletionRequestValidator.validate() - Validation successful");
+        log.debug("ChatCompletionRequestValidator.validate() - Validation successful");
     }
 
     /**
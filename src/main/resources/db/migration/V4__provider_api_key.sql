@@ -0,0 +1,14 @@
+-- V4__provider_api_key.sql
+-- Pool of API keys per provider; traffic is spread across the active keys of a provider
+USE prismnetai;
+
+CREATE TABLE provider_api_key (
+    provider_id BIGINT NOT NULL,
+    api_key VARCHAR(500) NOT NULL, -- Encrypted in application
+    weight INT NOT NULL DEFAULT 1,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+
+    FOREIGN KEY (provider_id) REFERENCES provider(id)
+);
+
+CREATE INDEX idx_provider_api_key_provider ON provider_api_key (provider_id);
@@ -0,0 +1,21 @@
+-- V5__service_api_key.sql
+-- Service-account API keys; only a keyed hash of each key is stored
+USE prismnetai;
+
+CREATE TABLE service_api_key (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    tenant_id VARCHAR(100) NOT NULL,
+    key_prefix VARCHAR(16) NOT NULL,
+    key_hash CHAR(64) NOT NULL UNIQUE, -- Hex HMAC-SHA256 of the key
+    requests_per_second INT,
+    tokens_per_minute INT,
+    allowed_strategies VARCHAR(200), -- Comma-separated, NULL for all strategies
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Incremental refresh of the in-memory key index scans by last modification
+CREATE INDEX idx_service_api_key_updated ON service_api_key (updated_at);
+CREATE INDEX idx_service_api_key_tenant ON service_api_key (tenant_id);
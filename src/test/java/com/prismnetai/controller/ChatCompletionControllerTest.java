@@ -13,9 +13,11 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
@@ -28,11 +30,15 @@ import com.prismnetai.dto.ChatCompletionResponse;
 import com.prismnetai.entity.AiRequest;
 import com.prismnetai.entity.Model;
 import com.prismnetai.entity.Provider;
+import com.prismnetai.exception.RateLimitExceededException;
 import com.prismnetai.service.RoutingService;
-import com.prismnetai.service.provider.AiProviderService;
-import com.prismnetai.service.provider.ProviderServiceRegistry;
+import com.prismnetai.service.execution.CompletionExecutor;
+import com.prismnetai.service.ratelimit.LocalRateLimitBackend;
+import com.prismnetai.service.ratelimit.RequestRateLimiter;
 import com.prismnetai.validation.ChatCompletionRequestValidator;
 
+import reactor.core.publisher.Mono;
+
 @ExtendWith(MockitoExtension.class)
 class ChatCompletionControllerTest {
 
@@ -46,7 +52,10 @@ class ChatCompletionControllerTest {
     private ChatCompletionRequestValidator validator;
 
     @Mock
-    private ProviderServiceRegistry providerServiceRegistry;
+    private CompletionExecutor completionExecutor;
+
+    @Spy
+    private RequestRateLimiter requestRateLimiter = new RequestRateLimiter(new LocalRateLimitBackend(), true, 1, 100000, 10, 100000, 1024);
 
     @InjectMocks
     private ChatCompletionController controller;
@@ -77,11 +86,7 @@ class ChatCompletionControllerTest {
         // Mock validator to do nothing for valid requests
         // For invalid requests, we'll mock it to throw exceptions in specific tests
 
-        // Mock provider service registry to return a mock provider service
-        AiProviderService mockProviderService = mock(AiProviderService.class);
-        lenient().when(providerServiceRegistry.getProviderService("OpenAI")).thenReturn(mockProviderService);
-
-        // Mock the provider service to return a ChatCompletionResponse
+        // Mock the completion executor to return a ChatCompletionResponse
         ChatCompletionResponse mockResponse = ChatCompletionResponse.builder()
             .id("chatcmpl-100")
             .object("chat.completion")
@@ -106,7 +111,41 @@ class ChatCompletionControllerTest {
                 .cost(BigDecimal.valueOf(0.001))
                 .build())
             .build();
-        lenient().when(mockProviderService.callCompletion(any(ChatCompletionRequest.class), eq(aiRequest))).thenReturn(mockResponse);
+        lenient().when(completionExecutor.callCompletion(any(ChatCompletionRequest.class), eq(aiRequest))).thenReturn(Mono.just(mockResponse));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReturnDeferredResponse_whenNonStreamingRequest() {
+        // Given
+        ChatCompletionRequest request = createValidRequest("PRICE");
+        when(routingService.routeRequest(eq("test-user"), eq(AiRequest.RoutingStrategy.PRICE),
+                eq("Hello, how are you?"), eq(100), eq(null))).thenReturn(aiRequest);
+
+        // When
+        Object result = controller.createChatCompletion(request, authentication, false);
+
+        // Then
+        assertThat(result).isInstanceOf(Mono.class);
+        ResponseEntity<ChatCompletionResponse> response = ((Mono<ResponseEntity<ChatCompletionResponse>>) result).block();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getId()).isEqualTo("chatcmpl-100");
+    }
+
+    @Test
+    void shouldRejectWithoutRouting_whenUserExceedsRequestRate() {
+        // Given - the user's one request per second is already spent
+        ChatCompletionRequest request = createValidRequest("PRICE");
+        when(routingService.routeRequest(eq("test-user"), eq(AiRequest.RoutingStrategy.PRICE),
+                eq("Hello, how are you?"), eq(100), eq(null))).thenReturn(aiRequest);
+        controller.createChatCompletion(request, authentication, false);
+
+        // When & Then
+        assertThatThrownBy(() -> controller.createChatCompletion(request, authentication, false))
+            .isInstanceOf(RateLimitExceededException.class)
+            .hasMessage("Rate limit of 1 requests per second exceeded for user test-user");
+        verify(routingService).routeRequest(eq("test-user"), eq(AiRequest.RoutingStrategy.PRICE),
+                eq("Hello, how are you?"), eq(100), eq(null));
     }
 
     /*@Test
@@ -117,7 +156,7 @@ class ChatCompletionControllerTest {
                 eq("Hello, how are you?"), eq(100), eq(null))).thenReturn(aiRequest);
 
         // When
-        ResponseEntity<ChatCompletionResponse> response = controller.createChatCompletion(request, authentication);
+        ResponseEntity<ChatCompletionResponse> response = controller.createChatCompletion(request, authentication, false);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -162,7 +201,7 @@ class ChatCompletionControllerTest {
 
         // When
         @SuppressWarnings("unchecked")
-        ResponseEntity<ChatCompletionResponse> response = (ResponseEntity<ChatCompletionResponse>) controller.createChatCompletion(request, authentication);
+        ResponseEntity<ChatCompletionResponse> response = (ResponseEntity<ChatCompletionResponse>) controller.createChatCompletion(request, authentication, false);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -180,7 +219,7 @@ class ChatCompletionControllerTest {
         doThrow(new IllegalArgumentException("Messages are required")).when(validator).validate(request);
 
         // When & Then
-        assertThatThrownBy(() -> controller.createChatCompletion(request, authentication))
+        assertThatThrownBy(() -> controller.createChatCompletion(request, authentication, false))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Messages are required");
     }
@@ -197,7 +236,7 @@ class ChatCompletionControllerTest {
         doThrow(new IllegalArgumentException("Messages are required")).when(validator).validate(request);
 
         // When & Then
-        assertThatThrownBy(() -> controller.createChatCompletion(request, authentication))
+        assertThatThrownBy(() -> controller.createChatCompletion(request, authentication, false))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Messages are required");
     }
@@ -214,7 +253,7 @@ class ChatCompletionControllerTest {
         doThrow(new IllegalArgumentException("Routing strategy is required")).when(validator).validate(request);
 
         // When & Then
-        assertThatThrownBy(() -> controller.createChatCompletion(request, authentication))
+        assertThatThrownBy(() -> controller.createChatCompletion(request, authentication, false))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Routing strategy is required");
     }
@@ -231,7 +270,7 @@ class ChatCompletionControllerTest {
         doThrow(new IllegalArgumentException("Routing strategy is required")).when(validator).validate(request);
 
         // When & Then
-        assertThatThrownBy(() -> controller.createChatCompletion(request, authentication))
+        assertThatThrownBy(() -> controller.createChatCompletion(request, authentication, false))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Routing strategy is required");
     }
@@ -248,7 +287,7 @@ class ChatCompletionControllerTest {
         doThrow(new IllegalArgumentException("Routing strategy is required")).when(validator).validate(request);
 
         // When & Then
-        assertThatThrownBy(() -> controller.createChatCompletion(request, authentication))
+        assertThatThrownBy(() -> controller.createChatCompletion(request, authentication, false))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Routing strategy is required");
     }
@@ -274,7 +313,7 @@ class ChatCompletionControllerTest {
 
         // When
         @SuppressWarnings("unchecked")
-        ResponseEntity<ChatCompletionResponse> response = (ResponseEntity<ChatCompletionResponse>) controller.createChatCompletion(request, authentication);
+        ResponseEntity<ChatCompletionResponse> response = (ResponseEntity<ChatCompletionResponse>) controller.createChatCompletion(request, authentication, false);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -293,7 +332,7 @@ class ChatCompletionControllerTest {
 
         // When
         @SuppressWarnings("unchecked")
-        ResponseEntity<ChatCompletionResponse> response = (ResponseEntity<ChatCompletionResponse>) controller.createChatCompletion(request, authentication);
+        ResponseEntity<ChatCompletionResponse> response = (ResponseEntity<ChatCompletionResponse>) controller.createChatCompletion(request, authentication, false);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -311,7 +350,7 @@ class ChatCompletionControllerTest {
                 eq("Hello"), eq(0), eq(null))).thenReturn(aiRequest);
 
         // When
-        ResponseEntity<ChatCompletionResponse> response = controller.createChatCompletion(request, authentication);
+        ResponseEntity<ChatCompletionResponse> response = controller.createChatCompletion(request, authentication, false);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -329,7 +368,7 @@ class ChatCompletionControllerTest {
                 eq("Hello"), eq(-1), eq(null))).thenReturn(aiRequest);
 
         // When
-        ResponseEntity<ChatCompletionResponse> response = controller.createChatCompletion(request, authentication);
+        ResponseEntity<ChatCompletionResponse> response = controller.createChatCompletion(request, authentication, false);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -347,7 +386,7 @@ class ChatCompletionControllerTest {
                 eq("Hello"), eq(10000), eq(null))).thenReturn(aiRequest);
 
         // When
-        ResponseEntity<ChatCompletionResponse> response = controller.createChatCompletion(request, authentication);
+        ResponseEntity<ChatCompletionResponse> response = controller.createChatCompletion(request, authentication, false);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -365,7 +404,7 @@ class ChatCompletionControllerTest {
                 eq(""), eq(100), eq(null))).thenReturn(aiRequest);
 
         // When
-        ResponseEntity<ChatCompletionResponse> response = controller.createChatCompletion(request, authentication);
+        ResponseEntity<ChatCompletionResponse> response = controller.createChatCompletion(request, authentication, false);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -384,7 +423,7 @@ class ChatCompletionControllerTest {
                 eq(longMessage), eq(100), eq(null))).thenReturn(aiRequest);
 
         // When
-        ResponseEntity<ChatCompletionResponse> response = controller.createChatCompletion(request, authentication);
+        ResponseEntity<ChatCompletionResponse> response = controller.createChatCompletion(request, authentication, false);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
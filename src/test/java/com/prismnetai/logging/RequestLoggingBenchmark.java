@@ -0,0 +1,163 @@
+package com.prismnetai.logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+
+/**
+ * Compares the logging done for one chat completion the previous way (every routing and provider
+ * step at INFO with eagerly built arguments, written by a synchronous file appender) with the
+ * current setup (steps at DEBUG with lazy arguments, one SAMPLED INFO summary kept 1 in 10, written
+ * through an async appender). Results are requests per second of the logging path alone, on eight
+ * threads, not end-to-end HTTP throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RequestLoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n";
+    private static final List<String> PROVIDERS = List.of("OpenAI", "Anthropic", "Mistral", "Cohere");
+
+    private LoggerContext legacyContext;
+    private LoggerContext currentContext;
+    private Logger legacyLog;
+    private Logger currentLog;
+    private File logDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logDirectory = Files.createTempDirectory("request-logging").toFile();
+
+        legacyContext = new LoggerContext();
+        legacyContext.getLogger(Logger.ROOT_LOGGER_NAME)
+            .addAppender(fileAppender(legacyContext, "legacy.log"));
+        legacyLog = legacyContext.getLogger("com.prismnetai.service.RoutingService");
+
+        currentContext = new LoggerContext();
+        SamplingTurboFilter samplingFilter = new SamplingTurboFilter();
+        samplingFilter.setRate(10);
+        samplingFilter.start();
+        currentContext.addTurboFilter(samplingFilter);
+        AsyncAppender asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(currentContext);
+        asyncAppender.setQueueSize(8192);
+        asyncAppender.setDiscardingThreshold(0);
+        asyncAppender.setNeverBlock(true);
+        asyncAppender.addAppender(fileAppender(currentContext, "current.log"));
+        asyncAppender.start();
+        currentContext.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(asyncAppender);
+        currentLog = currentContext.getLogger("com.prismnetai.service.RoutingService");
+
+        legacyContext.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(ch.qos.logback.classic.Level.INFO);
+        currentContext.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(ch.qos.logback.classic.Level.INFO);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        legacyContext.stop();
+        currentContext.stop();
+        File[] files = logDirectory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        logDirectory.delete();
+    }
+
+    @Benchmark
+    public void legacyRequestLogging() {
+        double score = 0.8125;
+        legacyLog.info("RoutingService.routeRequest() - Routing request for user: {}, strategy: {}", "user-1", "AUTO");
+        legacyLog.info("AutoRoutingStrategy.selectModel() - Evaluating {} available providers: {}",
+            PROVIDERS.size(), PROVIDERS.stream().map(String::toUpperCase).toList());
+        for (String provider : PROVIDERS) {
+            legacyLog.info("AutoRoutingStrategy.calculateModelScore() - Model {} score breakdown: price={}, total={}",
+                provider + "-model", String.format("%.3f", score), String.format("%.3f", score));
+        }
+        legacyLog.info("PriceRoutingStrategy.selectModel() - Selected cheapest model: {} with total cost per token: {}",
+            "gpt-4", new BigDecimal("0.00003").add(new BigDecimal("0.00006")));
+        legacyLog.info("OpenAiProviderService.callProvider() - OpenAI request payload: {}",
+            "{\"model\":\"gpt-4\",\"messages\":[{\"role\":\"user\",\"content\":\"Hello\"}],\"max_tokens\":100}");
+        legacyLog.info("OpenAiProviderService.callProvider() - Successfully received response for requestId: {}", 42L);
+        legacyLog.info("ChatCompletionController.createChatCompletion() - Request routed successfully - requestId: {}", 42L);
+    }
+
+    @Benchmark
+    public void currentRequestLogging() {
+        double score = 0.8125;
+        currentLog.debug("RoutingService.routeRequest() - Routing request for user: {}, strategy: {}", "user-1", "AUTO");
+        currentLog.atDebug()
+            .setMessage("AutoRoutingStrategy.selectModel() - Evaluating {} available providers: {}")
+            .addArgument(PROVIDERS::size)
+            .addArgument(() -> PROVIDERS.stream().map(String::toUpperCase).toList())
+            .log();
+        for (String provider : PROVIDERS) {
+            if (currentLog.isTraceEnabled()) {
+                currentLog.trace("AutoRoutingStrategy.calculateModelScore() - Model {} score breakdown: price={}, total={}",
+                    provider + "-model", String.format("%.3f", score), String.format("%.3f", score));
+            }
+        }
+        currentLog.atDebug()
+            .setMessage("PriceRoutingStrategy.selectModel() - Selected cheapest model: {} with total cost per token: {}")
+            .addArgument("gpt-4")
+            .addArgument(() -> new BigDecimal("0.00003").add(new BigDecimal("0.00006")))
+            .log();
+        currentLog.info(LogMarkers.SAMPLED,
+            "OpenAiProviderService.callProvider() - Successfully received response for requestId: {}", 42L);
+        currentLog.info(LogMarkers.SAMPLED,
+            "ChatCompletionController.createChatCompletion() - Request routed successfully - requestId: {}", 42L);
+    }
+
+    private Appender<ILoggingEvent> fileAppender(LoggerContext context, String fileName) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setFile(new File(logDirectory, fileName).getPath());
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(RequestLoggingBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
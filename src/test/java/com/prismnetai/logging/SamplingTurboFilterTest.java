@@ -0,0 +1,77 @@
+package com.prismnetai.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MarkerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+
+class SamplingTurboFilterTest {
+
+    private static final String FORMAT = "Request routed successfully - requestId: {}";
+
+    private SamplingTurboFilter filter;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        filter = new SamplingTurboFilter();
+        filter.setRate(4);
+        logger = new LoggerContext().getLogger(SamplingTurboFilterTest.class);
+    }
+
+    @Test
+    void shouldKeepOneInRate_whenEventIsMarkedSampled() {
+        // Given
+        int kept = 0;
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            if (filter.decide(LogMarkers.SAMPLED, logger, Level.INFO, FORMAT, null, null) == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+
+        // Then
+        assertThat(kept).isEqualTo(25);
+    }
+
+    @Test
+    void shouldCountEachStatementSeparately_whenFormatsDiffer() {
+        // When
+        FilterReply first = filter.decide(LogMarkers.SAMPLED, logger, Level.INFO, FORMAT, null, null);
+        FilterReply second = filter.decide(LogMarkers.SAMPLED, logger, Level.INFO, FORMAT, null, null);
+        FilterReply otherFirst = filter.decide(LogMarkers.SAMPLED, logger, Level.INFO, "Provider call completed", null, null);
+
+        // Then
+        assertThat(first).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(second).isEqualTo(FilterReply.DENY);
+        assertThat(otherFirst).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void shouldNotSample_whenEventIsUnmarkedOrWarning() {
+        // When / Then
+        for (int i = 0; i < 10; i++) {
+            assertThat(filter.decide(null, logger, Level.INFO, FORMAT, null, null)).isEqualTo(FilterReply.NEUTRAL);
+            assertThat(filter.decide(MarkerFactory.getMarker("OTHER"), logger, Level.INFO, FORMAT, null, null))
+                .isEqualTo(FilterReply.NEUTRAL);
+            assertThat(filter.decide(LogMarkers.SAMPLED, logger, Level.WARN, FORMAT, null, null)).isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+
+    @Test
+    void shouldNotSample_whenRateIsOne() {
+        // Given
+        filter.setRate(1);
+
+        // When / Then
+        for (int i = 0; i < 10; i++) {
+            assertThat(filter.decide(LogMarkers.SAMPLED, logger, Level.INFO, FORMAT, null, null)).isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.prismnetai.security;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.entity.ServiceApiKey;
+import com.prismnetai.repository.ServiceApiKeyRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyStoreTest {
+
+    @Mock
+    private ServiceApiKeyRepository serviceApiKeyRepository;
+
+    private ApiKeyHasher apiKeyHasher;
+    private ApiKeyStore apiKeyStore;
+
+    @BeforeEach
+    void setUp() {
+        apiKeyHasher = new ApiKeyHasher("test-hash-secret");
+        apiKeyStore = new ApiKeyStore(serviceApiKeyRepository, apiKeyHasher);
+    }
+
+    @Test
+    void shouldResolvePrincipal_whenKeyIsActive() {
+        // Given
+        when(serviceApiKeyRepository.findByIsActiveTrue())
+            .thenReturn(List.of(createKey(1L, "pk_live_alpha", "tenant-a", "PRICE,LATENCY", true)));
+        apiKeyStore.reload();
+
+        // When
+        ApiKeyPrincipal principal = apiKeyStore.authenticate("pk_live_alpha");
+
+        // Then
+        assertThat(principal.getName()).isEqualTo("tenant-a");
+        assertThat(principal.quota().keyId()).isEqualTo("service-key-1");
+        assertThat(principal.quota().requests().capacity()).isEqualTo(5);
+        assertThat(principal.allows(AiRequest.RoutingStrategy.PRICE)).isTrue();
+        assertThat(principal.allows(AiRequest.RoutingStrategy.THROUGHPUT)).isFalse();
+        assertThat(apiKeyStore.authenticate("pk_live_unknown")).isNull();
+    }
+
+    @Test
+    void shouldApplyRotationAndDeactivation_whenRefreshedIncrementally() {
+        // Given
+        when(serviceApiKeyRepository.findByIsActiveTrue()).thenReturn(List.of(
+            createKey(1L, "pk_live_alpha", "tenant-a", null, true),
+            createKey(2L, "pk_live_beta", "tenant-b", null, true)));
+        apiKeyStore.reload();
+        when(serviceApiKeyRepository.findByUpdatedAtGreaterThanEqual(any(LocalDateTime.class))).thenReturn(List.of(
+            createKey(1L, "pk_live_alpha_rotated", "tenant-a", null, true),
+            createKey(2L, "pk_live_beta", "tenant-b", null, false)));
+
+        // When
+        apiKeyStore.refresh();
+
+        // Then
+        assertThat(apiKeyStore.authenticate("pk_live_alpha")).isNull();
+        assertThat(apiKeyStore.authenticate("pk_live_alpha_rotated").getName()).isEqualTo("tenant-a");
+        assertThat(apiKeyStore.authenticate("pk_live_beta")).isNull();
+    }
+
+    @Test
+    void shouldRoundTripHash_whenStoredAsHex() {
+        // When
+        ApiKeyHasher.ApiKeyHash hash = apiKeyHasher.hash("pk_live_alpha");
+
+        // Then
+        assertThat(ApiKeyHasher.ApiKeyHash.fromHex(hash.toHex())).isEqualTo(hash);
+        assertThat(new ApiKeyHasher("another-secret").hash("pk_live_alpha")).isNotEqualTo(hash);
+    }
+
+    private ServiceApiKey createKey(Long id, String secret, String tenantId, String allowedStrategies, boolean active) {
+        ServiceApiKey key = new ServiceApiKey();
+        key.setId(id);
+        key.setName("key-" + id);
+        key.setTenantId(tenantId);
+        key.setKeyPrefix(secret.substring(0, 8));
+        key.setKeyHash(apiKeyHasher.hash(secret).toHex());
+        key.setRequestsPerSecond(5);
+        key.setAllowedStrategies(allowedStrategies);
+        key.setIsActive(active);
+        key.setUpdatedAt(LocalDateTime.now());
+        return key;
+    }
+}
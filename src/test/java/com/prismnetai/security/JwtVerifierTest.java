@@ -0,0 +1,91 @@
+package com.prismnetai.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+@ExtendWith(MockitoExtension.class)
+class JwtVerifierTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hmac-sha-256";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtVerifier jwtVerifier;
+
+    @BeforeEach
+    void setUp() {
+        jwtVerifier = new JwtVerifier(userDetailsService, SECRET, 100, 300);
+    }
+
+    @Test
+    void shouldVerifyOnceAndServeFromCache_whenTokenIsRepeated() {
+        // Given
+        String token = token("alice", SECRET, System.currentTimeMillis() + 60_000L);
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(user("alice"));
+
+        // When
+        UserDetails first = jwtVerifier.verify(token);
+        UserDetails second = jwtVerifier.verify(token);
+
+        // Then
+        assertThat(first.getUsername()).isEqualTo("alice");
+        assertThat(second).isSameAs(first);
+        verify(userDetailsService, times(1)).loadUserByUsername("alice");
+    }
+
+    @Test
+    void shouldRejectToken_whenSignatureIsInvalid() {
+        // Given
+        String token = token("alice", "another-secret-that-is-long-enough-for-hmac-sha", System.currentTimeMillis() + 60_000L);
+
+        // When & Then
+        assertThat(jwtVerifier.verify(token)).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void shouldRejectToken_whenExpired() {
+        // Given
+        String token = token("alice", SECRET, System.currentTimeMillis() - 60_000L);
+
+        // When & Then
+        assertThat(jwtVerifier.verify(token)).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    private static String token(String subject, String secret, long expiresAtMillis) {
+        return Jwts.builder()
+            .setSubject(subject)
+            .setExpiration(new Date(expiresAtMillis))
+            .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+    }
+
+    private static UserDetails user(String username) {
+        return User.builder()
+            .username(username)
+            .password("")
+            .authorities(Collections.emptyList())
+            .build();
+    }
+}
@@ -5,35 +5,61 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import static org.mockito.ArgumentMatchers.any;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 
 import com.prismnetai.entity.AiRequest;
 import com.prismnetai.entity.Model;
 import com.prismnetai.entity.Provider;
 import com.prismnetai.repository.AiRequestRepository;
-import com.prismnetai.repository.ProviderRepository;
+import com.prismnetai.service.audit.RequestAuditWriter;
+import com.prismnetai.service.audit.RequestIdGenerator;
+import com.prismnetai.service.catalog.RoutingCatalog;
+import com.prismnetai.service.catalog.RoutingCatalogService;
+import com.prismnetai.service.health.CircuitBreakerRegistry;
+import com.prismnetai.service.health.ProviderKeyPool;
+import com.prismnetai.service.health.ProviderQuotaTracker;
+import com.prismnetai.service.metrics.CallOutcome;
+import com.prismnetai.service.routing.PreferredModelRoutingStrategy;
 import com.prismnetai.service.routing.RoutingStrategy;
 
 @ExtendWith(MockitoExtension.class)
 class RoutingServiceTest {
 
     @Mock
-    private ProviderRepository providerRepository;
+    private RoutingCatalogService routingCatalogService;
 
     @Mock
     private AiRequestRepository aiRequestRepository;
 
+    @Mock
+    private RequestIdGenerator requestIdGenerator;
+
+    @Mock
+    private RequestAuditWriter requestAuditWriter;
+
+    @Spy
+    private CircuitBreakerRegistry circuitBreakerRegistry =
+        new CircuitBreakerRegistry(true, 0.5, 20, 100, 2, 30000, 30000, 5000, 1);
+
+    private final ProviderQuotaTracker providerQuotaTracker = new ProviderQuotaTracker(true, 0.05);
+
+    @Spy
+    private ProviderKeyPool providerKeyPool = new ProviderKeyPool(providerQuotaTracker, 600000, 10000);
+
     @Mock
     private Map<String, RoutingStrategy> routingStrategies;
 
@@ -74,14 +100,10 @@ class RoutingServiceTest {
         List<Provider> availableProviders = List.of(provider);
         Optional<Model> selectedModel = Optional.of(model);
 
-        when(providerRepository.findByIsActiveTrue()).thenReturn(availableProviders);
+        when(routingCatalogService.current()).thenReturn(catalogWith(availableProviders));
         when(routingStrategies.get("PRICE")).thenReturn(mockPriceStrategy);
         when(mockPriceStrategy.selectModel(availableProviders, userId, null)).thenReturn(selectedModel);
-        when(aiRequestRepository.save(any(AiRequest.class))).thenAnswer(invocation -> {
-            AiRequest req = invocation.getArgument(0);
-            req.setId(100L);
-            return req;
-        });
+        when(requestIdGenerator.nextId()).thenReturn(100L);
 
         // When
         AiRequest result = routingService.routeRequest(userId, strategy, prompt, maxTokens, null);
@@ -96,11 +118,13 @@ class RoutingServiceTest {
         assertThat(result.getSelectedProvider()).isEqualTo(provider);
         assertThat(result.getSelectedModel()).isEqualTo(model);
         assertThat(result.getStatus()).isEqualTo(AiRequest.RequestStatus.PENDING);
+        assertThat(result.getCreatedAt()).isNotNull();
 
-        verify(providerRepository).findByIsActiveTrue();
+        verify(routingCatalogService).current();
         verify(routingStrategies).get("PRICE");
         verify(mockPriceStrategy).selectModel(availableProviders, userId, null);
-        verify(aiRequestRepository).save(any(AiRequest.class));
+        verify(requestAuditWriter).recordCreated(result);
+        verifyNoInteractions(aiRequestRepository);
     }
 
     @Test
@@ -111,14 +135,14 @@ class RoutingServiceTest {
         String prompt = "Test prompt";
         Integer maxTokens = 100;
 
-        when(providerRepository.findByIsActiveTrue()).thenReturn(List.of());
+        when(routingCatalogService.current()).thenReturn(catalogWith(List.of()));
 
         // When & Then
         assertThatThrownBy(() -> routingService.routeRequest(userId, strategy, prompt, maxTokens, null))
                 .isInstanceOf(com.prismnetai.exception.RoutingException.class)
                 .hasMessage("No active providers available for routing");
 
-        verify(providerRepository).findByIsActiveTrue();
+        verify(routingCatalogService).current();
     }
 
     @Test
@@ -131,7 +155,7 @@ class RoutingServiceTest {
 
         List<Provider> availableProviders = List.of(provider);
 
-        when(providerRepository.findByIsActiveTrue()).thenReturn(availableProviders);
+        when(routingCatalogService.current()).thenReturn(catalogWith(availableProviders));
         when(routingStrategies.get("PRICE")).thenReturn(null);
 
         // When & Then
@@ -139,7 +163,7 @@ class RoutingServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Unknown routing strategy: PRICE");
 
-        verify(providerRepository).findByIsActiveTrue();
+        verify(routingCatalogService).current();
         verify(routingStrategies).get("PRICE");
     }
 
@@ -153,7 +177,7 @@ class RoutingServiceTest {
 
         List<Provider> availableProviders = List.of(provider);
 
-        when(providerRepository.findByIsActiveTrue()).thenReturn(availableProviders);
+        when(routingCatalogService.current()).thenReturn(catalogWith(availableProviders));
         when(routingStrategies.get("PRICE")).thenReturn(mockPriceStrategy);
         when(mockPriceStrategy.selectModel(availableProviders, userId, null)).thenReturn(Optional.empty());
 
@@ -162,7 +186,7 @@ class RoutingServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("No suitable model found for routing strategy: PRICE");
 
-        verify(providerRepository).findByIsActiveTrue();
+        verify(routingCatalogService).current();
         verify(routingStrategies).get("PRICE");
         verify(mockPriceStrategy).selectModel(availableProviders, userId, null);
     }
@@ -171,27 +195,27 @@ class RoutingServiceTest {
     void shouldReturnAvailableProviders_whenProvidersExist() {
         // Given
         List<Provider> expectedProviders = List.of(provider);
-        when(providerRepository.findByIsActiveTrue()).thenReturn(expectedProviders);
+        when(routingCatalogService.current()).thenReturn(catalogWith(expectedProviders));
 
         // When
         List<Provider> result = routingService.getAvailableProviders();
 
         // Then
         assertThat(result).isEqualTo(expectedProviders);
-        verify(providerRepository).findByIsActiveTrue();
+        verify(routingCatalogService).current();
     }
 
     @Test
     void shouldReturnEmptyList_whenNoProvidersAvailable() {
         // Given
-        when(providerRepository.findByIsActiveTrue()).thenReturn(List.of());
+        when(routingCatalogService.current()).thenReturn(catalogWith(List.of()));
 
         // When
         List<Provider> result = routingService.getAvailableProviders();
 
         // Then
         assertThat(result).isEmpty();
-        verify(providerRepository).findByIsActiveTrue();
+        verify(routingCatalogService).current();
     }
 
     @Test
@@ -234,14 +258,10 @@ class RoutingServiceTest {
         List<Provider> availableProviders = List.of(provider);
         Optional<Model> selectedModel = Optional.of(model);
 
-        when(providerRepository.findByIsActiveTrue()).thenReturn(availableProviders);
+        when(routingCatalogService.current()).thenReturn(catalogWith(availableProviders));
         when(routingStrategies.get("PRICE")).thenReturn(mockPriceStrategy);
         when(mockPriceStrategy.selectModel(availableProviders, userId, null)).thenReturn(selectedModel);
-        when(aiRequestRepository.save(any(AiRequest.class))).thenAnswer(invocation -> {
-            AiRequest req = invocation.getArgument(0);
-            req.setId(100L);
-            return req;
-        });
+        when(requestIdGenerator.nextId()).thenReturn(100L);
 
         // When
         AiRequest result = routingService.routeRequest(userId, strategy, prompt, maxTokens, null);
@@ -262,14 +282,10 @@ class RoutingServiceTest {
         List<Provider> availableProviders = List.of(provider);
         Optional<Model> selectedModel = Optional.of(model);
 
-        when(providerRepository.findByIsActiveTrue()).thenReturn(availableProviders);
+        when(routingCatalogService.current()).thenReturn(catalogWith(availableProviders));
         when(routingStrategies.get("PRICE")).thenReturn(mockPriceStrategy);
         when(mockPriceStrategy.selectModel(availableProviders, userId, null)).thenReturn(selectedModel);
-        when(aiRequestRepository.save(any(AiRequest.class))).thenAnswer(invocation -> {
-            AiRequest req = invocation.getArgument(0);
-            req.setId(100L);
-            return req;
-        });
+        when(requestIdGenerator.nextId()).thenReturn(100L);
 
         // When
         AiRequest result = routingService.routeRequest(userId, strategy, prompt, maxTokens, null);
@@ -279,6 +295,135 @@ class RoutingServiceTest {
         assertThat(result.getPrompt()).isEqualTo(prompt);
     }
 
+    @Test
+    void shouldLeaveOutProvider_whenItsCircuitBreakerIsOpen() {
+        // Given - two consecutive connection failures open OpenAI's breaker
+        Provider anthropic = createProvider(2L, "Anthropic");
+        Model claude = createModel(3L, anthropic, "claude-3-haiku");
+        circuitBreakerRegistry.record(failedCall(model));
+        circuitBreakerRegistry.record(failedCall(model));
+
+        when(routingCatalogService.current()).thenReturn(catalogWith(List.of(provider, anthropic)));
+        when(routingStrategies.get("PRICE")).thenReturn(mockPriceStrategy);
+        when(mockPriceStrategy.selectModel(List.of(anthropic), "test-user", null)).thenReturn(Optional.of(claude));
+        when(requestIdGenerator.nextId()).thenReturn(100L);
+
+        // When
+        AiRequest result = routingService.routeRequest("test-user", AiRequest.RoutingStrategy.PRICE, "Test prompt", 100, null);
+
+        // Then
+        assertThat(result.getSelectedModel()).isEqualTo(claude);
+    }
+
+    @Test
+    void shouldRouteToNextRankedModel_whenSelectedModelsCircuitBreakerIsOpen() {
+        // Given - the only provider is ejected too, so routing fails open to it
+        Model gpt35 = createModel(2L, provider, "gpt-3.5-turbo");
+        circuitBreakerRegistry.record(failedCall(model));
+        circuitBreakerRegistry.record(failedCall(model));
+        List<Provider> availableProviders = List.of(provider);
+
+        when(routingCatalogService.current()).thenReturn(catalogWith(availableProviders));
+        when(routingStrategies.get("PRICE")).thenReturn(mockPriceStrategy);
+        when(mockPriceStrategy.selectModel(availableProviders, "test-user", null)).thenReturn(Optional.of(model));
+        when(mockPriceStrategy.rankModels(availableProviders, "test-user", null)).thenReturn(Stream.of(model, gpt35));
+        when(requestIdGenerator.nextId()).thenReturn(100L);
+
+        // When
+        AiRequest result = routingService.routeRequest("test-user", AiRequest.RoutingStrategy.PRICE, "Test prompt", 100, null);
+
+        // Then
+        assertThat(result.getSelectedModel()).isEqualTo(gpt35);
+    }
+
+    @Test
+    void shouldLeaveOutProvider_whenItsUpstreamQuotaIsNearlyExhausted() {
+        // Given - OpenAI reported 2 of 1000 requests left in the current minute
+        Provider anthropic = createProvider(2L, "Anthropic");
+        Model claude = createModel(3L, anthropic, "claude-3-haiku");
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("x-ratelimit-limit-requests", "1000");
+        headers.add("x-ratelimit-remaining-requests", "2");
+        headers.add("x-ratelimit-reset-requests", "1m0s");
+        providerQuotaTracker.record(provider.getApiKey(), headers);
+
+        when(routingCatalogService.current()).thenReturn(catalogWith(List.of(provider, anthropic)));
+        when(routingStrategies.get("PRICE")).thenReturn(mockPriceStrategy);
+        when(mockPriceStrategy.selectModel(List.of(anthropic), "test-user", null)).thenReturn(Optional.of(claude));
+        when(requestIdGenerator.nextId()).thenReturn(100L);
+
+        // When
+        AiRequest result = routingService.routeRequest("test-user", AiRequest.RoutingStrategy.PRICE, "Test prompt", 100, null);
+
+        // Then
+        assertThat(result.getSelectedModel()).isEqualTo(claude);
+    }
+
+    @Test
+    void shouldRankOnlyModelsOnOtherProviders_whenRankingAlternatives() {
+        // Given - the strategy ranks a second model of the primary's provider ahead of the alternative
+        Provider anthropic = createProvider(2L, "Anthropic");
+        Model gpt35 = createModel(2L, provider, "gpt-3.5-turbo");
+        Model claude = createModel(3L, anthropic, "claude-3-haiku");
+        List<Provider> availableProviders = List.of(provider, anthropic);
+
+        when(routingCatalogService.current()).thenReturn(catalogWith(availableProviders));
+        when(routingStrategies.get("PRICE")).thenReturn(mockPriceStrategy);
+        when(mockPriceStrategy.rankModels(availableProviders, "test-user", "gpt-4")).thenReturn(Stream.of(model, gpt35, claude));
+
+        // When
+        List<Model> alternatives = routingService.rankAlternatives(savedRequest).toList();
+
+        // Then
+        assertThat(alternatives).containsExactly(claude);
+    }
+
+    @Test
+    void shouldRankSameModelOnOtherProviders_whenPreferredModelRequestFailsOver() {
+        // Given - gpt-4 is served by the primary's provider and by Azure
+        Provider azure = createProvider(2L, "Azure");
+        Model azureGpt4 = createModel(2L, azure, "gpt-4");
+        Model claude = createModel(3L, createProvider(3L, "Anthropic"), "claude-3-haiku");
+        List<Provider> availableProviders = List.of(provider, azure, claude.getProvider());
+        savedRequest.setRoutingStrategy(AiRequest.RoutingStrategy.PREFERRED_MODEL);
+
+        when(routingCatalogService.current())
+            .thenReturn(RoutingCatalog.of(1L, availableProviders, List.of(model, azureGpt4, claude), List.of()));
+        when(routingStrategies.get("PREFERRED_MODEL")).thenReturn(new PreferredModelRoutingStrategy(routingCatalogService));
+
+        // When
+        List<Model> alternatives = routingService.rankAlternatives(savedRequest).toList();
+
+        // Then
+        assertThat(alternatives).containsExactly(azureGpt4);
+    }
+
+    @Test
+    void shouldQueueAlternateRequestWithItsOwnId_whenRoutingAlternate() {
+        // Given
+        Model claude = createModel(3L, createProvider(2L, "Anthropic"), "claude-3-haiku");
+        when(requestIdGenerator.nextId()).thenReturn(101L);
+
+        // When
+        AiRequest alternate = routingService.routeAlternate(savedRequest, claude);
+
+        // Then
+        assertThat(alternate.getId()).isEqualTo(101L);
+        assertThat(alternate.getUserId()).isEqualTo("test-user");
+        assertThat(alternate.getPrompt()).isEqualTo("Test prompt");
+        assertThat(alternate.getSelectedModel()).isEqualTo(claude);
+        verify(requestAuditWriter).recordCreated(alternate);
+    }
+
+    private CallOutcome failedCall(Model failedModel) {
+        return new CallOutcome(failedModel.getProvider().getId(), failedModel.getId(), false, -1L, 100L, 0L, false, 0,
+                               System.currentTimeMillis());
+    }
+
+    private RoutingCatalog catalogWith(List<Provider> providers) {
+        return RoutingCatalog.of(1L, providers, List.of(model), List.of());
+    }
+
     private Provider createProvider(Long id, String name) {
         Provider provider = new Provider();
         provider.setId(id);
@@ -0,0 +1,265 @@
+package com.prismnetai.service.audit;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.entity.Model;
+import com.prismnetai.entity.Provider;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@ExtendWith(MockitoExtension.class)
+class RequestAuditWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private RequestAuditWriter requestAuditWriter;
+    private Provider provider;
+    private Model model;
+
+    @BeforeEach
+    void setUp() {
+        requestAuditWriter = new RequestAuditWriter(jdbcTemplate, 16, 8);
+        provider = createProvider(1L, "OpenAI");
+        model = createModel(10L, provider, "gpt-4");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFoldCompletionIntoInsert_whenBothArePending() {
+        // Given
+        AiRequest aiRequest = createRequest(100L);
+        requestAuditWriter.recordCreated(aiRequest);
+        requestAuditWriter.recordCompletion(RequestAuditWriter.completed(aiRequest, 10L, 20L, 350L));
+
+        // When
+        requestAuditWriter.flush();
+
+        // Then
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(RequestAuditWriter.INSERT_REQUEST_SQL), rows.capture());
+        verify(jdbcTemplate, never()).batchUpdate(eq(RequestAuditWriter.UPDATE_COMPLETION_SQL), anyList());
+        Object[] row = rows.getValue().get(0);
+        assertThat(rows.getValue()).hasSize(1);
+        assertThat(row[0]).isEqualTo(100L);
+        assertThat(row[1]).isEqualTo("test-user");
+        assertThat(row[6]).isEqualTo(1L);
+        assertThat(row[7]).isEqualTo(10L);
+        assertThat(row[8]).isEqualTo("COMPLETED");
+        assertThat(row[9]).isEqualTo(30);
+        assertThat((BigDecimal) row[10]).isEqualByComparingTo("0.05");
+        assertThat(row[11]).isEqualTo(350L);
+        assertThat(row[14]).isNotNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldBatchUpdates_whenRequestRowWasAlreadyWritten() {
+        // Given
+        AiRequest first = createRequest(100L);
+        AiRequest second = createRequest(101L);
+        requestAuditWriter.recordCreated(first);
+        requestAuditWriter.recordCreated(second);
+        requestAuditWriter.flush();
+
+        requestAuditWriter.recordCompletion(RequestAuditWriter.completed(first, 10L, 20L, 350L));
+        requestAuditWriter.recordCompletion(RequestAuditWriter.failed(second, new RuntimeException("Upstream timeout"), 30000L));
+
+        // When
+        requestAuditWriter.flush();
+
+        // Then
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(RequestAuditWriter.UPDATE_COMPLETION_SQL), rows.capture());
+        assertThat(rows.getValue()).hasSize(2);
+        assertThat(rows.getValue().get(0)[0]).isEqualTo("COMPLETED");
+        assertThat(rows.getValue().get(0)[6]).isEqualTo(100L);
+        assertThat(rows.getValue().get(1)[0]).isEqualTo("FAILED");
+        assertThat(rows.getValue().get(1)[4]).isEqualTo("Upstream timeout");
+        assertThat(rows.getValue().get(1)[6]).isEqualTo(101L);
+    }
+
+    @Test
+    void shouldNotWrite_whenNothingWasQueued() {
+        // When
+        requestAuditWriter.flush();
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRetryRows_whenFlushFails() {
+        // Given
+        requestAuditWriter.recordCreated(createRequest(100L));
+        when(jdbcTemplate.batchUpdate(eq(RequestAuditWriter.INSERT_REQUEST_SQL), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .thenReturn(new int[] {1});
+        requestAuditWriter.flush();
+
+        // When
+        requestAuditWriter.flush();
+
+        // Then
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(RequestAuditWriter.INSERT_REQUEST_SQL), rows.capture());
+        assertThat(rows.getAllValues().get(1)).hasSize(1);
+        assertThat(rows.getAllValues().get(1).get(0)[0]).isEqualTo(100L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldOverwriteCompletion_whenRetriedRowWasAlreadyInserted() {
+        // Given - the insert batch lands but the update batch fails, so the inserted row is retained
+        AiRequest first = createRequest(100L);
+        AiRequest second = createRequest(101L);
+        requestAuditWriter.recordCreated(first);
+        requestAuditWriter.flush();
+        requestAuditWriter.recordCreated(second);
+        requestAuditWriter.recordCompletion(RequestAuditWriter.completed(first, 10L, 20L, 350L));
+        when(jdbcTemplate.batchUpdate(eq(RequestAuditWriter.INSERT_REQUEST_SQL), anyList())).thenReturn(new int[] {1});
+        when(jdbcTemplate.batchUpdate(eq(RequestAuditWriter.UPDATE_COMPLETION_SQL), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .thenReturn(new int[] {1});
+        requestAuditWriter.flush();
+        requestAuditWriter.recordCompletion(RequestAuditWriter.completed(second, 5L, 15L, 200L));
+
+        // When
+        requestAuditWriter.flush();
+
+        // Then - the retried insert carries the completion and overwrites the pending row
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(3)).batchUpdate(eq(RequestAuditWriter.INSERT_REQUEST_SQL), rows.capture());
+        Object[] retried = rows.getAllValues().get(2).get(0);
+        assertThat(retried[0]).isEqualTo(101L);
+        assertThat(retried[8]).isEqualTo("COMPLETED");
+        assertThat(retried[9]).isEqualTo(20);
+        assertThat(RequestAuditWriter.INSERT_REQUEST_SQL)
+                .contains("status = VALUES(status)")
+                .contains("completed_at = VALUES(completed_at)");
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(RequestAuditWriter.UPDATE_COMPLETION_SQL), anyList());
+    }
+
+    @Test
+    void shouldInsertOnCallingThread_whenQueueIsFullAndCallerMayBlock() {
+        // Given
+        for (long id = 1; id <= 16; id++) {
+            requestAuditWriter.recordCreated(createRequest(id));
+        }
+        assertThat(requestAuditWriter.queuedCount()).isEqualTo(16);
+
+        // When
+        requestAuditWriter.recordCreated(createRequest(17L));
+
+        // Then - the row is written inline; the queue is left to the scheduled flush
+        verify(jdbcTemplate).update(eq(RequestAuditWriter.INSERT_REQUEST_SQL), any(Object[].class));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        assertThat(requestAuditWriter.queuedCount()).isEqualTo(16);
+        assertThat(requestAuditWriter.overflowCount()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldOverflowWithoutWritingAndKeepOrder_whenQueueIsFullOnNonBlockingThread() {
+        // Given
+        for (long id = 1; id <= 16; id++) {
+            requestAuditWriter.recordCreated(createRequest(id));
+        }
+        AiRequest alternate = createRequest(17L);
+
+        // When - an alternate is routed and completes on a non-blocking thread
+        Mono.fromRunnable(() -> {
+            requestAuditWriter.recordCreated(alternate);
+            requestAuditWriter.recordCompletion(RequestAuditWriter.completed(alternate, 10L, 20L, 350L));
+        }).subscribeOn(Schedulers.parallel()).block();
+
+        // Then - nothing is written on that thread, and the flush inserts the overflow row with its completion
+        verifyNoInteractions(jdbcTemplate);
+        assertThat(requestAuditWriter.overflowCount()).isEqualTo(2);
+
+        requestAuditWriter.flush();
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(3)).batchUpdate(eq(RequestAuditWriter.INSERT_REQUEST_SQL), rows.capture());
+        verify(jdbcTemplate, never()).batchUpdate(eq(RequestAuditWriter.UPDATE_COMPLETION_SQL), anyList());
+        Object[] overflowRow = rows.getAllValues().get(2).get(0);
+        assertThat(overflowRow[0]).isEqualTo(17L);
+        assertThat(overflowRow[8]).isEqualTo("COMPLETED");
+        assertThat(requestAuditWriter.overflowCount()).isZero();
+    }
+
+    @Test
+    void shouldTruncateErrorMessage_whenBuildingFailedCompletion() {
+        // When
+        RequestCompletion completion = RequestAuditWriter.failed(createRequest(100L), new RuntimeException("x".repeat(600)), 10L);
+
+        // Then
+        assertThat(completion.status()).isEqualTo(AiRequest.RequestStatus.FAILED);
+        assertThat(completion.errorMessage()).hasSize(500);
+        assertThat(completion.tokensUsed()).isNull();
+    }
+
+    private AiRequest createRequest(Long id) {
+        AiRequest aiRequest = new AiRequest();
+        aiRequest.setId(id);
+        aiRequest.setUserId("test-user");
+        aiRequest.setRoutingStrategy(AiRequest.RoutingStrategy.PRICE);
+        aiRequest.setPrompt("Test prompt");
+        aiRequest.setMaxTokens(100);
+        aiRequest.setSelectedProvider(provider);
+        aiRequest.setSelectedModel(model);
+        aiRequest.setStatus(AiRequest.RequestStatus.PENDING);
+        aiRequest.setCreatedAt(LocalDateTime.now());
+        return aiRequest;
+    }
+
+    private Provider createProvider(Long id, String name) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        provider.setName(name);
+        provider.setBaseUrl("https://api." + name.toLowerCase() + ".com/v1");
+        provider.setApiKey("test-key-" + name.toLowerCase());
+        provider.setIsActive(true);
+        provider.setCreatedAt(LocalDateTime.now());
+        provider.setUpdatedAt(LocalDateTime.now());
+        return provider;
+    }
+
+    private Model createModel(Long id, Provider provider, String modelId) {
+        Model model = new Model();
+        model.setId(id);
+        model.setProvider(provider);
+        model.setModelId(modelId);
+        model.setName(modelId + " Model");
+        model.setContextWindow(4096);
+        model.setInputPricing(BigDecimal.valueOf(0.001));
+        model.setOutputPricing(BigDecimal.valueOf(0.002));
+        model.setIsActive(true);
+        model.setCreatedAt(LocalDateTime.now());
+        model.setUpdatedAt(LocalDateTime.now());
+        return model;
+    }
+}
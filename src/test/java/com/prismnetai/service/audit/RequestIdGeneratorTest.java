@@ -0,0 +1,80 @@
+package com.prismnetai.service.audit;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+class RequestIdGeneratorTest {
+
+    @Test
+    void shouldGenerateStrictlyIncreasingIds_whenCalledInBursts() {
+        // Given
+        RequestIdGenerator generator = new RequestIdGenerator(7L);
+        long previous = 0L;
+
+        // When & Then - well over the 8192 ids a single millisecond can hold
+        for (int i = 0; i < 50_000; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void shouldEncodeNodeIdAndTimestamp() {
+        // Given
+        RequestIdGenerator generator = new RequestIdGenerator(42L);
+        long before = System.currentTimeMillis();
+
+        // When
+        long id = generator.nextId();
+
+        // Then
+        assertThat(RequestIdGenerator.nodeIdOf(id)).isEqualTo(42L);
+        assertThat(RequestIdGenerator.timestampMillisOf(id)).isBetween(before, System.currentTimeMillis());
+    }
+
+    @Test
+    void shouldRejectNodeIdOutOfRange() {
+        // When & Then
+        assertThatThrownBy(() -> new RequestIdGenerator(RequestIdGenerator.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RequestIdGenerator(-1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldNotCollide_whenCalledConcurrently() throws InterruptedException {
+        // Given
+        RequestIdGenerator generator = new RequestIdGenerator(1L);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        int threads = 4;
+        int idsPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < idsPerThread; i++) {
+                    ids.add(generator.nextId());
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(ids).hasSize(threads * idsPerThread);
+    }
+}
@@ -0,0 +1,224 @@
+package com.prismnetai.service.cache;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.prismnetai.dto.ChatCompletionRequest;
+import com.prismnetai.dto.ChatCompletionResponse;
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.entity.Model;
+import com.prismnetai.entity.Provider;
+import com.prismnetai.exception.ProviderException;
+import com.prismnetai.service.metrics.ProviderCallMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@ExtendWith(MockitoExtension.class)
+class RequestCoalescerTest {
+
+    @Mock
+    private ProviderCallMetrics providerCallMetrics;
+
+    private RequestCoalescer requestCoalescer;
+    private Model gpt4;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        requestCoalescer = new RequestCoalescer(providerCallMetrics, new SimpleMeterRegistry(), true, false);
+        gpt4 = createModel(1L, createProvider(1L, "OpenAI"), "gpt-4");
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void shouldShareOneCall_whenIdenticalRequestsAreInFlight() {
+        // Given
+        Sinks.One<ChatCompletionResponse> upstream = Sinks.one();
+        ChatCompletionRequest request = createRequest("What is 2 + 2?", BigDecimal.ZERO);
+        AiRequest leader = createAiRequest(100L, "alice");
+        AiRequest follower = createAiRequest(101L, "alice");
+        List<ChatCompletionResponse> responses = new ArrayList<>();
+
+        // When
+        requestCoalescer.coalesce(request, leader, () -> countedCall(upstream.asMono())).subscribe(responses::add);
+        requestCoalescer.coalesce(request, follower, () -> countedCall(upstream.asMono())).subscribe(responses::add);
+        upstream.tryEmitValue(createResponse());
+
+        // Then
+        assertThat(calls).hasValue(1);
+        assertThat(responses).hasSize(2);
+        assertThat(responses.get(0).getId()).isEqualTo("chatcmpl-100");
+        assertThat(responses.get(1).getId()).isEqualTo("chatcmpl-101");
+        assertThat(responses.get(1).getRoutingInfo().getCoalesced()).isTrue();
+        assertThat(responses.get(1).getUsage().getCost()).isEqualByComparingTo(BigDecimal.ZERO);
+        verify(providerCallMetrics).recordCoalesced(eq(follower), anyLong());
+    }
+
+    @Test
+    void shouldStartNewCall_whenPreviousCallHasCompleted() {
+        // Given
+        ChatCompletionRequest request = createRequest("What is 2 + 2?", BigDecimal.ZERO);
+
+        // When
+        requestCoalescer.coalesce(request, createAiRequest(100L, "alice"), () -> countedCall(Mono.just(createResponse()))).block();
+        ChatCompletionResponse second = requestCoalescer.coalesce(request, createAiRequest(101L, "alice"),
+                                                                  () -> countedCall(Mono.just(createResponse()))).block();
+
+        // Then
+        assertThat(calls).hasValue(2);
+        assertThat(second.getRoutingInfo().getCoalesced()).isNull();
+    }
+
+    @Test
+    void shouldNotCoalesce_whenRequestsDifferOrAreSampled() {
+        // Given
+        Sinks.One<ChatCompletionResponse> upstream = Sinks.one();
+
+        // When
+        requestCoalescer.coalesce(createRequest("What is 2 + 2?", BigDecimal.ZERO), createAiRequest(100L, "alice"),
+                                  () -> countedCall(upstream.asMono())).subscribe();
+        requestCoalescer.coalesce(createRequest("What is 2 + 2?", BigDecimal.ZERO), createAiRequest(101L, "bob"),
+                                  () -> countedCall(upstream.asMono())).subscribe();
+        requestCoalescer.coalesce(createRequest("What is 2 + 2?", BigDecimal.valueOf(0.7)), createAiRequest(102L, "alice"),
+                                  () -> countedCall(upstream.asMono())).subscribe();
+        requestCoalescer.coalesce(createRequest("What is 2 + 2?", BigDecimal.valueOf(0.7)), createAiRequest(103L, "alice"),
+                                  () -> countedCall(upstream.asMono())).subscribe();
+
+        // Then
+        assertThat(calls).hasValue(4);
+    }
+
+    @Test
+    void shouldShareFailure_whenLeadingCallFails() {
+        // Given
+        Sinks.One<ChatCompletionResponse> upstream = Sinks.one();
+        ChatCompletionRequest request = createRequest("What is 2 + 2?", BigDecimal.ZERO);
+        AiRequest follower = createAiRequest(101L, "alice");
+        List<Throwable> errors = new ArrayList<>();
+        ProviderException failure = new ProviderException("Failed to communicate with OpenAI API");
+
+        // When
+        requestCoalescer.coalesce(request, createAiRequest(100L, "alice"), () -> countedCall(upstream.asMono()))
+            .subscribe(response -> { }, errors::add);
+        requestCoalescer.coalesce(request, follower, () -> countedCall(upstream.asMono()))
+            .subscribe(response -> { }, errors::add);
+        upstream.tryEmitError(failure);
+
+        // Then
+        assertThat(calls).hasValue(1);
+        assertThat(errors).containsExactly(failure, failure);
+        verify(providerCallMetrics).recordCoalescedFailure(eq(follower), anyLong(), eq(failure));
+    }
+
+    @Test
+    void shouldReplayEarlierChunks_whenStreamIsJoinedLate() {
+        // Given
+        Sinks.Many<String> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        ChatCompletionRequest request = createRequest("Tell me a story", BigDecimal.ZERO);
+        List<String> leaderChunks = new ArrayList<>();
+        List<String> followerChunks = new ArrayList<>();
+
+        // When
+        requestCoalescer.coalesceStream(request, createAiRequest(100L, "alice"), () -> {
+            calls.incrementAndGet();
+            return upstream.asFlux();
+        }).subscribe(leaderChunks::add);
+        upstream.tryEmitNext("chunk-1");
+        requestCoalescer.coalesceStream(request, createAiRequest(101L, "alice"), () -> {
+            calls.incrementAndGet();
+            return upstream.asFlux();
+        }).subscribe(followerChunks::add);
+        upstream.tryEmitNext("chunk-2");
+        upstream.tryEmitComplete();
+
+        // Then
+        assertThat(calls).hasValue(1);
+        assertThat(leaderChunks).containsExactly("chunk-1", "chunk-2");
+        assertThat(followerChunks).containsExactly("chunk-1", "chunk-2");
+    }
+
+    private Mono<ChatCompletionResponse> countedCall(Mono<ChatCompletionResponse> call) {
+        calls.incrementAndGet();
+        return call;
+    }
+
+    private ChatCompletionRequest createRequest(String content, BigDecimal temperature) {
+        ChatCompletionRequest request = new ChatCompletionRequest();
+        request.setMessages(List.of(new ChatCompletionRequest.ChatMessage("user", content)));
+        request.setTemperature(temperature);
+        return request;
+    }
+
+    private AiRequest createAiRequest(Long id, String userId) {
+        AiRequest aiRequest = new AiRequest();
+        aiRequest.setId(id);
+        aiRequest.setUserId(userId);
+        aiRequest.setSelectedProvider(gpt4.getProvider());
+        aiRequest.setSelectedModel(gpt4);
+        return aiRequest;
+    }
+
+    private ChatCompletionResponse createResponse() {
+        return ChatCompletionResponse.builder()
+            .id("chatcmpl-100")
+            .object("chat.completion")
+            .model("gpt-4")
+            .routingInfo(ChatCompletionResponse.RoutingInfo.builder()
+                .strategy("PRICE")
+                .provider("OpenAI")
+                .latencyMs(850L)
+                .build())
+            .choices(List.of(ChatCompletionResponse.ChatChoice.builder()
+                .index(0)
+                .message(ChatCompletionResponse.ChatMessage.builder().role("assistant").content("4").build())
+                .finishReason("stop")
+                .build()))
+            .usage(ChatCompletionResponse.Usage.builder()
+                .promptTokens(8)
+                .completionTokens(1)
+                .totalTokens(9)
+                .cost(BigDecimal.valueOf(0.0001))
+                .build())
+            .build();
+    }
+
+    private Provider createProvider(Long id, String name) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        provider.setName(name);
+        provider.setBaseUrl("https://api." + name.toLowerCase() + ".com/v1");
+        provider.setApiKey("test-key-" + name.toLowerCase());
+        provider.setIsActive(true);
+        provider.setCreatedAt(LocalDateTime.now());
+        provider.setUpdatedAt(LocalDateTime.now());
+        return provider;
+    }
+
+    private Model createModel(Long id, Provider provider, String modelId) {
+        Model model = new Model();
+        model.setId(id);
+        model.setProvider(provider);
+        model.setModelId(modelId);
+        model.setName(modelId + " Model");
+        model.setContextWindow(4096);
+        model.setInputPricing(BigDecimal.valueOf(0.001));
+        model.setOutputPricing(BigDecimal.valueOf(0.002));
+        model.setIsActive(true);
+        return model;
+    }
+}
@@ -0,0 +1,146 @@
+package com.prismnetai.service.cache;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prismnetai.dto.ChatCompletionRequest;
+import com.prismnetai.dto.ChatCompletionResponse;
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.entity.Model;
+import com.prismnetai.entity.Provider;
+
+class ResponseCacheTest {
+
+    private ResponseCache responseCache;
+    private Model gpt4;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ResponseCache(true, 300, 1 << 20, List.of(), List.of("opted-out-user"));
+        gpt4 = createModel(1L, createProvider(1L, "OpenAI"), "gpt-4");
+    }
+
+    @Test
+    void shouldProduceSameKey_whenRequestsAreIdentical() {
+        // When
+        ResponseCache.Key first = responseCache.keyFor(createRequest("What is 2 + 2?", BigDecimal.ZERO), createAiRequest(100L, "alice", gpt4));
+        ResponseCache.Key second = responseCache.keyFor(createRequest("What is 2 + 2?", new BigDecimal("0.0")), createAiRequest(101L, "alice", gpt4));
+
+        // Then
+        assertThat(first).isNotNull().isEqualTo(second);
+    }
+
+    @Test
+    void shouldProduceDifferentKeys_whenUserModelOrMessagesDiffer() {
+        // Given
+        ChatCompletionRequest request = createRequest("What is 2 + 2?", BigDecimal.ZERO);
+        Model claude = createModel(2L, createProvider(2L, "Anthropic"), "claude-3-haiku");
+
+        // When
+        ResponseCache.Key base = responseCache.keyFor(request, createAiRequest(100L, "alice", gpt4));
+        ResponseCache.Key otherUser = responseCache.keyFor(request, createAiRequest(101L, "bob", gpt4));
+        ResponseCache.Key otherModel = responseCache.keyFor(request, createAiRequest(102L, "alice", claude));
+        ResponseCache.Key otherPrompt = responseCache.keyFor(createRequest("What is 2 + 3?", BigDecimal.ZERO),
+                                                             createAiRequest(103L, "alice", gpt4));
+
+        // Then
+        assertThat(List.of(otherUser, otherModel, otherPrompt)).doesNotContain(base);
+    }
+
+    @Test
+    void shouldNotCache_whenRequestIsNotDeterministicOrUserOptedOut() {
+        // When & Then
+        assertThat(responseCache.keyFor(createRequest("What is 2 + 2?", BigDecimal.valueOf(0.7)),
+                                        createAiRequest(100L, "alice", gpt4))).isNull();
+        assertThat(responseCache.keyFor(createRequest("What is 2 + 2?", BigDecimal.ZERO),
+                                        createAiRequest(101L, "opted-out-user", gpt4))).isNull();
+    }
+
+    @Test
+    void shouldReturnCopyMarkedAsHit_whenResponseIsCached() {
+        // Given
+        AiRequest original = createAiRequest(100L, "alice", gpt4);
+        ResponseCache.Key key = responseCache.keyFor(createRequest("What is 2 + 2?", BigDecimal.ZERO), original);
+        responseCache.put(key, createResponse());
+
+        // When
+        ChatCompletionResponse hit = responseCache.get(key, createAiRequest(101L, "alice", gpt4));
+
+        // Then
+        assertThat(hit.getId()).isEqualTo("chatcmpl-101");
+        assertThat(hit.getRoutingInfo().getCacheHit()).isTrue();
+        assertThat(hit.getRoutingInfo().getProvider()).isEqualTo("OpenAI");
+        assertThat(hit.getUsage().getTotalTokens()).isEqualTo(12);
+        assertThat(hit.getUsage().getCost()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    private ChatCompletionRequest createRequest(String content, BigDecimal temperature) {
+        ChatCompletionRequest request = new ChatCompletionRequest();
+        request.setMessages(List.of(new ChatCompletionRequest.ChatMessage("user", content)));
+        request.setTemperature(temperature);
+        return request;
+    }
+
+    private AiRequest createAiRequest(Long id, String userId, Model model) {
+        AiRequest aiRequest = new AiRequest();
+        aiRequest.setId(id);
+        aiRequest.setUserId(userId);
+        aiRequest.setSelectedProvider(model.getProvider());
+        aiRequest.setSelectedModel(model);
+        return aiRequest;
+    }
+
+    private ChatCompletionResponse createResponse() {
+        return ChatCompletionResponse.builder()
+            .id("chatcmpl-100")
+            .object("chat.completion")
+            .model("gpt-4")
+            .routingInfo(ChatCompletionResponse.RoutingInfo.builder()
+                .strategy("PRICE")
+                .provider("OpenAI")
+                .latencyMs(850L)
+                .build())
+            .choices(List.of(ChatCompletionResponse.ChatChoice.builder()
+                .index(0)
+                .message(ChatCompletionResponse.ChatMessage.builder().role("assistant").content("4").build())
+                .finishReason("stop")
+                .build()))
+            .usage(ChatCompletionResponse.Usage.builder()
+                .promptTokens(11)
+                .completionTokens(1)
+                .totalTokens(12)
+                .cost(BigDecimal.valueOf(0.0004))
+                .build())
+            .build();
+    }
+
+    private Provider createProvider(Long id, String name) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        provider.setName(name);
+        provider.setBaseUrl("https://api." + name.toLowerCase() + ".com/v1");
+        provider.setApiKey("test-key-" + name.toLowerCase());
+        provider.setIsActive(true);
+        provider.setCreatedAt(LocalDateTime.now());
+        provider.setUpdatedAt(LocalDateTime.now());
+        return provider;
+    }
+
+    private Model createModel(Long id, Provider provider, String modelId) {
+        Model model = new Model();
+        model.setId(id);
+        model.setProvider(provider);
+        model.setModelId(modelId);
+        model.setName(modelId + " Model");
+        model.setContextWindow(4096);
+        model.setInputPricing(BigDecimal.valueOf(0.001));
+        model.setOutputPricing(BigDecimal.valueOf(0.002));
+        model.setIsActive(true);
+        return model;
+    }
+}
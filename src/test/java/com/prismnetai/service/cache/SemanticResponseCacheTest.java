@@ -0,0 +1,198 @@
+package com.prismnetai.service.cache;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prismnetai.dto.ChatCompletionRequest;
+import com.prismnetai.dto.ChatCompletionResponse;
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.entity.Model;
+import com.prismnetai.entity.Provider;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SemanticResponseCacheTest {
+
+    private static final String PROMPT = "My order 12345 has not arrived yet, where is it?";
+
+    private SimpleMeterRegistry meterRegistry;
+    private SemanticResponseCache semanticResponseCache;
+    private Model gpt4;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        semanticResponseCache = new SemanticResponseCache(new HashedNgramEmbedder(256), meterRegistry,
+                                                          true, 0.95, 3600, 100, 2, List.of("opted-out-user"));
+        gpt4 = createModel(1L, createProvider(1L, "OpenAI"), "gpt-4");
+    }
+
+    @Test
+    void shouldServeCachedResponse_whenPromptDiffersOnlyInCaseAndSpacing() {
+        // Given
+        AiRequest original = createAiRequest(100L, "alice", gpt4);
+        semanticResponseCache.put(semanticResponseCache.probe(createRequest(PROMPT), original), createResponse());
+        AiRequest repeat = createAiRequest(101L, "alice", gpt4);
+
+        // When
+        ChatCompletionResponse hit = semanticResponseCache.get(
+            semanticResponseCache.probe(createRequest("my order 12345 has not arrived yet,  where is it?"), repeat), repeat);
+
+        // Then
+        assertThat(hit.getId()).isEqualTo("chatcmpl-101");
+        assertThat(hit.getRoutingInfo().getCacheHit()).isTrue();
+        assertThat(hit.getUsage().getCost()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(meterRegistry.get("prismnet.cache.semantic.lookups").tag("result", "hit").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("prismnet.cache.semantic.saved_cost").counter().count()).isEqualTo(0.0004);
+    }
+
+    @Test
+    void shouldMiss_whenPromptIsBelowSimilarityThreshold() {
+        // Given - the same template with another order number is similar, but not similar enough
+        AiRequest original = createAiRequest(100L, "alice", gpt4);
+        semanticResponseCache.put(semanticResponseCache.probe(createRequest(PROMPT), original), createResponse());
+        AiRequest other = createAiRequest(101L, "alice", gpt4);
+
+        // When
+        ChatCompletionResponse result = semanticResponseCache.get(
+            semanticResponseCache.probe(createRequest("My order 67890 has not arrived yet, where is it?"), other), other);
+
+        // Then
+        assertThat(result).isNull();
+        assertThat(meterRegistry.get("prismnet.cache.semantic.lookups").tag("result", "miss").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldNotShareResponses_acrossUsersOrModels() {
+        // Given
+        semanticResponseCache.put(semanticResponseCache.probe(createRequest(PROMPT), createAiRequest(100L, "alice", gpt4)),
+                                  createResponse());
+        AiRequest otherUser = createAiRequest(101L, "bob", gpt4);
+        AiRequest otherModel = createAiRequest(102L, "alice", createModel(2L, gpt4.getProvider(), "gpt-4o"));
+
+        // When & Then
+        assertThat(semanticResponseCache.get(semanticResponseCache.probe(createRequest(PROMPT), otherUser), otherUser)).isNull();
+        assertThat(semanticResponseCache.get(semanticResponseCache.probe(createRequest(PROMPT), otherModel), otherModel)).isNull();
+        assertThat(semanticResponseCache.probe(createRequest(PROMPT), createAiRequest(103L, "opted-out-user", gpt4))).isNull();
+    }
+
+    @Test
+    void shouldNotShareResponses_acrossTemperatures() {
+        // Given - a sampled completion
+        AiRequest aiRequest = createAiRequest(100L, "alice", gpt4);
+        semanticResponseCache.put(semanticResponseCache.probe(createRequest(PROMPT), aiRequest), createResponse());
+        ChatCompletionRequest deterministic = createRequest(PROMPT);
+        deterministic.setTemperature(BigDecimal.ZERO);
+        ChatCompletionRequest sameTemperature = createRequest(PROMPT);
+        sameTemperature.setTemperature(new BigDecimal("0.70"));
+
+        // When & Then
+        assertThat(semanticResponseCache.get(semanticResponseCache.probe(deterministic, aiRequest), aiRequest)).isNull();
+        assertThat(semanticResponseCache.get(semanticResponseCache.probe(sameTemperature, aiRequest), aiRequest)).isNotNull();
+    }
+
+    @Test
+    void shouldOverwriteOldestEntry_whenScopeIsFull() {
+        // Given - two entries per scope
+        AiRequest aiRequest = createAiRequest(100L, "alice", gpt4);
+        semanticResponseCache.put(semanticResponseCache.probe(createRequest(PROMPT), aiRequest), createResponse());
+        semanticResponseCache.put(semanticResponseCache.probe(createRequest("How do I reset my password?"), aiRequest), createResponse());
+
+        // When
+        semanticResponseCache.put(semanticResponseCache.probe(createRequest("Can I change my delivery address?"), aiRequest), createResponse());
+
+        // Then
+        assertThat(semanticResponseCache.get(semanticResponseCache.probe(createRequest(PROMPT), aiRequest), aiRequest)).isNull();
+        assertThat(semanticResponseCache.get(semanticResponseCache.probe(createRequest("How do I reset my password?"), aiRequest), aiRequest))
+            .isNotNull();
+    }
+
+    @Test
+    void shouldAllocateForEntriesHeld_notForCapacity() {
+        // Given
+        SemanticIndex index = new SemanticIndex(4, 256);
+        float[] vector = {1f, 0f, 0f, 0f};
+
+        // When
+        index.add(vector, createResponse(), Long.MAX_VALUE);
+        int afterOne = index.allocatedEntries();
+        for (int i = 0; i < 20; i++) {
+            index.add(vector, createResponse(), Long.MAX_VALUE);
+        }
+
+        // Then
+        assertThat(afterOne).isEqualTo(SemanticIndex.INITIAL_CAPACITY);
+        assertThat(index.allocatedEntries()).isEqualTo(32);
+        assertThat(index.search(vector, 0.95, 0L)).isNotNull();
+    }
+
+    private ChatCompletionRequest createRequest(String content) {
+        ChatCompletionRequest request = new ChatCompletionRequest();
+        request.setMessages(List.of(new ChatCompletionRequest.ChatMessage("user", content)));
+        request.setTemperature(BigDecimal.valueOf(0.7));
+        return request;
+    }
+
+    private AiRequest createAiRequest(Long id, String userId, Model model) {
+        AiRequest aiRequest = new AiRequest();
+        aiRequest.setId(id);
+        aiRequest.setUserId(userId);
+        aiRequest.setSelectedProvider(model.getProvider());
+        aiRequest.setSelectedModel(model);
+        return aiRequest;
+    }
+
+    private ChatCompletionResponse createResponse() {
+        return ChatCompletionResponse.builder()
+            .id("chatcmpl-100")
+            .object("chat.completion")
+            .model("gpt-4")
+            .routingInfo(ChatCompletionResponse.RoutingInfo.builder()
+                .strategy("PRICE")
+                .provider("OpenAI")
+                .latencyMs(850L)
+                .build())
+            .choices(List.of(ChatCompletionResponse.ChatChoice.builder()
+                .index(0)
+                .message(ChatCompletionResponse.ChatMessage.builder().role("assistant").content("It ships tomorrow.").build())
+                .finishReason("stop")
+                .build()))
+            .usage(ChatCompletionResponse.Usage.builder()
+                .promptTokens(14)
+                .completionTokens(4)
+                .totalTokens(18)
+                .cost(BigDecimal.valueOf(0.0004))
+                .build())
+            .build();
+    }
+
+    private Provider createProvider(Long id, String name) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        provider.setName(name);
+        provider.setBaseUrl("https://api." + name.toLowerCase() + ".com/v1");
+        provider.setApiKey("test-key-" + name.toLowerCase());
+        provider.setIsActive(true);
+        provider.setCreatedAt(LocalDateTime.now());
+        provider.setUpdatedAt(LocalDateTime.now());
+        return provider;
+    }
+
+    private Model createModel(Long id, Provider provider, String modelId) {
+        Model model = new Model();
+        model.setId(id);
+        model.setProvider(provider);
+        model.setModelId(modelId);
+        model.setName(modelId + " Model");
+        model.setContextWindow(4096);
+        model.setInputPricing(BigDecimal.valueOf(0.001));
+        model.setOutputPricing(BigDecimal.valueOf(0.002));
+        model.setIsActive(true);
+        return model;
+    }
+}
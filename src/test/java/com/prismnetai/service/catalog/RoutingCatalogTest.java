@@ -0,0 +1,223 @@
+package com.prismnetai.service.catalog;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prismnetai.entity.Model;
+import com.prismnetai.entity.Provider;
+import com.prismnetai.entity.RoutingRule;
+
+class RoutingCatalogTest {
+
+    private Provider openAi;
+    private Provider anthropic;
+    private Provider inactive;
+    private Model gpt4;
+    private Model gpt35;
+    private Model claude;
+    private Model orphan;
+
+    @BeforeEach
+    void setUp() {
+        openAi = createProvider(1L, "OpenAI");
+        anthropic = createProvider(2L, "Anthropic");
+        inactive = createProvider(3L, "HuggingFace");
+
+        gpt4 = createModel(1L, openAi, "gpt-4", BigDecimal.valueOf(0.00003), BigDecimal.valueOf(0.00006));
+        gpt35 = createModel(2L, openAi, "gpt-3.5-turbo", BigDecimal.valueOf(0.000002), BigDecimal.valueOf(0.000002));
+        claude = createModel(3L, anthropic, "claude-3-opus", BigDecimal.valueOf(0.000015), BigDecimal.valueOf(0.000075));
+        orphan = createModel(4L, inactive, "gpt2", BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    @Test
+    void shouldIndexProvidersAndModels_whenBuilt() {
+        // When
+        RoutingCatalog catalog = RoutingCatalog.of(7L, List.of(openAi, anthropic), List.of(gpt4, gpt35, claude), List.of());
+
+        // Then
+        assertThat(catalog.getVersion()).isEqualTo(7L);
+        assertThat(catalog.getActiveProviders()).containsExactly(openAi, anthropic);
+        assertThat(catalog.findProvider(2L)).contains(anthropic);
+        assertThat(catalog.findProviderByName("OpenAI")).contains(openAi);
+        assertThat(catalog.findModel(3L)).contains(claude);
+        assertThat(catalog.getModelsForProvider(1L)).containsExactly(gpt4, gpt35);
+        assertThat(catalog.getModelsByModelId("claude-3-opus")).containsExactly(claude);
+    }
+
+    @Test
+    void shouldDropModels_whenTheirProviderIsNotInCatalog() {
+        // When
+        RoutingCatalog catalog = RoutingCatalog.of(1L, List.of(openAi, anthropic), List.of(gpt4, orphan), List.of());
+
+        // Then
+        assertThat(catalog.getActiveModels()).containsExactly(gpt4);
+        assertThat(catalog.findModel(4L)).isEmpty();
+        assertThat(catalog.getModelsByModelId("gpt2")).isEmpty();
+    }
+
+    @Test
+    void shouldReturnModelsInProviderOrder_whenCollectingForProviders() {
+        // Given
+        RoutingCatalog catalog = RoutingCatalog.of(1L, List.of(openAi, anthropic), List.of(gpt4, gpt35, claude), List.of());
+
+        // When
+        List<Model> models = catalog.getModelsForProviders(List.of(anthropic, openAi));
+
+        // Then
+        assertThat(models).containsExactly(claude, gpt4, gpt35);
+    }
+
+    @Test
+    void shouldIndexModelsByCombinedPricingInMicroUnits() {
+        // Given
+        RoutingCatalog catalog = RoutingCatalog.of(1L, List.of(openAi, anthropic), List.of(gpt4, gpt35, claude), List.of());
+
+        // When
+        PriceIndex priceIndex = catalog.getPriceIndex();
+
+        // Then
+        assertThat(priceIndex.size()).isEqualTo(3);
+        assertThat(priceIndex.modelAt(0)).isEqualTo(gpt35);
+        assertThat(priceIndex.modelAt(1)).isEqualTo(gpt4);
+        assertThat(priceIndex.modelAt(2)).isEqualTo(claude);
+        assertThat(priceIndex.costMicrosAt(0)).isEqualTo(4L);
+        assertThat(priceIndex.costMicrosAt(1)).isEqualTo(90L);
+        assertThat(priceIndex.costMicrosAt(2)).isEqualTo(90L);
+    }
+
+    @Test
+    void shouldKeepCatalogOrder_whenCostsTie() {
+        // Given - gpt4 and claude both total 0.00009
+        RoutingCatalog catalog = RoutingCatalog.of(1L, List.of(openAi, anthropic), List.of(claude, gpt4), List.of());
+
+        // Then
+        assertThat(catalog.getPriceIndex().modelAt(0)).isEqualTo(claude);
+        assertThat(catalog.getPriceIndex().modelAt(1)).isEqualTo(gpt4);
+    }
+
+    @Test
+    void shouldSelectCheapestModelOfMaskedProviders() {
+        // Given
+        RoutingCatalog catalog = RoutingCatalog.of(1L, List.of(openAi, anthropic), List.of(gpt4, gpt35, claude), List.of());
+
+        // When
+        BitSet anthropicOnly = catalog.providerMask(List.of(anthropic));
+        BitSet unknownOnly = catalog.providerMask(List.of(inactive));
+
+        // Then
+        assertThat(catalog.getPriceIndex().cheapest(catalog.providerMask(List.of(openAi, anthropic)))).contains(gpt35);
+        assertThat(catalog.getPriceIndex().cheapest(anthropicOnly)).contains(claude);
+        assertThat(catalog.getPriceIndex().cheapest(unknownOnly)).isEmpty();
+    }
+
+    @Test
+    void shouldConvertPricingToMicroUnits() {
+        // Then
+        assertThat(PriceIndex.toMicros(new BigDecimal("0.000015"))).isEqualTo(15L);
+        assertThat(PriceIndex.toMicros(new BigDecimal("0.0000025"))).isEqualTo(3L);
+        assertThat(PriceIndex.toMicros(null)).isZero();
+        assertThat(PriceIndex.fromMicros(90L)).isEqualByComparingTo("0.00009");
+    }
+
+    @Test
+    void shouldPriceTokensInMicroUnits() {
+        // Given - 1000 prompt tokens at 0.000015 and 500 completion tokens at 0.00006
+        Model gpt4 = createModel(1L, createProvider(1L, "OpenAI"), "gpt-4", new BigDecimal("0.000015"), new BigDecimal("0.00006"));
+
+        // When
+        long costMicros = PriceIndex.costMicros(gpt4, 1000L, 500L);
+
+        // Then
+        assertThat(costMicros).isEqualTo(45_000L);
+        assertThat(PriceIndex.fromMicros(costMicros)).isEqualByComparingTo("0.045");
+        assertThat(PriceIndex.costMicros(null, 1000L, 500L)).isZero();
+    }
+
+    @Test
+    void shouldGroupRulesByUser() {
+        // Given
+        RoutingRule first = createRoutingRule(1L, "user-a");
+        RoutingRule second = createRoutingRule(2L, "user-a");
+        RoutingRule other = createRoutingRule(3L, "user-b");
+        List<RoutingCatalog.CustomOrderRule> rules = List.of(
+                new RoutingCatalog.CustomOrderRule(first, List.of("OpenAI")),
+                new RoutingCatalog.CustomOrderRule(second, List.of("Anthropic")),
+                new RoutingCatalog.CustomOrderRule(other, List.of("OpenAI", "Anthropic")));
+
+        // When
+        RoutingCatalog catalog = RoutingCatalog.of(1L, List.of(openAi, anthropic), List.of(), rules);
+
+        // Then
+        assertThat(catalog.getRoutingRules("user-a")).extracting(RoutingCatalog.CustomOrderRule::rule)
+                .containsExactly(first, second);
+        assertThat(catalog.getRoutingRules("user-b")).hasSize(1);
+        assertThat(catalog.getRoutingRules("unknown")).isEmpty();
+    }
+
+    @Test
+    void shouldExposeImmutableViews() {
+        // Given
+        RoutingCatalog catalog = RoutingCatalog.of(1L, List.of(openAi), List.of(gpt4), List.of());
+
+        // Then
+        assertThatThrownBy(() -> catalog.getActiveProviders().add(anthropic))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> catalog.getModelsForProvider(1L).add(gpt35))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void shouldBeEmpty_beforeFirstLoad() {
+        // When
+        RoutingCatalog catalog = RoutingCatalog.empty();
+
+        // Then
+        assertThat(catalog.getVersion()).isZero();
+        assertThat(catalog.getActiveProviders()).isEmpty();
+        assertThat(catalog.getActiveModels()).isEmpty();
+    }
+
+    private Provider createProvider(Long id, String name) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        provider.setName(name);
+        provider.setBaseUrl("https://api." + name.toLowerCase() + ".com/v1");
+        provider.setApiKey("test-key-" + name.toLowerCase());
+        provider.setIsActive(true);
+        provider.setCreatedAt(LocalDateTime.now());
+        provider.setUpdatedAt(LocalDateTime.now());
+        return provider;
+    }
+
+    private Model createModel(Long id, Provider provider, String modelId, BigDecimal inputPricing, BigDecimal outputPricing) {
+        Model model = new Model();
+        model.setId(id);
+        model.setProvider(provider);
+        model.setModelId(modelId);
+        model.setName(modelId + " Model");
+        model.setContextWindow(4096);
+        model.setInputPricing(inputPricing);
+        model.setOutputPricing(outputPricing);
+        model.setIsActive(true);
+        model.setCreatedAt(LocalDateTime.now());
+        model.setUpdatedAt(LocalDateTime.now());
+        return model;
+    }
+
+    private RoutingRule createRoutingRule(Long id, String userId) {
+        RoutingRule rule = new RoutingRule();
+        rule.setId(id);
+        rule.setUserId(userId);
+        rule.setName("Rule " + id);
+        rule.setProviderOrder("[]");
+        rule.setIsActive(true);
+        return rule;
+    }
+}
@@ -0,0 +1,270 @@
+package com.prismnetai.service.execution;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.prismnetai.dto.ChatCompletionRequest;
+import com.prismnetai.dto.ChatCompletionResponse;
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.entity.Model;
+import com.prismnetai.entity.Provider;
+import com.prismnetai.exception.ProviderException;
+import com.prismnetai.service.RoutingService;
+import com.prismnetai.service.cache.HashedNgramEmbedder;
+import com.prismnetai.service.cache.RequestCoalescer;
+import com.prismnetai.service.cache.ResponseCache;
+import com.prismnetai.service.cache.SemanticResponseCache;
+import com.prismnetai.service.metrics.ProviderCallMetrics;
+import com.prismnetai.service.provider.AiProviderService;
+import com.prismnetai.service.provider.ProviderServiceRegistry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class CompletionExecutorTest {
+
+    @Mock
+    private ProviderServiceRegistry providerServiceRegistry;
+
+    @Mock
+    private RoutingService routingService;
+
+    @Mock
+    private ProviderCallMetrics providerCallMetrics;
+
+    @Mock
+    private HedgingPolicy hedgingPolicy;
+
+    @Mock
+    private AiProviderService openAiService;
+
+    @Mock
+    private AiProviderService anthropicService;
+
+    private ProviderConcurrencyLimiter providerConcurrencyLimiter;
+    private CompletionExecutor completionExecutor;
+    private ChatCompletionRequest request;
+    private AiRequest primary;
+    private AiRequest hedge;
+    private Model claude;
+
+    @BeforeEach
+    void setUp() {
+        providerConcurrencyLimiter = new ProviderConcurrencyLimiter(providerCallMetrics, new SimpleMeterRegistry(), true, 20, 1, 200, 0.9);
+        FailoverExecutor failoverExecutor = new FailoverExecutor(providerServiceRegistry, routingService, providerCallMetrics, providerConcurrencyLimiter, 55000, 1, 5000);
+        completionExecutor = new CompletionExecutor(providerServiceRegistry, routingService, hedgingPolicy, failoverExecutor,
+                                                    providerConcurrencyLimiter,
+                                                    new ResponseCache(true, 300, 1 << 20, List.of(), List.of()),
+                                                    new SemanticResponseCache(new HashedNgramEmbedder(256), new SimpleMeterRegistry(),
+                                                                              false, 0.95, 3600, 100, 16, List.of()),
+                                                    new RequestCoalescer(providerCallMetrics, new SimpleMeterRegistry(), true, false),
+                                                    providerCallMetrics);
+        request = new ChatCompletionRequest();
+
+        Provider openAi = createProvider(1L, "OpenAI");
+        Provider anthropic = createProvider(2L, "Anthropic");
+        claude = createModel(2L, anthropic, "claude-3-haiku");
+        primary = createRequest(100L, createModel(1L, openAi, "gpt-4"));
+        hedge = createRequest(101L, claude);
+
+        when(providerServiceRegistry.getProviderService("OpenAI")).thenReturn(openAiService);
+    }
+
+    @Test
+    void shouldCallPrimaryOnly_whenNoHedgePlanned() {
+        // Given
+        when(hedgingPolicy.plan(primary)).thenReturn(Optional.empty());
+        when(openAiService.callCompletion(request, primary)).thenReturn(Mono.just(createResponse("chatcmpl-100", "OpenAI")));
+
+        // When
+        ChatCompletionResponse response = completionExecutor.callCompletion(request, primary).block();
+
+        // Then
+        assertThat(response.getId()).isEqualTo("chatcmpl-100");
+        assertThat(response.getRoutingInfo().getHedged()).isNull();
+    }
+
+    @Test
+    void shouldAnswerFromCache_whenSameDeterministicRequestIsRepeated() {
+        // Given
+        ChatCompletionRequest deterministic = createDeterministicRequest();
+        AiRequest repeat = createRequest(102L, primary.getSelectedModel());
+        ChatCompletionResponse upstream = createResponse("chatcmpl-100", "OpenAI");
+        upstream.setChoices(List.of(ChatCompletionResponse.ChatChoice.builder()
+            .index(0)
+            .message(ChatCompletionResponse.ChatMessage.builder().role("assistant").content("4").build())
+            .finishReason("stop")
+            .build()));
+        when(hedgingPolicy.plan(primary)).thenReturn(Optional.empty());
+        when(openAiService.callCompletion(deterministic, primary)).thenReturn(Mono.just(upstream));
+        completionExecutor.callCompletion(deterministic, primary).block();
+
+        // When
+        ChatCompletionResponse response = completionExecutor.callCompletion(deterministic, repeat).block();
+
+        // Then
+        assertThat(response.getId()).isEqualTo("chatcmpl-102");
+        assertThat(response.getChoices().get(0).getMessage().getContent()).isEqualTo("4");
+        assertThat(response.getRoutingInfo().getCacheHit()).isTrue();
+        assertThat(response.getRoutingInfo().getProvider()).isEqualTo("OpenAI");
+        verify(openAiService, times(1)).callCompletion(any(), any());
+        verify(providerCallMetrics).recordCacheHit(any(AiRequest.class), any(Long.class));
+    }
+
+    @Test
+    void shouldReturnHedgeResponse_whenPrimaryIsSlowerThanHedgeDelay() {
+        // Given
+        when(hedgingPolicy.plan(primary)).thenReturn(Optional.of(new HedgingPolicy.HedgePlan(claude, Duration.ofMillis(20))));
+        when(hedgingPolicy.tryAcquire("test-user")).thenReturn(true);
+        when(routingService.routeAlternate(primary, claude)).thenReturn(hedge);
+        when(providerServiceRegistry.getProviderService("Anthropic")).thenReturn(anthropicService);
+        when(openAiService.callCompletion(request, primary))
+            .thenReturn(Mono.delay(Duration.ofSeconds(5)).map(tick -> createResponse("chatcmpl-100", "OpenAI")));
+        when(anthropicService.callCompletion(request, hedge)).thenReturn(Mono.just(createResponse("chatcmpl-101", "Anthropic")));
+
+        // When
+        ChatCompletionResponse response = completionExecutor.callCompletion(request, primary).block(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(response.getId()).isEqualTo("chatcmpl-101");
+        assertThat(response.getRoutingInfo().getHedged()).isTrue();
+    }
+
+    @Test
+    void shouldNeverFireHedge_whenPrimaryAnswersWithinDelay() {
+        // Given
+        when(hedgingPolicy.plan(primary)).thenReturn(Optional.of(new HedgingPolicy.HedgePlan(claude, Duration.ofMillis(200))));
+        when(openAiService.callCompletion(request, primary)).thenReturn(Mono.just(createResponse("chatcmpl-100", "OpenAI")));
+
+        // When
+        ChatCompletionResponse response = completionExecutor.callCompletion(request, primary).block();
+
+        // Then
+        assertThat(response.getId()).isEqualTo("chatcmpl-100");
+        verify(routingService, never()).routeAlternate(any(), any());
+        verify(hedgingPolicy, never()).tryAcquire(any());
+    }
+
+    @Test
+    void shouldReportPrimaryFailure_whenHedgeBudgetExhausted() {
+        // Given
+        when(hedgingPolicy.plan(primary)).thenReturn(Optional.of(new HedgingPolicy.HedgePlan(claude, Duration.ofMillis(20))));
+        when(hedgingPolicy.tryAcquire("test-user")).thenReturn(false);
+        when(openAiService.callCompletion(request, primary))
+            .thenReturn(Mono.error(new ProviderException("Failed to communicate with OpenAI API", new IOException("Connection reset"))));
+
+        // When & Then
+        assertThatThrownBy(() -> completionExecutor.callCompletion(request, primary).block(Duration.ofSeconds(2)))
+            .isInstanceOf(ProviderException.class)
+            .hasMessage("Failed to communicate with OpenAI API");
+        verify(routingService, never()).routeAlternate(any(), any());
+    }
+
+    @Test
+    void shouldNeverFireHedge_whenPrimaryFailsWithNonRetryableError() throws InterruptedException {
+        // Given
+        when(hedgingPolicy.plan(primary)).thenReturn(Optional.of(new HedgingPolicy.HedgePlan(claude, Duration.ofMillis(20))));
+        when(openAiService.callCompletion(request, primary)).thenReturn(Mono.error(new ProviderException("Invalid request to OpenAI API")));
+
+        // When & Then
+        assertThatThrownBy(() -> completionExecutor.callCompletion(request, primary).block(Duration.ofSeconds(2)))
+            .isInstanceOf(ProviderException.class)
+            .hasMessage("Invalid request to OpenAI API");
+        Thread.sleep(100);
+        verify(hedgingPolicy, never()).tryAcquire(any());
+        verify(routingService, never()).routeAlternate(any(), any());
+    }
+
+    @Test
+    void shouldStreamFromHedge_whenPrimaryProducesNoChunkWithinDelay() {
+        // Given
+        when(hedgingPolicy.plan(primary)).thenReturn(Optional.of(new HedgingPolicy.HedgePlan(claude, Duration.ofMillis(20))));
+        when(hedgingPolicy.tryAcquire("test-user")).thenReturn(true);
+        when(routingService.routeAlternate(primary, claude)).thenReturn(hedge);
+        when(providerServiceRegistry.getProviderService("Anthropic")).thenReturn(anthropicService);
+        when(openAiService.callStreamingCompletion(request, primary)).thenReturn(Flux.never());
+        when(anthropicService.callStreamingCompletion(request, hedge)).thenReturn(Flux.just("hedge-chunk", "[DONE]"));
+
+        // When
+        List<String> chunks = completionExecutor.callStreamingCompletion(request, primary).collectList().block(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(chunks).containsExactly("hedge-chunk", "[DONE]");
+    }
+
+    private AiRequest createRequest(Long id, Model model) {
+        AiRequest aiRequest = new AiRequest();
+        aiRequest.setId(id);
+        aiRequest.setUserId("test-user");
+        aiRequest.setRoutingStrategy(AiRequest.RoutingStrategy.LATENCY);
+        aiRequest.setPrompt("Hello");
+        aiRequest.setSelectedProvider(model.getProvider());
+        aiRequest.setSelectedModel(model);
+        return aiRequest;
+    }
+
+    private ChatCompletionRequest createDeterministicRequest() {
+        ChatCompletionRequest.ChatMessage message = new ChatCompletionRequest.ChatMessage("user", "What is 2 + 2?");
+        ChatCompletionRequest deterministic = new ChatCompletionRequest();
+        deterministic.setMessages(List.of(message));
+        deterministic.setTemperature(BigDecimal.ZERO);
+        return deterministic;
+    }
+
+    private ChatCompletionResponse createResponse(String id, String provider) {
+        return ChatCompletionResponse.builder()
+            .id(id)
+            .object("chat.completion")
+            .routingInfo(ChatCompletionResponse.RoutingInfo.builder()
+                .strategy("LATENCY")
+                .provider(provider)
+                .build())
+            .build();
+    }
+
+    private Provider createProvider(Long id, String name) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        provider.setName(name);
+        provider.setBaseUrl("https://api." + name.toLowerCase() + ".com/v1");
+        provider.setApiKey("test-key-" + name.toLowerCase());
+        provider.setIsActive(true);
+        provider.setCreatedAt(LocalDateTime.now());
+        provider.setUpdatedAt(LocalDateTime.now());
+        return provider;
+    }
+
+    private Model createModel(Long id, Provider provider, String modelId) {
+        Model model = new Model();
+        model.setId(id);
+        model.setProvider(provider);
+        model.setModelId(modelId);
+        model.setName(modelId + " Model");
+        model.setContextWindow(4096);
+        model.setInputPricing(BigDecimal.valueOf(0.001));
+        model.setOutputPricing(BigDecimal.valueOf(0.002));
+        model.setIsActive(true);
+        model.setCreatedAt(LocalDateTime.now());
+        model.setUpdatedAt(LocalDateTime.now());
+        return model;
+    }
+}
@@ -0,0 +1,298 @@
+package com.prismnetai.service.execution;
+
+import java.math.BigDecimal;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.prismnetai.dto.ChatCompletionRequest;
+import com.prismnetai.dto.ChatCompletionResponse;
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.entity.Model;
+import com.prismnetai.entity.Provider;
+import com.prismnetai.exception.ProviderException;
+import com.prismnetai.exception.ProviderOverloadedException;
+import com.prismnetai.service.RoutingService;
+import com.prismnetai.service.metrics.ProviderCallMetrics;
+import com.prismnetai.service.provider.AiProviderService;
+import com.prismnetai.service.provider.ProviderServiceRegistry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class FailoverExecutorTest {
+
+    @Mock
+    private ProviderServiceRegistry providerServiceRegistry;
+
+    @Mock
+    private RoutingService routingService;
+
+    @Mock
+    private ProviderCallMetrics providerCallMetrics;
+
+    @Mock
+    private AiProviderService openAiService;
+
+    @Mock
+    private AiProviderService anthropicService;
+
+    private ProviderConcurrencyLimiter providerConcurrencyLimiter;
+    private FailoverExecutor failoverExecutor;
+    private ChatCompletionRequest request;
+    private AiRequest primary;
+    private AiRequest alternate;
+    private Model gpt35;
+    private Model claude;
+
+    @BeforeEach
+    void setUp() {
+        providerConcurrencyLimiter = new ProviderConcurrencyLimiter(providerCallMetrics, new SimpleMeterRegistry(), true, 20, 1, 200, 0.9);
+        failoverExecutor = new FailoverExecutor(providerServiceRegistry, routingService, providerCallMetrics, providerConcurrencyLimiter, 55000, 3, 5000);
+        request = new ChatCompletionRequest();
+
+        Provider openAi = createProvider(1L, "OpenAI");
+        Provider anthropic = createProvider(2L, "Anthropic");
+        gpt35 = createModel(2L, openAi, "gpt-3.5-turbo");
+        claude = createModel(3L, anthropic, "claude-3-haiku");
+        primary = createRequest(100L, createModel(1L, openAi, "gpt-4"));
+        alternate = createRequest(101L, claude);
+
+        lenient().when(providerServiceRegistry.getProviderService("OpenAI")).thenReturn(openAiService);
+    }
+
+    @Test
+    void shouldFailOverToNextProvider_whenPrimaryReturnsServerError() {
+        // Given
+        when(openAiService.callCompletion(request, primary))
+            .thenReturn(Mono.error(new ProviderException("Failed to communicate with OpenAI API", responseError(503))));
+        when(routingService.rankAlternatives(primary)).thenReturn(Stream.of(claude));
+        when(routingService.routeAlternate(primary, claude)).thenReturn(alternate);
+        when(providerServiceRegistry.getProviderService("Anthropic")).thenReturn(anthropicService);
+        when(anthropicService.callCompletion(request, alternate)).thenReturn(Mono.just(createResponse("chatcmpl-101")));
+
+        // When
+        ChatCompletionResponse response = failoverExecutor.callCompletion(request, primary).block(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(response.getId()).isEqualTo("chatcmpl-101");
+    }
+
+    @Test
+    void shouldNotFailOver_whenPrimaryRejectsRequest() {
+        // Given
+        when(openAiService.callCompletion(request, primary))
+            .thenReturn(Mono.error(new ProviderException("Failed to communicate with OpenAI API", responseError(400))));
+
+        // When & Then
+        assertThatThrownBy(() -> failoverExecutor.callCompletion(request, primary).block(Duration.ofSeconds(2)))
+            .isInstanceOf(ProviderException.class)
+            .hasMessage("Failed to communicate with OpenAI API");
+        verify(routingService, never()).rankAlternatives(any());
+    }
+
+    @Test
+    void shouldFailOver_whenPrimaryExceedsItsShareOfTheBudget() {
+        // Given - 300ms budget, 100ms reserved for the second attempt
+        failoverExecutor = new FailoverExecutor(providerServiceRegistry, routingService, providerCallMetrics, providerConcurrencyLimiter, 300, 2, 100);
+        when(openAiService.callCompletion(request, primary)).thenReturn(Mono.never());
+        when(routingService.rankAlternatives(primary)).thenReturn(Stream.of(claude));
+        when(routingService.routeAlternate(primary, claude)).thenReturn(alternate);
+        when(providerServiceRegistry.getProviderService("Anthropic")).thenReturn(anthropicService);
+        when(anthropicService.callCompletion(request, alternate)).thenReturn(Mono.just(createResponse("chatcmpl-101")));
+
+        // When
+        ChatCompletionResponse response = failoverExecutor.callCompletion(request, primary).block(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(response.getId()).isEqualTo("chatcmpl-101");
+    }
+
+    @Test
+    void shouldReachLastAttempt_whenEveryAttemptHangs() {
+        // Given - 2s budget over three attempts with 500ms reserved for each one still to come
+        failoverExecutor = new FailoverExecutor(providerServiceRegistry, routingService, providerCallMetrics, providerConcurrencyLimiter, 2000, 3, 500);
+        Model mistral = createModel(4L, createProvider(3L, "Mistral"), "mistral-large");
+        AiRequest third = createRequest(102L, mistral);
+        AiProviderService mistralService = mock(AiProviderService.class);
+        when(openAiService.callCompletion(request, primary)).thenReturn(Mono.never());
+        when(routingService.rankAlternatives(primary)).thenReturn(Stream.of(claude, mistral));
+        when(routingService.routeAlternate(primary, claude)).thenReturn(alternate);
+        when(routingService.routeAlternate(primary, mistral)).thenReturn(third);
+        when(providerServiceRegistry.getProviderService("Anthropic")).thenReturn(anthropicService);
+        when(providerServiceRegistry.getProviderService("Mistral")).thenReturn(mistralService);
+        when(anthropicService.callCompletion(request, alternate)).thenReturn(Mono.never());
+        when(mistralService.callCompletion(request, third)).thenReturn(Mono.never());
+
+        // When
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> failoverExecutor.callCompletion(request, primary).block(Duration.ofSeconds(5)))
+            .isInstanceOf(ProviderException.class)
+            .hasMessageStartingWith("Provider Mistral did not respond within");
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Then - every attempt ran, and together they stayed close to the budget
+        verify(mistralService).callCompletion(request, third);
+        assertThat(elapsedMs).isLessThan(2000 + 300);
+    }
+
+    @Test
+    void shouldSkipCandidatesOnTriedProviders_whenFailingOver() {
+        // Given - the ranking lists another OpenAI model before the Anthropic one
+        when(openAiService.callCompletion(request, primary))
+            .thenReturn(Mono.error(new ProviderException("Failed to communicate with OpenAI API", new ConnectException("Connection refused"))));
+        when(routingService.rankAlternatives(primary)).thenReturn(Stream.of(gpt35, claude));
+        when(routingService.routeAlternate(primary, claude)).thenReturn(alternate);
+        when(providerServiceRegistry.getProviderService("Anthropic")).thenReturn(anthropicService);
+        when(anthropicService.callCompletion(request, alternate)).thenReturn(Mono.just(createResponse("chatcmpl-101")));
+
+        // When
+        ChatCompletionResponse response = failoverExecutor.callCompletion(request, primary).block(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(response.getId()).isEqualTo("chatcmpl-101");
+        verify(routingService, never()).routeAlternate(primary, gpt35);
+    }
+
+    @Test
+    void shouldSpillOverToNextProvider_whenPrimaryIsAtItsConcurrencyLimit() {
+        // Given - OpenAI's only slot is held by another call
+        providerConcurrencyLimiter = new ProviderConcurrencyLimiter(providerCallMetrics, new SimpleMeterRegistry(), true, 1, 1, 1, 0.9);
+        failoverExecutor = new FailoverExecutor(providerServiceRegistry, routingService, providerCallMetrics, providerConcurrencyLimiter, 55000, 3, 5000);
+        providerConcurrencyLimiter.limit(primary, Mono.never()).subscribe();
+        when(openAiService.callCompletion(request, primary)).thenReturn(Mono.just(createResponse("chatcmpl-100")));
+        when(routingService.rankAlternatives(primary)).thenReturn(Stream.of(claude));
+        when(routingService.routeAlternate(primary, claude)).thenReturn(alternate);
+        when(providerServiceRegistry.getProviderService("Anthropic")).thenReturn(anthropicService);
+        when(anthropicService.callCompletion(request, alternate)).thenReturn(Mono.just(createResponse("chatcmpl-101")));
+
+        // When
+        ChatCompletionResponse response = failoverExecutor.callCompletion(request, primary).block(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(response.getId()).isEqualTo("chatcmpl-101");
+        verify(providerCallMetrics).recordRejection(eq(primary), any(ProviderOverloadedException.class));
+    }
+
+    @Test
+    void shouldReportTimeoutAsProviderError_whenNoAlternativeRemains() {
+        // Given
+        failoverExecutor = new FailoverExecutor(providerServiceRegistry, routingService, providerCallMetrics, providerConcurrencyLimiter, 100, 1, 50);
+        when(openAiService.callCompletion(request, primary)).thenReturn(Mono.never());
+
+        // When & Then
+        assertThatThrownBy(() -> failoverExecutor.callCompletion(request, primary).block(Duration.ofSeconds(2)))
+            .isInstanceOf(ProviderException.class)
+            .hasMessageStartingWith("Provider OpenAI did not respond within");
+    }
+
+    @Test
+    void shouldFailOverStream_whenPrimaryFailsBeforeFirstChunk() {
+        // Given
+        when(openAiService.callStreamingCompletion(request, primary))
+            .thenReturn(Flux.error(new ProviderException("Failed to communicate with OpenAI streaming API", responseError(429))));
+        when(routingService.rankAlternatives(primary)).thenReturn(Stream.of(claude));
+        when(routingService.routeAlternate(primary, claude)).thenReturn(alternate);
+        when(providerServiceRegistry.getProviderService("Anthropic")).thenReturn(anthropicService);
+        when(anthropicService.callStreamingCompletion(request, alternate)).thenReturn(Flux.just("chunk", "[DONE]"));
+
+        // When
+        List<String> chunks = failoverExecutor.callStreamingCompletion(request, primary).collectList().block(Duration.ofSeconds(2));
+
+        // Then
+        assertThat(chunks).containsExactly("chunk", "[DONE]");
+    }
+
+    @Test
+    void shouldNotFailOverStream_whenPrimaryFailsAfterFirstChunk() {
+        // Given
+        when(openAiService.callStreamingCompletion(request, primary))
+            .thenReturn(Flux.concat(Flux.just("chunk"),
+                Flux.error(new ProviderException("Failed to communicate with OpenAI streaming API", responseError(502)))));
+
+        // When & Then
+        assertThatThrownBy(() -> failoverExecutor.callStreamingCompletion(request, primary).collectList().block(Duration.ofSeconds(2)))
+            .isInstanceOf(ProviderException.class);
+        verify(routingService, never()).rankAlternatives(any());
+    }
+
+    @Test
+    void shouldClassifyRetryableErrors() {
+        assertThat(FailoverExecutor.isRetryable(new ProviderException("wrapped", responseError(429)))).isTrue();
+        assertThat(FailoverExecutor.isRetryable(new ProviderException("wrapped", responseError(500)))).isTrue();
+        assertThat(FailoverExecutor.isRetryable(new ProviderException("wrapped", new ConnectException("refused")))).isTrue();
+        assertThat(FailoverExecutor.isRetryable(new ProviderException("wrapped", responseError(401)))).isFalse();
+        assertThat(FailoverExecutor.isRetryable(new ProviderException("Failed to parse OpenAI response"))).isFalse();
+    }
+
+    private static WebClientResponseException responseError(int status) {
+        return WebClientResponseException.create(status, "status " + status, HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8);
+    }
+
+    private AiRequest createRequest(Long id, Model model) {
+        AiRequest aiRequest = new AiRequest();
+        aiRequest.setId(id);
+        aiRequest.setUserId("test-user");
+        aiRequest.setRoutingStrategy(AiRequest.RoutingStrategy.PRICE);
+        aiRequest.setPrompt("Hello");
+        aiRequest.setSelectedProvider(model.getProvider());
+        aiRequest.setSelectedModel(model);
+        return aiRequest;
+    }
+
+    private ChatCompletionResponse createResponse(String id) {
+        return ChatCompletionResponse.builder()
+            .id(id)
+            .object("chat.completion")
+            .build();
+    }
+
+    private Provider createProvider(Long id, String name) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        provider.setName(name);
+        provider.setBaseUrl("https://api." + name.toLowerCase() + ".com/v1");
+        provider.setApiKey("test-key-" + name.toLowerCase());
+        provider.setIsActive(true);
+        provider.setCreatedAt(LocalDateTime.now());
+        provider.setUpdatedAt(LocalDateTime.now());
+        return provider;
+    }
+
+    private Model createModel(Long id, Provider provider, String modelId) {
+        Model model = new Model();
+        model.setId(id);
+        model.setProvider(provider);
+        model.setModelId(modelId);
+        model.setName(modelId + " Model");
+        model.setContextWindow(4096);
+        model.setInputPricing(BigDecimal.valueOf(0.001));
+        model.setOutputPricing(BigDecimal.valueOf(0.002));
+        model.setIsActive(true);
+        model.setCreatedAt(LocalDateTime.now());
+        model.setUpdatedAt(LocalDateTime.now());
+        return model;
+    }
+}
@@ -0,0 +1,171 @@
+package com.prismnetai.service.execution;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.entity.Model;
+import com.prismnetai.entity.Provider;
+import com.prismnetai.service.RoutingService;
+import com.prismnetai.service.health.HealthSnapshot;
+import com.prismnetai.service.health.ProviderHealthAggregator;
+
+@ExtendWith(MockitoExtension.class)
+class HedgingPolicyTest {
+
+    @Mock
+    private RoutingService routingService;
+
+    @Mock
+    private ProviderHealthAggregator providerHealthAggregator;
+
+    private HedgingPolicy hedgingPolicy;
+    private Model gpt4;
+    private Model claude;
+    private AiRequest primary;
+
+    @BeforeEach
+    void setUp() {
+        hedgingPolicy = createPolicy(true, 10);
+
+        gpt4 = createModel(1L, createProvider(1L, "OpenAI"), "gpt-4", "0.00003", "0.00006");
+        claude = createModel(2L, createProvider(2L, "Anthropic"), "claude-3-sonnet", "0.000003", "0.000015");
+
+        primary = new AiRequest();
+        primary.setId(100L);
+        primary.setUserId("test-user");
+        primary.setRoutingStrategy(AiRequest.RoutingStrategy.LATENCY);
+        primary.setSelectedProvider(gpt4.getProvider());
+        primary.setSelectedModel(gpt4);
+    }
+
+    @Test
+    void shouldPlanHedgeAfterPrimaryP95_whenCandidateWithinCostCap() {
+        // Given
+        when(routingService.rankAlternatives(primary)).thenReturn(Stream.of(claude));
+        when(providerHealthAggregator.healthFor(gpt4)).thenReturn(p95Health(640.0));
+
+        // When
+        Optional<HedgingPolicy.HedgePlan> plan = hedgingPolicy.plan(primary);
+
+        // Then
+        assertThat(plan).isPresent();
+        assertThat(plan.get().model()).isEqualTo(claude);
+        assertThat(plan.get().delay()).isEqualTo(Duration.ofMillis(640));
+    }
+
+    @Test
+    void shouldNotPlanHedge_whenCandidateExceedsCostCap() {
+        // Given - hedging from the cheaper model to one 6x its price
+        primary.setSelectedProvider(claude.getProvider());
+        primary.setSelectedModel(claude);
+        Model expensive = createModel(3L, createProvider(3L, "Google"), "gemini-ultra", "0.00003", "0.00006");
+        when(routingService.rankAlternatives(primary)).thenReturn(Stream.of(expensive));
+
+        // When & Then
+        assertThat(hedgingPolicy.plan(primary)).isEmpty();
+    }
+
+    @Test
+    void shouldNotPlanHedge_whenDisabledOrNotLatencyRouting() {
+        // Given
+        AiRequest priceRouted = new AiRequest();
+        priceRouted.setRoutingStrategy(AiRequest.RoutingStrategy.PRICE);
+
+        // When & Then
+        assertThat(createPolicy(false, 10).plan(primary)).isEmpty();
+        assertThat(hedgingPolicy.plan(priceRouted)).isEmpty();
+        verifyNoInteractions(routingService);
+    }
+
+    @Test
+    void shouldClampDelayAndFallBackToDefault() {
+        // Given
+        when(providerHealthAggregator.healthFor(gpt4)).thenReturn(p95Health(5.0), p95Health(60000.0), HealthSnapshot.EMPTY);
+
+        // Then - bounds are 50ms and 2000ms, default 1000ms
+        assertThat(hedgingPolicy.hedgeDelay(gpt4)).isEqualTo(Duration.ofMillis(50));
+        assertThat(hedgingPolicy.hedgeDelay(gpt4)).isEqualTo(Duration.ofMillis(2000));
+        assertThat(hedgingPolicy.hedgeDelay(gpt4)).isEqualTo(Duration.ofMillis(1000));
+    }
+
+    @Test
+    void shouldLimitHedgesPerTenant_toBurstThenEarnedRatio() {
+        // Given - burst of 2, one hedge earned per 20 requests
+        HedgingPolicy policy = createPolicy(true, 2);
+
+        // When & Then
+        assertThat(policy.tryAcquire("tenant-a")).isTrue();
+        assertThat(policy.tryAcquire("tenant-a")).isTrue();
+        assertThat(policy.tryAcquire("tenant-a")).isFalse();
+        assertThat(policy.tryAcquire("tenant-b")).isTrue();
+
+        HedgeBudget budget = new HedgeBudget(0.05, 2);
+        budget.trySpend();
+        budget.trySpend();
+        for (int i = 0; i < 19; i++) {
+            budget.earn();
+        }
+        assertThat(budget.trySpend()).isFalse();
+        budget.earn();
+        assertThat(budget.trySpend()).isTrue();
+    }
+
+    @Test
+    void shouldBoundTrackedBudgets_whenManyTenantsHedge() {
+        // When
+        for (int i = 0; i < 1000; i++) {
+            hedgingPolicy.tryAcquire("tenant-" + i);
+        }
+
+        // Then
+        assertThat(hedgingPolicy.trackedTenants()).isLessThanOrEqualTo(100L);
+    }
+
+    private HedgingPolicy createPolicy(boolean enabled, int budgetBurst) {
+        return new HedgingPolicy(routingService, providerHealthAggregator, enabled, 50L, 2000L, 1000L, 2.0, 0.05, budgetBurst, 100L, 600000L);
+    }
+
+    private HealthSnapshot p95Health(double p95LatencyMs) {
+        return new HealthSnapshot(p95LatencyMs / 2, p95LatencyMs / 2, p95LatencyMs, p95LatencyMs, Double.NaN, Double.NaN, 10L);
+    }
+
+    private Provider createProvider(Long id, String name) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        provider.setName(name);
+        provider.setBaseUrl("https://api." + name.toLowerCase() + ".com/v1");
+        provider.setApiKey("test-key-" + name.toLowerCase());
+        provider.setIsActive(true);
+        provider.setCreatedAt(LocalDateTime.now());
+        provider.setUpdatedAt(LocalDateTime.now());
+        return provider;
+    }
+
+    private Model createModel(Long id, Provider provider, String modelId, String inputPricing, String outputPricing) {
+        Model model = new Model();
+        model.setId(id);
+        model.setProvider(provider);
+        model.setModelId(modelId);
+        model.setName(modelId + " Model");
+        model.setContextWindow(4096);
+        model.setInputPricing(new BigDecimal(inputPricing));
+        model.setOutputPricing(new BigDecimal(outputPricing));
+        model.setIsActive(true);
+        model.setCreatedAt(LocalDateTime.now());
+        model.setUpdatedAt(LocalDateTime.now());
+        return model;
+    }
+}
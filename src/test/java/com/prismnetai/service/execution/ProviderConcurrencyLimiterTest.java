@@ -0,0 +1,146 @@
+package com.prismnetai.service.execution;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.entity.Provider;
+import com.prismnetai.exception.ProviderException;
+import com.prismnetai.exception.ProviderOverloadedException;
+import com.prismnetai.service.metrics.ProviderCallMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class ProviderConcurrencyLimiterTest {
+
+    @Mock
+    private ProviderCallMetrics providerCallMetrics;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProviderConcurrencyLimiter providerConcurrencyLimiter;
+    private AiRequest aiRequest;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        providerConcurrencyLimiter = new ProviderConcurrencyLimiter(providerCallMetrics, meterRegistry, true, 2, 1, 10, 0.5);
+
+        aiRequest = new AiRequest();
+        aiRequest.setId(100L);
+        aiRequest.setSelectedProvider(createProvider(1L, "OpenAI"));
+    }
+
+    @Test
+    void shouldRejectImmediately_whenProviderIsAtItsLimit() {
+        // Given - both slots are held by calls still in flight
+        providerConcurrencyLimiter.limit(aiRequest, Mono.never()).subscribe();
+        providerConcurrencyLimiter.limit(aiRequest, Mono.never()).subscribe();
+
+        // When & Then
+        assertThatThrownBy(() -> providerConcurrencyLimiter.limit(aiRequest, Mono.just("response")).block())
+            .isInstanceOf(ProviderOverloadedException.class)
+            .hasMessage("Provider OpenAI is at its concurrency limit of 2");
+        verify(providerCallMetrics).recordRejection(eq(aiRequest), any(ProviderOverloadedException.class));
+        assertThat(meterRegistry.get("prismnet.provider.concurrency.rejected").tag("provider", "OpenAI").counter().count())
+            .isEqualTo(1.0);
+        assertThat(meterRegistry.get("prismnet.provider.concurrency.in_flight").tag("provider", "OpenAI").gauge().value())
+            .isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldFreeSlot_whenCallIsCancelled() {
+        // Given
+        Disposable first = providerConcurrencyLimiter.limit(aiRequest, Mono.never()).subscribe();
+        providerConcurrencyLimiter.limit(aiRequest, Mono.never()).subscribe();
+
+        // When
+        first.dispose();
+
+        // Then
+        assertThat(providerConcurrencyLimiter.limit(aiRequest, Mono.just("response")).block()).isEqualTo("response");
+    }
+
+    @Test
+    void shouldBackOffLimit_whenProviderSignalsOverload() {
+        // Given
+        Mono<String> throttled = Mono.error(new ProviderException("Failed to communicate with OpenAI API",
+            WebClientResponseException.create(429, "Too Many Requests", HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8)));
+
+        // When
+        assertThatThrownBy(() -> providerConcurrencyLimiter.limit(aiRequest, throttled).block())
+            .isInstanceOf(ProviderException.class);
+
+        // Then
+        assertThat(meterRegistry.get("prismnet.provider.concurrency.limit").tag("provider", "OpenAI").gauge().value())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldHoldSlotForWholeStream_whenStreaming() {
+        // Given
+        providerConcurrencyLimiter.limitStream(aiRequest, Flux.never()).subscribe();
+        providerConcurrencyLimiter.limitStream(aiRequest, Flux.just("chunk").concatWith(Flux.never())).subscribe();
+
+        // When & Then
+        assertThatThrownBy(() -> providerConcurrencyLimiter.limitStream(aiRequest, Flux.just("chunk")).blockLast())
+            .isInstanceOf(ProviderOverloadedException.class);
+    }
+
+    @Test
+    void shouldGrowLimitAdditively_whenCallsSucceedUnderLoad() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 0.5);
+
+        // When - each success at half use adds 1/limit: 2 -> 2.5 -> 2.9 -> 3.24
+        for (int i = 0; i < 3; i++) {
+            limit.onSuccess(limit.tryAcquire());
+        }
+
+        // Then
+        assertThat(limit.limit()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotGrowLimit_whenMostOfItIsUnused() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 20, 0.5);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            limit.onSuccess(limit.tryAcquire());
+        }
+
+        // Then
+        assertThat(limit.limit()).isEqualTo(10);
+        assertThat(limit.inFlight()).isZero();
+    }
+
+    private Provider createProvider(Long id, String name) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        provider.setName(name);
+        provider.setBaseUrl("https://api." + name.toLowerCase() + ".com/v1");
+        provider.setApiKey("test-key-" + name.toLowerCase());
+        provider.setIsActive(true);
+        provider.setCreatedAt(LocalDateTime.now());
+        provider.setUpdatedAt(LocalDateTime.now());
+        return provider;
+    }
+}
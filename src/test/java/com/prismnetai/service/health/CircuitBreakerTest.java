@@ -0,0 +1,102 @@
+package com.prismnetai.service.health;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private static final long OPEN_NANOS = 30_000_000_000L;
+    private static final long PROBE_NANOS = 5_000_000_000L;
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        // 50% failure rate over at least 4 of 10 calls, or 3 consecutive failures; 2 probes to close
+        circuitBreaker = new CircuitBreaker(new CircuitBreakerSettings(0.5, 4, 10, 3, OPEN_NANOS, PROBE_NANOS, 2));
+    }
+
+    @Test
+    void shouldOpen_whenConsecutiveFailuresReachThreshold() {
+        // When
+        circuitBreaker.record(true, 0L);
+        circuitBreaker.record(true, 0L);
+        CircuitBreaker.State state = circuitBreaker.record(true, 0L);
+
+        // Then
+        assertThat(state).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission(1L)).isFalse();
+    }
+
+    @Test
+    void shouldOpen_whenFailureRateReachesThreshold() {
+        // When - failures interleaved with successes never run three in a row
+        circuitBreaker.record(false, 0L);
+        circuitBreaker.record(true, 0L);
+        circuitBreaker.record(false, 0L);
+        CircuitBreaker.State state = circuitBreaker.record(true, 0L);
+
+        // Then
+        assertThat(state).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldStayClosed_whenTooFewCallsToJudgeRate() {
+        // When
+        circuitBreaker.record(false, 0L);
+        CircuitBreaker.State state = circuitBreaker.record(true, 0L);
+
+        // Then
+        assertThat(state).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquirePermission(0L)).isTrue();
+    }
+
+    @Test
+    void shouldAdmitOneProbePerInterval_whenOpenDurationHasPassed() {
+        // Given
+        openAt(0L);
+
+        // When & Then
+        assertThat(circuitBreaker.tryAcquirePermission(OPEN_NANOS)).isTrue();
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission(OPEN_NANOS + 1L)).isFalse();
+        assertThat(circuitBreaker.tryAcquirePermission(OPEN_NANOS + PROBE_NANOS)).isTrue();
+    }
+
+    @Test
+    void shouldClose_whenEnoughProbesSucceed() {
+        // Given
+        openAt(0L);
+        circuitBreaker.tryAcquirePermission(OPEN_NANOS);
+
+        // When
+        circuitBreaker.record(false, OPEN_NANOS);
+        CircuitBreaker.State state = circuitBreaker.record(false, OPEN_NANOS);
+
+        // Then
+        assertThat(state).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquirePermission(OPEN_NANOS + 1L)).isTrue();
+    }
+
+    @Test
+    void shouldReopen_whenProbeFails() {
+        // Given
+        openAt(0L);
+        circuitBreaker.tryAcquirePermission(OPEN_NANOS);
+
+        // When
+        CircuitBreaker.State state = circuitBreaker.record(true, OPEN_NANOS);
+
+        // Then
+        assertThat(state).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission(OPEN_NANOS + PROBE_NANOS)).isFalse();
+        assertThat(circuitBreaker.tryAcquirePermission(2 * OPEN_NANOS)).isTrue();
+    }
+
+    private void openAt(long nowNanos) {
+        circuitBreaker.record(true, nowNanos);
+        circuitBreaker.record(true, nowNanos);
+        circuitBreaker.record(true, nowNanos);
+    }
+}
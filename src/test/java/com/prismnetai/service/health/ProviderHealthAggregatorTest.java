@@ -0,0 +1,193 @@
+package com.prismnetai.service.health;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.prismnetai.entity.Model;
+import com.prismnetai.entity.Provider;
+import com.prismnetai.entity.ProviderMetric;
+import com.prismnetai.repository.ProviderMetricRepository;
+import com.prismnetai.service.metrics.CallOutcome;
+
+@ExtendWith(MockitoExtension.class)
+class ProviderHealthAggregatorTest {
+
+    @Mock
+    private ProviderMetricRepository providerMetricRepository;
+
+    @InjectMocks
+    private ProviderHealthAggregator providerHealthAggregator;
+
+    private Provider provider;
+    private Model model1;
+    private Model model2;
+
+    @BeforeEach
+    void setUp() {
+        provider = createProvider(1L, "OpenAI");
+        model1 = createModel(1L, provider, "gpt-4");
+        model2 = createModel(2L, provider, "gpt-3.5-turbo");
+    }
+
+    @Test
+    void shouldReturnEmptyHealth_whenNothingRecorded() {
+        // When
+        HealthSnapshot health = providerHealthAggregator.healthFor(model1);
+
+        // Then
+        assertThat(health.isEmpty()).isTrue();
+        assertThat(health.sampleCount()).isZero();
+    }
+
+    @Test
+    void shouldTrackEwmaLatencyThroughputAndSuccess_whenOutcomesRecorded() {
+        // When
+        providerHealthAggregator.record(outcome(model1, 1000L, 100L, true));
+        providerHealthAggregator.record(outcome(model1, 2000L, 100L, true));
+
+        // Then - alpha 0.2: 1000 + 0.2 * (2000 - 1000)
+        HealthSnapshot health = providerHealthAggregator.getModelHealth(1L);
+        assertThat(health.ewmaLatencyMs()).isCloseTo(1200.0, within(0.001));
+        assertThat(health.throughput()).isCloseTo(90.0, within(0.001));
+        assertThat(health.successRate()).isCloseTo(1.0, within(0.001));
+        assertThat(health.sampleCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldLowerSuccessRateWithoutTouchingLatency_whenCallFails() {
+        // Given
+        providerHealthAggregator.record(outcome(model1, 500L, 50L, true));
+
+        // When
+        providerHealthAggregator.record(outcome(model1, 30000L, 0L, false));
+
+        // Then
+        HealthSnapshot health = providerHealthAggregator.getModelHealth(1L);
+        assertThat(health.successRate()).isCloseTo(0.8, within(0.001));
+        assertThat(health.ewmaLatencyMs()).isCloseTo(500.0, within(0.001));
+    }
+
+    @Test
+    void shouldFallBackToProviderHealth_whenModelHasNoSamples() {
+        // Given
+        providerHealthAggregator.record(outcome(model1, 400L, 0L, true));
+
+        // When
+        HealthSnapshot health = providerHealthAggregator.healthFor(model2);
+
+        // Then
+        assertThat(health.hasLatency()).isTrue();
+        assertThat(health.ewmaLatencyMs()).isCloseTo(400.0, within(0.001));
+    }
+
+    @Test
+    void shouldReportTailPercentiles_whenLatencyIsSkewed() {
+        // When
+        for (int i = 0; i < 95; i++) {
+            providerHealthAggregator.record(outcome(model1, 100L, 0L, true));
+        }
+        for (int i = 0; i < 5; i++) {
+            providerHealthAggregator.record(outcome(model1, 4000L, 0L, true));
+        }
+
+        // Then - bucket upper bounds are within 12.5% of the recorded value
+        HealthSnapshot health = providerHealthAggregator.getProviderHealth(1L);
+        assertThat(health.p50LatencyMs()).isBetween(100.0, 112.5);
+        assertThat(health.p95LatencyMs()).isBetween(100.0, 112.5);
+        assertThat(health.p99LatencyMs()).isBetween(4000.0, 4500.0);
+    }
+
+    @Test
+    void shouldSeedProviderHealth_fromLatestPersistedMetrics() {
+        // Given
+        when(providerMetricRepository.findLatestMetricPerProviderAndType()).thenReturn(List.of(
+                createMetric(provider, ProviderMetric.MetricType.LATENCY, BigDecimal.valueOf(1200.50)),
+                createMetric(provider, ProviderMetric.MetricType.THROUGHPUT, BigDecimal.valueOf(95.20)),
+                createMetric(provider, ProviderMetric.MetricType.SUCCESS_RATE, BigDecimal.valueOf(98.50))));
+
+        // When
+        providerHealthAggregator.seedFromLatestMetrics();
+
+        // Then
+        HealthSnapshot health = providerHealthAggregator.healthFor(model1);
+        assertThat(health.ewmaLatencyMs()).isCloseTo(1200.5, within(0.001));
+        assertThat(health.throughput()).isCloseTo(95.2, within(0.001));
+        assertThat(health.successRate()).isCloseTo(0.985, within(0.001));
+        assertThat(health.sampleCount()).isZero();
+    }
+
+    @Test
+    void shouldKeepServingEmptyHealth_whenSeedingFails() {
+        // Given
+        when(providerMetricRepository.findLatestMetricPerProviderAndType()).thenThrow(new RuntimeException("Database unavailable"));
+
+        // When
+        providerHealthAggregator.seedFromLatestMetrics();
+
+        // Then
+        assertThat(providerHealthAggregator.getProviderHealth(1L).isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldUseTimeToFirstToken_whenRecordingStreamingOutcome() {
+        // When - 50 chunks over 1000ms after a 200ms first token
+        providerHealthAggregator.record(new CallOutcome(1L, 1L, true, 200L, 1200L, 50L, true, 200, System.currentTimeMillis()));
+
+        // Then
+        HealthSnapshot health = providerHealthAggregator.getModelHealth(1L);
+        assertThat(health.ewmaLatencyMs()).isCloseTo(200.0, within(0.001));
+        assertThat(health.throughput()).isCloseTo(50.0, within(0.001));
+    }
+
+    private CallOutcome outcome(Model model, long totalTimeMs, long completionTokens, boolean success) {
+        return new CallOutcome(model.getProvider().getId(), model.getId(), false, -1L, totalTimeMs, completionTokens,
+                               success, success ? 200 : 503, System.currentTimeMillis());
+    }
+
+    private Provider createProvider(Long id, String name) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        provider.setName(name);
+        provider.setBaseUrl("https://api." + name.toLowerCase() + ".com/v1");
+        provider.setApiKey("test-key-" + name.toLowerCase());
+        provider.setIsActive(true);
+        provider.setCreatedAt(LocalDateTime.now());
+        provider.setUpdatedAt(LocalDateTime.now());
+        return provider;
+    }
+
+    private Model createModel(Long id, Provider provider, String modelId) {
+        Model model = new Model();
+        model.setId(id);
+        model.setProvider(provider);
+        model.setModelId(modelId);
+        model.setName(modelId + " Model");
+        model.setContextWindow(4096);
+        model.setInputPricing(BigDecimal.valueOf(0.001));
+        model.setOutputPricing(BigDecimal.valueOf(0.002));
+        model.setIsActive(true);
+        model.setCreatedAt(LocalDateTime.now());
+        model.setUpdatedAt(LocalDateTime.now());
+        return model;
+    }
+
+    private ProviderMetric createMetric(Provider provider, ProviderMetric.MetricType metricType, BigDecimal value) {
+        ProviderMetric metric = new ProviderMetric();
+        metric.setProvider(provider);
+        metric.setMetricType(metricType);
+        metric.setValue(value);
+        metric.setTimestamp(LocalDateTime.now());
+        return metric;
+    }
+}
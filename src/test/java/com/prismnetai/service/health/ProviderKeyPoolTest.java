@@ -0,0 +1,152 @@
+package com.prismnetai.service.health;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.prismnetai.entity.Provider;
+import com.prismnetai.entity.ProviderApiKey;
+
+import reactor.core.publisher.Mono;
+
+class ProviderKeyPoolTest {
+
+    private ProviderQuotaTracker providerQuotaTracker;
+    private ProviderKeyPool providerKeyPool;
+    private Provider openAi;
+
+    @BeforeEach
+    void setUp() {
+        providerQuotaTracker = new ProviderQuotaTracker(true, 0.05);
+        providerKeyPool = new ProviderKeyPool(providerQuotaTracker, 600000, 10000);
+        openAi = createProvider(1L, "OpenAI");
+        openAi.setApiKeys(new ArrayList<>(List.of(new ProviderApiKey("key-a", 1, true),
+                                                  new ProviderApiKey("key-b", 1, true))));
+    }
+
+    @Test
+    void shouldLeaseLeastLoadedKey_whenCallsOverlap() {
+        // When
+        ProviderKeyPool.Lease first = providerKeyPool.acquire(openAi);
+        ProviderKeyPool.Lease second = providerKeyPool.acquire(openAi);
+
+        // Then
+        assertThat(List.of(first.apiKey(), second.apiKey())).containsExactlyInAnyOrder("key-a", "key-b");
+    }
+
+    @Test
+    void shouldFavourHeavierKey_whenWeightsDiffer() {
+        // Given
+        openAi.setApiKeys(new ArrayList<>(List.of(new ProviderApiKey("key-a", 3, true),
+                                                  new ProviderApiKey("key-b", 1, true))));
+
+        // When - four overlapping calls
+        List<String> leased = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            leased.add(providerKeyPool.acquire(openAi).apiKey());
+        }
+
+        // Then
+        assertThat(leased).filteredOn("key-a"::equals).hasSize(3);
+    }
+
+    @Test
+    void shouldQuarantineKey_whenItIsRejectedAsUnauthorized() {
+        // Given
+        List<String> usedKeys = new ArrayList<>();
+        Mono<String> unauthorized = Mono.error(WebClientResponseException.create(401, "Unauthorized", HttpHeaders.EMPTY,
+                                                                                 new byte[0], StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> providerKeyPool.withKey(openAi, apiKey -> {
+            usedKeys.add(apiKey);
+            return unauthorized;
+        }).block()).isInstanceOf(WebClientResponseException.class);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            providerKeyPool.withKey(openAi, apiKey -> {
+                usedKeys.add(apiKey);
+                return Mono.just("response");
+            }).block();
+        }
+
+        // Then - every later call avoids the quarantined key
+        String quarantined = usedKeys.get(0);
+        assertThat(usedKeys.subList(1, usedKeys.size())).doesNotContain(quarantined);
+    }
+
+    @Test
+    void shouldSkipKey_whenItsUpstreamQuotaIsNearlyExhausted() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.RETRY_AFTER, "20");
+        providerQuotaTracker.record("key-a", headers);
+
+        // When & Then
+        for (int i = 0; i < 3; i++) {
+            assertThat(providerKeyPool.acquire(openAi).apiKey()).isEqualTo("key-b");
+        }
+    }
+
+    @Test
+    void shouldUseProviderKey_whenPoolIsEmpty() {
+        // Given
+        Provider anthropic = createProvider(2L, "Anthropic");
+
+        // When
+        ProviderKeyPool.Lease lease = providerKeyPool.acquire(anthropic);
+
+        // Then
+        assertThat(lease.apiKey()).isEqualTo("test-key-anthropic");
+    }
+
+    @Test
+    void shouldDeprioritiseProvider_whenNoKeyIsUsable() {
+        // Given
+        Provider anthropic = createProvider(2L, "Anthropic");
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.RETRY_AFTER, "20");
+        providerQuotaTracker.record("key-a", headers);
+        providerQuotaTracker.record("key-b", headers);
+
+        // When
+        List<Provider> available = providerKeyPool.availableProviders(List.of(openAi, anthropic));
+
+        // Then
+        assertThat(available).containsExactly(anthropic);
+    }
+
+    @Test
+    void shouldFailOpen_whenNoProviderHasUsableKey() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.RETRY_AFTER, "20");
+        providerQuotaTracker.record("key-a", headers);
+        providerQuotaTracker.record("key-b", headers);
+
+        // When
+        List<Provider> available = providerKeyPool.availableProviders(List.of(openAi));
+
+        // Then
+        assertThat(available).containsExactly(openAi);
+    }
+
+    private Provider createProvider(Long id, String name) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        provider.setName(name);
+        provider.setBaseUrl("https://api." + name.toLowerCase() + ".com/v1");
+        provider.setApiKey("test-key-" + name.toLowerCase());
+        provider.setIsActive(true);
+        provider.setCreatedAt(LocalDateTime.now());
+        provider.setUpdatedAt(LocalDateTime.now());
+        return provider;
+    }
+}
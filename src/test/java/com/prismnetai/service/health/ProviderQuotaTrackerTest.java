@@ -0,0 +1,108 @@
+package com.prismnetai.service.health;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import com.prismnetai.entity.Provider;
+
+class ProviderQuotaTrackerTest {
+
+    private ProviderQuotaTracker providerQuotaTracker;
+    private Provider openAi;
+    private Provider anthropic;
+
+    @BeforeEach
+    void setUp() {
+        providerQuotaTracker = new ProviderQuotaTracker(true, 0.05);
+        openAi = createProvider(1L, "OpenAI");
+        anthropic = createProvider(2L, "Anthropic");
+    }
+
+    @Test
+    void shouldReportTightestWindow_whenOpenAiHeadersAreRecorded() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("x-ratelimit-limit-requests", "100");
+        headers.add("x-ratelimit-remaining-requests", "50");
+        headers.add("x-ratelimit-reset-requests", "30s");
+        headers.add("x-ratelimit-limit-tokens", "10000");
+        headers.add("x-ratelimit-remaining-tokens", "1000");
+        headers.add("x-ratelimit-reset-tokens", "6m0s");
+
+        // When
+        providerQuotaTracker.record(openAi.getApiKey(), headers);
+
+        // Then
+        assertThat(providerQuotaTracker.headroom(openAi.getApiKey())).isEqualTo(0.1);
+    }
+
+    @Test
+    void shouldReportNoHeadroom_whenAnthropicHeadersShowQuotaNearlyExhausted() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("anthropic-ratelimit-requests-limit", "50");
+        headers.add("anthropic-ratelimit-requests-remaining", "1");
+        headers.add("anthropic-ratelimit-requests-reset", Instant.now().plusSeconds(60).toString());
+
+        // When
+        providerQuotaTracker.record(anthropic.getApiKey(), headers);
+
+        // Then
+        assertThat(providerQuotaTracker.hasHeadroom(anthropic.getApiKey())).isFalse();
+        assertThat(providerQuotaTracker.hasHeadroom(openAi.getApiKey())).isTrue();
+    }
+
+    @Test
+    void shouldTreatKeyAsExhausted_whenThrottledWithRetryAfter() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.RETRY_AFTER, "20");
+
+        // When
+        providerQuotaTracker.record(openAi.getApiKey(), headers);
+
+        // Then
+        assertThat(providerQuotaTracker.headroom(openAi.getApiKey())).isZero();
+    }
+
+    @Test
+    void shouldRestoreHeadroom_whenWindowHasReset() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("x-ratelimit-limit-requests", "100");
+        headers.add("x-ratelimit-remaining-requests", "0");
+        headers.add("x-ratelimit-reset-requests", "0s");
+
+        // When
+        providerQuotaTracker.record(openAi.getApiKey(), headers);
+
+        // Then
+        assertThat(providerQuotaTracker.headroom(openAi.getApiKey())).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldParseGoStyleDurations() {
+        // When & Then
+        assertThat(ProviderQuotaTracker.parseDurationNanos("20ms")).isEqualTo(20_000_000L);
+        assertThat(ProviderQuotaTracker.parseDurationNanos("6m0s")).isEqualTo(360_000_000_000L);
+        assertThat(ProviderQuotaTracker.parseDurationNanos("1.5s")).isEqualTo(1_500_000_000L);
+        assertThat(ProviderQuotaTracker.parseDurationNanos("soon")).isZero();
+    }
+
+    private Provider createProvider(Long id, String name) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        provider.setName(name);
+        provider.setBaseUrl("https://api." + name.toLowerCase() + ".com/v1");
+        provider.setApiKey("test-key-" + name.toLowerCase());
+        provider.setIsActive(true);
+        provider.setCreatedAt(LocalDateTime.now());
+        provider.setUpdatedAt(LocalDateTime.now());
+        return provider;
+    }
+}
@@ -0,0 +1,110 @@
+package com.prismnetai.service.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+class MetricRingBufferTest {
+
+    @Test
+    void shouldRoundCapacityUpToPowerOfTwo() {
+        // Then
+        assertThat(new MetricRingBuffer<String>(1).capacity()).isEqualTo(1);
+        assertThat(new MetricRingBuffer<String>(5).capacity()).isEqualTo(8);
+        assertThat(new MetricRingBuffer<String>(8192).capacity()).isEqualTo(8192);
+    }
+
+    @Test
+    void shouldRejectNonPositiveCapacity() {
+        // When & Then
+        assertThatThrownBy(() -> new MetricRingBuffer<String>(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldDrainInPublicationOrder() {
+        // Given
+        MetricRingBuffer<String> buffer = new MetricRingBuffer<>(4);
+        buffer.offer("a");
+        buffer.offer("b");
+        buffer.offer("c");
+        List<String> drained = new ArrayList<>();
+
+        // When
+        int count = buffer.drain(drained::add);
+
+        // Then
+        assertThat(count).isEqualTo(3);
+        assertThat(drained).containsExactly("a", "b", "c");
+        assertThat(buffer.drain(drained::add)).isZero();
+    }
+
+    @Test
+    void shouldDropAndCount_whenFull() {
+        // Given
+        MetricRingBuffer<String> buffer = new MetricRingBuffer<>(2);
+        buffer.offer("a");
+        buffer.offer("b");
+
+        // When
+        boolean accepted = buffer.offer("c");
+
+        // Then
+        assertThat(accepted).isFalse();
+        assertThat(buffer.takeDroppedCount()).isEqualTo(1L);
+        assertThat(buffer.takeDroppedCount()).isZero();
+    }
+
+    @Test
+    void shouldReuseSlots_afterDrain() {
+        // Given
+        MetricRingBuffer<Integer> buffer = new MetricRingBuffer<>(2);
+        List<Integer> drained = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+            buffer.drain(drained::add);
+        }
+
+        // Then
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    void shouldNotLoseItems_whenProducersPublishConcurrently() throws InterruptedException {
+        // Given
+        MetricRingBuffer<Integer> buffer = new MetricRingBuffer<>(8192);
+        int producers = 4;
+        int itemsPerProducer = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        for (int p = 0; p < producers; p++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < itemsPerProducer; i++) {
+                    buffer.offer(i);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        List<Integer> drained = new ArrayList<>();
+        buffer.drain(drained::add);
+        assertThat(drained).hasSize(producers * itemsPerProducer);
+        assertThat(buffer.takeDroppedCount()).isZero();
+    }
+}
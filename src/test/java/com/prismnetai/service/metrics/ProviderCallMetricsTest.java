@@ -0,0 +1,317 @@
+package com.prismnetai.service.metrics;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.prismnetai.dto.ChatCompletionResponse;
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.entity.Model;
+import com.prismnetai.entity.Provider;
+import com.prismnetai.service.audit.RequestAuditWriter;
+import com.prismnetai.service.audit.RequestCompletion;
+import com.prismnetai.service.health.CircuitBreakerRegistry;
+import com.prismnetai.service.health.ProviderHealthAggregator;
+
+import reactor.core.publisher.Flux;
+
+@ExtendWith(MockitoExtension.class)
+class ProviderCallMetricsTest {
+
+    @Mock
+    private ProviderHealthAggregator providerHealthAggregator;
+
+    @Mock
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RequestAuditWriter requestAuditWriter;
+
+    private ProviderCallMetrics providerCallMetrics;
+    private AiRequest aiRequest;
+
+    @BeforeEach
+    void setUp() {
+        providerCallMetrics = new ProviderCallMetrics(providerHealthAggregator, circuitBreakerRegistry, jdbcTemplate, requestAuditWriter, 16, true);
+
+        Provider provider = createProvider(1L, "OpenAI");
+        aiRequest = new AiRequest();
+        aiRequest.setId(100L);
+        aiRequest.setSelectedProvider(provider);
+        aiRequest.setSelectedModel(createModel(10L, provider, "gpt-4"));
+    }
+
+    @Test
+    void shouldStampLatencyAndRecordOutcome_whenCompletionSucceeds() {
+        // Given
+        ChatCompletionResponse response = createResponse(20);
+
+        // When
+        providerCallMetrics.recordCompletion(aiRequest, System.nanoTime(), response);
+
+        // Then
+        ArgumentCaptor<CallOutcome> outcome = ArgumentCaptor.forClass(CallOutcome.class);
+        verify(providerHealthAggregator).record(outcome.capture());
+        assertThat(response.getRoutingInfo().getLatencyMs()).isNotNull().isGreaterThanOrEqualTo(0L);
+        assertThat(outcome.getValue().providerId()).isEqualTo(1L);
+        assertThat(outcome.getValue().modelId()).isEqualTo(10L);
+        assertThat(outcome.getValue().streaming()).isFalse();
+        assertThat(outcome.getValue().completionTokens()).isEqualTo(20L);
+        assertThat(outcome.getValue().success()).isTrue();
+        assertThat(outcome.getValue().httpStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldAuditCompletionWithTokensAndCost_whenCompletionSucceeds() {
+        // Given - 10 prompt tokens at 0.001 and 20 completion tokens at 0.002
+        ChatCompletionResponse response = createResponse(20);
+
+        // When
+        providerCallMetrics.recordCompletion(aiRequest, System.nanoTime(), response);
+
+        // Then
+        ArgumentCaptor<RequestCompletion> completion = ArgumentCaptor.forClass(RequestCompletion.class);
+        verify(requestAuditWriter).recordCompletion(completion.capture());
+        assertThat(completion.getValue().requestId()).isEqualTo(100L);
+        assertThat(completion.getValue().status()).isEqualTo(AiRequest.RequestStatus.COMPLETED);
+        assertThat(completion.getValue().tokensUsed()).isEqualTo(30);
+        assertThat(completion.getValue().cost()).isEqualByComparingTo("0.05");
+        assertThat(completion.getValue().completedAt()).isNotNull();
+    }
+
+    @Test
+    void shouldCaptureHttpStatus_whenUpstreamRejectsCall() {
+        // Given
+        WebClientResponseException error = WebClientResponseException.create(429, "Too Many Requests", null, null, null);
+
+        // When
+        providerCallMetrics.recordFailure(aiRequest, System.nanoTime(), new RuntimeException("wrapped", error));
+
+        // Then
+        ArgumentCaptor<CallOutcome> outcome = ArgumentCaptor.forClass(CallOutcome.class);
+        verify(providerHealthAggregator).record(outcome.capture());
+        assertThat(outcome.getValue().success()).isFalse();
+        assertThat(outcome.getValue().httpStatus()).isEqualTo(429);
+
+        ArgumentCaptor<RequestCompletion> completion = ArgumentCaptor.forClass(RequestCompletion.class);
+        verify(requestAuditWriter).recordCompletion(completion.capture());
+        assertThat(completion.getValue().status()).isEqualTo(AiRequest.RequestStatus.FAILED);
+        assertThat(completion.getValue().errorMessage()).isEqualTo("wrapped");
+    }
+
+    @Test
+    void shouldRecordFailureForHealthAndCircuitBreaking_whenCallTimesOut() {
+        // When
+        providerCallMetrics.recordTimeout(aiRequest, false, 5000L);
+
+        // Then
+        ArgumentCaptor<CallOutcome> outcome = ArgumentCaptor.forClass(CallOutcome.class);
+        verify(providerHealthAggregator).record(outcome.capture());
+        verify(circuitBreakerRegistry).record(outcome.getValue());
+        assertThat(outcome.getValue().success()).isFalse();
+        assertThat(outcome.getValue().httpStatus()).isZero();
+        assertThat(outcome.getValue().totalTimeMs()).isEqualTo(5000L);
+        verifyNoInteractions(requestAuditWriter);
+    }
+
+    @Test
+    void shouldRecordTimeToFirstTokenAndEstimatedTokens_whenStreamCompletes() {
+        // Given - three content chunks and no usage chunk
+        Flux<String> stream = Flux.just(chunk("Hello"), chunk(" there"), chunk(" friend"), "[DONE]");
+
+        // When
+        List<String> chunks = providerCallMetrics.instrumentStream(aiRequest, stream).collectList().block();
+
+        // Then
+        ArgumentCaptor<CallOutcome> outcome = ArgumentCaptor.forClass(CallOutcome.class);
+        verify(providerHealthAggregator).record(outcome.capture());
+        assertThat(chunks).hasSize(4);
+        assertThat(outcome.getValue().streaming()).isTrue();
+        assertThat(outcome.getValue().hasTimeToFirstToken()).isTrue();
+        assertThat(outcome.getValue().completionTokens()).isEqualTo(5L);
+        assertThat(outcome.getValue().success()).isTrue();
+    }
+
+    @Test
+    void shouldAuditProviderReportedUsageAndCost_whenStreamCompletes() {
+        // Given - the provider's usage chunk overrides the local estimate
+        Flux<String> stream = Flux.just(chunk("Hi"),
+            "{\"id\":\"chatcmpl-100\",\"choices\":[],\"usage\":{\"prompt_tokens\":10,\"completion_tokens\":20,\"total_tokens\":30}}",
+            "[DONE]");
+
+        // When
+        providerCallMetrics.instrumentStream(aiRequest, stream).blockLast();
+
+        // Then
+        ArgumentCaptor<RequestCompletion> completion = ArgumentCaptor.forClass(RequestCompletion.class);
+        verify(requestAuditWriter).recordCompletion(completion.capture());
+        assertThat(completion.getValue().status()).isEqualTo(AiRequest.RequestStatus.COMPLETED);
+        assertThat(completion.getValue().tokensUsed()).isEqualTo(30);
+        assertThat(completion.getValue().cost()).isEqualByComparingTo("0.05");
+        assertThat(completion.getValue().latencyMs()).isNotNull();
+    }
+
+    @Test
+    void shouldAuditStreamedTokensWithoutHealthOutcome_whenClientCancels() {
+        // Given
+        aiRequest.setPrompt("12345678");
+
+        // When
+        providerCallMetrics.instrumentStream(aiRequest, Flux.concat(Flux.just(chunk("abcd")), Flux.never()))
+                .take(1)
+                .blockLast();
+
+        // Then - 2 estimated prompt tokens at 0.001 and 1 completion token at 0.002
+        ArgumentCaptor<RequestCompletion> completion = ArgumentCaptor.forClass(RequestCompletion.class);
+        verify(requestAuditWriter).recordCompletion(completion.capture());
+        assertThat(completion.getValue().status()).isEqualTo(AiRequest.RequestStatus.FAILED);
+        assertThat(completion.getValue().errorMessage()).isEqualTo(ProviderCallMetrics.STREAM_CANCELLED);
+        assertThat(completion.getValue().tokensUsed()).isEqualTo(3);
+        assertThat(completion.getValue().cost()).isEqualByComparingTo("0.004");
+        verifyNoInteractions(providerHealthAggregator);
+    }
+
+    @Test
+    void shouldRecordFailure_whenStreamErrors() {
+        // When
+        providerCallMetrics.instrumentStream(aiRequest, Flux.<String>error(new IllegalStateException("reset")))
+                .onErrorResume(error -> Flux.empty())
+                .blockLast();
+
+        // Then
+        ArgumentCaptor<CallOutcome> outcome = ArgumentCaptor.forClass(CallOutcome.class);
+        verify(providerHealthAggregator).record(outcome.capture());
+        assertThat(outcome.getValue().success()).isFalse();
+        assertThat(outcome.getValue().hasTimeToFirstToken()).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFlushAggregatedRowsAsSingleBatch() {
+        // Given - provider 1: one success (400ms, 40 tokens) and one failure; provider 2: one streaming success
+        providerCallMetrics.record(new CallOutcome(1L, 10L, false, -1L, 400L, 40L, true, 200, 0L));
+        providerCallMetrics.record(new CallOutcome(1L, 10L, false, -1L, 30000L, 0L, false, 503, 0L));
+        providerCallMetrics.record(new CallOutcome(2L, 20L, true, 150L, 1150L, 100L, true, 200, 0L));
+
+        // When
+        providerCallMetrics.flush();
+
+        // Then
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(ProviderCallMetrics.INSERT_METRIC_SQL), rows.capture());
+        assertThat(rows.getValue()).hasSize(8);
+        assertThat(rows.getValue()).anySatisfy(row -> {
+            assertThat(row[0]).isEqualTo(1L);
+            assertThat(row[1]).isEqualTo("LATENCY");
+            assertThat((BigDecimal) row[2]).isEqualByComparingTo("400");
+        });
+        assertThat(rows.getValue()).anySatisfy(row -> {
+            assertThat(row[0]).isEqualTo(1L);
+            assertThat(row[1]).isEqualTo("SUCCESS_RATE");
+            assertThat((BigDecimal) row[2]).isEqualByComparingTo("0.5");
+        });
+        assertThat(rows.getValue()).anySatisfy(row -> {
+            assertThat(row[0]).isEqualTo(2L);
+            assertThat(row[1]).isEqualTo("TIME_TO_FIRST_TOKEN");
+            assertThat((BigDecimal) row[2]).isEqualByComparingTo("150");
+        });
+        assertThat(rows.getValue()).anySatisfy(row -> {
+            assertThat(row[0]).isEqualTo(2L);
+            assertThat(row[1]).isEqualTo("THROUGHPUT");
+            assertThat((BigDecimal) row[2]).isEqualByComparingTo("100");
+        });
+        verify(providerHealthAggregator, times(3)).record(any(CallOutcome.class));
+    }
+
+    @Test
+    void shouldNotWrite_whenNothingWasRecorded() {
+        // When
+        providerCallMetrics.flush();
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void shouldOnlyFeedHealth_whenPersistenceDisabled() {
+        // Given
+        ProviderCallMetrics healthOnly = new ProviderCallMetrics(providerHealthAggregator, circuitBreakerRegistry, jdbcTemplate, requestAuditWriter, 16, false);
+        CallOutcome outcome = new CallOutcome(1L, 10L, false, -1L, 400L, 40L, true, 200, 0L);
+
+        // When
+        healthOnly.record(outcome);
+        healthOnly.flush();
+
+        // Then
+        verify(providerHealthAggregator).record(outcome);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private String chunk(String content) {
+        return "{\"id\":\"chatcmpl-100\",\"object\":\"chat.completion.chunk\",\"choices\":[{\"index\":0,\"delta\":{\"content\":\""
+            + content + "\"},\"finish_reason\":null}]}";
+    }
+
+    private ChatCompletionResponse createResponse(int completionTokens) {
+        return ChatCompletionResponse.builder()
+            .id("chatcmpl-100")
+            .object("chat.completion")
+            .model("gpt-4")
+            .routingInfo(ChatCompletionResponse.RoutingInfo.builder()
+                .strategy("PRICE")
+                .provider("OpenAI")
+                .latencyMs(0L)
+                .build())
+            .usage(ChatCompletionResponse.Usage.builder()
+                .promptTokens(10)
+                .completionTokens(completionTokens)
+                .totalTokens(10 + completionTokens)
+                .build())
+            .build();
+    }
+
+    private Provider createProvider(Long id, String name) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        provider.setName(name);
+        provider.setBaseUrl("https://api." + name.toLowerCase() + ".com/v1");
+        provider.setApiKey("test-key-" + name.toLowerCase());
+        provider.setIsActive(true);
+        provider.setCreatedAt(LocalDateTime.now());
+        provider.setUpdatedAt(LocalDateTime.now());
+        return provider;
+    }
+
+    private Model createModel(Long id, Provider provider, String modelId) {
+        Model model = new Model();
+        model.setId(id);
+        model.setProvider(provider);
+        model.setModelId(modelId);
+        model.setName(modelId + " Model");
+        model.setContextWindow(4096);
+        model.setInputPricing(BigDecimal.valueOf(0.001));
+        model.setOutputPricing(BigDecimal.valueOf(0.002));
+        model.setIsActive(true);
+        model.setCreatedAt(LocalDateTime.now());
+        model.setUpdatedAt(LocalDateTime.now());
+        return model;
+    }
+}
@@ -0,0 +1,326 @@
+package com.prismnetai.service.provider;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.prismnetai.controller.ChatCompletionController;
+import com.prismnetai.dto.ChatCompletionRequest;
+import com.prismnetai.dto.ChatCompletionResponse;
+import com.prismnetai.entity.AiRequest;
+import com.prismnetai.entity.Model;
+import com.prismnetai.entity.Provider;
+import com.prismnetai.service.RoutingService;
+import com.prismnetai.service.execution.CompletionExecutor;
+import com.prismnetai.service.health.ProviderKeyPool;
+import com.prismnetai.service.health.ProviderQuotaTracker;
+import com.prismnetai.service.metrics.ProviderCallMetrics;
+import com.prismnetai.service.provider.client.OpenAiApiClient;
+import com.prismnetai.service.provider.client.ProviderWebClientFactory;
+import com.prismnetai.service.provider.payload.OpenAiChatRequest;
+import com.prismnetai.service.provider.payload.ProviderCompletion;
+import com.prismnetai.service.ratelimit.LocalRateLimitBackend;
+import com.prismnetai.service.ratelimit.RequestRateLimiter;
+import com.prismnetai.validation.ChatCompletionRequestValidator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Load test for the chat completion path against a local upstream that answers every call after a
+ * fixed delay. It compares how long a burst of concurrent requests takes when each one holds a
+ * thread from a servlet-sized pool for the whole upstream call (the previous {@code .block()}
+ * path) with the non-blocking path, where concurrency is bounded by connections instead of threads.
+ * The controller check drives the same burst through {@link ChatCompletionController} with MockMvc on
+ * one thread, and the virtual-thread benchmark keeps {@value #VIRTUAL_THREAD_REQUESTS} blocking calls in
+ * flight, each on its own virtual thread. For the non-blocking burst and both checks, the upstream holds
+ * every answer until the whole burst has arrived, so they only finish if no call held its thread while
+ * it waited, however slow the machine.
+ *
+ * <p>The virtual-thread benchmark needs roughly two file descriptors per call ({@code ulimit -n});
+ * lower the count with {@code -Dprismnet.loadtest.virtual-thread-requests}.</p>
+ *
+ * <p>Runs with the failsafe plugin: {@code mvn verify}.</p>
+ */
+class ChatCompletionConcurrencyIT {
+
+    private static final int CONCURRENT_REQUESTS = 1000;
+    private static final int SERVLET_THREADS = 200;
+    private static final int VIRTUAL_THREAD_REQUESTS = 10_000;
+    private static final long MAX_HEAP_PER_VIRTUAL_THREAD_CALL = 64 * 1024;
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(500);
+    private static final String UPSTREAM_RESPONSE = "{\"choices\":[{\"message\":{\"content\":\"ok\"}}],"
+            + "\"usage\":{\"prompt_tokens\":5,\"completion_tokens\":7}}";
+
+    private DisposableServer upstream;
+    private volatile Barrier upstreamBarrier;
+    private ProviderWebClientFactory providerWebClientFactory;
+    private OpenAiApiClient openAiApiClient;
+    private OpenAiProviderService openAiProviderService;
+    private AiRequest aiRequest;
+    private ChatCompletionRequest request;
+
+    @BeforeEach
+    void setUp() {
+        upstream = HttpServer.create()
+            .port(0)
+            .route(routes -> routes.post("/v1/chat/completions", (req, res) ->
+                res.sendString(req.receive().aggregate()
+                    .then(Mono.defer(() -> upstreamBarrier != null ? upstreamBarrier.arrive() : Mono.empty()))
+                    .then(Mono.delay(UPSTREAM_LATENCY))
+                    .thenReturn(UPSTREAM_RESPONSE))))
+            .bindNow();
+
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("prismnet.providers.openai.max-connections", String.valueOf(Math.max(CONCURRENT_REQUESTS, virtualThreadRequests())))
+            .withProperty("prismnet.providers.openai.pending-acquire-max-count", "-1")
+            .withProperty("prismnet.providers.openai.connect-timeout", "10000")
+            .withProperty("prismnet.providers.openai.http2", "false");
+        providerWebClientFactory = new ProviderWebClientFactory(environment);
+
+        ProviderQuotaTracker providerQuotaTracker = new ProviderQuotaTracker(true, 0.05);
+        openAiApiClient = new OpenAiApiClient(providerWebClientFactory, providerQuotaTracker);
+        openAiProviderService = new OpenAiProviderService(openAiApiClient, mock(ProviderCallMetrics.class),
+                                                          new ProviderKeyPool(providerQuotaTracker, 600000, 10000));
+
+        Provider provider = createProvider(1L, "OpenAI", "http://localhost:" + upstream.port() + "/v1");
+        aiRequest = new AiRequest();
+        aiRequest.setId(100L);
+        aiRequest.setSelectedProvider(provider);
+        aiRequest.setSelectedModel(createModel(1L, provider, "gpt-4"));
+
+        ChatCompletionRequest.ChatMessage message = new ChatCompletionRequest.ChatMessage();
+        message.setRole("user");
+        message.setContent("Hello");
+        request = new ChatCompletionRequest();
+        request.setRoutingStrategy("PRICE");
+        request.setMessages(List.of(message));
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.disposeNow();
+        providerWebClientFactory.dispose();
+    }
+
+    @Test
+    void shouldServeConcurrentBurstWithoutPinningThreads() throws Exception {
+        // Given - warm up connections and code paths
+        callBlocking(SERVLET_THREADS);
+        callNonBlocking(SERVLET_THREADS);
+
+        // When - no non-blocking call is answered before all of them have reached the upstream
+        long blockingMs = callBlocking(CONCURRENT_REQUESTS);
+        upstreamBarrier = new Barrier(CONCURRENT_REQUESTS);
+        callNonBlocking(CONCURRENT_REQUESTS);
+
+        // Then - blocking needs CONCURRENT_REQUESTS / SERVLET_THREADS waves of UPSTREAM_LATENCY, while every
+        // non-blocking call was in flight at the same time
+        long waves = CONCURRENT_REQUESTS / SERVLET_THREADS;
+        assertThat(blockingMs).isGreaterThanOrEqualTo(waves * UPSTREAM_LATENCY.toMillis());
+        assertThat(upstreamBarrier.arrived()).isEqualTo(CONCURRENT_REQUESTS);
+    }
+
+    @Test
+    void shouldReleaseServletThread_whenControllerAwaitsUpstream() throws Exception {
+        // Given - a single thread dispatches every request, like a servlet pool of one
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(createController()).build();
+        String body = "{\"routingStrategy\":\"PRICE\",\"messages\":[{\"role\":\"user\",\"content\":\"Hello\"}]}";
+        callNonBlocking(SERVLET_THREADS);
+
+        // When - no request is answered before all of them have reached the upstream
+        upstreamBarrier = new Barrier(CONCURRENT_REQUESTS);
+        List<MvcResult> results = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            results.add(mockMvc.perform(post("/v1/chat/completions")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn());
+        }
+        for (MvcResult result : results) {
+            result.getAsyncResult(Duration.ofSeconds(30).toMillis());
+        }
+
+        // Then - the thread was handed back before each upstream call returned, so the calls overlapped
+        assertThat(upstreamBarrier.arrived()).isEqualTo(CONCURRENT_REQUESTS);
+        for (MvcResult result : results) {
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.choices[0].message.content").value("ok"));
+        }
+    }
+
+    @Test
+    void shouldKeepTenThousandBlockingCallsInFlight_whenRunningOnVirtualThreads() throws Exception {
+        // Given
+        int requests = virtualThreadRequests();
+        callOnVirtualThreads(SERVLET_THREADS);
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBeforeBytes = runtime.totalMemory() - runtime.freeMemory();
+
+        // When - no call is answered before all of them have reached the upstream
+        upstreamBarrier = new Barrier(requests);
+        callOnVirtualThreads(requests);
+        long heapAfterBytes = runtime.totalMemory() - runtime.freeMemory();
+
+        // Then - every call was in flight at the same time, and parked virtual threads cost kilobytes of
+        // heap each rather than a platform thread's stack
+        assertThat(upstreamBarrier.arrived()).isEqualTo(requests);
+        assertThat(heapAfterBytes - heapBeforeBytes).isLessThan(requests * MAX_HEAP_PER_VIRTUAL_THREAD_CALL);
+    }
+
+    /**
+     * The controller with in-memory routing and the real provider service behind the executor.
+     */
+    private ChatCompletionController createController() {
+        RoutingService routingService = mock(RoutingService.class);
+        when(routingService.routeRequest(anyString(), eq(AiRequest.RoutingStrategy.PRICE), anyString(), any(), any()))
+            .thenReturn(aiRequest);
+        CompletionExecutor completionExecutor = mock(CompletionExecutor.class);
+        when(completionExecutor.callCompletion(any(ChatCompletionRequest.class), eq(aiRequest)))
+            .thenAnswer(invocation -> openAiProviderService.callCompletion(invocation.getArgument(0), aiRequest));
+        RequestRateLimiter requestRateLimiter = new RequestRateLimiter(new LocalRateLimitBackend(), false, 0, 0, 0, 0, 1024);
+        return new ChatCompletionController(routingService, completionExecutor, new ChatCompletionRequestValidator(),
+                                            requestRateLimiter);
+    }
+
+    /**
+     * Virtual-thread mode: the client still blocks, but on a virtual thread that unmounts while it waits.
+     */
+    private long callOnVirtualThreads(int requests) throws Exception {
+        try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            List<Future<ChatCompletionResponse>> calls = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                calls.add(virtualThreads.submit(() -> openAiProviderService.callCompletion(request, aiRequest).block()));
+            }
+            for (Future<ChatCompletionResponse> call : calls) {
+                assertThat(call.get()).isNotNull();
+            }
+            return Duration.ofNanos(System.nanoTime() - start).toMillis();
+        }
+    }
+
+    private static int virtualThreadRequests() {
+        return Integer.getInteger("prismnet.loadtest.virtual-thread-requests", VIRTUAL_THREAD_REQUESTS);
+    }
+
+    /**
+     * Previous behaviour: each request holds a servlet thread while the client blocks on the upstream call.
+     */
+    private long callBlocking(int requests) throws Exception {
+        ExecutorService servletThreads = Executors.newFixedThreadPool(SERVLET_THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<ProviderCompletion>> calls = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                calls.add(servletThreads.submit(() -> openAiApiClient
+                    .chatCompletions(OpenAiChatRequest.of(request, "gpt-4", false), aiRequest.getSelectedProvider().getBaseUrl(), "test-key")
+                    .block()));
+            }
+            for (Future<ProviderCompletion> call : calls) {
+                assertThat(call.get().content()).isEqualTo("ok");
+            }
+            return Duration.ofNanos(System.nanoTime() - start).toMillis();
+        } finally {
+            servletThreads.shutdownNow();
+        }
+    }
+
+    /**
+     * Current behaviour: every request is subscribed at once and no thread waits on the upstream.
+     */
+    private long callNonBlocking(int requests) {
+        long start = System.nanoTime();
+        List<ChatCompletionResponse> responses = Flux.range(0, requests)
+            .flatMap(i -> openAiProviderService.callCompletion(request, aiRequest), requests)
+            .collectList()
+            .block(Duration.ofSeconds(30));
+        assertThat(responses).hasSize(requests);
+        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+    }
+
+    private Provider createProvider(Long id, String name, String baseUrl) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        provider.setName(name);
+        provider.setBaseUrl(baseUrl);
+        provider.setApiKey("test-key-" + name.toLowerCase());
+        provider.setIsActive(true);
+        provider.setCreatedAt(LocalDateTime.now());
+        provider.setUpdatedAt(LocalDateTime.now());
+        return provider;
+    }
+
+    private Model createModel(Long id, Provider provider, String modelId) {
+        Model model = new Model();
+        model.setId(id);
+        model.setProvider(provider);
+        model.setModelId(modelId);
+        model.setName(modelId + " Model");
+        model.setContextWindow(4096);
+        model.setInputPricing(BigDecimal.valueOf(0.001));
+        model.setOutputPricing(BigDecimal.valueOf(0.002));
+        model.setIsActive(true);
+        model.setCreatedAt(LocalDateTime.now());
+        model.setUpdatedAt(LocalDateTime.now());
+        return model;
+    }
+
+    /**
+     * Holds the upstream's answers until a given number of requests have arrived.
+     */
+    private static final class Barrier {
+
+        private final int parties;
+        private final AtomicInteger arrived = new AtomicInteger();
+        private final Sinks.Empty<Void> open = Sinks.empty();
+
+        Barrier(int parties) {
+            this.parties = parties;
+        }
+
+        Mono<Void> arrive() {
+            if (arrived.incrementAndGet() >= parties) {
+                open.tryEmitEmpty();
+            }
+            return open.asMono();
+        }
+
+        int arrived() {
+            return arrived.get();
+        }
+    }
+}
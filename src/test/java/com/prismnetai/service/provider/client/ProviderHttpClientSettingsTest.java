@@ -0,0 +1,51 @@
+package com.prismnetai.service.provider.client;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class ProviderHttpClientSettingsTest {
+
+    @Test
+    void shouldUseBuiltInDefaults_whenNothingConfigured() {
+        // When
+        ProviderHttpClientSettings settings = ProviderHttpClientSettings.resolve(new MockEnvironment(), "OpenAI");
+
+        // Then
+        assertThat(settings.maxConnections()).isEqualTo(500);
+        assertThat(settings.pendingAcquireMaxCount()).isEqualTo(1000);
+        assertThat(settings.responseTimeout()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(settings.http2()).isTrue();
+        assertThat(settings.compression()).isTrue();
+    }
+
+    @Test
+    void shouldPreferProviderSetting_overSharedDefault() {
+        // Given
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("prismnet.providers.default.max-connections", "200")
+            .withProperty("prismnet.providers.default.timeout", "20000")
+            .withProperty("prismnet.providers.anthropic.timeout", "60000")
+            .withProperty("prismnet.providers.anthropic.http2", "false");
+
+        // When
+        ProviderHttpClientSettings anthropic = ProviderHttpClientSettings.resolve(environment, "Anthropic");
+        ProviderHttpClientSettings openAi = ProviderHttpClientSettings.resolve(environment, "OpenAI");
+
+        // Then
+        assertThat(anthropic.maxConnections()).isEqualTo(200);
+        assertThat(anthropic.responseTimeout()).isEqualTo(Duration.ofSeconds(60));
+        assertThat(anthropic.http2()).isFalse();
+        assertThat(openAi.responseTimeout()).isEqualTo(Duration.ofSeconds(20));
+        assertThat(openAi.http2()).isTrue();
+    }
+
+    @Test
+    void shouldNormalizeProviderName_whenBuildingPropertyKey() {
+        // Then
+        assertThat(ProviderHttpClientSettings.propertyKey("OpenAI")).isEqualTo("openai");
+        assertThat(ProviderHttpClientSettings.propertyKey("Together AI")).isEqualTo("togetherai");
+    }
+}
@@ -0,0 +1,37 @@
+package com.prismnetai.service.provider.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.WebClient;
+
+class ProviderWebClientFactoryTest {
+
+    private final ProviderWebClientFactory providerWebClientFactory = new ProviderWebClientFactory(new MockEnvironment());
+
+    @AfterEach
+    void tearDown() {
+        providerWebClientFactory.dispose();
+    }
+
+    @Test
+    void shouldReuseClient_forSameProvider() {
+        // When
+        WebClient first = providerWebClientFactory.forProvider("OpenAI");
+        WebClient second = providerWebClientFactory.forProvider("openai");
+
+        // Then
+        assertThat(first).isSameAs(second);
+    }
+
+    @Test
+    void shouldIsolateClients_acrossProviders() {
+        // When
+        WebClient openAi = providerWebClientFactory.forProvider("OpenAI");
+        WebClient anthropic = providerWebClientFactory.forProvider("Anthropic");
+
+        // Then
+        assertThat(openAi).isNotSameAs(anthropic);
+    }
+}
@@ -0,0 +1,97 @@
+package com.prismnetai.service.provider.payload;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares decoding an OpenAI completion body the previous way (joined into a {@code String},
+ * read into a {@link JsonNode} tree, three fields pulled out) with {@link CompletionBodyDecoder}
+ * consuming the body buffer by buffer. Bodies range from 1KB to 200KB and arrive in 8KB network
+ * buffers. Run with {@code -prof gc}, as {@link #main} does, and compare time and
+ * {@code gc.alloc.rate.norm} (bytes allocated per response).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompletionBodyBenchmark {
+
+    private static final int NETWORK_BUFFER_SIZE = 8192;
+
+    @Param({"1024", "16384", "204800"})
+    private int bodySize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] body;
+    private List<byte[]> chunks;
+
+    @Setup
+    public void setUp() {
+        String envelope = "{\"id\":\"chatcmpl-abc\",\"object\":\"chat.completion\",\"created\":1700000000,\"model\":\"gpt-4\","
+            + "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"%s\"},\"finish_reason\":\"stop\"}],"
+            + "\"usage\":{\"prompt_tokens\":120,\"completion_tokens\":4000,\"total_tokens\":4120}}";
+        StringBuilder content = new StringBuilder();
+        while (content.length() < bodySize - envelope.length()) {
+            content.append("Routing spreads load across providers by price, latency and throughput.\\n");
+        }
+        body = String.format(envelope, content).getBytes(StandardCharsets.UTF_8);
+        chunks = new ArrayList<>();
+        for (int start = 0; start < body.length; start += NETWORK_BUFFER_SIZE) {
+            chunks.add(Arrays.copyOfRange(body, start, Math.min(body.length, start + NETWORK_BUFFER_SIZE)));
+        }
+    }
+
+    @Benchmark
+    public void stringTree(Blackhole blackhole) throws IOException {
+        JsonNode jsonNode = objectMapper.readTree(new String(body, StandardCharsets.UTF_8));
+        blackhole.consume(jsonNode.path("choices").get(0).path("message").path("content").asText());
+        blackhole.consume(jsonNode.path("usage").path("prompt_tokens").asInt());
+        blackhole.consume(jsonNode.path("usage").path("completion_tokens").asInt());
+    }
+
+    @Benchmark
+    public void incrementalDecoder(Blackhole blackhole) throws IOException {
+        CompletionBodyDecoder decoder = new CompletionBodyDecoder(CompletionBodyDecoder.Format.OPENAI);
+        for (byte[] chunk : chunks) {
+            DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.wrap(chunk);
+            decoder.decode(buffer);
+        }
+        blackhole.consume(decoder.finish());
+        decoder.close();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(CompletionBodyBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
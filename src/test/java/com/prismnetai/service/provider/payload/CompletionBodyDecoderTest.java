@@ -0,0 +1,77 @@
+package com.prismnetai.service.provider.payload;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import reactor.core.publisher.Flux;
+
+class CompletionBodyDecoderTest {
+
+    @Test
+    void shouldExtractCompletion_whenOpenAiBodyIsSplitAcrossBuffers() {
+        // Given - the content holds a multi-byte character and nested fields share names with the ones we want
+        String body = "{\"id\":\"chatcmpl-abc\",\"object\":\"chat.completion\",\"choices\":[{\"index\":0,"
+            + "\"message\":{\"role\":\"assistant\",\"content\":\"Café \\\"ok\\\"\",\"metadata\":{\"content\":\"ignored\"}},"
+            + "\"finish_reason\":\"length\"},{\"index\":1,\"message\":{\"content\":\"second\"},\"finish_reason\":\"stop\"}],"
+            + "\"usage\":{\"prompt_tokens\":12,\"completion_tokens\":34,\"total_tokens\":46,"
+            + "\"completion_tokens_details\":{\"reasoning_tokens\":7}}}";
+
+        // When
+        ProviderCompletion completion = CompletionBodyDecoder.decode(split(body, 7), CompletionBodyDecoder.Format.OPENAI).block();
+
+        // Then
+        assertThat(completion).isEqualTo(new ProviderCompletion("Café \"ok\"", "length", 12, 34));
+    }
+
+    @Test
+    void shouldJoinTextBlocksAndMapStopReason_whenAnthropicBodyIsDecoded() {
+        // Given
+        String body = "{\"id\":\"msg_1\",\"type\":\"message\",\"role\":\"assistant\",\"content\":["
+            + "{\"type\":\"text\",\"text\":\"Hello, \"},{\"type\":\"tool_use\",\"id\":\"tool_1\",\"input\":{\"text\":\"ignored\"}},"
+            + "{\"type\":\"text\",\"text\":\"world\"}],\"stop_reason\":\"max_tokens\","
+            + "\"usage\":{\"input_tokens\":5,\"output_tokens\":9}}";
+
+        // When
+        ProviderCompletion completion = CompletionBodyDecoder.decode(split(body, 16), CompletionBodyDecoder.Format.ANTHROPIC).block();
+
+        // Then
+        assertThat(completion).isEqualTo(new ProviderCompletion("Hello, world", "length", 5, 9));
+    }
+
+    @Test
+    void shouldFail_whenBodyIsTruncated() {
+        // Given
+        String body = "{\"choices\":[{\"message\":{\"content\":\"partial";
+
+        // When & Then
+        assertThatThrownBy(() -> CompletionBodyDecoder.decode(split(body, 8), CompletionBodyDecoder.Format.OPENAI).block())
+            .hasCauseInstanceOf(JsonProcessingException.class);
+    }
+
+    @Test
+    void shouldFail_whenBodyIsEmpty() {
+        // When & Then
+        assertThatThrownBy(() -> CompletionBodyDecoder.decode(Flux.empty(), CompletionBodyDecoder.Format.OPENAI).block())
+            .hasCauseInstanceOf(JsonProcessingException.class);
+    }
+
+    private Flux<DataBuffer> split(String body, int chunkSize) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int start = 0; start < bytes.length; start += chunkSize) {
+            byte[] chunk = Arrays.copyOfRange(bytes, start, Math.min(bytes.length, start + chunkSize));
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
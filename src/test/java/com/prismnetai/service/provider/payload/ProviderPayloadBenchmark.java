@@ -0,0 +1,96 @@
+package com.prismnetai.service.provider.payload;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prismnetai.dto.ChatCompletionRequest;
+
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * Compares encoding a provider request body the previous way (a {@code Map.of} tree serialized
+ * reflectively, once for the log line and once for the wire) with {@link ProviderPayloadWriter}
+ * writing a typed payload into a pooled Netty buffer. Run with {@code -prof gc}, as {@link #main}
+ * does, and compare {@code gc.alloc.rate.norm} (bytes allocated per request).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProviderPayloadBenchmark {
+
+    @Param({"1", "8", "32"})
+    private int messageCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private ChatCompletionRequest request;
+
+    @Setup
+    public void setUp() {
+        List<ChatCompletionRequest.ChatMessage> messages = new ArrayList<>();
+        for (int i = 0; i < messageCount; i++) {
+            messages.add(new ChatCompletionRequest.ChatMessage(i % 2 == 0 ? "user" : "assistant",
+                "Message " + i + " of a conversation about routing requests across AI providers."));
+        }
+        request = new ChatCompletionRequest();
+        request.setMessages(messages);
+        request.setMaxTokens(256);
+        request.setTemperature(BigDecimal.valueOf(0.7));
+    }
+
+    @Benchmark
+    public void mapTree(Blackhole blackhole) throws JsonProcessingException {
+        List<Map<String, String>> messages = request.getMessages().stream()
+            .map(msg -> Map.of("role", msg.getRole(), "content", msg.getContent()))
+            .toList();
+        Map<String, Object> payload = Map.of(
+            "model", "claude-3-haiku",
+            "max_tokens", request.getMaxTokens(),
+            "messages", messages,
+            "temperature", request.getTemperature());
+        blackhole.consume(objectMapper.writeValueAsString(payload));
+        blackhole.consume(objectMapper.writeValueAsBytes(payload));
+    }
+
+    @Benchmark
+    public void typedWriter(Blackhole blackhole) {
+        DataBuffer buffer = ProviderPayloadWriter.write(AnthropicMessagesRequest.of(request, "claude-3-haiku", false), bufferFactory);
+        blackhole.consume(buffer.readableByteCount());
+        DataBufferUtils.release(buffer);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ProviderPayloadBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
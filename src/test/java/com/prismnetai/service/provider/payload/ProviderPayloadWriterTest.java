@@ -0,0 +1,73 @@
+package com.prismnetai.service.provider.payload;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import com.prismnetai.dto.ChatCompletionRequest;
+
+class ProviderPayloadWriterTest {
+
+    @Test
+    void shouldWriteOpenAiRequest_withDefaultsApplied() {
+        // Given
+        ChatCompletionRequest request = createRequest(null, null);
+
+        // When
+        String json = write(OpenAiChatRequest.of(request, "gpt-4", false));
+
+        // Then
+        assertThat(json).isEqualTo("{\"model\":\"gpt-4\",\"messages\":[{\"role\":\"system\",\"content\":\"Be \\\"brief\\\"\"},"
+            + "{\"role\":\"user\",\"content\":\"Hello\"}],\"max_tokens\":100,\"temperature\":1.0}");
+    }
+
+    @Test
+    void shouldAskForUsageChunk_whenOpenAiRequestIsStreamed() {
+        // Given
+        ChatCompletionRequest request = createRequest(50, BigDecimal.valueOf(0.2));
+
+        // When
+        String json = write(OpenAiChatRequest.of(request, "gpt-4", true));
+
+        // Then
+        assertThat(json).endsWith("\"max_tokens\":50,\"temperature\":0.2,\"stream\":true,\"stream_options\":{\"include_usage\":true}}");
+    }
+
+    @Test
+    void shouldWriteAnthropicRequest_withDefaultsApplied() {
+        // Given
+        ChatCompletionRequest request = createRequest(null, null);
+
+        // When
+        String json = write(AnthropicMessagesRequest.of(request, "claude-3-haiku", true));
+
+        // Then
+        assertThat(json).isEqualTo("{\"model\":\"claude-3-haiku\",\"max_tokens\":1024,\"messages\":[{\"role\":\"system\","
+            + "\"content\":\"Be \\\"brief\\\"\"},{\"role\":\"user\",\"content\":\"Hello\"}],\"temperature\":1.0,\"stream\":true}");
+    }
+
+    private String write(ProviderPayload payload) {
+        DataBuffer buffer = ProviderPayloadWriter.write(payload, DefaultDataBufferFactory.sharedInstance);
+        try {
+            return buffer.toString(StandardCharsets.UTF_8);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private ChatCompletionRequest createRequest(Integer maxTokens, BigDecimal temperature) {
+        ChatCompletionRequest request = new ChatCompletionRequest();
+        request.setMessages(List.of(
+            new ChatCompletionRequest.ChatMessage("system", "Be \"brief\""),
+            new ChatCompletionRequest.ChatMessage("user", "Hello")));
+        request.setMaxTokens(maxTokens);
+        request.setTemperature(temperature);
+        return request;
+    }
+}
@@ -0,0 +1,74 @@
+package com.prismnetai.service.provider.stream;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import com.prismnetai.exception.ProviderException;
+
+import reactor.core.publisher.Flux;
+
+class AnthropicStreamTranslatorTest {
+
+    @Test
+    void shouldTranslateEventsToOpenAiChunks_whenStreamCompletes() {
+        // Given
+        Flux<SseEvent> events = Flux.just(
+            new SseEvent("message_start", "{\"type\":\"message_start\",\"message\":{\"id\":\"msg_1\",\"content\":[],\"usage\":{\"input_tokens\":12,\"output_tokens\":1}}}"),
+            new SseEvent("content_block_start", "{\"type\":\"content_block_start\",\"index\":0}"),
+            new SseEvent("ping", "{\"type\":\"ping\"}"),
+            new SseEvent("content_block_delta", "{\"type\":\"content_block_delta\",\"index\":0,\"delta\":{\"type\":\"text_delta\",\"text\":\"Hello \\\"world\\\"\"}}"),
+            new SseEvent("content_block_stop", "{\"type\":\"content_block_stop\",\"index\":0}"),
+            new SseEvent("message_delta", "{\"type\":\"message_delta\",\"delta\":{\"stop_reason\":\"end_turn\"},\"usage\":{\"output_tokens\":5}}"),
+            new SseEvent("message_stop", "{\"type\":\"message_stop\"}"));
+
+        // When
+        List<String> chunks = AnthropicStreamTranslator.translate(events, "chatcmpl-1", "claude-3").collectList().block();
+
+        // Then
+        assertThat(chunks).hasSize(5);
+        assertThat(chunks.get(0)).contains("\"object\":\"chat.completion.chunk\"", "\"model\":\"claude-3\"", "\"role\":\"assistant\"");
+        assertThat(chunks.get(1)).contains("\"content\":\"Hello \\\"world\\\"\"", "\"finish_reason\":null");
+        assertThat(chunks.get(2)).contains("\"finish_reason\":\"stop\"");
+        assertThat(chunks.get(3)).contains("\"choices\":[]", "\"prompt_tokens\":12", "\"completion_tokens\":5", "\"total_tokens\":17");
+        assertThat(chunks.get(4)).isEqualTo(SseEvent.DONE);
+    }
+
+    @Test
+    void shouldMapStopReasonsToOpenAiFinishReasons() {
+        // Then
+        assertThat(AnthropicStreamTranslator.finishReason("end_turn")).isEqualTo("stop");
+        assertThat(AnthropicStreamTranslator.finishReason("stop_sequence")).isEqualTo("stop");
+        assertThat(AnthropicStreamTranslator.finishReason("max_tokens")).isEqualTo("length");
+        assertThat(AnthropicStreamTranslator.finishReason("tool_use")).isEqualTo("tool_calls");
+    }
+
+    @Test
+    void shouldEndWithoutUsageChunk_whenNoUsageReported() {
+        // Given
+        Flux<SseEvent> events = Flux.just(
+            new SseEvent("message_start", "{\"type\":\"message_start\",\"message\":{\"id\":\"msg_1\"}}"),
+            new SseEvent("message_stop", "{\"type\":\"message_stop\"}"));
+
+        // When
+        List<String> chunks = AnthropicStreamTranslator.translate(events, "chatcmpl-1", "claude-3").collectList().block();
+
+        // Then
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(1)).isEqualTo(SseEvent.DONE);
+    }
+
+    @Test
+    void shouldFailStream_whenErrorEventReceived() {
+        // Given
+        Flux<SseEvent> events = Flux.just(
+            new SseEvent("error", "{\"type\":\"error\",\"error\":{\"type\":\"overloaded_error\",\"message\":\"Overloaded\"}}"));
+
+        // When & Then
+        assertThatThrownBy(() -> AnthropicStreamTranslator.translate(events, "chatcmpl-1", "claude-3").blockLast())
+            .isInstanceOf(ProviderException.class)
+            .hasMessageContaining("Overloaded");
+    }
+}
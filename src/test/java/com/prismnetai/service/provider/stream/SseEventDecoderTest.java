@@ -0,0 +1,85 @@
+package com.prismnetai.service.provider.stream;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import reactor.core.publisher.Flux;
+
+class SseEventDecoderTest {
+
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    @Test
+    void shouldDecodeEvents_whenWholeEventsArriveInOneBuffer() {
+        // When
+        List<SseEvent> events = decode("data: {\"a\":1}\n\ndata: [DONE]\n\n");
+
+        // Then
+        assertThat(events).containsExactly(new SseEvent(null, "{\"a\":1}"), new SseEvent(null, SseEvent.DONE));
+        assertThat(events.get(1).isDone()).isTrue();
+    }
+
+    @Test
+    void shouldReassembleEvent_whenSplitAcrossBuffers() {
+        // When
+        List<SseEvent> events = decode("event: message_", "start\ndata: {\"ty", "pe\":\"message_start\"}\n", "\n");
+
+        // Then
+        assertThat(events).containsExactly(new SseEvent("message_start", "{\"type\":\"message_start\"}"));
+    }
+
+    @Test
+    void shouldHandleCrLfLineEndings_whenSplitBetweenCarriageReturnAndLineFeed() {
+        // When
+        List<SseEvent> events = decode("data: first\r", "\n\r\ndata: second\r\r");
+
+        // Then
+        assertThat(events).containsExactly(new SseEvent(null, "first"), new SseEvent(null, "second"));
+    }
+
+    @Test
+    void shouldJoinMultiLineDataAndSkipComments() {
+        // When
+        List<SseEvent> events = decode(": keep-alive\n\nid: 7\ndata: line one\ndata:line two\nretry: 100\n\n");
+
+        // Then
+        assertThat(events).containsExactly(new SseEvent(null, "line one\nline two"));
+    }
+
+    @Test
+    void shouldDecodeMultiByteCharacter_whenSplitInsideIt() {
+        // Given - the accented character is two bytes in UTF-8; split the stream between them
+        byte[] bytes = "data: caf\u00e9\n\n".getBytes(StandardCharsets.UTF_8);
+        int split = 10;
+
+        // When
+        List<SseEvent> events = SseEventDecoder.decode(Flux.just(
+                bufferFactory.wrap(Arrays.copyOfRange(bytes, 0, split)),
+                bufferFactory.wrap(Arrays.copyOfRange(bytes, split, bytes.length))))
+            .collectList().block();
+
+        // Then
+        assertThat(events).containsExactly(new SseEvent(null, "caf\u00e9"));
+    }
+
+    @Test
+    void shouldDropTrailingEvent_whenStreamEndsWithoutBlankLine() {
+        // When
+        List<SseEvent> events = decode("data: complete\n\ndata: partial\n");
+
+        // Then
+        assertThat(events).containsExactly(new SseEvent(null, "complete"));
+    }
+
+    private List<SseEvent> decode(String... chunks) {
+        Flux<DataBuffer> buffers = Flux.fromArray(chunks)
+            .map(chunk -> bufferFactory.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+        return SseEventDecoder.decode(buffers).collectList().block();
+    }
+}
@@ -0,0 +1,73 @@
+package com.prismnetai.service.ratelimit;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GcraBucketTest {
+
+    private static final long SECOND_NANOS = 1_000_000_000L;
+
+    // 10 units per second: one unit refills every 100ms, bursts of up to 10
+    private final RateLimit limit = RateLimit.of("requests per second", 10, Duration.ofSeconds(1));
+
+    private GcraBucket bucket;
+
+    @BeforeEach
+    void setUp() {
+        bucket = new GcraBucket(0L);
+    }
+
+    @Test
+    void shouldAdmitFullBurst_thenRejectWithTimeToNextUnit() {
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertThat(bucket.tryConsume(0L, 1L, limit)).isZero();
+        }
+        long waitNanos = bucket.tryConsume(0L, 1L, limit);
+
+        // Then
+        assertThat(waitNanos).isEqualTo(SECOND_NANOS / 10);
+    }
+
+    @Test
+    void shouldRefillOverTime() {
+        // Given
+        bucket.tryConsume(0L, 10L, limit);
+
+        // When & Then
+        assertThat(bucket.tryConsume(SECOND_NANOS / 10, 1L, limit)).isZero();
+        assertThat(bucket.tryConsume(SECOND_NANOS / 10, 1L, limit)).isPositive();
+        assertThat(bucket.isFull(SECOND_NANOS)).isFalse();
+        assertThat(bucket.isFull(SECOND_NANOS + SECOND_NANOS / 10)).isTrue();
+    }
+
+    @Test
+    void shouldReturnUnits_whenRefundedButNeverBeyondCapacity() {
+        // Given
+        bucket.tryConsume(0L, 10L, limit);
+
+        // When
+        bucket.refund(0L, 4L, limit);
+        bucket.refund(0L, 100L, limit);
+
+        // Then - the bucket is full again, not holding a 100-unit credit
+        assertThat(bucket.isFull(0L)).isTrue();
+        assertThat(bucket.tryConsume(0L, 10L, limit)).isZero();
+        assertThat(bucket.tryConsume(0L, 1L, limit)).isPositive();
+    }
+
+    @Test
+    void shouldChargeExtra_whenRefundIsNegative() {
+        // Given
+        bucket.tryConsume(0L, 5L, limit);
+
+        // When - the request used 8 units more than it reserved
+        bucket.refund(0L, -8L, limit);
+
+        // Then
+        assertThat(bucket.tryConsume(0L, 1L, limit)).isEqualTo(4 * SECOND_NANOS / 10);
+    }
+}
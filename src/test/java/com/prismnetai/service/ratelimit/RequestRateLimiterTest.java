@@ -0,0 +1,167 @@
+package com.prismnetai.service.ratelimit;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.prismnetai.dto.ChatCompletionResponse;
+import com.prismnetai.exception.ProviderException;
+import com.prismnetai.exception.RateLimitExceededException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class RequestRateLimiterTest {
+
+    private LocalRateLimitBackend backend;
+    private RequestRateLimiter requestRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        backend = new LocalRateLimitBackend();
+        // 2 requests per second and 1000 tokens per minute for users and API keys alike
+        requestRateLimiter = new RequestRateLimiter(backend, true, 2, 1000, 2, 1000, 100);
+    }
+
+    @Test
+    void shouldReject_whenUserExceedsRequestRate() {
+        // Given
+        requestRateLimiter.acquire("alice", null, "Hi", 10);
+        requestRateLimiter.acquire("alice", null, "Hi", 10);
+
+        // When & Then
+        assertThatThrownBy(() -> requestRateLimiter.acquire("alice", null, "Hi", 10))
+            .isInstanceOf(RateLimitExceededException.class)
+            .hasMessage("Rate limit of 2 requests per second exceeded for user alice")
+            .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfter()).isPositive());
+        requestRateLimiter.acquire("bob", null, "Hi", 10);
+    }
+
+    @Test
+    void shouldReserveMaxTokens_andRejectWhenTokenQuotaIsSpent() {
+        // Given - 1 prompt token plus 900 completion tokens reserved
+        requestRateLimiter.acquire("alice", null, "Hi", 900);
+
+        // When & Then
+        assertThatThrownBy(() -> requestRateLimiter.acquire("alice", null, "Hi", 200))
+            .isInstanceOf(RateLimitExceededException.class)
+            .hasMessage("Rate limit of 1000 tokens per minute exceeded for user alice");
+    }
+
+    @Test
+    void shouldRefundUnusedTokens_whenResponseReportsUsage() {
+        // Given
+        RateLimitReservation reservation = requestRateLimiter.acquire("alice", null, "Hi", 900);
+
+        // When
+        requestRateLimiter.settle(reservation, Mono.just(responseWithTotalTokens(50))).block();
+
+        // Then - 950 of the 1000 tokens are free again
+        requestRateLimiter.acquire("alice", null, "Hi", 900);
+    }
+
+    @Test
+    void shouldReleaseReservation_whenCallFails() {
+        // Given
+        RateLimitReservation reservation = requestRateLimiter.acquire("alice", null, "Hi", 900);
+
+        // When
+        assertThatThrownBy(() -> requestRateLimiter.settle(reservation,
+                Mono.<ChatCompletionResponse>error(new ProviderException("Failed to communicate with OpenAI API"))).block())
+            .isInstanceOf(ProviderException.class);
+
+        // Then
+        requestRateLimiter.acquire("alice", null, "Hi", 900);
+    }
+
+    @Test
+    void shouldReconcileWithUsageChunk_whenStreaming() {
+        // Given
+        RateLimitReservation reservation = requestRateLimiter.acquire("alice", null, "Hi", 900);
+        Flux<String> stream = Flux.just(
+            "{\"id\":\"chatcmpl-1\",\"choices\":[{\"index\":0,\"delta\":{\"content\":\"Hello\"}}]}",
+            "{\"id\":\"chatcmpl-1\",\"choices\":[],\"usage\":{\"prompt_tokens\":1,\"completion_tokens\":9,\"total_tokens\":10}}",
+            "[DONE]");
+
+        // When
+        List<String> chunks = requestRateLimiter.settleStream(reservation, stream).collectList().block();
+
+        // Then
+        assertThat(chunks).hasSize(3);
+        requestRateLimiter.acquire("alice", null, "Hi", 900);
+    }
+
+    @Test
+    void shouldUndoEarlierCharges_whenApiKeyIsRejected() {
+        // Given - the key's requests are spent by another user
+        ApiKeyQuota key = ApiKeyQuota.of("key-1", null, null);
+        requestRateLimiter.acquire("bob", key, "Hi", 10);
+        requestRateLimiter.acquire("bob", key, "Hi", 10);
+
+        // When
+        assertThatThrownBy(() -> requestRateLimiter.acquire("alice", key, "Hi", 10))
+            .isInstanceOf(RateLimitExceededException.class)
+            .hasMessage("Rate limit of 2 requests per second exceeded for API key");
+
+        // Then - alice's own request budget was not spent on the rejected request
+        requestRateLimiter.acquire("alice", null, "Hi", 10);
+        requestRateLimiter.acquire("alice", null, "Hi", 10);
+    }
+
+    @Test
+    void shouldSettleOnlyOnce_whenReleasedTwice() {
+        // Given
+        RequestRateLimiter limiter = new RequestRateLimiter(backend, true, 10, 1000, 10, 1000, 100);
+        RateLimitReservation reservation = limiter.acquire("alice", null, "Hi", 900);
+        limiter.acquire("alice", null, "Hi", 50);
+
+        // When - a second release must not return the other request's tokens
+        limiter.release(reservation);
+        limiter.release(reservation);
+
+        // Then
+        assertThatThrownBy(() -> limiter.acquire("alice", null, "Hi", 960))
+            .isInstanceOf(RateLimitExceededException.class)
+            .hasMessage("Rate limit of 1000 tokens per minute exceeded for user alice");
+    }
+
+    @Test
+    void shouldNotCheckAnything_whenDisabled() {
+        // Given
+        RequestRateLimiter disabled = new RequestRateLimiter(backend, false, 1, 1, 1, 1, 100);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            disabled.acquire("alice", ApiKeyQuota.of("key-1", null, null), "Hi", 900);
+        }
+
+        // Then
+        assertThat(backend.size()).isZero();
+    }
+
+    @Test
+    void shouldApplyKeyOverride_whenApiKeyHasOwnQuota() {
+        // Given - the key allows one request per second instead of the default two
+        ApiKeyQuota key = ApiKeyQuota.of("key-1", 1, null);
+        requestRateLimiter.acquire("bob", key, "Hi", 10);
+
+        // When & Then
+        assertThatThrownBy(() -> requestRateLimiter.acquire("alice", key, "Hi", 10))
+            .isInstanceOf(RateLimitExceededException.class)
+            .hasMessage("Rate limit of 1 requests per second exceeded for API key");
+    }
+
+    private ChatCompletionResponse responseWithTotalTokens(int totalTokens) {
+        return ChatCompletionResponse.builder()
+            .id("chatcmpl-1")
+            .usage(ChatCompletionResponse.Usage.builder()
+                .promptTokens(1)
+                .completionTokens(totalTokens - 1)
+                .totalTokens(totalTokens)
+                .build())
+            .build();
+    }
+}
@@ -1,7 +1,6 @@
 package com.prismnetai.service.routing;
 
 import java.math.BigDecimal;
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -10,8 +9,6 @@ import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.when;
@@ -19,19 +16,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.prismnetai.entity.Model;
 import com.prismnetai.entity.Provider;
-import com.prismnetai.entity.ProviderMetric;
-import com.prismnetai.repository.ModelRepository;
-import com.prismnetai.repository.ProviderMetricRepository;
-import org.springframework.test.util.ReflectionTestUtils;
+import com.prismnetai.service.catalog.RoutingCatalog;
+import com.prismnetai.service.catalog.RoutingCatalogService;
+import com.prismnetai.service.health.HealthSnapshot;
+import com.prismnetai.service.health.ProviderHealthAggregator;
 
 @ExtendWith(MockitoExtension.class)
 class AutoRoutingStrategyTest {
 
     @Mock
-    private ModelRepository modelRepository;
+    private RoutingCatalogService routingCatalogService;
 
     @Mock
-    private ProviderMetricRepository providerMetricRepository;
+    private ProviderHealthAggregator providerHealthAggregator;
 
     @InjectMocks
     private AutoRoutingStrategy autoRoutingStrategy;
@@ -40,9 +37,7 @@ class AutoRoutingStrategyTest {
     private Provider provider2;
     private Model cheapModel;
     private Model expensiveModel;
-    private ProviderMetric highThroughputMetric;
-    private ProviderMetric lowLatencyMetric;
-    private ProviderMetric highSuccessRateMetric;
+    private HealthSnapshot provider1Health;
 
     @BeforeEach
     void setUp() {
@@ -53,15 +48,10 @@ class AutoRoutingStrategyTest {
         cheapModel = createModel(1L, provider1, "gpt-4", BigDecimal.valueOf(0.001), BigDecimal.valueOf(0.002)); // Total: 0.003
         expensiveModel = createModel(2L, provider2, "claude-3-opus", BigDecimal.valueOf(0.002), BigDecimal.valueOf(0.003)); // Total: 0.005
 
-        // Metrics for provider1 (better performance)
-        highThroughputMetric = createMetric(provider1, ProviderMetric.MetricType.THROUGHPUT, BigDecimal.valueOf(1000.0));
-        lowLatencyMetric = createMetric(provider1, ProviderMetric.MetricType.LATENCY, BigDecimal.valueOf(500.0));
-        highSuccessRateMetric = createMetric(provider1, ProviderMetric.MetricType.SUCCESS_RATE, BigDecimal.valueOf(0.98));
+        // Health for provider1 (better performance): throughput, latency, success rate
+        provider1Health = health(1000.0, 500.0, 0.98);
 
         // Provider2 will have worse metrics (not set in all tests)
-
-        // Set default lookback duration for tests
-        ReflectionTestUtils.setField(autoRoutingStrategy, "metricsLookbackDuration", Duration.ofHours(1));
     }
 
     @Test
@@ -69,10 +59,10 @@ class AutoRoutingStrategyTest {
         // Given
         List<Provider> availableProviders = List.of(provider1, provider2);
         List<Model> activeModels = List.of(cheapModel, expensiveModel);
-        List<ProviderMetric> metrics = List.of(highThroughputMetric, lowLatencyMetric, highSuccessRateMetric);
 
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
-        when(providerMetricRepository.findRecentMetricsByProvidersAndType(anyList(), any(), any())).thenReturn(metrics);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels));
+        when(providerHealthAggregator.healthFor(cheapModel)).thenReturn(provider1Health);
+        when(providerHealthAggregator.healthFor(expensiveModel)).thenReturn(HealthSnapshot.EMPTY);
 
         // When
         Optional<Model> result = autoRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -87,17 +77,14 @@ class AutoRoutingStrategyTest {
     @Test
     void shouldCalculateScoreCorrectly_whenAllMetricsAvailable() {
         // Given - Provider1 has excellent metrics, Provider2 has poor metrics
-        ProviderMetric poorThroughput = createMetric(provider2, ProviderMetric.MetricType.THROUGHPUT, BigDecimal.valueOf(100.0));
-        ProviderMetric highLatency = createMetric(provider2, ProviderMetric.MetricType.LATENCY, BigDecimal.valueOf(2000.0));
-        ProviderMetric lowSuccessRate = createMetric(provider2, ProviderMetric.MetricType.SUCCESS_RATE, BigDecimal.valueOf(0.85));
+        HealthSnapshot provider2Health = health(100.0, 2000.0, 0.85);
 
         List<Provider> availableProviders = List.of(provider1, provider2);
         List<Model> activeModels = List.of(cheapModel, expensiveModel);
-        List<ProviderMetric> metrics = List.of(highThroughputMetric, lowLatencyMetric, highSuccessRateMetric,
-                                              poorThroughput, highLatency, lowSuccessRate);
 
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
-        when(providerMetricRepository.findRecentMetricsByProvidersAndType(anyList(), any(), any())).thenReturn(metrics);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels));
+        when(providerHealthAggregator.healthFor(cheapModel)).thenReturn(provider1Health);
+        when(providerHealthAggregator.healthFor(expensiveModel)).thenReturn(provider2Health);
 
         // When
         Optional<Model> result = autoRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -113,10 +100,10 @@ class AutoRoutingStrategyTest {
         // Given - Only some metrics available
         List<Provider> availableProviders = List.of(provider1, provider2);
         List<Model> activeModels = List.of(cheapModel, expensiveModel);
-        List<ProviderMetric> metrics = List.of(highThroughputMetric); // Only throughput available
 
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
-        when(providerMetricRepository.findRecentMetricsByProvidersAndType(anyList(), any(), any())).thenReturn(metrics);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels));
+        when(providerHealthAggregator.healthFor(cheapModel)).thenReturn(health(1000.0, Double.NaN, Double.NaN)); // Only throughput available
+        when(providerHealthAggregator.healthFor(expensiveModel)).thenReturn(HealthSnapshot.EMPTY);
 
         // When
         Optional<Model> result = autoRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -144,7 +131,7 @@ class AutoRoutingStrategyTest {
         List<Provider> availableProviders = List.of(provider1, provider2);
         List<Model> activeModels = List.of();
 
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels));
 
         // When
         Optional<Model> result = autoRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -192,10 +179,10 @@ class AutoRoutingStrategyTest {
         Model cheaperModel = createModel(3L, provider1, "gpt-3.5", BigDecimal.valueOf(0.0005), BigDecimal.valueOf(0.001)); // Total: 0.0015
         List<Provider> availableProviders = List.of(provider1);
         List<Model> activeModels = List.of(cheapModel, cheaperModel);
-        List<ProviderMetric> metrics = List.of(highThroughputMetric, lowLatencyMetric, highSuccessRateMetric);
 
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
-        when(providerMetricRepository.findRecentMetricsByProvidersAndType(anyList(), any(), any())).thenReturn(metrics);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels));
+        when(providerHealthAggregator.healthFor(cheapModel)).thenReturn(provider1Health);
+        when(providerHealthAggregator.healthFor(cheaperModel)).thenReturn(provider1Health);
 
         // When
         Optional<Model> result = autoRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -207,27 +194,25 @@ class AutoRoutingStrategyTest {
     }
 
     @Test
-    void shouldUseLatestMetrics_whenMultipleMetricsExistForSameProviderAndType() {
-        // Given - Multiple metrics of same type, should use latest
-        ProviderMetric olderThroughput = createMetric(provider1, ProviderMetric.MetricType.THROUGHPUT, BigDecimal.valueOf(500.0));
-        olderThroughput.setTimestamp(LocalDateTime.now().minusMinutes(30));
-
-        ProviderMetric newerThroughput = createMetric(provider1, ProviderMetric.MetricType.THROUGHPUT, BigDecimal.valueOf(1200.0));
-        newerThroughput.setTimestamp(LocalDateTime.now().minusMinutes(5));
-
-        List<Provider> availableProviders = List.of(provider1);
-        List<Model> activeModels = List.of(cheapModel);
-        List<ProviderMetric> metrics = List.of(olderThroughput, newerThroughput, lowLatencyMetric, highSuccessRateMetric);
+    void shouldScoreOnPriceOnly_whenNoHealthDataAvailable() {
+        // Given - No live or seeded health for either provider
+        List<Provider> availableProviders = List.of(provider1, provider2);
+        List<Model> activeModels = List.of(expensiveModel, cheapModel);
 
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
-        when(providerMetricRepository.findRecentMetricsByProvidersAndType(anyList(), any(), any())).thenReturn(metrics);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels));
+        when(providerHealthAggregator.healthFor(cheapModel)).thenReturn(HealthSnapshot.EMPTY);
+        when(providerHealthAggregator.healthFor(expensiveModel)).thenReturn(HealthSnapshot.EMPTY);
 
         // When
         Optional<Model> result = autoRoutingStrategy.selectModel(availableProviders, "test-user", null);
 
         // Then
         assertThat(result).isPresent();
-        // Should use the newer, higher throughput metric in scoring
+        assertThat(result.get().getId()).isEqualTo(cheapModel.getId());
+    }
+
+    private RoutingCatalog catalogOf(List<Model> models) {
+        return RoutingCatalog.of(1L, List.of(provider1, provider2), models, List.of());
     }
 
     private Provider createProvider(Long id, String name) {
@@ -257,12 +242,7 @@ class AutoRoutingStrategyTest {
         return model;
     }
 
-    private ProviderMetric createMetric(Provider provider, ProviderMetric.MetricType metricType, BigDecimal value) {
-        ProviderMetric metric = new ProviderMetric();
-        metric.setProvider(provider);
-        metric.setMetricType(metricType);
-        metric.setValue(value);
-        metric.setTimestamp(LocalDateTime.now());
-        return metric;
+    private HealthSnapshot health(double throughput, double latencyMs, double successRate) {
+        return new HealthSnapshot(latencyMs, latencyMs, latencyMs, latencyMs, throughput, successRate, 10L);
     }
 }
\ No newline at end of file
@@ -9,27 +9,25 @@ import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.ArgumentMatchers.anyString;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.prismnetai.entity.Model;
 import com.prismnetai.entity.Provider;
 import com.prismnetai.entity.RoutingRule;
-import com.prismnetai.repository.ModelRepository;
-import com.prismnetai.repository.RoutingRuleRepository;
+import com.prismnetai.service.catalog.RoutingCatalog;
+import com.prismnetai.service.catalog.RoutingCatalogService;
 
 @ExtendWith(MockitoExtension.class)
 class CustomOrderRoutingStrategyTest {
 
     @Mock
-    private ModelRepository modelRepository;
-
-    @Mock
-    private RoutingRuleRepository routingRuleRepository;
+    private RoutingCatalogService routingCatalogService;
 
     @InjectMocks
     private CustomOrderRoutingStrategy customOrderRoutingStrategy;
@@ -62,8 +60,7 @@ class CustomOrderRoutingStrategyTest {
         List<Model> activeModels = List.of(model1, model2, model3);
         List<RoutingRule> activeRules = List.of(routingRule);
 
-        when(routingRuleRepository.findActiveRulesByUserIdOrderedById(anyString())).thenReturn(activeRules);
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels, activeRules));
 
         // When
         Optional<Model> result = customOrderRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -81,8 +78,7 @@ class CustomOrderRoutingStrategyTest {
         List<Model> activeModels = List.of(model2, model3);
         List<RoutingRule> activeRules = List.of(routingRule);
 
-        when(routingRuleRepository.findActiveRulesByUserIdOrderedById(anyString())).thenReturn(activeRules);
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels, activeRules));
 
         // When
         Optional<Model> result = customOrderRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -112,8 +108,7 @@ class CustomOrderRoutingStrategyTest {
         List<Model> activeModels = List.of();
         List<RoutingRule> activeRules = List.of(routingRule);
 
-        when(routingRuleRepository.findActiveRulesByUserIdOrderedById(anyString())).thenReturn(activeRules);
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels, activeRules));
 
         // When
         Optional<Model> result = customOrderRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -128,7 +123,7 @@ class CustomOrderRoutingStrategyTest {
         List<Provider> availableProviders = List.of(provider1, provider2);
         List<RoutingRule> activeRules = List.of();
 
-        when(routingRuleRepository.findActiveRulesByUserIdOrderedById(anyString())).thenReturn(activeRules);
+        when(routingCatalogService.current()).thenReturn(catalogOf(List.of(), activeRules));
 
         // When
         Optional<Model> result = customOrderRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -145,8 +140,7 @@ class CustomOrderRoutingStrategyTest {
         List<Model> activeModels = List.of(createModel(4L, otherProvider, "other-model"));
         List<RoutingRule> activeRules = List.of(routingRule);
 
-        when(routingRuleRepository.findActiveRulesByUserIdOrderedById(anyString())).thenReturn(activeRules);
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels, activeRules));
 
         // When
         Optional<Model> result = customOrderRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -196,8 +190,7 @@ class CustomOrderRoutingStrategyTest {
         List<Model> activeModels = List.of(model1, model2, model3);
         List<RoutingRule> activeRules = List.of(ruleWithSpaces);
 
-        when(routingRuleRepository.findActiveRulesByUserIdOrderedById(anyString())).thenReturn(activeRules);
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels, activeRules));
 
         // When
         Optional<Model> result = customOrderRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -216,8 +209,7 @@ class CustomOrderRoutingStrategyTest {
         List<Model> activeModels = List.of(model1, model2, model3);
         List<RoutingRule> activeRules = List.of(rule1, rule2); // rule1 comes first
 
-        when(routingRuleRepository.findActiveRulesByUserIdOrderedById(anyString())).thenReturn(activeRules);
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels, activeRules));
 
         // When
         Optional<Model> result = customOrderRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -227,6 +219,37 @@ class CustomOrderRoutingStrategyTest {
         assertThat(result.get().getProvider().getName()).isEqualTo("Anthropic"); // Follows rule1 order
     }
 
+    @Test
+    void shouldRankModelsInProviderOrder_whenRankingModels() {
+        // Given
+        List<Provider> availableProviders = List.of(provider3, provider1);
+        List<Model> activeModels = List.of(model1, model3);
+        List<RoutingRule> activeRules = List.of(routingRule);
+
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels, activeRules));
+
+        // When
+        List<Model> ranked = customOrderRoutingStrategy.rankModels(availableProviders, "test-user", null).toList();
+
+        // Then
+        assertThat(ranked).containsExactly(model1, model3);
+    }
+
+    private RoutingCatalog catalogOf(List<Model> models, List<RoutingRule> rules) {
+        List<RoutingCatalog.CustomOrderRule> parsedRules = rules.stream()
+                .map(rule -> new RoutingCatalog.CustomOrderRule(rule, parseProviderOrder(rule.getProviderOrder())))
+                .toList();
+        return RoutingCatalog.of(1L, List.of(provider1, provider2, provider3), models, parsedRules);
+    }
+
+    private List<String> parseProviderOrder(String providerOrder) {
+        try {
+            return new ObjectMapper().readValue(providerOrder, new TypeReference<List<String>>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private Provider createProvider(Long id, String name) {
         Provider provider = new Provider();
         provider.setId(id);
@@ -257,7 +280,7 @@ class CustomOrderRoutingStrategyTest {
     private RoutingRule createRoutingRule(String providerOrder) {
         RoutingRule rule = new RoutingRule();
         rule.setId(1L);
-        rule.setUserId("default");
+        rule.setUserId("test-user");
         rule.setName("Test Rule");
         rule.setDescription("Test routing rule");
         rule.setProviderOrder(providerOrder);
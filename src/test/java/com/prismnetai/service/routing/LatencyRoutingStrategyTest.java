@@ -1,7 +1,6 @@
 package com.prismnetai.service.routing;
 
 import java.math.BigDecimal;
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -10,28 +9,26 @@ import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import com.prismnetai.entity.Model;
 import com.prismnetai.entity.Provider;
-import com.prismnetai.entity.ProviderMetric;
-import com.prismnetai.repository.ModelRepository;
-import com.prismnetai.repository.ProviderMetricRepository;
+import com.prismnetai.service.catalog.RoutingCatalog;
+import com.prismnetai.service.catalog.RoutingCatalogService;
+import com.prismnetai.service.health.HealthSnapshot;
+import com.prismnetai.service.health.ProviderHealthAggregator;
 
 @ExtendWith(MockitoExtension.class)
 class LatencyRoutingStrategyTest {
 
     @Mock
-    private ModelRepository modelRepository;
+    private RoutingCatalogService routingCatalogService;
 
     @Mock
-    private ProviderMetricRepository providerMetricRepository;
+    private ProviderHealthAggregator providerHealthAggregator;
 
     @InjectMocks
     private LatencyRoutingStrategy latencyRoutingStrategy;
@@ -40,8 +37,8 @@ class LatencyRoutingStrategyTest {
     private Provider provider2;
     private Model model1;
     private Model model2;
-    private ProviderMetric lowLatencyMetric;
-    private ProviderMetric highLatencyMetric;
+    private HealthSnapshot lowLatencyHealth;
+    private HealthSnapshot highLatencyHealth;
 
     @BeforeEach
     void setUp() {
@@ -51,11 +48,8 @@ class LatencyRoutingStrategyTest {
         model1 = createModel(1L, provider1, "gpt-4");
         model2 = createModel(2L, provider2, "claude-3-opus");
 
-        lowLatencyMetric = createMetric(provider1, ProviderMetric.MetricType.LATENCY, BigDecimal.valueOf(100.0)); // Lower latency = better
-        highLatencyMetric = createMetric(provider2, ProviderMetric.MetricType.LATENCY, BigDecimal.valueOf(200.0));
-
-        // Set default lookback duration for tests
-        ReflectionTestUtils.setField(latencyRoutingStrategy, "metricsLookbackDuration", Duration.ofHours(1));
+        lowLatencyHealth = latencyHealth(100.0, 150.0); // Lower latency = better
+        highLatencyHealth = latencyHealth(200.0, 300.0);
     }
 
     @Test
@@ -63,10 +57,10 @@ class LatencyRoutingStrategyTest {
         // Given
         List<Provider> availableProviders = List.of(provider1, provider2);
         List<Model> activeModels = List.of(model1, model2);
-        List<ProviderMetric> latencyMetrics = List.of(lowLatencyMetric, highLatencyMetric);
 
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
-        when(providerMetricRepository.findRecentMetricsByProvidersAndType(anyList(), any(), any())).thenReturn(latencyMetrics);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels));
+        when(providerHealthAggregator.healthFor(model1)).thenReturn(lowLatencyHealth);
+        when(providerHealthAggregator.healthFor(model2)).thenReturn(highLatencyHealth);
 
         // When
         Optional<Model> result = latencyRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -82,10 +76,10 @@ class LatencyRoutingStrategyTest {
         // Given
         List<Provider> availableProviders = List.of(provider1, provider2);
         List<Model> activeModels = List.of(model1, model2);
-        List<ProviderMetric> latencyMetrics = List.of(lowLatencyMetric); // Only provider1 has data
 
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
-        when(providerMetricRepository.findRecentMetricsByProvidersAndType(anyList(), any(), any())).thenReturn(latencyMetrics);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels));
+        when(providerHealthAggregator.healthFor(model1)).thenReturn(lowLatencyHealth);
+        when(providerHealthAggregator.healthFor(model2)).thenReturn(HealthSnapshot.EMPTY); // Only provider1 has data
 
         // When
         Optional<Model> result = latencyRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -113,7 +107,7 @@ class LatencyRoutingStrategyTest {
         List<Provider> availableProviders = List.of(provider1, provider2);
         List<Model> activeModels = List.of();
 
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels));
 
         // When
         Optional<Model> result = latencyRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -127,10 +121,10 @@ class LatencyRoutingStrategyTest {
         // Given
         List<Provider> availableProviders = List.of(provider1, provider2);
         List<Model> activeModels = List.of(model1, model2);
-        List<ProviderMetric> latencyMetrics = List.of(); // No latency data
 
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
-        when(providerMetricRepository.findRecentMetricsByProvidersAndType(anyList(), any(), any())).thenReturn(latencyMetrics);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels));
+        when(providerHealthAggregator.healthFor(model1)).thenReturn(HealthSnapshot.EMPTY); // No latency data
+        when(providerHealthAggregator.healthFor(model2)).thenReturn(HealthSnapshot.EMPTY);
 
         // When
         Optional<Model> result = latencyRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -173,20 +167,17 @@ class LatencyRoutingStrategyTest {
     }
 
     @Test
-    void shouldSelectModelWithLatestLatencyData_whenMultipleMetricsExist() {
-        // Given
-        ProviderMetric olderMetric = createMetric(provider1, ProviderMetric.MetricType.LATENCY, BigDecimal.valueOf(150.0));
-        olderMetric.setTimestamp(LocalDateTime.now().minusMinutes(30));
-
-        ProviderMetric newerMetric = createMetric(provider1, ProviderMetric.MetricType.LATENCY, BigDecimal.valueOf(80.0));
-        newerMetric.setTimestamp(LocalDateTime.now().minusMinutes(5));
+    void shouldRankByEwmaLatency_whenTailLatencyDisagrees() {
+        // Given - model1 has the lower average but a worse p95
+        HealthSnapshot spikyHealth = latencyHealth(120.0, 900.0);
+        HealthSnapshot steadyHealth = latencyHealth(180.0, 200.0);
 
-        List<Provider> availableProviders = List.of(provider1);
-        List<Model> activeModels = List.of(model1);
-        List<ProviderMetric> latencyMetrics = List.of(olderMetric, newerMetric);
+        List<Provider> availableProviders = List.of(provider1, provider2);
+        List<Model> activeModels = List.of(model1, model2);
 
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
-        when(providerMetricRepository.findRecentMetricsByProvidersAndType(anyList(), any(), any())).thenReturn(latencyMetrics);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels));
+        when(providerHealthAggregator.healthFor(model1)).thenReturn(spikyHealth);
+        when(providerHealthAggregator.healthFor(model2)).thenReturn(steadyHealth);
 
         // When
         Optional<Model> result = latencyRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -194,7 +185,28 @@ class LatencyRoutingStrategyTest {
         // Then
         assertThat(result).isPresent();
         assertThat(result.get().getId()).isEqualTo(model1.getId());
-        // Should select based on the latest (newer) metric with lower latency
+    }
+
+    @Test
+    void shouldRankModelsFastestFirst_skippingModelsWithoutLatencyData() {
+        // Given
+        Model model3 = createModel(3L, provider2, "claude-3-haiku");
+        List<Provider> availableProviders = List.of(provider1, provider2);
+
+        when(routingCatalogService.current()).thenReturn(catalogOf(List.of(model1, model2, model3)));
+        when(providerHealthAggregator.healthFor(model1)).thenReturn(highLatencyHealth);
+        when(providerHealthAggregator.healthFor(model2)).thenReturn(HealthSnapshot.EMPTY);
+        when(providerHealthAggregator.healthFor(model3)).thenReturn(lowLatencyHealth);
+
+        // When
+        List<Model> ranked = latencyRoutingStrategy.rankModels(availableProviders, "test-user", null).toList();
+
+        // Then
+        assertThat(ranked).containsExactly(model3, model1);
+    }
+
+    private RoutingCatalog catalogOf(List<Model> models) {
+        return RoutingCatalog.of(1L, List.of(provider1, provider2), models, List.of());
     }
 
     private Provider createProvider(Long id, String name) {
@@ -224,12 +236,7 @@ class LatencyRoutingStrategyTest {
         return model;
     }
 
-    private ProviderMetric createMetric(Provider provider, ProviderMetric.MetricType metricType, BigDecimal value) {
-        ProviderMetric metric = new ProviderMetric();
-        metric.setProvider(provider);
-        metric.setMetricType(metricType);
-        metric.setValue(value);
-        metric.setTimestamp(LocalDateTime.now());
-        return metric;
+    private HealthSnapshot latencyHealth(double ewmaLatencyMs, double p95LatencyMs) {
+        return new HealthSnapshot(ewmaLatencyMs, ewmaLatencyMs, p95LatencyMs, p95LatencyMs, Double.NaN, Double.NaN, 10L);
     }
 }
\ No newline at end of file
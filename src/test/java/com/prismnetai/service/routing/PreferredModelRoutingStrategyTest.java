@@ -1,5 +1,6 @@
 package com.prismnetai.service.routing;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -7,8 +8,6 @@ import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.Mock;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -17,14 +16,15 @@ import org.mockito.quality.Strictness;
 
 import com.prismnetai.entity.Model;
 import com.prismnetai.entity.Provider;
-import com.prismnetai.repository.ModelRepository;
+import com.prismnetai.service.catalog.RoutingCatalog;
+import com.prismnetai.service.catalog.RoutingCatalogService;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
 class PreferredModelRoutingStrategyTest {
 
     @Mock
-    private ModelRepository modelRepository;
+    private RoutingCatalogService routingCatalogService;
 
     @Mock
     private Provider provider1;
@@ -46,7 +46,7 @@ class PreferredModelRoutingStrategyTest {
 
     @BeforeEach
     void setUp() {
-        strategy = new PreferredModelRoutingStrategy(modelRepository);
+        strategy = new PreferredModelRoutingStrategy(routingCatalogService);
 
         // Setup providers
         when(provider1.getId()).thenReturn(1L);
@@ -63,16 +63,20 @@ class PreferredModelRoutingStrategyTest {
 
         when(model3.getModelId()).thenReturn("claude-3");
         when(model3.getProvider()).thenReturn(provider1);
+
+        for (Model model : List.of(model1, model2, model3)) {
+            when(model.getInputPricing()).thenReturn(BigDecimal.valueOf(0.001));
+            when(model.getOutputPricing()).thenReturn(BigDecimal.valueOf(0.002));
+        }
+
+        RoutingCatalog catalog = RoutingCatalog.of(1L, availableProviders, List.of(model1, model2, model3), List.of());
+        when(routingCatalogService.current()).thenReturn(catalog);
     }
 
     @Test
     void selectModel_shouldReturnFirstMatchingModel_whenPreferredModelFound() {
         // Given
         String preferredModel = "gpt-4";
-        List<Model> matchingModels = List.of(model1, model2); // model1 from provider1 comes first
-
-        when(modelRepository.findActiveModelsByModelIdAndProviderIds(eq(preferredModel), any(List.class)))
-                .thenReturn(matchingModels);
 
         // When
         Optional<Model> result = strategy.selectModel(availableProviders, "user1", preferredModel);
@@ -87,9 +91,6 @@ class PreferredModelRoutingStrategyTest {
         // Given
         String preferredModel = "non-existent-model";
 
-        when(modelRepository.findActiveModelsByModelIdAndProviderIds(eq(preferredModel), any(List.class)))
-                .thenReturn(List.of());
-
         // When
         Optional<Model> result = strategy.selectModel(availableProviders, "user1", preferredModel);
 
@@ -137,10 +138,6 @@ class PreferredModelRoutingStrategyTest {
     void selectModel_shouldReturnSingleMatchingModel() {
         // Given
         String preferredModel = "claude-3";
-        List<Model> matchingModels = List.of(model3);
-
-        when(modelRepository.findActiveModelsByModelIdAndProviderIds(eq(preferredModel), any(List.class)))
-                .thenReturn(matchingModels);
 
         // When
         Optional<Model> result = strategy.selectModel(availableProviders, "user1", preferredModel);
@@ -2,7 +2,8 @@ package com.prismnetai.service.routing;
 
 import com.prismnetai.entity.Model;
 import com.prismnetai.entity.Provider;
-import com.prismnetai.repository.ModelRepository;
+import com.prismnetai.service.catalog.RoutingCatalog;
+import com.prismnetai.service.catalog.RoutingCatalogService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,7 +23,7 @@ import static org.mockito.Mockito.when;
 class PriceRoutingStrategyTest {
 
     @Mock
-    private ModelRepository modelRepository;
+    private RoutingCatalogService routingCatalogService;
 
     @InjectMocks
     private PriceRoutingStrategy priceRoutingStrategy;
@@ -50,7 +51,7 @@ class PriceRoutingStrategyTest {
         List<Provider> availableProviders = List.of(provider1, provider2);
         List<Model> modelsOrderedByCost = List.of(cheapestModel, cheapModel, expensiveModel);
 
-        when(modelRepository.findActiveModelsOrderedByLowestCost()).thenReturn(modelsOrderedByCost);
+        when(routingCatalogService.current()).thenReturn(catalogOf(modelsOrderedByCost));
 
         // When
         Optional<Model> result = priceRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -67,7 +68,7 @@ class PriceRoutingStrategyTest {
         List<Provider> availableProviders = List.of(provider2); // Only Anthropic available
         List<Model> modelsOrderedByCost = List.of(cheapestModel, cheapModel, expensiveModel);
 
-        when(modelRepository.findActiveModelsOrderedByLowestCost()).thenReturn(modelsOrderedByCost);
+        when(routingCatalogService.current()).thenReturn(catalogOf(modelsOrderedByCost));
 
         // When
         Optional<Model> result = priceRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -96,7 +97,7 @@ class PriceRoutingStrategyTest {
         List<Provider> availableProviders = List.of(provider1, provider2);
         List<Model> modelsOrderedByCost = List.of();
 
-        when(modelRepository.findActiveModelsOrderedByLowestCost()).thenReturn(modelsOrderedByCost);
+        when(routingCatalogService.current()).thenReturn(catalogOf(modelsOrderedByCost));
 
         // When
         Optional<Model> result = priceRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -111,7 +112,7 @@ class PriceRoutingStrategyTest {
         List<Provider> availableProviders = List.of(provider1);
         List<Model> modelsOrderedByCost = List.of(cheapestModel, cheapModel); // Both from provider1
 
-        when(modelRepository.findActiveModelsOrderedByLowestCost()).thenReturn(modelsOrderedByCost);
+        when(routingCatalogService.current()).thenReturn(catalogOf(modelsOrderedByCost));
 
         // When
         Optional<Model> result = priceRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -162,7 +163,7 @@ class PriceRoutingStrategyTest {
         List<Provider> availableProviders = List.of(provider1);
         List<Model> modelsOrderedByCost = List.of(model3, model1, model2); // model3 has lowest total cost
 
-        when(modelRepository.findActiveModelsOrderedByLowestCost()).thenReturn(modelsOrderedByCost);
+        when(routingCatalogService.current()).thenReturn(catalogOf(modelsOrderedByCost));
 
         // When
         Optional<Model> result = priceRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -173,6 +174,25 @@ class PriceRoutingStrategyTest {
         assertThat(result.get().getModelId()).isEqualTo("model3");
     }
 
+    @Test
+    void shouldRankAvailableModelsCheapestFirst_whenRankingModels() {
+        // Given
+        List<Provider> availableProviders = List.of(provider1, provider2);
+        List<Model> models = List.of(expensiveModel, cheapModel, cheapestModel);
+
+        when(routingCatalogService.current()).thenReturn(catalogOf(models));
+
+        // When
+        List<Model> ranked = priceRoutingStrategy.rankModels(availableProviders, "test-user", null).toList();
+
+        // Then
+        assertThat(ranked).containsExactly(cheapestModel, cheapModel, expensiveModel);
+    }
+
+    private RoutingCatalog catalogOf(List<Model> models) {
+        return RoutingCatalog.of(1L, List.of(provider1, provider2), models, List.of());
+    }
+
     private Provider createProvider(Long id, String name) {
         Provider provider = new Provider();
         provider.setId(id);
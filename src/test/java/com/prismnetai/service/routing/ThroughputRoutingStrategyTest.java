@@ -1,7 +1,6 @@
 package com.prismnetai.service.routing;
 
 import java.math.BigDecimal;
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -10,8 +9,6 @@ import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.when;
@@ -19,19 +16,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.prismnetai.entity.Model;
 import com.prismnetai.entity.Provider;
-import com.prismnetai.entity.ProviderMetric;
-import com.prismnetai.repository.ModelRepository;
-import com.prismnetai.repository.ProviderMetricRepository;
-import org.springframework.test.util.ReflectionTestUtils;
+import com.prismnetai.service.catalog.RoutingCatalog;
+import com.prismnetai.service.catalog.RoutingCatalogService;
+import com.prismnetai.service.health.HealthSnapshot;
+import com.prismnetai.service.health.ProviderHealthAggregator;
 
 @ExtendWith(MockitoExtension.class)
 class ThroughputRoutingStrategyTest {
 
     @Mock
-    private ModelRepository modelRepository;
+    private RoutingCatalogService routingCatalogService;
 
     @Mock
-    private ProviderMetricRepository providerMetricRepository;
+    private ProviderHealthAggregator providerHealthAggregator;
 
     @InjectMocks
     private ThroughputRoutingStrategy throughputRoutingStrategy;
@@ -40,8 +37,8 @@ class ThroughputRoutingStrategyTest {
     private Provider provider2;
     private Model model1;
     private Model model2;
-    private ProviderMetric highThroughputMetric;
-    private ProviderMetric lowThroughputMetric;
+    private HealthSnapshot highThroughputHealth;
+    private HealthSnapshot lowThroughputHealth;
 
     @BeforeEach
     void setUp() {
@@ -51,11 +48,8 @@ class ThroughputRoutingStrategyTest {
         model1 = createModel(1L, provider1, "gpt-4");
         model2 = createModel(2L, provider2, "claude-3-opus");
 
-        highThroughputMetric = createMetric(provider1, ProviderMetric.MetricType.THROUGHPUT, BigDecimal.valueOf(100.0));
-        lowThroughputMetric = createMetric(provider2, ProviderMetric.MetricType.THROUGHPUT, BigDecimal.valueOf(50.0));
-
-        // Set default lookback duration for tests
-        ReflectionTestUtils.setField(throughputRoutingStrategy, "metricsLookbackDuration", Duration.ofHours(1));
+        highThroughputHealth = throughputHealth(100.0);
+        lowThroughputHealth = throughputHealth(50.0);
     }
 
     @Test
@@ -63,10 +57,10 @@ class ThroughputRoutingStrategyTest {
         // Given
         List<Provider> availableProviders = List.of(provider1, provider2);
         List<Model> activeModels = List.of(model1, model2);
-        List<ProviderMetric> throughputMetrics = List.of(highThroughputMetric, lowThroughputMetric);
 
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
-        when(providerMetricRepository.findRecentMetricsByProvidersAndType(anyList(), any(), any())).thenReturn(throughputMetrics);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels));
+        when(providerHealthAggregator.healthFor(model1)).thenReturn(highThroughputHealth);
+        when(providerHealthAggregator.healthFor(model2)).thenReturn(lowThroughputHealth);
 
         // When
         Optional<Model> result = throughputRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -82,10 +76,10 @@ class ThroughputRoutingStrategyTest {
         // Given
         List<Provider> availableProviders = List.of(provider1, provider2);
         List<Model> activeModels = List.of(model1, model2);
-        List<ProviderMetric> throughputMetrics = List.of(highThroughputMetric); // Only provider1 has data
 
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
-        when(providerMetricRepository.findRecentMetricsByProvidersAndType(anyList(), any(), any())).thenReturn(throughputMetrics);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels));
+        when(providerHealthAggregator.healthFor(model1)).thenReturn(highThroughputHealth);
+        when(providerHealthAggregator.healthFor(model2)).thenReturn(HealthSnapshot.EMPTY); // Only provider1 has data
 
         // When
         Optional<Model> result = throughputRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -113,7 +107,7 @@ class ThroughputRoutingStrategyTest {
         List<Provider> availableProviders = List.of(provider1, provider2);
         List<Model> activeModels = List.of();
 
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels));
 
         // When
         Optional<Model> result = throughputRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -127,10 +121,10 @@ class ThroughputRoutingStrategyTest {
         // Given
         List<Provider> availableProviders = List.of(provider1, provider2);
         List<Model> activeModels = List.of(model1, model2);
-        List<ProviderMetric> throughputMetrics = List.of(); // No throughput data
 
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
-        when(providerMetricRepository.findRecentMetricsByProvidersAndType(anyList(), any(), any())).thenReturn(throughputMetrics);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels));
+        when(providerHealthAggregator.healthFor(model1)).thenReturn(HealthSnapshot.EMPTY); // No throughput data
+        when(providerHealthAggregator.healthFor(model2)).thenReturn(HealthSnapshot.EMPTY);
 
         // When
         Optional<Model> result = throughputRoutingStrategy.selectModel(availableProviders, "test-user", null);
@@ -173,28 +167,27 @@ class ThroughputRoutingStrategyTest {
     }
 
     @Test
-    void shouldSelectModelWithLatestThroughputData_whenMultipleMetricsExist() {
-        // Given
-        ProviderMetric olderMetric = createMetric(provider1, ProviderMetric.MetricType.THROUGHPUT, BigDecimal.valueOf(80.0));
-        olderMetric.setTimestamp(LocalDateTime.now().minusMinutes(30));
-
-        ProviderMetric newerMetric = createMetric(provider1, ProviderMetric.MetricType.THROUGHPUT, BigDecimal.valueOf(120.0));
-        newerMetric.setTimestamp(LocalDateTime.now().minusMinutes(5));
+    void shouldSelectModelWithHighestThroughput_whenModelsShareProvider() {
+        // Given - per-model health distinguishes two models of the same provider
+        Model model3 = createModel(3L, provider1, "gpt-4o");
 
         List<Provider> availableProviders = List.of(provider1);
-        List<Model> activeModels = List.of(model1);
-        List<ProviderMetric> throughputMetrics = List.of(olderMetric, newerMetric);
+        List<Model> activeModels = List.of(model1, model3);
 
-        when(modelRepository.findActiveModelsByProviderIds(anyList())).thenReturn(activeModels);
-        when(providerMetricRepository.findRecentMetricsByProvidersAndType(anyList(), any(), any())).thenReturn(throughputMetrics);
+        when(routingCatalogService.current()).thenReturn(catalogOf(activeModels));
+        when(providerHealthAggregator.healthFor(model1)).thenReturn(throughputHealth(80.0));
+        when(providerHealthAggregator.healthFor(model3)).thenReturn(throughputHealth(120.0));
 
         // When
         Optional<Model> result = throughputRoutingStrategy.selectModel(availableProviders, "test-user", null);
 
         // Then
         assertThat(result).isPresent();
-        assertThat(result.get().getId()).isEqualTo(model1.getId());
-        // Should select based on the latest (newer) metric with higher throughput
+        assertThat(result.get().getId()).isEqualTo(model3.getId());
+    }
+
+    private RoutingCatalog catalogOf(List<Model> models) {
+        return RoutingCatalog.of(1L, List.of(provider1, provider2), models, List.of());
     }
 
     private Provider createProvider(Long id, String name) {
@@ -224,12 +217,7 @@ class ThroughputRoutingStrategyTest {
         return model;
     }
 
-    private ProviderMetric createMetric(Provider provider, ProviderMetric.MetricType metricType, BigDecimal value) {
-        ProviderMetric metric = new ProviderMetric();
-        metric.setProvider(provider);
-        metric.setMetricType(metricType);
-        metric.setValue(value);
-        metric.setTimestamp(LocalDateTime.now());
-        return metric;
+    private HealthSnapshot throughputHealth(double tokensPerSecond) {
+        return new HealthSnapshot(Double.NaN, Double.NaN, Double.NaN, Double.NaN, tokensPerSecond, Double.NaN, 10L);
     }
 }
\ No newline at end of file